@@ -0,0 +1,157 @@
+package dev.oleksii.rotamanagementapp.controllers;
+
+import dev.oleksii.rotamanagementapp.RotaManagementAppApplication;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import dev.oleksii.rotamanagementapp.security.JwtService;
+import dev.oleksii.rotamanagementapp.services.TeamFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 5,000 clients polling a team's delta sync endpoint at the same time, over HTTP against in-memory H2, with Tomcat
+ * on its default pool of 200 platform threads and on virtual threads. Each invocation sends one conditional request
+ * per client and waits for every answer. Each request passes token authentication, the membership check and the
+ * revision read before its 304, the steady state of a polling client. The score is requests per second.
+ * <p>
+ * Both modes share the default pool of ten database connections. Requests and failures (timeouts, refused
+ * connections) are printed once per trial. The client and server together hold about 10,000 sockets, so raise
+ * the open file limit first (ulimit -n). Client and server share the fork, so give it several cores; on a single
+ * core both modes are bound by the processor rather than by threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class PollingLoadBenchmark {
+
+    private static final int CLIENTS = 5_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private HttpRequest poll;
+    private long requests;
+    private long failures;
+    private String firstFailure;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException, InterruptedException {
+        // Passed as arguments to take precedence over application.yml, which logs every statement.
+        context = new SpringApplicationBuilder(RotaManagementAppApplication.class).run(
+                "--server.port=0",
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                // As in the dev profile, so a request does not load its user by email.
+                "--jwt.stateless-principal=true",
+                // Lets the listen queue hold the connections every client opens at once.
+                "--server.tomcat.accept-count=" + CLIENTS);
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .fullName("Benchmark")
+                .password("password")
+                .email("benchmark@example.com")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .verified(true)
+                .build());
+        TeamFacade teamFacade = context.getBean(TeamFacade.class);
+        UUID teamId = teamFacade.createTeam(user, "Benchmark").getTeamId();
+        String version = teamFacade.getScheduleChanges(teamId, null, 1).getVersion();
+        String token = context.getBean(JwtService.class).generateToken(user);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(clientExecutor)
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/v1/teams/" + teamId
+                + "/schedule/changes?since=" + version);
+        HttpRequest first = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).build();
+        String etag = httpClient.send(first, HttpResponse.BodyHandlers.discarding()).headers()
+                .firstValue("ETag")
+                .orElseThrow();
+        poll = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", etag)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        System.out.printf("%n%s threads: %d requests, %d failed%s%n", virtualThreads ? "virtual" : "platform",
+                requests, failures, firstFailure == null ? "" : ", first with " + firstFailure);
+        httpClient.close();
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public int pollAll() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CLIENTS);
+        for (int client = 0; client < CLIENTS; client++) {
+            responses.add(httpClient.sendAsync(poll, HttpResponse.BodyHandlers.discarding()));
+        }
+        int notModified = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            try {
+                int status = response.join().statusCode();
+                if (status == 304) {
+                    notModified++;
+                } else if (firstFailure == null) {
+                    firstFailure = "status " + status;
+                }
+            } catch (CompletionException ex) {
+                if (firstFailure == null) {
+                    firstFailure = ex.getCause().toString();
+                }
+            }
+        }
+        requests += CLIENTS;
+        failures += CLIENTS - notModified;
+        return notModified;
+    }
+}
@@ -0,0 +1,112 @@
+package dev.oleksii.rotamanagementapp.domain.entities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a PostgreSQL table keyed by uuid, with random (v4) versus time-ordered (v7) ids.
+ * <p>
+ * Each invocation inserts one JDBC batch of 1,000 rows into a table that keeps growing over the trial,
+ * so later batches land in a primary key index far larger than a handful of pages. At the end of the
+ * trial the size of the primary key index is printed: random ids split pages all over the index and
+ * leave it noticeably larger for the same number of rows.
+ * <p>
+ * Runs against a Testcontainers PostgreSQL by default, or against an existing database when
+ * {@code -Dbenchmark.jdbc-url}, {@code -Dbenchmark.jdbc-user} and {@code -Dbenchmark.jdbc-password} are set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"v4", "v7"})
+    public String idVersion;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url == null) {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        } else {
+            connection = DriverManager.getConnection(url,
+                    System.getProperty("benchmark.jdbc-user"), System.getProperty("benchmark.jdbc-password"));
+        }
+
+        ids = "v7".equals(idVersion) ? UuidV7Generator::generate : UUID::randomUUID;
+        table = "uuid_insert_" + idVersion;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            // Same shape as the shifts table: uuid key plus a few narrow columns
+            statement.execute("CREATE TABLE " + table
+                    + " (id uuid PRIMARY KEY, name varchar(255) NOT NULL, date date NOT NULL, start_time time NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id, name, date, start_time) "
+                + "VALUES (?, 'Shift', current_date, current_time)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, ids.get());
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(
+                     "SELECT count(*), pg_relation_size('" + table + "_pkey') FROM " + table)) {
+            result.next();
+            long rows = result.getLong(1);
+            long indexBytes = result.getLong(2);
+            System.out.printf("%n%s: %d rows, primary key index %.1f MB (%.1f bytes/row)%n",
+                    idVersion, rows, indexBytes / 1024.0 / 1024.0, (double) indexBytes / rows);
+        }
+        insert.close();
+        connection.close();
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
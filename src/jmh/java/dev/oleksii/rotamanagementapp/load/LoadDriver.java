@@ -0,0 +1,305 @@
+package dev.oleksii.rotamanagementapp.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.oleksii.rotamanagementapp.RotaManagementAppApplication;
+import dev.oleksii.rotamanagementapp.domain.dtos.AssignShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AuthenticationRequest;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import dev.oleksii.rotamanagementapp.load.SyntheticDataGenerator.SeededShift;
+import dev.oleksii.rotamanagementapp.load.SyntheticDataGenerator.SeededTeam;
+import dev.oleksii.rotamanagementapp.security.JwtService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Replays a mix of API calls against the application running in this JVM, after seeding it with
+ * {@link SyntheticDataGenerator}, and prints latency percentiles and throughput per endpoint.
+ * <p>
+ * Each client is a virtual thread that keeps one request in flight for one team, choosing every call by weight:
+ * <ul>
+ *     <li>schedule - GET /teams/{teamId}/schedule as an employee, without a cached ETag</li>
+ *     <li>memberShifts - GET /teams/{teamId}/shifts as an employee</li>
+ *     <li>assign - POST /teams/{teamId}/shifts/{shiftId}/assign as the manager, for a random member; a
+ *     member already working the shift is rejected with 409, which is reported as an error</li>
+ *     <li>login - POST /auth/login as an employee, which pays for a bcrypt check</li>
+ * </ul>
+ * Clients authenticate with tokens issued at start-up, so only the login calls go through the password check.
+ * <p>
+ * Runs on the benchmark profile's classpath, against in-memory H2 by default:
+ * <pre>
+ * mvn -P benchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=dev.oleksii.rotamanagementapp.load.LoadDriver \
+ *     -Dexec.args="--load.clients=200 --load.duration=PT60S"
+ * </pre>
+ * Every argument is passed to the application, so a local Postgres is used with
+ * {@code --spring.datasource.url=jdbc:postgresql://localhost:5432/database --spring.datasource.username=user
+ * --spring.datasource.password=password --spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect}.
+ * The {@code load.*} settings and their defaults are read in {@link #main}.
+ */
+public class LoadDriver {
+
+    private static final String PASSWORD = "Passw0rd@";
+    // Passed as arguments to take precedence over application.yml, which logs every statement.
+    private static final List<String> DEFAULT_ARGS = List.of(
+            "--server.port=0",
+            "--spring.docker.compose.enabled=false",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN");
+
+    enum Endpoint {
+        SCHEDULE, MEMBER_SHIFTS, ASSIGN, LOGIN
+    }
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUri;
+    private final List<Session> sessions;
+    private final int[] weights;
+    private volatile Map<Endpoint, LatencyRecorder> recorders = newRecorders();
+
+    LoadDriver(HttpClient httpClient, ObjectMapper objectMapper, String baseUri, List<Session> sessions,
+               int[] weights) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.sessions = sessions;
+        this.weights = weights;
+    }
+
+    // The tokens a client uses for its team.
+    record Session(SeededTeam team, String managerToken, List<String> employeeTokens) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // A repeated argument would be bound as a list, so the defaults only fill in what is not given.
+        String[] applicationArgs = Stream.concat(
+                        DEFAULT_ARGS.stream().filter(arg -> Arrays.stream(args).noneMatch(given -> sameKey(arg, given))),
+                        Arrays.stream(args))
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RotaManagementAppApplication.class)
+                .run(applicationArgs);
+        try {
+            Environment environment = context.getEnvironment();
+            int teams = environment.getProperty("load.teams", Integer.class, 20);
+            int membersPerTeam = environment.getProperty("load.members-per-team", Integer.class, 25);
+            int days = environment.getProperty("load.days", Integer.class, 28);
+            int assignmentsPerShift = environment.getProperty("load.assignments-per-shift", Integer.class, 3);
+            int clients = environment.getProperty("load.clients", Integer.class, 100);
+            Duration warmup = environment.getProperty("load.warmup", Duration.class, Duration.ofSeconds(10));
+            Duration duration = environment.getProperty("load.duration", Duration.class, Duration.ofSeconds(30));
+            // Weights of schedule, memberShifts, assign and login, in that order.
+            int[] weights = Arrays.stream(environment.getProperty("load.mix", "50,30,15,5").split(","))
+                    .mapToInt(weight -> Integer.parseInt(weight.trim()))
+                    .toArray();
+            if (weights.length != Endpoint.values().length) {
+                throw new IllegalArgumentException("load.mix needs one weight per endpoint: " + List.of(Endpoint.values()));
+            }
+
+            long seedStart = System.nanoTime();
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(
+                    context.getBean(UserRepository.class),
+                    context.getBean(TeamRepository.class),
+                    context.getBean(ShiftRepository.class),
+                    context.getBean(TransactionTemplate.class));
+            List<SeededTeam> seeded = generator.seed(teams, membersPerTeam, days, assignmentsPerShift,
+                    context.getBean(PasswordEncoder.class).encode(PASSWORD));
+            System.out.printf("Seeded %d teams of %d members with %d shifts each in %d ms%n", teams,
+                    membersPerTeam, days * 2, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+            JwtService jwtService = context.getBean(JwtService.class);
+            List<Session> sessions = seeded.stream()
+                    .map(team -> new Session(team, jwtService.generateToken(team.manager()),
+                            team.employees().stream().map(jwtService::generateToken).toList()))
+                    .toList();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .executor(clientExecutor)
+                         .build()) {
+                LoadDriver driver = new LoadDriver(httpClient, context.getBean(ObjectMapper.class),
+                        "http://localhost:" + port + "/api/v1", sessions, weights);
+                driver.run(clientExecutor, clients, warmup, duration);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static boolean sameKey(String arg, String other) {
+        return arg.substring(0, arg.indexOf('=') + 1).equals(other.substring(0, other.indexOf('=') + 1));
+    }
+
+    void run(ExecutorService clientExecutor, int clients, Duration warmup, Duration duration)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + warmup.plus(duration).toNanos();
+        for (int client = 0; client < clients; client++) {
+            Session session = sessions.get(client % sessions.size());
+            clientExecutor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    call(session);
+                }
+            });
+        }
+        Thread.sleep(warmup);
+        // Drops what was recorded while the server warmed up.
+        recorders = newRecorders();
+        long start = System.nanoTime();
+        Thread.sleep(duration);
+        report(clients, System.nanoTime() - start);
+    }
+
+    private void call(Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Endpoint endpoint = pick(random.nextInt(Arrays.stream(weights).sum()));
+        SeededTeam team = session.team();
+        String employeeToken = session.employeeTokens().get(random.nextInt(session.employeeTokens().size()));
+        HttpRequest request = switch (endpoint) {
+            case SCHEDULE -> get("/teams/" + team.teamId() + "/schedule", employeeToken);
+            case MEMBER_SHIFTS -> get("/teams/" + team.teamId() + "/shifts", employeeToken);
+            case ASSIGN -> {
+                SeededShift shift = team.shifts().get(random.nextInt(team.shifts().size()));
+                AssignShiftRequest body = AssignShiftRequest.builder()
+                        .memberId(team.memberIds().get(random.nextInt(team.memberIds().size())))
+                        .startTime(shift.startTime())
+                        .endTime(shift.endTime())
+                        .build();
+                yield post("/teams/" + team.teamId() + "/shifts/" + shift.shiftId() + "/assign", body,
+                        session.managerToken());
+            }
+            case LOGIN -> {
+                User employee = team.employees().get(random.nextInt(team.employees().size()));
+                yield post("/auth/login", new AuthenticationRequest(employee.getEmail(), PASSWORD), null);
+            }
+        };
+
+        Map<Endpoint, LatencyRecorder> current = recorders;
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            success = status >= 200 && status < 300;
+        } catch (IOException ex) {
+            success = false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        current.get(endpoint).record(System.nanoTime() - start, success);
+    }
+
+    private Endpoint pick(int ticket) {
+        for (int i = 0; i < weights.length; i++) {
+            ticket -= weights[i];
+            if (ticket < 0) {
+                return Endpoint.values()[i];
+            }
+        }
+        throw new IllegalStateException("Ticket beyond the total weight.");
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))).build();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not write the request body.", ex);
+        }
+    }
+
+    private void report(int clients, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%n%d clients over %.1f s%n", clients, seconds);
+        System.out.printf("%-14s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<Endpoint, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            long[] latencies = recorder.sorted();
+            total += latencies.length;
+            System.out.printf("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().name().toLowerCase(), latencies.length, recorder.errors(),
+                    latencies.length / seconds, millis(latencies, 0.50), millis(latencies, 0.95),
+                    millis(latencies, 0.99), millis(latencies, 1.0));
+        }
+        System.out.printf("%-14s %9d %7s %9.1f%n", "total", total, "", total / seconds);
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<Endpoint, LatencyRecorder> newRecorders() {
+        Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+        return recorders;
+    }
+
+    // Keeps every sample, so the percentiles are exact; a run records a few hundred thousand at most.
+    static final class LatencyRecorder {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void record(long nanos, boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
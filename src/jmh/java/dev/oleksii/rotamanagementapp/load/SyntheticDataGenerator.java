@@ -0,0 +1,157 @@
+package dev.oleksii.rotamanagementapp.load;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds teams straight through the repositories, bypassing the services and their per-call transactions, so that
+ * large data sets load in JDBC batches (hibernate.jdbc.batch_size). Each team is committed in its own transaction:
+ * its users, then the team with its schedule and members, then its shifts with their assignments by cascade.
+ * <p>
+ * Every team has one manager and {@code membersPerTeam - 1} employees. Shifts run from 07:00 to 15:00 and from
+ * 15:00 to 23:00 on consecutive days, and the assignments of a day go to distinct members, so the seeded schedule
+ * is free of overlaps as long as there are at least twice as many members as assignments per shift.
+ */
+public class SyntheticDataGenerator {
+
+    private static final LocalTime[][] SLOTS = {
+            {LocalTime.of(7, 0), LocalTime.of(15, 0)},
+            {LocalTime.of(15, 0), LocalTime.of(23, 0)}
+    };
+
+    private final UserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final ShiftRepository shiftRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public SyntheticDataGenerator(UserRepository userRepository, TeamRepository teamRepository,
+                                  ShiftRepository shiftRepository, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.teamRepository = teamRepository;
+        this.shiftRepository = shiftRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * A seeded team, with what a client needs to address it.
+     *
+     * @param teamId    the team
+     * @param manager   the user holding the manager membership
+     * @param employees the users holding the employee memberships
+     * @param memberIds the memberships, manager first
+     * @param shifts    the shifts of the team's schedule
+     */
+    public record SeededTeam(UUID teamId, User manager, List<User> employees, List<UUID> memberIds,
+                             List<SeededShift> shifts) {
+    }
+
+    public record SeededShift(UUID shiftId, LocalTime startTime, LocalTime endTime) {
+    }
+
+    /**
+     * Seeds the teams.
+     *
+     * @param teams                 the number of teams
+     * @param membersPerTeam        the members of each team, manager included
+     * @param days                  the days of shifts, starting tomorrow, two shifts a day
+     * @param assignmentsPerShift   the members assigned to each seeded shift
+     * @param encodedPassword       the password hash shared by every user, as encoding one per user would
+     *                              dominate the seeding time
+     * @return the seeded teams
+     */
+    public List<SeededTeam> seed(int teams, int membersPerTeam, int days, int assignmentsPerShift,
+                                 String encodedPassword) {
+        if (membersPerTeam < 2 * assignmentsPerShift) {
+            throw new IllegalArgumentException("Need at least " + 2 * assignmentsPerShift + " members per team.");
+        }
+        List<SeededTeam> seeded = new ArrayList<>(teams);
+        for (int team = 0; team < teams; team++) {
+            int index = team;
+            seeded.add(transactionTemplate.execute(status ->
+                    seedTeam(index, membersPerTeam, days, assignmentsPerShift, encodedPassword)));
+        }
+        return seeded;
+    }
+
+    private SeededTeam seedTeam(int index, int membersPerTeam, int days, int assignmentsPerShift,
+                                String encodedPassword) {
+        List<User> users = new ArrayList<>(membersPerTeam);
+        for (int i = 0; i < membersPerTeam; i++) {
+            users.add(User.builder()
+                    .fullName("Load user " + index + "-" + i)
+                    .email("load-" + index + "-" + i + "@example.com")
+                    .password(encodedPassword)
+                    .role(Role.USER)
+                    .createdAt(LocalDateTime.now())
+                    .verified(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        Team team = Team.builder().name("Load team " + index).build();
+        team.setSchedule(Schedule.builder().team(team).build());
+        List<Member> members = new ArrayList<>(membersPerTeam);
+        for (int i = 0; i < membersPerTeam; i++) {
+            Member member = Member.builder()
+                    .fullName(users.get(i).getFullName())
+                    .user(users.get(i))
+                    .role(i == 0 ? TeamRole.MANAGER : TeamRole.EMPLOYEE)
+                    .build();
+            team.addMember(member);
+            members.add(member);
+        }
+        teamRepository.save(team);
+
+        List<Shift> shifts = new ArrayList<>(days * SLOTS.length);
+        LocalDate first = LocalDate.now().plusDays(1);
+        for (int day = 0; day < days; day++) {
+            for (int slot = 0; slot < SLOTS.length; slot++) {
+                Shift shift = Shift.builder()
+                        .name(slot == 0 ? "Early" : "Late")
+                        .date(first.plusDays(day))
+                        .startTime(SLOTS[slot][0])
+                        .endTime(SLOTS[slot][1])
+                        .schedule(team.getSchedule())
+                        .memberShifts(new HashSet<>())
+                        .build();
+                for (int j = 0; j < assignmentsPerShift; j++) {
+                    int member = ((day * SLOTS.length + slot) * assignmentsPerShift + j) % membersPerTeam;
+                    shift.addMemberShift(MemberShift.builder()
+                            .member(members.get(member))
+                            .startTime(shift.getStartTime())
+                            .endTime(shift.getEndTime())
+                            .build());
+                }
+                shifts.add(shift);
+            }
+        }
+        shiftRepository.saveAll(shifts);
+
+        return new SeededTeam(
+                team.getId(),
+                users.getFirst(),
+                List.copyOf(users.subList(1, users.size())),
+                members.stream().map(Member::getId).toList(),
+                shifts.stream()
+                        .map(shift -> new SeededShift(shift.getId(), shift.getStartTime(), shift.getEndTime()))
+                        .toList());
+    }
+}
@@ -0,0 +1,133 @@
+package dev.oleksii.rotamanagementapp.mappers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the response of GET /schedule for a loaded schedule: shifts of four staffed assignments each, spread
+ * over a team of 50 members.
+ * <ul>
+ *     <li>toShiftDTO - one shift with its assignments</li>
+ *     <li>toScheduleDTO - the whole graph</li>
+ *     <li>writeScheduleDto - Jackson serialization of the mapped schedule, with the web layer's settings</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScheduleMapperBenchmark {
+
+    private static final int MEMBERS = 50;
+    private static final int ASSIGNMENTS_PER_SHIFT = 4;
+
+    @Param({"100", "1000", "10000"})
+    private int shifts;
+
+    private AnnotationConfigApplicationContext context;
+    private ShiftMapper shiftMapper;
+    private ScheduleMapper scheduleMapper;
+    private ObjectMapper objectMapper;
+    private Schedule schedule;
+    private Shift shift;
+    private ScheduleDto scheduleDto;
+
+    @Setup
+    public void setUp() {
+        // The generated mappers inject each other, so they are wired as they are in the application.
+        context = new AnnotationConfigApplicationContext(ScheduleMapperImpl.class, ShiftMapperImpl.class,
+                MemberShiftMapperImpl.class, MemberMapperImpl.class);
+        shiftMapper = context.getBean(ShiftMapper.class);
+        scheduleMapper = context.getBean(ScheduleMapper.class);
+        // The same defaults Spring Boot applies to the ObjectMapper used for responses.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Member> members = new ArrayList<>(MEMBERS);
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(Member.builder()
+                    .id(UUID.randomUUID())
+                    .fullName("Member " + i)
+                    .role(i == 0 ? TeamRole.MANAGER : TeamRole.EMPLOYEE)
+                    .build());
+        }
+
+        Set<Shift> graph = new HashSet<>(shifts * 2);
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        for (int i = 0; i < shifts; i++) {
+            LocalTime start = LocalTime.of(6 + (i % 3) * 5, 0);
+            Shift next = Shift.builder()
+                    .id(UUID.randomUUID())
+                    .name("Shift " + i)
+                    .date(monday.plusDays(i / 3))
+                    .startTime(start)
+                    .endTime(start.plusHours(5))
+                    .memberShifts(new HashSet<>())
+                    .build();
+            for (int j = 0; j < ASSIGNMENTS_PER_SHIFT; j++) {
+                next.getMemberShifts().add(MemberShift.builder()
+                        .id(UUID.randomUUID())
+                        .startTime(next.getStartTime())
+                        .endTime(next.getEndTime())
+                        .member(members.get((i * ASSIGNMENTS_PER_SHIFT + j) % MEMBERS))
+                        .shift(next)
+                        .build());
+            }
+            graph.add(next);
+        }
+        schedule = Schedule.builder().id(UUID.randomUUID()).shifts(graph).build();
+        shift = graph.iterator().next();
+        scheduleDto = scheduleMapper.toScheduleDTO(schedule);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ShiftDto toShiftDTO() {
+        return shiftMapper.toShiftDTO(shift);
+    }
+
+    @Benchmark
+    public ScheduleDto toScheduleDTO() {
+        return scheduleMapper.toScheduleDTO(schedule);
+    }
+
+    @Benchmark
+    public byte[] writeScheduleDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(scheduleDto);
+    }
+}
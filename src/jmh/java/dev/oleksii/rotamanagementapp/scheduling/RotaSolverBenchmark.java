@@ -0,0 +1,81 @@
+package dev.oleksii.rotamanagementapp.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auto-scheduling four weeks for synthetic teams: three 8h slots a day, staffed so that each member is offered
+ * about 4.5 shifts a week against a 40h limit and 11h of rest. The fixed time budget bounds every run, so the
+ * interesting output is the unassigned count and the imbalance, printed once per trial, rather than the time.
+ * <ul>
+ *     <li>greedyOnly - the construction alone, with no time for local search</li>
+ *     <li>solve - construction plus local search within the budget, one search per core</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class RotaSolverBenchmark {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+    private static final int WEEKS = 4;
+
+    @Param({"50", "500", "5000"})
+    private int members;
+
+    @Param({"500"})
+    private long budgetMillis;
+
+    private RotaProblem problem;
+    private RotaSolver solver;
+
+    @Setup
+    public void setUp() {
+        problem = new RotaProblem(MONDAY, WEEKS, 40, 11);
+        for (int member = 0; member < members; member++) {
+            problem.addMember();
+        }
+        // 4.5 shifts per member and week, spread over 21 slots a week.
+        int perSlot = Math.max(1, (int) Math.round(members * 4.5 / 21));
+        for (int day = 0; day < WEEKS * 7; day++) {
+            for (int slot = 0; slot < 3; slot++) {
+                LocalDateTime start = MONDAY.plusDays(day).atTime(6, 0).plusHours(slot * 8L);
+                for (int i = 0; i < perSlot; i++) {
+                    problem.addShift(start, start.plusHours(8));
+                }
+            }
+        }
+        solver = new RotaSolver(0);
+        RotaSolution solution = solver.solve(problem, Duration.ofMillis(budgetMillis));
+        System.out.printf("%n%d members, %d shifts: %d unassigned, imbalance %d, %d iterations%n", members,
+                problem.shiftCount(), solution.getUnassigned(), solution.getImbalance(), solution.getIterations());
+    }
+
+    @Benchmark
+    public void greedyOnly(Blackhole blackhole) {
+        blackhole.consume(solver.solve(problem, Duration.ZERO));
+    }
+
+    @Benchmark
+    public void solve(Blackhole blackhole) {
+        blackhole.consume(solver.solve(problem, Duration.ofMillis(budgetMillis)));
+    }
+}
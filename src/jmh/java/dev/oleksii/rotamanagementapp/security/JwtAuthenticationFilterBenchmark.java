@@ -0,0 +1,117 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import dev.oleksii.rotamanagementapp.configuration.JwtConfig;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import dev.oleksii.rotamanagementapp.services.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One pass of an authenticated request through JwtAuthenticationFilter, with the user service and repository
+ * stubbed so that only the filter's own work is measured. The token has been seen before, as for any client
+ * after its first request. The filter times itself, so the figures include recording its timer.
+ * <ul>
+ *     <li>statelessPrincipal=false - the principal is the user loaded by email and checked against the claims</li>
+ *     <li>statelessPrincipal=true - the principal is built from the claims after a cached token version check</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    private boolean statelessPrincipal;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() throws ServletException, IOException {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(Base64.getEncoder().encodeToString(secret));
+        jwtConfig.setExpirationMilliseconds(TimeUnit.HOURS.toMillis(1));
+        jwtConfig.setStatelessPrincipal(statelessPrincipal);
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .fullName("Benchmark")
+                .password("password")
+                .email("bench@example.com")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .verified(true)
+                .build();
+
+        // A plain subclass, as a mock's own bookkeeping would outweigh the filter on every request.
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(null, null, null, null, null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+        // Only called once, as the token version stays cached.
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenVersionById(user.getId())).thenReturn(Optional.of(user.getTokenVersion()));
+
+        JwtService jwtService = new JwtService(jwtConfig);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, jwtConfig,
+                new TokenVersionCache(userRepository, jwtConfig), new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/v1/teams");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+        response = new MockHttpServletResponse();
+        filterChain = (servletRequest, servletResponse) -> { };
+
+        // Verifies the token and loads the token version once, as the first request of a client does.
+        authenticate();
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        try {
+            filter.doFilterInternal(request, response, filterChain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import dev.oleksii.rotamanagementapp.configuration.JwtConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter.
+ * <ul>
+ *     <li>legacyPerRequest - the previous flow: three parses, each re-decoding the secret and building a parser</li>
+ *     <li>parseOncePerRequest - one signature verification with the shared parser</li>
+ *     <li>cachedPerRequest - a token that has already been verified by an earlier request</li>
+ *     <li>generateToken - signing a token at login</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtServiceBenchmark {
+
+    private JwtConfig jwtConfig;
+    private JwtService jwtService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(Base64.getEncoder().encodeToString(secret));
+        jwtConfig.setExpirationMilliseconds(TimeUnit.HOURS.toMillis(1));
+
+        jwtService = new JwtService(jwtConfig);
+        userDetails = new User("bench@example.com", "password", List.of());
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        String username = legacyClaims().getSubject();
+        return username.equals(userDetails.getUsername())
+                && legacyClaims().getSubject().equals(userDetails.getUsername())
+                && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean parseOncePerRequest() {
+        Claims claims = jwtService.verify(token);
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    @Benchmark
+    public boolean cachedPerRequest() {
+        Claims claims = jwtService.parseToken(token);
+        return jwtService.isTokenValid(claims, userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    private Claims legacyClaims() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtConfig.getSecret()));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,99 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.RotaManagementAppApplication;
+import dev.oleksii.rotamanagementapp.domain.dtos.BulkCreateShiftsResponse;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRepository;
+import dev.oleksii.rotamanagementapp.services.ScheduleFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of creating a month of rota (1,000 shifts) through the schedule facade against in-memory H2.
+ * <ul>
+ *     <li>singleCreates - one createShift call (one transaction, schedule lookup and insert) per shift</li>
+ *     <li>bulkCreate - one createShifts call, inserting all shifts in JDBC batches</li>
+ * </ul>
+ * HTTP and security overhead, paid once per request, comes on top of the single-create figure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ShiftCreationBenchmark {
+
+    private static final int SHIFTS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private ScheduleFacade scheduleFacade;
+    private UUID teamId;
+    private List<CreateShiftRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(RotaManagementAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.docker.compose.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        scheduleFacade = context.getBean(ScheduleFacade.class);
+
+        Team team = context.getBean(TeamRepository.class).save(Team.builder().name("Benchmark").build());
+        context.getBean(ScheduleRepository.class).save(Schedule.builder().team(team).build());
+        teamId = team.getId();
+
+        LocalDate start = LocalDate.now().plusDays(1);
+        requests = IntStream.range(0, SHIFTS)
+                .mapToObj(i -> CreateShiftRequest.builder()
+                        .name("Shift " + i)
+                        .date(start.plusDays(i % 31))
+                        .startTime(LocalTime.of(6 + i % 12, 0))
+                        .endTime(LocalTime.of(6 + i % 12, 0).plusHours(8))
+                        .build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleCreates() {
+        for (CreateShiftRequest request : requests) {
+            scheduleFacade.createShift(teamId, request);
+        }
+        return requests.size();
+    }
+
+    @Benchmark
+    public BulkCreateShiftsResponse bulkCreate() {
+        return scheduleFacade.createShifts(teamId, requests);
+    }
+}
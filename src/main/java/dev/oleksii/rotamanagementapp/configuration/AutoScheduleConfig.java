@@ -0,0 +1,24 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auto-schedule") // Binds properties prefixed with "auto-schedule" to this class
+public class AutoScheduleConfig {
+    // Number of parallel searches; 0 uses one per available processor
+    private int threads = 0;
+    // Time spent improving the rota when the request does not say
+    private Duration defaultTimeBudget = Duration.ofSeconds(2);
+    // Upper bound of the time budget a request may ask for
+    private Duration maxTimeBudget = Duration.ofSeconds(10);
+    // Longest date window that can be scheduled in one request
+    private int maxWindowDays = 62;
+    // Constraints used when the request does not say
+    private int defaultMaxHoursPerWeek = 40;
+    private int defaultMinRestHours = 11;
+}
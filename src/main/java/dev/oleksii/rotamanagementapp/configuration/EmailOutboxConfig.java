@@ -0,0 +1,23 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "email-outbox") // Binds properties prefixed with "email-outbox" to this class
+public class EmailOutboxConfig {
+    // Maximum number of messages delivered over a single SMTP connection
+    private int batchSize = 50;
+    // Number of delivery attempts after which a message is marked as failed
+    private int maxAttempts = 8;
+    // Delay before the first retry; doubled after every further failed attempt
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    // Upper bound of the retry delay
+    private Duration maxBackoff = Duration.ofHours(1);
+    // How long a claimed message is hidden from other dispatchers while it is being sent
+    private Duration lease = Duration.ofMinutes(5);
+}
@@ -0,0 +1,17 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "entity-cache") // Binds properties prefixed with "entity-cache" to this class
+public class EntityCacheConfig {
+    // Maximum number of entries kept in each second-level cache region
+    private long maximumSize = 10_000;
+    // How long a cached entity is trusted; bounds staleness after changes made by other application instances
+    private Duration ttl = Duration.ofMinutes(5);
+}
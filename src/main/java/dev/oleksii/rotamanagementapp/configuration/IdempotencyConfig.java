@@ -0,0 +1,23 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "idempotency") // Binds properties prefixed with "idempotency" to this class
+public class IdempotencyConfig {
+    // Mutating requests to these paths honour the Idempotency-Key header
+    private List<String> paths = new ArrayList<>(List.of(
+            "/api/v1/teams/*/shifts/**",
+            "/api/v1/teams/*/shift-templates/**"));
+    // How long the response to a key is kept for replay
+    private Duration ttl = Duration.ofHours(24);
+    // After this long without a response, a request is considered abandoned and its key may be reused
+    private Duration processingTimeout = Duration.ofMinutes(1);
+}
@@ -0,0 +1,219 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.oleksii.rotamanagementapp.domain.dtos.ErrorResponse;
+import dev.oleksii.rotamanagementapp.domain.entities.IdempotentRequest;
+import dev.oleksii.rotamanagementapp.services.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Makes the mutating schedule endpoints safe to retry: a request carrying an Idempotency-Key header is
+ * executed once per user and key, and repeats of it are answered with the stored response, marked with the
+ * {@value #REPLAYED_HEADER} header.
+ * <p>
+ * A repeat that arrives while the first request is still being handled is rejected with 409, and a key reused
+ * for a different method, URI or body with 422. Server errors, conflicts and rate limiting are transient, so their
+ * responses are not stored and the request can be retried.
+ * Runs after the security filters, as keys are scoped to the authenticated user. Applies to the paths of
+ * {@link IdempotencyConfig}; requests without the header are handled as before.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    // Responses after which a retry may succeed, such as a conflict with a concurrent update of the same shift.
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(
+            HttpStatus.CONFLICT.value(), HttpStatus.TOO_MANY_REQUESTS.value());
+    private static final Set<String> MUTATING_METHODS = Set.of(
+            HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final IdempotencyService idempotencyService;
+    private final IdempotencyConfig idempotencyConfig;
+    private final ObjectMapper objectMapper;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (request.getHeader(HEADER) == null || !MUTATING_METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return idempotencyConfig.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            // Rejected further down the chain; there is no user to scope the key to.
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER).strip();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters long.");
+            return;
+        }
+
+        String owner = authentication.getName();
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(request, body);
+        Optional<IdempotentRequest> previous = idempotencyService.claim(owner, key, fingerprint);
+        if (previous.isPresent()) {
+            replay(previous.get(), fingerprint, response);
+            return;
+        }
+
+        var cachedResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachedResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyService.release(owner, key);
+            throw e;
+        }
+        int status = cachedResponse.getStatus();
+        if (status >= HttpStatus.INTERNAL_SERVER_ERROR.value() || TRANSIENT_STATUSES.contains(status)) {
+            idempotencyService.release(owner, key);
+        } else {
+            idempotencyService.complete(owner, key, status, cachedResponse.getContentType(),
+                    cachedResponse.getHeader(HttpHeaders.LOCATION), cachedResponse.getHeader(HttpHeaders.ETAG),
+                    new String(cachedResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+        }
+        cachedResponse.copyBodyToResponse();
+    }
+
+    private void replay(IdempotentRequest previous, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!previous.getFingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used for a different request.");
+        } else if (!previous.isCompleted()) {
+            writeError(response, HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed.");
+        } else {
+            response.setStatus(previous.getResponseStatus());
+            response.setHeader(REPLAYED_HEADER, "true");
+            if (previous.getResponseContentType() != null) {
+                response.setContentType(previous.getResponseContentType());
+            }
+            if (previous.getResponseLocation() != null) {
+                response.setHeader(HttpHeaders.LOCATION, previous.getResponseLocation());
+            }
+            if (previous.getResponseEtag() != null) {
+                response.setHeader(HttpHeaders.ETAG, previous.getResponseEtag());
+            }
+            if (previous.getResponseBody() != null) {
+                response.getOutputStream().write(previous.getResponseBody().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .status(status.value())
+                .message(message)
+                .build());
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Serves the body read for the fingerprint to the rest of the chain. The whole body is already in memory,
+    // so the stream is always ready, and a read listener is called back at once with all of it available.
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(@NonNull byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "jwt") // Binds properties prefixed with "jwt" from application.properties or application.yml to this class
@@ -12,4 +14,12 @@ public class JwtConfig {
     private String secret;
     // Token expiration duration in milliseconds
     private long expirationMilliseconds;
+    // Maximum number of already verified tokens kept in memory
+    private long verifiedTokenCacheSize = 10_000;
+    // Builds the authenticated principal from the token claims instead of loading the user on every request
+    private boolean statelessPrincipal;
+    // Maximum number of user token versions kept in memory for revocation checks
+    private long tokenVersionCacheSize = 10_000;
+    // How long a cached token version is trusted before it is re-read from the database
+    private Duration tokenVersionCacheTtl = Duration.ofMinutes(5);
 }
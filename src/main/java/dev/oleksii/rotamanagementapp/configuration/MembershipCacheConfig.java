@@ -0,0 +1,17 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "membership-cache") // Binds properties prefixed with "membership-cache" to this class
+public class MembershipCacheConfig {
+    // Maximum number of (user, team) role lookups kept in memory
+    private long maximumSize = 10_000;
+    // How long a cached role is trusted before it is re-read from the database
+    private Duration ttl = Duration.ofMinutes(1);
+}
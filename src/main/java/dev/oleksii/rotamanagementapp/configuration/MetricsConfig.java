@@ -0,0 +1,54 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tags the application's timers with the endpoint that caused them, so a slow endpoint can be traced to the
+ * service and repository calls it makes.
+ * <p>
+ * Spring Boot times every repository call as "spring.data.repository.invocations", tagged with the repository,
+ * method, state and exception; the endpoint is added here. Service calls are timed by {@link ServiceMetricsAspect},
+ * bearer token authentication by the JwtAuthenticationFilter and the statements of each request by the
+ * {@link QueryBudgetInterceptor}. Everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // For calls made outside a request, such as scheduled jobs, and before the handler is resolved.
+    static final String NO_ENDPOINT = "none";
+
+    @Bean
+    RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation)).and(Tag.of("endpoint", currentEndpoint()));
+    }
+
+    /**
+     * Returns the endpoint handling the current request, as its method and URI pattern, e.g.
+     * "GET /api/v1/teams/{teamId}/schedule", so that the tag does not grow with every identifier.
+     *
+     * @return the endpoint, or {@value #NO_ENDPOINT} outside a mapped request
+     */
+    static String currentEndpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return endpoint(attributes.getRequest());
+        }
+        return NO_ENDPOINT;
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+            return request.getMethod() + " " + pattern;
+        }
+        return NO_ENDPOINT;
+    }
+}
@@ -0,0 +1,24 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "query-budget") // Binds properties prefixed with "query-budget" to this class
+public class QueryBudgetConfig {
+    // SQL statements a request may run before it is reported
+    private int maxStatements = 20;
+    // Fails the request once it exceeds its budget instead of logging a warning; meant for development and tests
+    private boolean failOnExceed;
+    // Budgets of single endpoints, keyed by method and URI pattern, e.g. "[GET /api/v1/teams/{teamId}/schedule]"
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, maxStatements);
+    }
+}
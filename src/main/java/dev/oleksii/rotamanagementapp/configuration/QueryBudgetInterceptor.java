@@ -0,0 +1,77 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Holds every request handled by a controller to the statement budget of its endpoint (see {@link QueryBudgetConfig}),
+ * which catches N+1 queries introduced by lazy associations.
+ * <p>
+ * Statements are counted by the {@link StatementCounter} from the handler call until the response has been written,
+ * so lazy loads during serialization count too, and recorded per endpoint as the {@value #METRIC_NAME} summary.
+ * A request over its budget is logged as a warning or, with fail-on-exceed, fails on the first statement
+ * over it. Statements run by the security filters before the handler, and by streamed responses after it has
+ * returned, are not counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    static final String METRIC_NAME = "http.server.requests.statements";
+
+    private final QueryBudgetConfig queryBudgetConfig;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (handler instanceof HandlerMethod) {
+            String endpoint = MetricsConfig.endpoint(request);
+            StatementCounter.start(queryBudgetConfig.isFailOnExceed()
+                    ? queryBudgetConfig.budgetFor(endpoint)
+                    : Long.MAX_VALUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        finish(request);
+    }
+
+    // The rest of an async request runs on another thread, so counting ends when the handler returns.
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response, @NonNull Object handler) {
+        finish(request);
+    }
+
+    private void finish(HttpServletRequest request) {
+        long statements = StatementCounter.stop();
+        if (statements < 0) {
+            return;
+        }
+        String endpoint = MetricsConfig.endpoint(request);
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements run by a request")
+                .baseUnit("statements")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statements);
+
+        int budget = queryBudgetConfig.budgetFor(endpoint);
+        if (statements > budget) {
+            log.warn("{} ran {} SQL statements, over its budget of {}", endpoint, statements, budget);
+        }
+    }
+}
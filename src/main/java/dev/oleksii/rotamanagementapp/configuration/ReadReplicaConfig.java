@@ -0,0 +1,24 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "read-replica") // Binds properties prefixed with "read-replica" to this class
+public class ReadReplicaConfig {
+    // Sends read-only transactions to the replica below; everything runs on spring.datasource when disabled
+    private boolean enabled;
+    // JDBC URL of the replica; its pool is tuned under "read-replica.hikari"
+    private String url;
+    // Credentials of the replica, defaulting to those of the primary
+    private String username;
+    private String password;
+    // How long a user's reads stay on the primary after one of their transactions commits; zero disables it
+    private Duration stickyPrimary = Duration.ofSeconds(5);
+    // Maximum number of users kept on the primary at the same time
+    private long stickyPrimaryCacheSize = 10_000;
+}
@@ -0,0 +1,126 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Splits the database traffic between the primary and a read replica when {@code read-replica.enabled} is set
+ * (see {@link ReadReplicaConfig}): read-only transactions, such as the schedule and member listings, run on the
+ * replica and everything else on the primary, as {@link ReplicaRoutingDataSource} describes.
+ * <p>
+ * Both pools are Hikari pools, tuned under "spring.datasource.hikari" and "read-replica.hikari" respectively.
+ * Hibernate releases its connection after each transaction instead of holding it until the session closes,
+ * otherwise the open session of a web request would keep reusing the connection of its first transaction.
+ * <p>
+ * The second-level cache is shared by both databases, so read-only transactions only read from it: a row loaded
+ * from a lagging replica would otherwise be served as current to every later read, including the writer's own.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("read-replica.hikari")
+    HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties, ReadReplicaConfig readReplicaConfig) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(readReplicaConfig.getUrl())
+                .username(readReplicaConfig.getUsername() != null
+                        ? readReplicaConfig.getUsername()
+                        : dataSourceProperties.determineUsername())
+                .password(readReplicaConfig.getPassword() != null
+                        ? readReplicaConfig.getPassword()
+                        : dataSourceProperties.determinePassword())
+                .build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                          ReadReplicaConfig readReplicaConfig) {
+        var routing = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readReplicaConfig);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Set before the factory initialises, as it only falls back to the vendor's dialect when none is given.
+    @Bean
+    static BeanPostProcessor replicaCacheDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaCacheJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Puts the session of a read-only transaction in CacheMode.GET for the duration of the transaction, and
+    // restores the previous mode afterwards, as the session may outlive it.
+    static class ReplicaCacheJpaDialect extends HibernateJpaDialect {
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws SQLException {
+            Object transactionData = super.beginTransaction(entityManager, definition);
+            if (!definition.isReadOnly()) {
+                return transactionData;
+            }
+            Session session = getSession(entityManager);
+            CacheMode previousCacheMode = session.getCacheMode();
+            session.setCacheMode(CacheMode.GET);
+            return new ReadOnlyTransactionData(transactionData, session, previousCacheMode);
+        }
+
+        @Override
+        public void cleanupTransaction(Object transactionData) {
+            if (transactionData instanceof ReadOnlyTransactionData readOnly) {
+                readOnly.session().setCacheMode(readOnly.previousCacheMode());
+                transactionData = readOnly.transactionData();
+            }
+            super.cleanupTransaction(transactionData);
+        }
+
+        private record ReadOnlyTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.oleksii.rotamanagementapp.utils.TransactionUtils;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends the connections of read-only transactions to the replica and all others to the primary.
+ * <p>
+ * The transaction's read-only flag is only set once the transaction has begun, so this data source must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers the choice
+ * to the first statement. Work outside a transaction goes to the primary.
+ * <p>
+ * Reads your writes: once a read-write transaction of the current user commits, their read-only transactions
+ * stay on the primary for the sticky period, so a replica that lags behind does not hide what they just wrote.
+ * Other users may see the change only once the replica has caught up.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    // Users whose reads stay on the primary, or null when stickiness is disabled
+    private final Cache<String, Boolean> stickyUsers;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadReplicaConfig readReplicaConfig) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.stickyUsers = readReplicaConfig.getStickyPrimary().isPositive()
+                ? Caffeine.newBuilder()
+                        .maximumSize(readReplicaConfig.getStickyPrimaryCacheSize())
+                        .expireAfterWrite(readReplicaConfig.getStickyPrimary())
+                        .build()
+                : null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (stickyUsers != null && user != null) {
+                TransactionUtils.runAfterCommit(() -> stickyUsers.put(user, Boolean.TRUE));
+            }
+            return Route.PRIMARY;
+        }
+        if (stickyUsers != null && user != null && stickyUsers.getIfPresent(user) != null) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+}
@@ -0,0 +1,15 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "schedule-change-log") // Binds properties prefixed with "schedule-change-log" to this class
+public class ScheduleChangeLogConfig {
+    // How long tombstones are kept; clients that have not synced for longer must reload the schedule
+    private Duration tombstoneRetention = Duration.ofDays(30);
+}
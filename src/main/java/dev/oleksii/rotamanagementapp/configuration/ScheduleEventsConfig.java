@@ -0,0 +1,21 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "schedule-events") // Binds properties prefixed with "schedule-events" to this class
+public class ScheduleEventsConfig {
+    // How long a stream stays open before the client is asked to reconnect with its Last-Event-ID
+    private Duration timeout = Duration.ofMinutes(30);
+    // Maximum number of recent events kept per team for clients resuming a stream
+    private int replayBufferSize = 256;
+    // How long recent events are kept for clients resuming a stream
+    private Duration replayWindow = Duration.ofMinutes(10);
+    // Events queued for a single subscriber; a subscriber that falls further behind is disconnected
+    private int subscriberQueueCapacity = 128;
+}
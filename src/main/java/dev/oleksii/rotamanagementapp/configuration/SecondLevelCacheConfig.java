@@ -0,0 +1,106 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import java.util.OptionalLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Enables Hibernate's second-level cache for the entities annotated with {@code @Cache}, backed by Caffeine
+ * through JCache.
+ * <p>
+ * Every region is bounded by the size and TTL of {@link EntityCacheConfig}. Hibernate keeps the regions in step
+ * with the changes it makes itself; the TTL bounds how long changes made by other application instances stay
+ * invisible. Per-region hits, misses and hit ratio are published as "hibernate.cache.region" metrics.
+ * <p>
+ * Regions are named explicitly on the entities: Caffeine looks each name up as a path in its own configuration
+ * and rejects Hibernate's default natural-id region names.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(EntityCacheConfig entityCacheConfig) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, new CaffeineRegionFactory(entityCacheConfig));
+            properties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE.getExternalRepresentation());
+            // Region metrics are read from Hibernate's statistics.
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    @Bean
+    MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            var sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            Statistics statistics = sessionFactory.getStatistics();
+            for (String region : sessionFactory.getCache().getCacheRegionNames()) {
+                FunctionCounter.builder("hibernate.cache.region.requests", statistics,
+                                regionStatistic(region, CacheRegionStatistics::getHitCount))
+                        .tag("region", region)
+                        .tag("result", "hit")
+                        .description("Second-level cache lookups that found an entry")
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.region.requests", statistics,
+                                regionStatistic(region, CacheRegionStatistics::getMissCount))
+                        .tag("region", region)
+                        .tag("result", "miss")
+                        .description("Second-level cache lookups that went to the database")
+                        .register(registry);
+                Gauge.builder("hibernate.cache.region.hit.ratio", statistics,
+                                regionStatistic(region, SecondLevelCacheConfig::hitRatio))
+                        .tag("region", region)
+                        .description("Share of second-level cache lookups that found an entry")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static ToDoubleFunction<Statistics> regionStatistic(String region,
+                                                                ToDoubleFunction<CacheRegionStatistics> value) {
+        return statistics -> value.applyAsDouble(statistics.getCacheRegionStatistics(region));
+    }
+
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        long hits = statistics.getHitCount();
+        long requests = hits + statistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    // Creates each region on first use as a Caffeine cache with the configured bounds, so a newly cached entity
+    // needs no further configuration.
+    static class CaffeineRegionFactory extends JCacheRegionFactory {
+
+        private final EntityCacheConfig entityCacheConfig;
+
+        CaffeineRegionFactory(EntityCacheConfig entityCacheConfig) {
+            this.entityCacheConfig = entityCacheConfig;
+        }
+
+        @Override
+        protected Cache<Object, Object> createCache(String regionName) {
+            var configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(entityCacheConfig.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(entityCacheConfig.getTtl().toNanos()));
+            return getCacheManager().createCache(regionName, configuration);
+        }
+    }
+}
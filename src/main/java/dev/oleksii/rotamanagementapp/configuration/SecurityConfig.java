@@ -2,10 +2,17 @@ package dev.oleksii.rotamanagementapp.configuration;
 
 import dev.oleksii.rotamanagementapp.security.JwtAuthenticationFilter;
 import dev.oleksii.rotamanagementapp.security.JwtService;
+import dev.oleksii.rotamanagementapp.security.TokenVersionCache;
 import dev.oleksii.rotamanagementapp.services.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -19,6 +26,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -31,13 +39,15 @@ public class SecurityConfig {
      * @param http The HttpSecurity instance to configure.
      * @param authenticationProvider The custom authentication provider.
      * @param jwtAuthenticationFilter The JWT authentication filter for processing JWT tokens.
+     * @param environment The environment, used to tell whether actuator runs on its own management port.
      * @return Configured SecurityFilterChain.
      * @throws Exception in case of configuration errors.
      */
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http,
                                             AuthenticationProvider authenticationProvider,
-                                            JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+                                            JwtAuthenticationFilter jwtAuthenticationFilter,
+                                            Environment environment) throws Exception {
         http
                 // Disable CSRF since we're using JWTs for authentication (stateless API)
                 .csrf(AbstractHttpConfigurer::disable)
@@ -45,12 +55,16 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults())
                 // Configure authorization rules for HTTP requests
                 .authorizeHttpRequests(req -> req
+                        // Streamed responses finish on an async dispatch of a request that was already authorized.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Permit unauthenticated access to authentication-related endpoints,
                         // as well as Swagger UI and OpenAPI documentation endpoints.
                         // - /api/v1/auth/** : Endpoints for login, registration, and other public auth operations.
                         // - /swagger-ui/**   : Interactive API documentation interface.
                         // - /v3/api-docs/**  : JSON representation of the OpenAPI spec used by Swagger UI.
                         .requestMatchers("/api/v1/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // The Prometheus scraper holds no token, so the scrape is only open on the management port.
+                        .requestMatchers(prometheusScrape(environment)).permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated())
                 // Set session management to stateless, so no session is created or used by Spring Security
@@ -64,6 +78,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Matches the Prometheus scrape when actuator is served on its own management port (management.server.port),
+     * which is bound to an internal address (management.server.address) and never published with the API.
+     * When actuator shares the API port, the scrape requires authentication like any other endpoint.
+     *
+     * @param environment The environment holding the server and management ports.
+     * @return A RequestMatcher for the unauthenticated Prometheus scrape.
+     */
+    private static RequestMatcher prometheusScrape(Environment environment) {
+        if (ManagementPortType.get(environment) != ManagementPortType.DIFFERENT) {
+            return request -> false;
+        }
+        return EndpointRequest.to(PrometheusScrapeEndpoint.class);
+    }
+
     /**
      * Defines the authentication provider bean using a DAO-based approach.
      *
@@ -112,10 +141,15 @@ public class SecurityConfig {
      *
      * @param jwtService The service responsible for handling JWT operations.
      * @param userDetailsService The service that retrieves user details from the database.
+     * @param jwtConfig The JWT settings, including whether principals are built from token claims.
+     * @param tokenVersionCache The cache used to detect revoked tokens of stateless principals.
+     * @param meterRegistry The registry the filter records its authentication time in.
      * @return A new instance of JwtAuthenticationFilter.
      */
     @Bean
-    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService) {
-        return new JwtAuthenticationFilter(jwtService, userDetailsService);
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService,
+                                                           JwtConfig jwtConfig, TokenVersionCache tokenVersionCache,
+                                                           MeterRegistry meterRegistry) {
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, jwtConfig, tokenVersionCache, meterRegistry);
     }
 }
@@ -0,0 +1,50 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every call of the schedule and team facades, and the queuing of verification emails, as
+ * {@value #METRIC_NAME}. Timers are tagged with the class and method, the endpoint that made the call
+ * (see {@link MetricsConfig#currentEndpoint()}), the outcome and the exception, if any.
+ * <p>
+ * Only calls through the Spring proxy are timed, so a facade calling its own methods is counted once.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "service.calls";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * dev.oleksii.rotamanagementapp.services.ScheduleFacade+.*(..))"
+            + " || execution(public * dev.oleksii.rotamanagementapp.services.TeamFacade+.*(..))"
+            + " || execution(public * dev.oleksii.rotamanagementapp.services.EmailService+.sendVerificationEmail(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NO_EXCEPTION;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Time spent in a service call")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("endpoint", MetricsConfig.currentEndpoint())
+                    .tag("outcome", exception.equals(NO_EXCEPTION) ? "success" : "error")
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import dev.oleksii.rotamanagementapp.exceptions.QueryBudgetExceededException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start} and {@link #stop}.
+ * Registered as Hibernate's statement inspector (hibernate.session_factory.statement_inspector), so it sees every
+ * statement, including those of lazy loads triggered by the mappers. A JDBC batch counts once.
+ * <p>
+ * The count is per thread: work handed to another thread, such as an async task, is not included.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Count> CURRENT = new ThreadLocal<>();
+
+    private static final class Count {
+        private long statements;
+        private long limit;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Count count = CURRENT.get();
+        if (count != null && ++count.statements > count.limit) {
+            long limit = count.limit;
+            // Statements run while the failure is handled, such as a rollback, must not fail again.
+            count.limit = Long.MAX_VALUE;
+            throw new QueryBudgetExceededException("Statement budget of " + limit + " exceeded by: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on the current thread, from zero.
+     */
+    public static void start() {
+        start(Long.MAX_VALUE);
+    }
+
+    /**
+     * Starts counting on the current thread, from zero, failing the statement that exceeds the limit.
+     *
+     * @param limit the number of statements allowed
+     */
+    public static void start(long limit) {
+        Count count = new Count();
+        count.limit = limit;
+        CURRENT.set(count);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the statements counted since {@link #start}, or -1 if counting was not started
+     */
+    public static long stop() {
+        Count count = CURRENT.get();
+        CURRENT.remove();
+        return count == null ? -1 : count.statements;
+    }
+}
@@ -0,0 +1,90 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, which happens on Java 21 when a virtual
+ * thread blocks inside a synchronized block or a native frame, such as JDBC I/O under a monitor.
+ * <p>
+ * Active when virtual threads are enabled with {@code spring.threads.virtual.enabled}. It streams the JDK's
+ * {@code jdk.VirtualThreadPinned} events for sections longer than the configured threshold. Each event is
+ * recorded in the "jvm.threads.virtual.pinned" timer, tagged with the site: the innermost frame outside the
+ * JDK. The stack is logged the first time a site shows up.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String METRIC_NAME = "jvm.threads.virtual.pinned";
+
+    private final MeterRegistry meterRegistry;
+    private final int stackDepth;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(VirtualThreadsConfig virtualThreadsConfig, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.stackDepth = virtualThreadsConfig.getStackDepth();
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(virtualThreadsConfig.getPinnedThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<String> frames = stackTrace == null ? List.of() : stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .toList();
+        record(event.getDuration(), frames);
+    }
+
+    void record(Duration duration, List<String> frames) {
+        String site = site(frames);
+        Timer.builder(METRIC_NAME)
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(duration);
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n\t{}", duration.toMillis(), site,
+                    frames.stream().limit(stackDepth).collect(Collectors.joining("\n\t")));
+        } else {
+            log.debug("Virtual thread pinned for {} ms at {}", duration.toMillis(), site);
+        }
+    }
+
+    // The innermost frame outside the JDK is usually the library or application code holding the monitor.
+    static String site(List<String> frames) {
+        List<String> methods = frames.stream().map(frame -> frame.substring(0, frame.lastIndexOf(':'))).toList();
+        return methods.stream()
+                .filter(method -> !method.startsWith("java.") && !method.startsWith("jdk.") && !method.startsWith("sun."))
+                .findFirst()
+                .orElse(methods.isEmpty() ? "unknown" : methods.get(0));
+    }
+}
@@ -0,0 +1,17 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "virtual-threads") // Binds properties prefixed with "virtual-threads" to this class
+public class VirtualThreadsConfig {
+    // Pinned sections shorter than this are not reported
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+    // Number of stack frames logged the first time a site pins a virtual thread
+    private int stackDepth = 12;
+}
@@ -1,11 +1,15 @@
 package dev.oleksii.rotamanagementapp.configuration;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.*;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer { // Implements WebMvcConfigurer to customize the default Spring MVC configuration.
 
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
     /**
      * Configures Cross-Origin Resource Sharing (CORS) settings.
      * This method allows your backend to handle cross-origin requests from the specified origins,
@@ -20,4 +24,14 @@ public class WebConfig implements WebMvcConfigurer { // Implements WebMvcConfigu
                 .allowedMethods("GET", "POST", "PUT", "DELETE") // Permit only these HTTP methods.
                 .allowCredentials(true); // Allow cookies, authorization headers, or TLS client certificates to be included in the requests.
     }
-}
\ No newline at end of file
+
+    /**
+     * Registers the interceptor that counts the SQL statements of every request against its budget.
+     *
+     * @param registry The InterceptorRegistry to add the interceptor to.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+    }
+}
@@ -0,0 +1,91 @@
+package dev.oleksii.rotamanagementapp.controllers;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.CalendarFeed;
+import dev.oleksii.rotamanagementapp.exceptions.AccessDeniedException;
+import dev.oleksii.rotamanagementapp.security.SecurityUtil;
+import dev.oleksii.rotamanagementapp.services.ScheduleFacade;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/teams/{teamId}")
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    // Facade service that handles all schedule related business logic.
+    private final ScheduleFacade scheduleFacade;
+    // Utility to extract the current user and check their permissions.
+    private final SecurityUtil securityUtil;
+
+    /**
+     * Endpoint to subscribe to all assignments of a team as an iCalendar feed.
+     *
+     * @param teamId the identifier of the team.
+     * @param request the current request, used to answer If-None-Match and If-Modified-Since.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity streaming the feed, or 304 when the client's copy is current.
+     */
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getTeamCalendar(
+            @PathVariable UUID teamId,
+            WebRequest request,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Deny access if the user is not a member of the team.
+        if (!securityUtil.isMember(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view team schedule.");
+        }
+        return calendar(scheduleFacade.getTeamCalendarFeed(teamId), request);
+    }
+
+    /**
+     * Endpoint to subscribe to one member's assignments as an iCalendar feed.
+     *
+     * @param teamId the identifier of the team.
+     * @param memberId the identifier of the member.
+     * @param request the current request, used to answer If-None-Match and If-Modified-Since.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity streaming the feed, or 304 when the client's copy is current.
+     */
+    @GetMapping("/members/{memberId}/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getMemberCalendar(
+            @PathVariable UUID teamId,
+            @PathVariable UUID memberId,
+            WebRequest request,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Deny access if the user is not a member of the team.
+        if (!securityUtil.isMember(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view team schedule.");
+        }
+        return calendar(scheduleFacade.getMemberCalendarFeed(teamId, memberId), request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> calendar(CalendarFeed feed, WebRequest request) {
+        // Answer with 304 before any assignment is read; this also sets the ETag and Last-Modified headers.
+        if (request.checkNotModified(feed.getEtag(), feed.getLastModified().toEpochMilli())) {
+            return null;
+        }
+        // Written on an async thread inside its own read-only transaction, as the rows come off the cursor.
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .body(out -> scheduleFacade.writeCalendar(feed, out));
+    }
+}
@@ -4,6 +4,7 @@ import dev.oleksii.rotamanagementapp.domain.dtos.ErrorResponse;
 import dev.oleksii.rotamanagementapp.exceptions.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -211,4 +212,24 @@ public class ExceptionHandler {
                 .build();
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
+
+    /**
+     * Handles {@link OptimisticLockingFailureException}, thrown when a transaction
+     * commits changes to an entity that another transaction changed in the meantime,
+     * e.g. two managers assigning members to the same shift at once.
+     * Returns a 409 Conflict status; the request can be retried as is.
+     *
+     * @param ex the exception indicating a concurrent modification
+     * @return a {@link ResponseEntity} with a 409 Conflict status
+     */
+    @org.springframework.web.bind.annotation.ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message("The shift was changed by another request. Please try again.")
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
 }
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.Set;
@@ -37,22 +38,44 @@ public class ScheduleController {
             Principal principal) {
 
         // Get the current user from the security context.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Check if the user is a member of the team; if not, throw access denied exception.
-        if (!securityUtil.isMember(user.getId(), teamId)) {
+        if (!securityUtil.isMember(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to view these shifts.");
         }
         // Fetch and return all shifts assigned to team members.
         return ResponseEntity.ok(
-                scheduleFacade.getAllMemberShifts(user, teamId)
+                scheduleFacade.getAllMemberShifts(userId, teamId)
         );
     }
 
+    /**
+     * Endpoint to validate a team's whole schedule for overlapping assignments.
+     *
+     * @param teamId the identifier of the team.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity containing every pair of overlapping assignments.
+     */
+    @GetMapping("/conflicts")
+    public ResponseEntity<ScheduleConflictsDto> getScheduleConflicts(
+            @PathVariable UUID teamId,
+            Principal principal) {
+
+        // Get the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Ensure the user is a member of the team before allowing access.
+        if (!securityUtil.isMember(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view this schedule.");
+        }
+        return ResponseEntity.ok(scheduleFacade.getScheduleConflicts(teamId));
+    }
+
     /**
      * Endpoint to retrieve a specific shift from a team.
      *
      * @param teamId the identifier of the team.
      * @param shiftId the identifier of the shift.
+     * @param request the current request, used to answer If-None-Match with 304.
      * @param principal the currently authenticated user.
      * @return a ResponseEntity containing a ShiftDto with shift details.
      */
@@ -60,16 +83,21 @@ public class ScheduleController {
     public ResponseEntity<ShiftDto> getShift(
             @PathVariable UUID teamId,
             @PathVariable UUID shiftId,
+            WebRequest request,
             Principal principal) {
 
         // Get the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Ensure the user is a member of the team before allowing access.
-        if (!securityUtil.isMember(user.getId(), teamId)) {
+        if (!securityUtil.isMember(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to view this shift.");
         }
-        // Retrieve and return the specified shift.
-        return ResponseEntity.ok(scheduleFacade.getShift(teamId, shiftId));
+        // Answer with 304 if the client already has the current revision of the team, before the shift is read;
+        // otherwise retrieve and return the specified shift at that revision.
+        return scheduleFacade.readAtRevision(teamId, revision -> request.checkNotModified("\"" + revision + "\""),
+                        () -> scheduleFacade.getShift(teamId, shiftId))
+                .map(ResponseEntity::ok)
+                .orElse(null);
     }
 
     /**
@@ -87,15 +115,67 @@ public class ScheduleController {
             Principal principal) {
 
         // Retrieve the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Deny access if the user is not a manager.
-        if (!securityUtil.isManager(user.getId(), teamId)) {
+        if (!securityUtil.isManager(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to create shifts.");
         }
         // Delegate shift creation to the service and return the new shift with HTTP 201 status.
         return ResponseEntity.status(HttpStatus.CREATED).body(scheduleFacade.createShift(teamId, request));
     }
 
+    /**
+     * Endpoint to create many shifts for a team in one request.
+     * Each item is validated independently; valid items are created even if others are rejected.
+     *
+     * @param teamId the identifier of the team.
+     * @param request the request body containing the shifts to create.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity containing one result per item, with HTTP 201 if all shifts were created
+     *         and HTTP 200 if some were rejected.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateShiftsResponse> createShifts(
+            @PathVariable UUID teamId,
+            @Valid @RequestBody BulkCreateShiftsRequest request,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Deny access if the user is not a manager.
+        if (!securityUtil.isManager(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to create shifts.");
+        }
+        // Create the valid shifts and report the result of every item.
+        var response = scheduleFacade.createShifts(teamId, request.getShifts());
+        var status = response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Endpoint to assign members to all unassigned shifts of a date window in one pass.
+     *
+     * @param teamId the identifier of the team.
+     * @param request the request body containing the window, constraints and time budget.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity containing the number of assignments made and the shifts left unassigned.
+     */
+    @PostMapping("/auto-assign")
+    public ResponseEntity<AutoScheduleResponse> autoSchedule(
+            @PathVariable UUID teamId,
+            @Valid @RequestBody AutoScheduleRequest request,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Deny access if the user is not a manager.
+        if (!securityUtil.isManager(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to assign shifts.");
+        }
+        // Run the solver and store its assignments.
+        return ResponseEntity.ok(scheduleFacade.autoSchedule(teamId, request));
+    }
+
     /**
      * Endpoint to delete an existing shift from a team.
      *
@@ -111,9 +191,9 @@ public class ScheduleController {
             Principal principal) {
 
         // Retrieve the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Deny deletion if the user is not a manager.
-        if (!securityUtil.isManager(user.getId(), teamId)) {
+        if (!securityUtil.isManager(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to delete shifts.");
         }
         // Perform the deletion operation.
@@ -138,9 +218,9 @@ public class ScheduleController {
             Principal principal) {
 
         // Retrieve the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Check permission
-        if (!securityUtil.isManager(user.getId(), teamId)) {
+        if (!securityUtil.isManager(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to assign shifts.");
         }
         // Delegate the assignment to the service and return the result with HTTP 201 status.
@@ -164,9 +244,9 @@ public class ScheduleController {
             Principal principal) {
 
         // Retrieve the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Check if the user is permitted to unassign shifts.
-        if (!securityUtil.isManager(user.getId(), teamId)) {
+        if (!securityUtil.isManager(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to unassign shifts.");
         }
         // Delegate the unassignment operation to the service.
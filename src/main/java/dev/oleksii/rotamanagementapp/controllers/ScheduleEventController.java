@@ -0,0 +1,54 @@
+package dev.oleksii.rotamanagementapp.controllers;
+
+import dev.oleksii.rotamanagementapp.exceptions.AccessDeniedException;
+import dev.oleksii.rotamanagementapp.security.SecurityUtil;
+import dev.oleksii.rotamanagementapp.services.ScheduleFacade;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/teams/{teamId}")
+public class ScheduleEventController {
+
+    // Facade service that handles all schedule related business logic.
+    private final ScheduleFacade scheduleFacade;
+    // Utility to extract the current user and check their permissions.
+    private final SecurityUtil securityUtil;
+
+    /**
+     * Endpoint to follow a team's schedule changes as Server-Sent Events.
+     * <p>
+     * Each event is named after the kind of change and carries the team's new revision as its id. A client that
+     * reconnects with the last id it saw is sent the changes it missed, or a {@code reset} event telling it to
+     * reload the schedule if they are no longer known.
+     *
+     * @param teamId the identifier of the team.
+     * @param lastEventId the last revision the client received, sent by browsers when they reconnect.
+     * @param principal the currently authenticated user.
+     * @return an SseEmitter that stays open and writes the events.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getScheduleEvents(
+            @PathVariable UUID teamId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Deny access if the user is not a member of the team.
+        if (!securityUtil.isMember(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view team schedule.");
+        }
+        return scheduleFacade.subscribeToChanges(teamId, lastEventId);
+    }
+}
@@ -0,0 +1,132 @@
+package dev.oleksii.rotamanagementapp.controllers;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.AssignShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftTemplateRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.MemberShiftDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftTemplateDto;
+import dev.oleksii.rotamanagementapp.exceptions.AccessDeniedException;
+import dev.oleksii.rotamanagementapp.security.SecurityUtil;
+import dev.oleksii.rotamanagementapp.services.ScheduleFacade;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/teams/{teamId}/shift-templates")
+public class ShiftTemplateController {
+
+    // Facade service that handles all schedule related business logic.
+    private final ScheduleFacade scheduleFacade;
+    // Utility to extract the current user and check their permissions.
+    private final SecurityUtil securityUtil;
+
+    /**
+     * Endpoint to retrieve the recurring shift templates of a team.
+     *
+     * @param teamId the identifier of the team.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity containing the team's ShiftTemplateDto objects.
+     */
+    @GetMapping
+    public ResponseEntity<List<ShiftTemplateDto>> getShiftTemplates(
+            @PathVariable UUID teamId,
+            Principal principal) {
+
+        // Get the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Ensure the user is a member of the team before allowing access.
+        if (!securityUtil.isMember(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view these shift templates.");
+        }
+        return ResponseEntity.ok(scheduleFacade.getShiftTemplates(teamId));
+    }
+
+    /**
+     * Endpoint to create a recurring shift template for a team.
+     * No shifts are stored; occurrences appear in the windowed schedule read.
+     *
+     * @param teamId the identifier of the team.
+     * @param request the request body containing the template and its recurrence rule.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity containing the created ShiftTemplateDto.
+     */
+    @PostMapping
+    public ResponseEntity<ShiftTemplateDto> createShiftTemplate(
+            @PathVariable UUID teamId,
+            @Valid @RequestBody CreateShiftTemplateRequest request,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Deny access if the user is not a manager.
+        if (!securityUtil.isManager(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to create shift templates.");
+        }
+        // Create the template and return it with HTTP 201 status.
+        return ResponseEntity.status(HttpStatus.CREATED).body(scheduleFacade.createShiftTemplate(teamId, request));
+    }
+
+    /**
+     * Endpoint to delete a recurring shift template.
+     * Occurrences that already have assignments are kept as one-off shifts.
+     *
+     * @param teamId the identifier of the team.
+     * @param templateId the identifier of the template to delete.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity containing a success message.
+     */
+    @DeleteMapping("/{templateId}")
+    public ResponseEntity<String> deleteShiftTemplate(
+            @PathVariable UUID teamId,
+            @PathVariable UUID templateId,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Deny deletion if the user is not a manager.
+        if (!securityUtil.isManager(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to delete shift templates.");
+        }
+        scheduleFacade.deleteShiftTemplate(teamId, templateId);
+        return ResponseEntity.ok("Shift template deleted successfully.");
+    }
+
+    /**
+     * Endpoint to assign a member to one occurrence of a recurring shift template.
+     * The occurrence is stored as a shift the first time someone is assigned to it.
+     *
+     * @param teamId the identifier of the team.
+     * @param templateId the identifier of the template.
+     * @param date the date of the occurrence (ISO format, e.g. 2025-03-03).
+     * @param request the request body containing assignment details.
+     * @param principal the currently authenticated user.
+     * @return a ResponseEntity containing the created MemberShiftDto.
+     */
+    @PostMapping("/{templateId}/occurrences/{date}/assign")
+    public ResponseEntity<MemberShiftDto> assignShiftOccurrence(
+            @PathVariable UUID teamId,
+            @PathVariable UUID templateId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody AssignShiftRequest request,
+            Principal principal) {
+
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Check permission
+        if (!securityUtil.isManager(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to assign shifts.");
+        }
+        // Materialise the occurrence if needed and assign the member to it.
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(scheduleFacade.assignShiftOccurrence(teamId, templateId, date, request));
+    }
+}
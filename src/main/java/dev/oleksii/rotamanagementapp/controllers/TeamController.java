@@ -1,19 +1,27 @@
 package dev.oleksii.rotamanagementapp.controllers;
 
+import dev.oleksii.rotamanagementapp.domain.dtos.HoursReportPageDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.MemberDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDeltaDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftPageDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.TeamDto;
+import dev.oleksii.rotamanagementapp.domain.enums.ReportPeriod;
 import dev.oleksii.rotamanagementapp.exceptions.AccessDeniedException;
 import dev.oleksii.rotamanagementapp.security.SecurityUtil;
 import dev.oleksii.rotamanagementapp.services.TeamFacade;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongPredicate;
 
 /**
  * REST controller for handling team-related operations.
@@ -50,23 +58,101 @@ public class TeamController {
      * Retrieves the schedule for a specific team.
      *
      * @param teamId    The UUID of the team whose schedule is requested.
+     * @param request   The current request, used to answer If-None-Match with 304.
      * @param principal The security principal of the current user.
-     * @return ResponseEntity containing the ScheduleDto.
+     * @return ResponseEntity containing the ScheduleDto, with the team's revision as its ETag.
      * @throws AccessDeniedException if the user is not a member of the team.
      */
     @GetMapping("/{teamId}/schedule")
     public ResponseEntity<ScheduleDto> getTeamSchedule(
             @PathVariable UUID teamId,
+            WebRequest request,
             Principal principal) {
 
         // Get the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Check if the user is a member of the requested team; if not, deny access.
-        if (!securityUtil.isMember(user.getId(), teamId)) {
+        if (!securityUtil.isMember(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to view team schedule.");
         }
-        // Retrieve and return the team schedule.
-        return ResponseEntity.ok(teamFacade.getTeamSchedule(teamId));
+        // Answer with 304 if the client already has the current revision, before any shift is read;
+        // otherwise retrieve and return the team schedule at that revision.
+        return teamFacade.readAtRevision(teamId, notModified(request), () -> teamFacade.getTeamSchedule(teamId))
+                .map(ResponseEntity::ok)
+                .orElse(null);
+    }
+
+    /**
+     * Retrieves one page of a team's shifts within a date window, ordered by date and start time.
+     * The response carries a cursor that is passed back to fetch the following page.
+     *
+     * @param teamId    The UUID of the team whose shifts are requested.
+     * @param from      The first date of the window (inclusive), in ISO format.
+     * @param to        The last date of the window (inclusive), in ISO format.
+     * @param cursor    The cursor returned with the previous page; omitted for the first page.
+     * @param size      The maximum number of shifts per page.
+     * @param request   The current request, used to answer If-None-Match with 304.
+     * @param principal The security principal of the current user.
+     * @return ResponseEntity containing the ShiftPageDto.
+     * @throws AccessDeniedException if the user is not a member of the team.
+     */
+    @GetMapping("/{teamId}/schedule/shifts")
+    public ResponseEntity<ShiftPageDto> getTeamScheduleWindow(
+            @PathVariable UUID teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            WebRequest request,
+            Principal principal) {
+
+        // Get the current user.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Check if the user is a member of the requested team; if not, deny access.
+        if (!securityUtil.isMember(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view team schedule.");
+        }
+        // Answer with 304 if the client already has the current revision, before any shift is read;
+        // otherwise retrieve and return the requested page of the team schedule at that revision.
+        return teamFacade.readAtRevision(teamId, notModified(request),
+                        () -> teamFacade.getTeamScheduleWindow(teamId, from, to, cursor, size))
+                .map(ResponseEntity::ok)
+                .orElse(null);
+    }
+
+    /**
+     * Retrieves the changes to a team's shifts and assignments since a version the client already has:
+     * inserts and updates with the current state, and tombstones for deletions.
+     * Without a version, or when the changes since it are no longer known, the response asks the client to
+     * reload the schedule and carries the version to continue from.
+     *
+     * @param teamId    The UUID of the team.
+     * @param since     The version returned by the previous call; omitted to start.
+     * @param size      The maximum number of changes per response.
+     * @param request   The current request, used to answer If-None-Match with 304.
+     * @param principal The security principal of the current user.
+     * @return ResponseEntity containing the ScheduleDeltaDto.
+     * @throws AccessDeniedException if the user is not a member of the team.
+     */
+    @GetMapping("/{teamId}/schedule/changes")
+    public ResponseEntity<ScheduleDeltaDto> getTeamScheduleChanges(
+            @PathVariable UUID teamId,
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int size,
+            WebRequest request,
+            Principal principal) {
+
+        // Get the current user.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Check if the user is a member of the requested team; if not, deny access.
+        if (!securityUtil.isMember(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view team schedule.");
+        }
+        // Answer with 304 if nothing changed since this exact request was last answered.
+        return teamFacade.readAtRevision(teamId, notModified(request),
+                        () -> teamFacade.getScheduleChanges(teamId, since, size))
+                .map(ResponseEntity::ok)
+                .orElse(null);
     }
 
     /**
@@ -83,9 +169,9 @@ public class TeamController {
             Principal principal) {
 
         // Get the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Verify membership before returning team details.
-        if (!securityUtil.isMember(user.getId(), teamId)) {
+        if (!securityUtil.isMember(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to view team.");
         }
         // Return the team details.
@@ -146,10 +232,10 @@ public class TeamController {
             @PathVariable UUID teamId,
             Principal principal) {
 
-        // Retrieve the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        // Retrieve the current user's id.
+        var userId = securityUtil.getCurrentUserId(principal);
         // Delegate the leave operation to the teamFacade.
-        teamFacade.leaveTeam(user, teamId);
+        teamFacade.leaveTeam(userId, teamId);
         return ResponseEntity.ok("Leaved team successfully.");
     }
 
@@ -167,9 +253,9 @@ public class TeamController {
             Principal principal) {
 
         // Retrieve the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Check if the user is a manager, which in this case prevents deletion.
-        if (!securityUtil.isManager(user.getId(), teamId)) {
+        if (!securityUtil.isManager(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to delete team.");
         }
         // Delegate the deletion operation to the teamFacade.
@@ -182,6 +268,7 @@ public class TeamController {
      * Retrieves all members of a specific team.
      *
      * @param teamId    The UUID of the team.
+     * @param request   The current request, used to answer If-None-Match with 304.
      * @param principal The security principal of the current user.
      * @return ResponseEntity containing a set of MemberDto objects.
      * @throws AccessDeniedException if the user is not a member of the team.
@@ -189,15 +276,58 @@ public class TeamController {
     @GetMapping("/{teamId}/members")
     public ResponseEntity<Set<MemberDto>> getAllTeamMembers(
             @PathVariable UUID teamId,
+            WebRequest request,
             Principal principal) {
 
         // Get the current user.
-        var user = securityUtil.getCurrentUser(principal);
+        var userId = securityUtil.getCurrentUserId(principal);
         // Verify that the user is a member before showing team members.
-        if (!securityUtil.isMember(user.getId(), teamId)) {
+        if (!securityUtil.isMember(userId, teamId)) {
             throw new AccessDeniedException("User doesn't have permission to view members.");
         }
-        // Retrieve and return the set of team members.
-        return ResponseEntity.ok(teamFacade.getAllTeamMembers(teamId));
+        // Answer with 304 if the client already has the current revision, before any member is read;
+        // otherwise retrieve and return the set of team members at that revision.
+        return teamFacade.readAtRevision(teamId, notModified(request), () -> teamFacade.getAllTeamMembers(teamId))
+                .map(ResponseEntity::ok)
+                .orElse(null);
+    }
+
+    /**
+     * Retrieves one page of the hours worked by a team's members within a date range, totalled per week or month.
+     * The response carries a cursor that is passed back to fetch the following page of members.
+     *
+     * @param teamId    The UUID of the team.
+     * @param from      The first date of the range (inclusive), in ISO format.
+     * @param to        The last date of the range (inclusive), in ISO format.
+     * @param period    Whether to total the hours per WEEK or per MONTH.
+     * @param cursor    The cursor returned with the previous page; omitted for the first page.
+     * @param size      The maximum number of members per page.
+     * @param principal The security principal of the current user.
+     * @return ResponseEntity containing the HoursReportPageDto.
+     * @throws AccessDeniedException if the user is not a manager of the team.
+     */
+    @GetMapping("/{teamId}/reports/hours")
+    public ResponseEntity<HoursReportPageDto> getHoursReport(
+            @PathVariable UUID teamId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "WEEK") ReportPeriod period,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            Principal principal) {
+
+        // Get the current user.
+        var userId = securityUtil.getCurrentUserId(principal);
+        // Only managers may see the hours of other members.
+        if (!securityUtil.isManager(userId, teamId)) {
+            throw new AccessDeniedException("User doesn't have permission to view the hours report.");
+        }
+        // Retrieve and return the requested page of the report.
+        return ResponseEntity.ok(teamFacade.getHoursReport(teamId, from, to, period, cursor, size));
+    }
+
+    // Strong ETag of every read derived from the team's revision; also sets it on the response.
+    private static LongPredicate notModified(WebRequest request) {
+        return revision -> request.checkNotModified("\"" + revision + "\"");
     }
 }
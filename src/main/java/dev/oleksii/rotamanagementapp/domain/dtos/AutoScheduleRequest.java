@@ -0,0 +1,37 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutoScheduleRequest {
+
+    @NotNull(message = "From date is required.")
+    private LocalDate from;
+
+    @NotNull(message = "To date is required.")
+    private LocalDate to;
+
+    // Optional; the configured default applies when missing.
+    @Positive(message = "Maximum hours per week must be positive.")
+    private Integer maxHoursPerWeek;
+
+    // Optional; the configured default applies when missing.
+    @PositiveOrZero(message = "Minimum rest hours must not be negative.")
+    private Integer minRestHours;
+
+    // Optional; capped at the configured maximum.
+    @PositiveOrZero(message = "Time budget must not be negative.")
+    private Long timeBudgetMillis;
+
+}
@@ -0,0 +1,27 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutoScheduleResponse {
+
+    // Number of assignments created.
+    private int assigned;
+
+    // Shifts no member could take without breaking a constraint.
+    private List<ShiftDto> unassignedShifts;
+
+    // Local search moves tried across all threads.
+    private long iterations;
+
+    private long elapsedMillis;
+
+}
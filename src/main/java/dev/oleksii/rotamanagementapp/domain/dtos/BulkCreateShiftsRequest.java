@@ -0,0 +1,23 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCreateShiftsRequest {
+
+    // Items are validated one by one so that each gets its own result.
+    @NotEmpty(message = "At least one shift is required.")
+    @Size(max = 1000, message = "No more than 1000 shifts can be created at once.")
+    private List<CreateShiftRequest> shifts;
+
+}
@@ -0,0 +1,23 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCreateShiftsResponse {
+
+    private int created;
+
+    private int rejected;
+
+    // One result per requested shift, in request order.
+    private List<BulkShiftResultDto> results;
+
+}
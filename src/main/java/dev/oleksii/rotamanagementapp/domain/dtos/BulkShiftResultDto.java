@@ -0,0 +1,25 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkShiftResultDto {
+
+    // Position of the item in the request.
+    private int index;
+
+    // The created shift; null if the item was rejected.
+    private ShiftDto shift;
+
+    // Validation errors of a rejected item; empty if the shift was created.
+    private List<String> errors;
+
+}
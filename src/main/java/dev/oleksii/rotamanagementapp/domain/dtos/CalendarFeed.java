@@ -0,0 +1,39 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Describes an iCalendar feed before it is written, so that conditional requests can be answered without
+ * reading any assignments.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CalendarFeed {
+
+    private UUID teamId;
+
+    // The member whose assignments the feed contains, or null for the whole team.
+    private UUID memberId;
+
+    private String name;
+
+    // The dates covered by the feed, relative to the day it is requested.
+    private LocalDate from;
+
+    private LocalDate to;
+
+    // The later of the team's last schedule change and the start of the window's first day.
+    private Instant lastModified;
+
+    private String etag;
+
+}
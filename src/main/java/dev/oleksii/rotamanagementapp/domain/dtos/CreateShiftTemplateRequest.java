@@ -0,0 +1,40 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateShiftTemplateRequest {
+
+    @NotBlank(message = "Shift name is required.")
+    private String name;
+
+    @NotNull(message = "Start time is required.")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required.")
+    private LocalTime endTime;
+
+    @NotNull(message = "Start date is required.")
+    @FutureOrPresent(message = "Start date must be today or in the future.")
+    private LocalDate startDate;
+
+    // Optional last date of the recurrence (inclusive).
+    private LocalDate endDate;
+
+    // RRULE-like recurrence, e.g. FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR.
+    @NotBlank(message = "Recurrence rule is required.")
+    private String recurrenceRule;
+
+}
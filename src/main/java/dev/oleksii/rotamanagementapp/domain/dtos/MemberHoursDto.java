@@ -0,0 +1,26 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MemberHoursDto {
+
+    private UUID memberId;
+
+    private String fullName;
+
+    // Only the periods in which the member worked, in date order.
+    private List<PeriodHoursDto> periods;
+
+    private long totalMinutes;
+
+}
@@ -0,0 +1,29 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Hours a member worked in one week or month of a report.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PeriodHoursDto {
+
+    // The part of the week or month that lies within the report's date range.
+    private LocalDate periodStart;
+
+    private LocalDate periodEnd;
+
+    // Assignments on shifts that start within the period; overnight shifts count in full.
+    private long shifts;
+
+    private long minutes;
+
+}
@@ -0,0 +1,41 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.oleksii.rotamanagementapp.domain.enums.ChangeOperation;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One shift or assignment that changed since the client's version, in its current state, or a tombstone.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleChangeDto {
+
+    private ScheduleEntityType entityType;
+
+    private UUID entityId;
+
+    private ChangeOperation operation;
+
+    // The team revision of the change.
+    private long revision;
+
+    // The shift as it is now, without its assignments, which are changes of their own; null for a tombstone.
+    private ShiftDto shift;
+
+    // The assignment as it is now; null for a tombstone.
+    private MemberShiftDto assignment;
+
+    // The shift an assignment belongs to; null for shifts and tombstones.
+    private UUID shiftId;
+
+}
@@ -0,0 +1,45 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A change to a team's schedule, sent to the team's event stream once the change has committed.
+ * <p>
+ * Every change that bumps the team's revision produces exactly one event carrying the new revision, which is also
+ * the SSE event id, so a client can resume from the last revision it saw. Only the identifiers relevant to the
+ * type are set; the others are left out of the payload.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleChangeEvent {
+
+    private UUID teamId;
+
+    private long revision;
+
+    private ScheduleChangeType type;
+
+    private UUID shiftId;
+
+    private UUID memberShiftId;
+
+    private UUID memberId;
+
+    // The date of the affected shift, if known.
+    private LocalDate date;
+
+    private Instant occurredAt;
+
+}
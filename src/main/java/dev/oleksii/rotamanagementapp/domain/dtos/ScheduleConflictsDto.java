@@ -0,0 +1,21 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleConflictsDto {
+
+    // Number of assignments checked.
+    private int assignments;
+
+    private List<ShiftConflictDto> conflicts;
+
+}
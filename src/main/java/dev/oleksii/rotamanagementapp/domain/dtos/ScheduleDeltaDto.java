@@ -0,0 +1,28 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleDeltaDto {
+
+    // Opaque token to pass as 'since' with the next request.
+    private String version;
+
+    // True when the changes since the client's version are no longer known; the client must reload the schedule
+    // and then continue from the version returned here.
+    private boolean resyncRequired;
+
+    // True when more changes follow; the client should ask again right away with the returned version.
+    private boolean hasMore;
+
+    private List<ScheduleChangeDto> changes;
+
+}
@@ -0,0 +1,61 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * A position in a team's change log, handed to clients as an opaque version token.
+ * <p>
+ * A version at a whole revision has no change id. A version inside a revision, returned when a delta had to be
+ * split over several pages, also names the last change the client received.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleVersion {
+
+    // Sorts after every id in the database's unsigned UUID order, so a whole-revision version covers all its changes.
+    public static final UUID AFTER_LAST_CHANGE = new UUID(-1L, -1L);
+
+    private long revision;
+
+    private UUID changeId;
+
+    public static ScheduleVersion of(long revision) {
+        return new ScheduleVersion(revision, null);
+    }
+
+    public UUID getChangeIdOrLast() {
+        return changeId != null ? changeId : AFTER_LAST_CHANGE;
+    }
+
+    public String encode() {
+        String raw = changeId == null ? Long.toString(revision) : revision + "|" + changeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScheduleVersion decode(String version) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(version), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Invalid version.");
+            }
+            long revision = Long.parseLong(parts[0]);
+            if (revision < 0) {
+                throw new IllegalArgumentException("Invalid version.");
+            }
+            return new ScheduleVersion(revision, parts.length == 2 ? UUID.fromString(parts[1]) : null);
+        } catch (IllegalArgumentException ex) {
+            // Also covers malformed Base64, numbers and UUIDs.
+            throw new IllegalArgumentException("Invalid version.");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Two assignments of the same member whose working intervals overlap.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShiftConflictDto {
+
+    private UUID memberId;
+
+    // The assignment that starts first, and the shift it belongs to.
+    private UUID memberShiftId;
+
+    private UUID shiftId;
+
+    // The assignment that starts while the first one is still running.
+    private UUID conflictingMemberShiftId;
+
+    private UUID conflictingShiftId;
+
+    // The overlapping part of the two intervals.
+    private LocalDateTime overlapStart;
+
+    private LocalDateTime overlapEnd;
+
+}
@@ -0,0 +1,72 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position of a shift within a paginated schedule window.
+ * Encoded as an opaque, URL-safe string so clients simply echo it back to fetch the next page.
+ * <p>
+ * Unmaterialised template occurrences have no shift id and are keyed by their template id instead.
+ * Ids compare as unsigned 128-bit values, the same order the database uses for uuid columns.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShiftCursor implements Comparable<ShiftCursor> {
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private UUID shiftId;
+
+    public static ShiftCursor of(Shift shift) {
+        UUID id = shift.getId() != null ? shift.getId() : shift.getTemplate().getId();
+        return new ShiftCursor(shift.getDate(), shift.getStartTime(), id);
+    }
+
+    @Override
+    public int compareTo(ShiftCursor other) {
+        int result = date.compareTo(other.date);
+        if (result == 0) {
+            result = startTime.compareTo(other.startTime);
+        }
+        if (result == 0) {
+            result = Long.compareUnsigned(shiftId.getMostSignificantBits(), other.shiftId.getMostSignificantBits());
+        }
+        if (result == 0) {
+            result = Long.compareUnsigned(shiftId.getLeastSignificantBits(), other.shiftId.getLeastSignificantBits());
+        }
+        return result;
+    }
+
+    public String encode() {
+        String raw = date + "|" + startTime + "|" + shiftId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ShiftCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return new ShiftCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
@@ -16,8 +16,12 @@ import java.util.UUID;
 @NoArgsConstructor
 public class ShiftDto {
 
+    // Null for an occurrence of a shift template that has not been materialised yet.
     private UUID shiftId;
 
+    // The recurring template this shift comes from, or null for a one-off shift.
+    private UUID templateId;
+
     private String name;
 
     private LocalDate date;
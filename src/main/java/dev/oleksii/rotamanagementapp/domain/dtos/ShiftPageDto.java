@@ -0,0 +1,21 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShiftPageDto {
+
+    private List<ShiftDto> shifts;
+
+    // Opaque cursor for the next page, or null when this is the last page.
+    private String nextCursor;
+
+}
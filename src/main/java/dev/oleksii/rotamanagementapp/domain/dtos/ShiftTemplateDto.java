@@ -0,0 +1,32 @@
+package dev.oleksii.rotamanagementapp.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShiftTemplateDto {
+
+    private UUID templateId;
+
+    private String name;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private String recurrenceRule;
+
+}
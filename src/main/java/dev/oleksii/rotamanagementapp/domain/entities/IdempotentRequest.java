@@ -0,0 +1,64 @@
+package dev.oleksii.rotamanagementapp.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a mutating request made with an Idempotency-Key header, together with the response it produced.
+ * Repeated requests with the same key are answered from here instead of being executed again.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+// A key is claimed once per user; expired requests are purged by creation time.
+@Table(name = "idempotent_requests", indexes = {
+        @Index(name = "idx_idempotent_requests_created_at", columnList = "created_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"owner", "idempotency_key"})
+})
+public class IdempotentRequest {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    // The name of the authenticated user who made the request.
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    // SHA-256 of the method, URI and body, to reject a key reused for a different request.
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    // Null while the first request with the key is still being processed.
+    private Integer responseStatus;
+
+    private String responseContentType;
+
+    // The headers of the response that identify what it created or returned, replayed with it.
+    @Column(length = 2048)
+    private String responseLocation;
+
+    private String responseEtag;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+}
@@ -6,6 +6,11 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -24,13 +29,20 @@ import java.util.UUID;
 @EqualsAndHashCode(exclude = {"user", "team", "memberShifts"})
 // Prevents serialization issues with Hibernate proxies.
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-@Table(name = "members", uniqueConstraints = {
+// Kept in the second-level cache, together with the (user, team) to id resolution of its natural id.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
+@NaturalIdCache(region = "member-natural-id")
+// Supports listing and paging the members of a team.
+@Table(name = "members", indexes = {
+        @Index(name = "idx_members_team_id_id", columnList = "team_id, id")
+}, uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "team_id"})
 })
 public class Member {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -43,6 +55,7 @@ public class Member {
 
     // The user associated with this membership.
     // This association is required and lazily loaded.
+    @NaturalId
     @JoinColumn(nullable = false)
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private User user;
@@ -50,6 +63,7 @@ public class Member {
     // The team to which this member belongs.
     // Annotated with @JsonBackReference to prevent recursion when serializing to JSON.
     @JsonBackReference
+    @NaturalId
     @JoinColumn(nullable = false)
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Team team;
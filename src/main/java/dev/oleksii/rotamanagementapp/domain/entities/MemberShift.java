@@ -3,6 +3,7 @@ package dev.oleksii.rotamanagementapp.domain.entities;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalTime;
 import java.util.UUID;
@@ -16,13 +17,16 @@ import java.util.UUID;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "members_shifts", uniqueConstraints = {
+// Supports loading and deleting the assignments of a shift; lookups by member use the unique constraint.
+@Table(name = "members_shifts", indexes = {
+        @Index(name = "idx_members_shifts_shift_id", columnList = "shift_id")
+}, uniqueConstraints = {
         @UniqueConstraint(columnNames = {"member_id", "shift_id"})
 })
 public class MemberShift {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -4,6 +4,11 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -11,7 +16,7 @@ import java.util.UUID;
 
 /**
  * Represents a schedule associated with a team.
- * Contains a set of shifts.
+ * Contains a set of shifts and the recurring templates that generate further shifts.
  */
 @Entity
 @Data
@@ -19,17 +24,24 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 // Excludes collections to avoid recursive calls.
-@EqualsAndHashCode(exclude = {"team", "shifts"})
+@EqualsAndHashCode(exclude = {"team", "shifts", "templates"})
+// Kept in the second-level cache, together with the team to id resolution of its natural id.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "schedule")
+@NaturalIdCache(region = "schedule-natural-id")
 @Table(name = "schedules")
 public class Schedule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     // The team that owns this schedule.
     // @JsonBackReference avoids recursive serialization with the forward reference in Team.
     @JsonBackReference
+    // The team of a schedule never changes, but the natural id is declared mutable: as the team row references the
+    // schedule, a schedule created along with its team is inserted without the team, which is set by an update.
+    @NaturalId(mutable = true)
     @JoinColumn
     @OneToOne(fetch = FetchType.LAZY)
     private Team team;
@@ -40,6 +52,13 @@ public class Schedule {
     @OneToMany(mappedBy = "schedule", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Shift> shifts = new HashSet<>();
 
+    // Recurring shift templates of this schedule; their occurrences are expanded on read.
+    // Declared after shifts so that, when a schedule is removed, materialised shifts are deleted before their templates.
+    @JsonManagedReference("templates")
+    @Builder.Default
+    @OneToMany(mappedBy = "schedule", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    private Set<ShiftTemplate> templates = new HashSet<>();
+
     public void addShift(Shift shift) {
         shifts.add(shift);
         shift.setSchedule(this);
@@ -0,0 +1,60 @@
+package dev.oleksii.rotamanagementapp.domain.entities;
+
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The latest change to one shift or assignment of a team, used to answer delta syncs.
+ * <p>
+ * The log is compacted by key: there is one row per entity, moved to the team's new revision by every change,
+ * so it never holds more rows than the team has shifts and assignments plus recent tombstones.
+ * Tombstones are purged once they are older than the retention period.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "schedule_change", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_schedule_change_entity", columnNames = {"team_id", "entity_type", "entity_id"})
+}, indexes = {
+        // Supports reading a team's changes in order, and finding expired tombstones.
+        @Index(name = "idx_schedule_change_team_revision", columnList = "team_id, revision, id"),
+        @Index(name = "idx_schedule_change_deleted_changed_at", columnList = "deleted, changed_at")
+})
+public class ScheduleChange {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    // Plain columns rather than associations, so that tombstones outlive the rows they describe.
+    @Column(name = "team_id", nullable = false)
+    private UUID teamId;
+
+    @Column(name = "entity_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ScheduleEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    // The team revision of the change that created the entity, or 0 if it predates the log.
+    @Column(nullable = false)
+    private long createdRevision;
+
+    // The team revision of the entity's latest change.
+    @Column(nullable = false)
+    private long revision;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -1,9 +1,11 @@
 package dev.oleksii.rotamanagementapp.domain.entities;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -21,12 +23,18 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 // Excludes collections to avoid recursive calls.
-@EqualsAndHashCode(exclude = {"schedule", "memberShifts"})
-@Table(name = "shifts")
+@EqualsAndHashCode(exclude = {"schedule", "template", "memberShifts"})
+// Supports the windowed, keyset-paginated schedule read.
+// An occurrence of a shift template is materialised at most once.
+@Table(name = "shifts", indexes = {
+        @Index(name = "idx_shifts_schedule_date_start_time", columnList = "schedule_id, date, start_time")
+}, uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"template_id", "date"})
+})
 public class Shift {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -41,6 +49,11 @@ public class Shift {
     @Column(nullable = false)
     private LocalTime endTime;
 
+    // Incremented whenever the shift or its assignments change, so that concurrent assignments of the same
+    // shift cannot both commit.
+    @Version
+    private long version;
+
     // The schedule to which this shift belongs.
     // @JsonBackReference prevents serializing the schedule again within a shift.
     @JsonBackReference
@@ -48,6 +61,12 @@ public class Shift {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Schedule schedule;
 
+    // The recurring template this shift was materialised from, or null for a one-off shift.
+    @JsonIgnore
+    @JoinColumn
+    @ManyToOne(fetch = FetchType.LAZY)
+    private ShiftTemplate template;
+
     // Collection of member shifts (assignments) for this shift.
     // Cascade and orphanRemoval ensure that any changes to assignments are persisted/removed accordingly.
     @JsonManagedReference
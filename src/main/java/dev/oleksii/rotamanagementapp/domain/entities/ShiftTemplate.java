@@ -0,0 +1,95 @@
+package dev.oleksii.rotamanagementapp.domain.entities;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import dev.oleksii.rotamanagementapp.utils.RecurrenceRule;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Represents a recurring shift within a schedule, such as "Mon-Fri 09:00-17:00".
+ * Occurrences are expanded on read; a {@link Shift} row is only created for an occurrence once a member is assigned to it.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+// Excludes the schedule to avoid recursive calls.
+@EqualsAndHashCode(exclude = {"schedule"})
+// Supports listing the templates of a schedule.
+@Table(name = "shift_templates", indexes = {
+        @Index(name = "idx_shift_templates_schedule_id", columnList = "schedule_id")
+})
+public class ShiftTemplate {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    // The date of the first occurrence (DTSTART).
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    // Optional last date on which the template may occur (inclusive).
+    private LocalDate endDate;
+
+    // RRULE-like recurrence, e.g. FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR. See RecurrenceRule for the supported parts.
+    @Column(nullable = false)
+    private String recurrenceRule;
+
+    // The schedule to which this template belongs.
+    @JsonBackReference("templates")
+    @JoinColumn(nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Schedule schedule;
+
+    /**
+     * Lazily expands the occurrence dates of this template within a date window.
+     *
+     * @param from the first date of the window (inclusive)
+     * @param to   the last date of the window (inclusive)
+     * @return the occurrence dates, in ascending order
+     */
+    public Stream<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        LocalDate last = endDate != null && endDate.isBefore(to) ? endDate : to;
+        return RecurrenceRule.parse(recurrenceRule).occurrencesBetween(startDate, from, last);
+    }
+
+    public boolean occursOn(LocalDate date) {
+        return occurrencesBetween(date, date).findAny().isPresent();
+    }
+
+    /**
+     * Builds the (not yet persisted) shift for one occurrence of this template.
+     *
+     * @param date the occurrence date
+     * @return a new shift linked to this template and its schedule
+     */
+    public Shift toShift(LocalDate date) {
+        return Shift.builder()
+                .name(name)
+                .date(date)
+                .startTime(startTime)
+                .endTime(endTime)
+                .schedule(schedule)
+                .template(this)
+                .memberShifts(new HashSet<>())
+                .build();
+    }
+}
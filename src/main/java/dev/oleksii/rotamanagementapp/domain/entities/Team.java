@@ -4,6 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -22,11 +25,15 @@ import java.util.UUID;
 @EqualsAndHashCode(exclude = {"members", "schedule"})
 // Ignores Hibernate internals when serializing to JSON.
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Kept in the second-level cache. The counters bumped by every schedule change live in TeamRevision, so their
+// bulk updates leave this region alone.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
 @Table(name = "teams")
 public class Team {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -0,0 +1,46 @@
+package dev.oleksii.rotamanagementapp.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The counters of a team that change with every change to its schedule or members.
+ * <p>
+ * Kept apart from {@link Team} and out of the second-level cache: they are bumped with bulk updates, and a bulk
+ * update of a cached entity would invalidate its whole region on every schedule change.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "team_revisions")
+public class TeamRevision {
+
+    // The id of the team; a plain column so that reading the counters never loads the team.
+    @Id
+    @Column(name = "team_id")
+    private UUID teamId;
+
+    // When the team's shifts, templates, assignments or members last changed; drives conditional GETs of schedule feeds.
+    @Builder.Default
+    private Instant scheduleModifiedAt = Instant.now();
+
+    // Incremented by every change to the team's shifts, templates, assignments or members; served as the ETag
+    // of the team's reads. Not a JPA @Version: it is bumped with a bulk update, never through the entity.
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long revision = 0L;
+
+    // Revisions up to this one may have lost tombstones to change log compaction, so delta syncs from them must
+    // start over with a full read.
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long changeLogFloor = 0L;
+}
@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,11 +28,14 @@ import org.springframework.security.core.userdetails.UserDetails;
 @EqualsAndHashCode(exclude = {"memberships", "verificationToken"})
 // Prevents serialization issues with Hibernate proxies.
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-@Table(name = "users")
+// Supports looking up a user by the token of their verification link.
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_token", columnList = "token")
+})
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Column(nullable = false)
@@ -60,6 +65,11 @@ public class User implements UserDetails {
     @OneToMany(mappedBy = "user", cascade = {CascadeType.PERSIST, CascadeType.REMOVE}, fetch = FetchType.LAZY)
     private Set<Member> memberships = new HashSet<>();
 
+    // Version embedded into issued JWTs; incremented to revoke all tokens issued before a credential change.
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long tokenVersion;
+
     // Embedded verification token for account confirmation.
     @Embedded
     private VerificationToken verificationToken;
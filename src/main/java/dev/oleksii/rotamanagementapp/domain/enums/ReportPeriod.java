@@ -0,0 +1,5 @@
+package dev.oleksii.rotamanagementapp.domain.enums;
+
+public enum ReportPeriod {
+    WEEK, MONTH
+}
@@ -0,0 +1,5 @@
+package dev.oleksii.rotamanagementapp.domain.enums;
+
+public enum ScheduleChangeType {
+    SHIFT_CREATED, SHIFT_DELETED, MEMBER_ASSIGNED, MEMBER_UNASSIGNED, SCHEDULE_CHANGED, MEMBERS_CHANGED
+}
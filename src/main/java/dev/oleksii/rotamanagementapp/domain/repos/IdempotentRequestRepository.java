@@ -0,0 +1,25 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.IdempotentRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, UUID> {
+    // Read-write, so that it runs on the primary: the request may have been claimed a moment ago.
+    @Transactional
+    Optional<IdempotentRequest> findByOwnerAndIdempotencyKey(String owner, String idempotencyKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotentRequest r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
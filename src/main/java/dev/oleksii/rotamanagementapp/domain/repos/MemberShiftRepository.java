@@ -1,12 +1,131 @@
 package dev.oleksii.rotamanagementapp.domain.repos;
 
 import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface MemberShiftRepository extends JpaRepository<MemberShift, UUID> {
-    void deleteByShiftIdAndId(UUID shiftId, UUID id);
+    long deleteByShiftIdAndId(UUID shiftId, UUID id);
+
+    @EntityGraph(attributePaths = "member")
+    List<MemberShift> findAllByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT ms.id FROM MemberShift ms WHERE ms.shift.id = :shiftId")
+    List<UUID> findIdsByShiftId(@Param("shiftId") UUID shiftId);
+
+    @Query("SELECT ms.id FROM MemberShift ms WHERE ms.member.user.id = :userId AND ms.member.team.id = :teamId")
+    List<UUID> findIdsByUserIdAndTeamId(@Param("userId") UUID userId, @Param("teamId") UUID teamId);
+
+    // One member's assignments on the given dates, served by the (member_id, shift_id) unique index.
+    @Query("""
+            SELECT ms.id AS id, ms.member.id AS memberId, ms.shift.id AS shiftId,
+                   ms.shift.date AS date, ms.startTime AS startTime, ms.endTime AS endTime
+            FROM MemberShift ms
+            WHERE ms.member.id = :memberId
+              AND ms.shift.date BETWEEN :from AND :to""")
+    List<AssignmentInterval> findIntervalsByMemberId(@Param("memberId") UUID memberId,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to);
+
+    // Every assignment of the team, grouped by member and in date order, for a single sweep over the schedule.
+    @Query("""
+            SELECT ms.id AS id, ms.member.id AS memberId, ms.shift.id AS shiftId,
+                   ms.shift.date AS date, ms.startTime AS startTime, ms.endTime AS endTime
+            FROM MemberShift ms
+            WHERE ms.shift.schedule.team.id = :teamId
+            ORDER BY ms.member.id, ms.shift.date, ms.startTime""")
+    List<AssignmentInterval> findIntervalsByTeamId(@Param("teamId") UUID teamId);
+
+    // The team's assignments on the given dates.
+    @Query("""
+            SELECT ms.id AS id, ms.member.id AS memberId, ms.shift.id AS shiftId,
+                   ms.shift.date AS date, ms.startTime AS startTime, ms.endTime AS endTime
+            FROM MemberShift ms
+            WHERE ms.shift.schedule.team.id = :teamId
+              AND ms.shift.date BETWEEN :from AND :to""")
+    List<AssignmentInterval> findIntervalsByTeamIdBetween(@Param("teamId") UUID teamId,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+
+    // Minutes worked per member and shift date, summed by the database. An end time that is not after the
+    // start time runs into the next day, as in ShiftIntervals, so the whole shift counts on its start date.
+    @Query("""
+            SELECT ms.member.id AS memberId, ms.shift.date AS date, COUNT(ms) AS shifts,
+                   SUM(extract(hour from ms.endTime) * 60 + extract(minute from ms.endTime)
+                       - extract(hour from ms.startTime) * 60 - extract(minute from ms.startTime)
+                       + CASE WHEN ms.endTime > ms.startTime THEN 0 ELSE 1440 END) AS minutes
+            FROM MemberShift ms
+            WHERE ms.member.id IN :memberIds
+              AND ms.shift.date BETWEEN :from AND :to
+            GROUP BY ms.member.id, ms.shift.date
+            ORDER BY ms.member.id, ms.shift.date""")
+    List<DailyMinutes> sumDailyMinutesByMemberIds(@Param("memberIds") Collection<UUID> memberIds,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to);
+
+    // Calendar feeds are streamed from a database cursor, fetching rows in chunks instead of all at once.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            SELECT ms.id AS id, s.name AS shiftName, m.fullName AS memberName,
+                   s.date AS date, ms.startTime AS startTime, ms.endTime AS endTime
+            FROM MemberShift ms JOIN ms.shift s JOIN ms.member m
+            WHERE s.schedule.team.id = :teamId
+              AND s.date BETWEEN :from AND :to
+            ORDER BY s.date, ms.startTime""")
+    Stream<CalendarEntry> streamCalendarEntriesByTeamId(@Param("teamId") UUID teamId,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            SELECT ms.id AS id, s.name AS shiftName, m.fullName AS memberName,
+                   s.date AS date, ms.startTime AS startTime, ms.endTime AS endTime
+            FROM MemberShift ms JOIN ms.shift s JOIN ms.member m
+            WHERE m.id = :memberId
+              AND s.date BETWEEN :from AND :to
+            ORDER BY s.date, ms.startTime""")
+    Stream<CalendarEntry> streamCalendarEntriesByMemberId(@Param("memberId") UUID memberId,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+
+    interface CalendarEntry {
+        UUID getId();
+        String getShiftName();
+        String getMemberName();
+        LocalDate getDate();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+    }
+
+    interface DailyMinutes {
+        UUID getMemberId();
+        LocalDate getDate();
+        Long getShifts();
+        Long getMinutes();
+    }
+
+    interface AssignmentInterval {
+        UUID getId();
+        UUID getMemberId();
+        UUID getShiftId();
+        LocalDate getDate();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+    }
 }
@@ -0,0 +1,11 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface MembershipNaturalIdRepository {
+    // Resolves the membership by its (user, team) natural id, served from the second-level cache when possible.
+    Optional<Member> findByNaturalId(UUID userId, UUID teamId);
+}
@@ -0,0 +1,27 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+import java.util.UUID;
+
+class MembershipNaturalIdRepositoryImpl implements MembershipNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Member> findByNaturalId(UUID userId, UUID teamId) {
+        // References are enough to bind the natural id; neither the user nor the team is loaded.
+        return entityManager.unwrap(Session.class)
+                .byNaturalId(Member.class)
+                .using("user", entityManager.getReference(User.class, userId))
+                .using("team", entityManager.getReference(Team.class, teamId))
+                .loadOptional();
+    }
+}
@@ -2,18 +2,27 @@ package dev.oleksii.rotamanagementapp.domain.repos;
 
 import dev.oleksii.rotamanagementapp.domain.entities.Member;
 import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface MembershipRepository extends JpaRepository<Member, UUID> {
+public interface MembershipRepository extends JpaRepository<Member, UUID>, MembershipNaturalIdRepository {
     boolean existsByUserIdAndTeamId(UUID userId, UUID teamId);
     boolean existsByUserIdAndTeamIdAndRole(UUID userId, UUID teamId, TeamRole role);
     Optional<Member> findByUserIdAndTeamId(UUID userId, UUID teamId);
+    @Query("SELECT m.role FROM Member m WHERE m.user.id = :userId AND m.team.id = :teamId")
+    Optional<TeamRole> findRoleByUserIdAndTeamId(@Param("userId") UUID userId, @Param("teamId") UUID teamId);
     void deleteByUserIdAndTeamId(UUID userId, UUID teamId);
     Set<Member> findAllByTeamId(UUID teamId);
+    // Keyset pages of a team's members in id order, served by the team_id index.
+    List<Member> findByTeamIdOrderByIdAsc(UUID teamId, Limit limit);
+    List<Member> findByTeamIdAndIdGreaterThanOrderByIdAsc(UUID teamId, UUID afterId, Limit limit);
 }
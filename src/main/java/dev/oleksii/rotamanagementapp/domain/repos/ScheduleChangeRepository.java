@@ -0,0 +1,40 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.ScheduleChange;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ScheduleChangeRepository extends JpaRepository<ScheduleChange, UUID> {
+    List<ScheduleChange> findByTeamIdAndEntityTypeAndEntityIdIn(UUID teamId, ScheduleEntityType entityType, Collection<UUID> entityIds);
+    // Changes after the (revision, id) position, up to a revision, in the order a delta sync pages through them.
+    @Query("SELECT c FROM ScheduleChange c WHERE c.teamId = :teamId AND c.revision <= :upTo " +
+            "AND (c.revision > :revision OR (c.revision = :revision AND c.id > :afterId)) ORDER BY c.revision, c.id")
+    List<ScheduleChange> findChangesAfter(@Param("teamId") UUID teamId, @Param("revision") long revision,
+                                          @Param("afterId") UUID afterId, @Param("upTo") long upTo, Limit limit);
+    // Per team, the newest revision among tombstones older than the cutoff.
+    @Query("SELECT c.teamId AS teamId, MAX(c.revision) AS revision FROM ScheduleChange c " +
+            "WHERE c.deleted = true AND c.changedAt < :cutoff GROUP BY c.teamId")
+    List<ExpiredTombstones> findExpiredTombstones(@Param("cutoff") Instant cutoff);
+    @Modifying
+    @Query("DELETE FROM ScheduleChange c WHERE c.teamId = :teamId AND c.deleted = true AND c.revision <= :revision")
+    int deleteTombstonesUpTo(@Param("teamId") UUID teamId, @Param("revision") long revision);
+    @Modifying
+    @Query("DELETE FROM ScheduleChange c WHERE c.teamId = :teamId")
+    void deleteByTeamId(@Param("teamId") UUID teamId);
+
+    interface ExpiredTombstones {
+        UUID getTeamId();
+        long getRevision();
+    }
+}
@@ -0,0 +1,11 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ScheduleNaturalIdRepository {
+    // Resolves the schedule by its team natural id, served from the second-level cache when possible.
+    Optional<Schedule> findByNaturalId(UUID teamId);
+}
@@ -0,0 +1,24 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+import java.util.UUID;
+
+class ScheduleNaturalIdRepositoryImpl implements ScheduleNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Schedule> findByNaturalId(UUID teamId) {
+        // A reference is enough to bind the natural id; the team is not loaded.
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Schedule.class)
+                .loadOptional(entityManager.getReference(Team.class, teamId));
+    }
+}
@@ -1,6 +1,7 @@
 package dev.oleksii.rotamanagementapp.domain.repos;
 
 import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,6 +9,11 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ScheduleRepository extends JpaRepository<Schedule, UUID> {
+public interface ScheduleRepository extends JpaRepository<Schedule, UUID>, ScheduleNaturalIdRepository {
     Optional<Schedule> findByTeamId(UUID teamId);
+
+    // Loads the schedule together with its shifts, their assignments and the assigned members in a single query,
+    // so mapping the whole graph to a ScheduleDto does not trigger a lazy load per shift or per assignment.
+    @EntityGraph(attributePaths = {"shifts", "shifts.memberShifts", "shifts.memberShifts.member"})
+    Optional<Schedule> findWithShiftsByTeamId(UUID teamId);
 }
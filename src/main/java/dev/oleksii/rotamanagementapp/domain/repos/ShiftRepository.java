@@ -1,11 +1,21 @@
 package dev.oleksii.rotamanagementapp.domain.repos;
 
 import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +23,78 @@ import java.util.UUID;
 public interface ShiftRepository extends JpaRepository<Shift, UUID> {
     @Query("SELECT s FROM Shift s WHERE s.id = :shiftId AND s.schedule.team.id = :teamId")
     Optional<Shift> findByTeamIdAndShiftId(@Param("teamId") UUID teamId, @Param("shiftId") UUID shiftId);
+
+    // Increments the version of the shift on commit, so that concurrent changes to its assignments conflict.
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT s FROM Shift s WHERE s.id = :shiftId AND s.schedule.team.id = :teamId")
+    Optional<Shift> findByTeamIdAndShiftIdForAssignment(@Param("teamId") UUID teamId, @Param("shiftId") UUID shiftId);
+
+    // First page of a date window, ordered by the (date, startTime, id) keyset.
+    @Query("""
+            SELECT s.id FROM Shift s
+            WHERE s.schedule.team.id = :teamId
+              AND s.date BETWEEN :from AND :to
+            ORDER BY s.date, s.startTime, s.id""")
+    List<UUID> findIdsInWindow(@Param("teamId") UUID teamId,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to,
+                               Limit limit);
+
+    // Next page of a date window, starting strictly after the given keyset position.
+    @Query("""
+            SELECT s.id FROM Shift s
+            WHERE s.schedule.team.id = :teamId
+              AND s.date BETWEEN :from AND :to
+              AND (s.date, s.startTime, s.id) > (:afterDate, :afterStartTime, :afterId)
+            ORDER BY s.date, s.startTime, s.id""")
+    List<UUID> findIdsInWindowAfter(@Param("teamId") UUID teamId,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to,
+                                    @Param("afterDate") LocalDate afterDate,
+                                    @Param("afterStartTime") LocalTime afterStartTime,
+                                    @Param("afterId") UUID afterId,
+                                    Limit limit);
+
+    // Loads a page of shifts with their assignments and assigned members in one query.
+    @EntityGraph(attributePaths = {"memberShifts", "memberShifts.member"})
+    List<Shift> findAllByIdIn(Collection<UUID> ids, Sort sort);
+
+    // Shifts within a date window that nobody has been assigned to yet.
+    @Query("""
+            SELECT s FROM Shift s
+            WHERE s.schedule.team.id = :teamId
+              AND s.date BETWEEN :from AND :to
+              AND s.memberShifts IS EMPTY
+            ORDER BY s.date, s.startTime, s.id""")
+    List<Shift> findUnassignedInWindow(@Param("teamId") UUID teamId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    // Only read to assign someone to the occurrence, see findByTeamIdAndShiftIdForAssignment.
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    Optional<Shift> findByTemplateIdAndDate(UUID templateId, LocalDate date);
+
+    @Query("SELECT s.id FROM Shift s WHERE s.template.id = :templateId")
+    List<UUID> findIdsByTemplateId(@Param("templateId") UUID templateId);
+
+    // Template occurrences within a date window that already have a shift row, so they are not expanded again.
+    @Query("""
+            SELECT s.template.id AS templateId, s.date AS date FROM Shift s
+            WHERE s.schedule.team.id = :teamId
+              AND s.template IS NOT NULL
+              AND s.date BETWEEN :from AND :to""")
+    List<MaterialisedOccurrence> findMaterialisedOccurrences(@Param("teamId") UUID teamId,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("to") LocalDate to);
+
+    // Keeps materialised occurrences (and their assignments) as one-off shifts when their template is deleted.
+    // Clears the persistence context so no loaded shift still points at the template when it is removed.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Shift s SET s.template = null WHERE s.template.id = :templateId")
+    void detachFromTemplate(@Param("templateId") UUID templateId);
+
+    interface MaterialisedOccurrence {
+        UUID getTemplateId();
+        LocalDate getDate();
+    }
 }
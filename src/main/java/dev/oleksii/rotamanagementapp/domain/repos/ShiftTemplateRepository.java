@@ -0,0 +1,20 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ShiftTemplateRepository extends JpaRepository<ShiftTemplate, UUID> {
+    @Query("SELECT t FROM ShiftTemplate t WHERE t.schedule.team.id = :teamId ORDER BY t.startTime, t.id")
+    List<ShiftTemplate> findAllByTeamId(@Param("teamId") UUID teamId);
+
+    @Query("SELECT t FROM ShiftTemplate t WHERE t.id = :templateId AND t.schedule.team.id = :teamId")
+    Optional<ShiftTemplate> findByTeamIdAndTemplateId(@Param("teamId") UUID teamId, @Param("templateId") UUID templateId);
+}
@@ -0,0 +1,29 @@
+package dev.oleksii.rotamanagementapp.domain.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.TeamRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TeamRevisionRepository extends JpaRepository<TeamRevision, UUID> {
+    // The row lock taken by this update also orders concurrent changes to the same team, keeping revisions monotonic.
+    @Modifying
+    @Query("UPDATE TeamRevision r SET r.revision = r.revision + 1, r.scheduleModifiedAt = :modifiedAt WHERE r.teamId = :teamId")
+    void markModified(@Param("teamId") UUID teamId, @Param("modifiedAt") Instant modifiedAt);
+    @Query("SELECT r.revision FROM TeamRevision r WHERE r.teamId = :teamId")
+    Optional<Long> findRevisionById(@Param("teamId") UUID teamId);
+    @Modifying
+    @Query("UPDATE TeamRevision r SET r.changeLogFloor = :revision WHERE r.teamId = :teamId AND r.changeLogFloor < :revision")
+    void raiseChangeLogFloor(@Param("teamId") UUID teamId, @Param("revision") long revision);
+    @Query("SELECT r.changeLogFloor FROM TeamRevision r WHERE r.teamId = :teamId")
+    Optional<Long> findChangeLogFloorById(@Param("teamId") UUID teamId);
+    @Query("SELECT r.scheduleModifiedAt FROM TeamRevision r WHERE r.teamId = :teamId")
+    Optional<Instant> findScheduleModifiedAtById(@Param("teamId") UUID teamId);
+}
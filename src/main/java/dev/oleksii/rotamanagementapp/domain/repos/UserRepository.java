@@ -15,4 +15,6 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByVerificationToken(@Param("verificationToken") String verificationToken);
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") UUID id);
 }
@@ -0,0 +1,7 @@
+package dev.oleksii.rotamanagementapp.exceptions;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
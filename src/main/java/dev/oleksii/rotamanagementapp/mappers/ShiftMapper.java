@@ -4,11 +4,20 @@ import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
 import dev.oleksii.rotamanagementapp.domain.entities.Shift;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring", uses = {MemberShiftMapper.class})
 public interface ShiftMapper {
 
     @Mapping(source = "id", target = "shiftId")
+    @Mapping(source = "template.id", target = "templateId")
     ShiftDto toShiftDTO(Shift shift);
 
+    // Leaves the assignments out, so they are not loaded.
+    @Named("withoutAssignments")
+    @Mapping(source = "id", target = "shiftId")
+    @Mapping(source = "template.id", target = "templateId")
+    @Mapping(target = "memberShifts", ignore = true)
+    ShiftDto toShiftWithoutAssignmentsDTO(Shift shift);
+
 }
\ No newline at end of file
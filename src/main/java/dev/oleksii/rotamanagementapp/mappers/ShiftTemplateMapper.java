@@ -0,0 +1,18 @@
+package dev.oleksii.rotamanagementapp.mappers;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftTemplateDto;
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ShiftTemplateMapper {
+
+    @Mapping(source = "id", target = "templateId")
+    ShiftTemplateDto toShiftTemplateDTO(ShiftTemplate template);
+
+    List<ShiftTemplateDto> toShiftTemplatesDTO(List<ShiftTemplate> templates);
+
+}
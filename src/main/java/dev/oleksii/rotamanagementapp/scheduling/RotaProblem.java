@@ -0,0 +1,100 @@
+package dev.oleksii.rotamanagementapp.scheduling;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Input of the {@link RotaSolver}: the shifts to fill, the members who can fill them and the constraints.
+ * <p>
+ * Shifts and members are referred to by the index returned when they are added. Times are kept as minutes
+ * since the start of the first week, and every shift counts towards the week in which it starts.
+ */
+public class RotaProblem {
+
+    static final long MINUTES_PER_WEEK = Duration.ofDays(7).toMinutes();
+
+    private final LocalDate firstDay;
+    private final int weeks;
+    private final long maxMinutesPerWeek;
+    private final long minRestMinutes;
+
+    private final List<long[]> shifts = new ArrayList<>();
+    // Per member: intervals the member already works, as {start, end}.
+    private final List<List<long[]>> busy = new ArrayList<>();
+
+    /**
+     * @param firstDay         the Monday that starts the first week of the problem
+     * @param weeks            the number of weeks covered by the shifts
+     * @param maxHoursPerWeek  the most a member may work in one week, including existing assignments
+     * @param minRestHours     the least time between the end of one of a member's shifts and the start of the next
+     */
+    public RotaProblem(LocalDate firstDay, int weeks, int maxHoursPerWeek, int minRestHours) {
+        this.firstDay = firstDay;
+        this.weeks = weeks;
+        this.maxMinutesPerWeek = Duration.ofHours(maxHoursPerWeek).toMinutes();
+        this.minRestMinutes = Duration.ofHours(minRestHours).toMinutes();
+    }
+
+    public int addMember() {
+        busy.add(new ArrayList<>());
+        return busy.size() - 1;
+    }
+
+    public int addShift(LocalDateTime start, LocalDateTime end) {
+        shifts.add(new long[]{minutes(start), minutes(end)});
+        return shifts.size() - 1;
+    }
+
+    /**
+     * Records time the member already works, e.g. an existing assignment. It counts towards the weekly limit
+     * when it starts within the problem's weeks, and towards the rest rule wherever it lies.
+     */
+    public void addBusy(int member, LocalDateTime start, LocalDateTime end) {
+        busy.get(member).add(new long[]{minutes(start), minutes(end)});
+    }
+
+    public int shiftCount() {
+        return shifts.size();
+    }
+
+    public int memberCount() {
+        return busy.size();
+    }
+
+    int weeks() {
+        return weeks;
+    }
+
+    long maxMinutesPerWeek() {
+        return maxMinutesPerWeek;
+    }
+
+    long minRestMinutes() {
+        return minRestMinutes;
+    }
+
+    long shiftStart(int shift) {
+        return shifts.get(shift)[0];
+    }
+
+    long shiftEnd(int shift) {
+        return shifts.get(shift)[1];
+    }
+
+    List<long[]> busy(int member) {
+        return busy.get(member);
+    }
+
+    // The week an instant falls into, or -1 when it lies outside the problem's weeks.
+    int week(long minutes) {
+        long week = Math.floorDiv(minutes, MINUTES_PER_WEEK);
+        return week >= 0 && week < weeks ? (int) week : -1;
+    }
+
+    private long minutes(LocalDateTime instant) {
+        return Duration.between(firstDay.atStartOfDay(), instant).toMinutes();
+    }
+}
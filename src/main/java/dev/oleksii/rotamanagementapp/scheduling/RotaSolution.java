@@ -0,0 +1,27 @@
+package dev.oleksii.rotamanagementapp.scheduling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of the {@link RotaSolver}.
+ */
+@Getter
+@AllArgsConstructor
+public class RotaSolution {
+
+    // The member assigned to each shift, by shift index, or -1 when no member could take the shift.
+    private final int[] assignments;
+
+    private final int unassigned;
+
+    // Sum of the squared working minutes of every member; lower means hours are spread more evenly.
+    private final long imbalance;
+
+    // Local search moves tried across all threads.
+    private final long iterations;
+
+    public int memberOf(int shift) {
+        return assignments[shift];
+    }
+}
@@ -0,0 +1,384 @@
+package dev.oleksii.rotamanagementapp.scheduling;
+
+import dev.oleksii.rotamanagementapp.configuration.AutoScheduleConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns members to shifts under hard constraints:
+ * <ul>
+ *   <li>A member works at most one shift at a time.</li>
+ *   <li>A member rests at least the minimum time between two shifts.</li>
+ *   <li>A member works at most the maximum hours in any week.</li>
+ * </ul>
+ * Among the solutions that leave the fewest shifts unassigned, it prefers the one that spreads working hours
+ * most evenly across members.
+ * <p>
+ * Each thread builds a greedy solution, giving every shift to the least loaded member who can take it, with ties
+ * broken differently per thread. It then improves that solution by local search until the time budget runs out.
+ * The moves are: reassign a shift, swap two shifts between members, and, for an unassigned shift, place it and
+ * push the shifts in its way to other members. A move is kept only if the solution does not get worse, so each
+ * thread always holds its best solution. The best one across threads is returned.
+ */
+@Component
+public class RotaSolver {
+
+    // Random members tried when looking for someone to take an unassigned shift.
+    private static final int INSERT_ATTEMPTS = 16;
+
+    private final int threads;
+
+    @Autowired
+    public RotaSolver(AutoScheduleConfig config) {
+        this(config.getThreads());
+    }
+
+    /**
+     * @param threads the number of parallel searches; 0 or less uses one per available processor
+     */
+    public RotaSolver(int threads) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Solves the problem within the time budget. The greedy construction always completes, even with a zero budget.
+     *
+     * @param problem    the shifts, members and constraints
+     * @param timeBudget how long to spend improving the initial solutions
+     * @return the best solution found
+     */
+    public RotaSolution solve(RotaProblem problem, Duration timeBudget) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        if (problem.shiftCount() == 0 || problem.memberCount() == 0 || threads == 1) {
+            Search search = new Search(problem, 0).run(deadline);
+            return search.toSolution(search.iterations);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Search>> futures = new ArrayList<>();
+            for (int seed = 0; seed < threads; seed++) {
+                int workerSeed = seed;
+                futures.add(executor.submit(() -> new Search(problem, workerSeed).run(deadline)));
+            }
+            Search best = null;
+            long iterations = 0;
+            for (Future<Search> future : futures) {
+                Search search = future.get();
+                iterations += search.iterations;
+                if (best == null || search.isBetterThan(best)) {
+                    best = search;
+                }
+            }
+            return best.toSolution(iterations);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rota generation was interrupted.", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Rota generation failed.", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // A time interval on a member's timeline; shift is -1 for time the member already works outside this problem.
+    private record Slot(long end, int shift) {
+    }
+
+    /**
+     * One independent search. Not thread-safe; every thread owns its own instance.
+     */
+    private static final class Search {
+
+        private final RotaProblem problem;
+        private final SplittableRandom random;
+        private final int[] assignments;
+        // Per member: everything the member works, keyed by start minute.
+        private final List<TreeMap<Long, Slot>> timelines;
+        private final long[][] weekMinutes;
+        private final long[] totalMinutes;
+        private int unassigned;
+        private long imbalance;
+        private long iterations;
+
+        // Undo log of the current move: the shifts it touched and the member each had before.
+        private final int[] journalShifts = new int[8];
+        private final int[] journalMembers = new int[8];
+        private int journalSize;
+
+        Search(RotaProblem problem, int seed) {
+            this.problem = problem;
+            this.random = new SplittableRandom(seed);
+            this.assignments = new int[problem.shiftCount()];
+            Arrays.fill(assignments, -1);
+            this.unassigned = problem.shiftCount();
+            this.timelines = new ArrayList<>(problem.memberCount());
+            this.weekMinutes = new long[problem.memberCount()][problem.weeks()];
+            this.totalMinutes = new long[problem.memberCount()];
+
+            for (int member = 0; member < problem.memberCount(); member++) {
+                TreeMap<Long, Slot> timeline = new TreeMap<>();
+                for (long[] interval : problem.busy(member)) {
+                    timeline.merge(interval[0], new Slot(interval[1], -1),
+                            (a, b) -> a.end() >= b.end() ? a : b);
+                    int week = problem.week(interval[0]);
+                    if (week >= 0) {
+                        weekMinutes[member][week] += interval[1] - interval[0];
+                        totalMinutes[member] += interval[1] - interval[0];
+                    }
+                }
+                timelines.add(timeline);
+                imbalance += totalMinutes[member] * totalMinutes[member];
+            }
+        }
+
+        Search run(long deadline) {
+            construct();
+            improve(deadline);
+            return this;
+        }
+
+        boolean isBetterThan(Search other) {
+            return unassigned != other.unassigned ? unassigned < other.unassigned : imbalance < other.imbalance;
+        }
+
+        RotaSolution toSolution(long totalIterations) {
+            return new RotaSolution(assignments.clone(), unassigned, imbalance, totalIterations);
+        }
+
+        // Greedy start: shifts in time order, each to the least loaded member who can take it.
+        private void construct() {
+            int[] rank = IntStream.range(0, problem.memberCount()).toArray();
+            for (int i = rank.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = rank[i];
+                rank[i] = rank[j];
+                rank[j] = swap;
+            }
+            TreeSet<Integer> byLoad = new TreeSet<>(Comparator
+                    .<Integer>comparingLong(member -> totalMinutes[member])
+                    .thenComparingInt(member -> rank[member]));
+            for (int member = 0; member < problem.memberCount(); member++) {
+                byLoad.add(member);
+            }
+
+            Integer[] order = IntStream.range(0, problem.shiftCount()).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparingLong(problem::shiftStart));
+            for (int shift : order) {
+                Integer chosen = null;
+                for (int member : byLoad) {
+                    if (canAssign(member, shift)) {
+                        chosen = member;
+                        break;
+                    }
+                }
+                if (chosen != null) {
+                    byLoad.remove(chosen);
+                    add(chosen, shift);
+                    byLoad.add(chosen);
+                }
+            }
+        }
+
+        private void improve(long deadline) {
+            int members = problem.memberCount();
+            if (members == 0 || problem.shiftCount() == 0) {
+                return;
+            }
+            while ((iterations & 0xFF) != 0 || System.nanoTime() < deadline) {
+                iterations++;
+                int shift = random.nextInt(problem.shiftCount());
+                int before = unassigned;
+                long imbalanceBefore = imbalance;
+                journalSize = 0;
+
+                if (assignments[shift] < 0) {
+                    tryInsert(shift);
+                } else if (members > 1 && random.nextBoolean()) {
+                    tryMove(shift);
+                } else if (members > 1) {
+                    trySwap(shift);
+                }
+
+                boolean worse = unassigned > before || (unassigned == before && imbalance > imbalanceBefore);
+                if (worse) {
+                    rollback();
+                }
+            }
+        }
+
+        private void tryInsert(int shift) {
+            for (int attempt = 0; attempt < INSERT_ATTEMPTS; attempt++) {
+                int member = random.nextInt(problem.memberCount());
+                if (canAssign(member, shift)) {
+                    reassign(shift, member);
+                    return;
+                }
+            }
+            // Nobody is free: make room with a random member and push the shifts in the way to others.
+            int member = random.nextInt(problem.memberCount());
+            List<Integer> blocking = blockingShifts(member, shift);
+            if (blocking == null) {
+                return;
+            }
+            for (int blocked : blocking) {
+                reassign(blocked, -1);
+            }
+            if (!canAssign(member, shift)) {
+                return;
+            }
+            reassign(shift, member);
+            for (int blocked : blocking) {
+                for (int attempt = 0; attempt < INSERT_ATTEMPTS; attempt++) {
+                    int other = random.nextInt(problem.memberCount());
+                    if (other != member && canAssign(other, blocked)) {
+                        reassign(blocked, other);
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void tryMove(int shift) {
+            int from = assignments[shift];
+            int to = random.nextInt(problem.memberCount());
+            if (to == from) {
+                return;
+            }
+            reassign(shift, -1);
+            if (canAssign(to, shift)) {
+                reassign(shift, to);
+            }
+        }
+
+        private void trySwap(int shift) {
+            int other = random.nextInt(problem.shiftCount());
+            int first = assignments[shift];
+            int second = assignments[other];
+            if (second < 0 || second == first) {
+                return;
+            }
+            reassign(shift, -1);
+            reassign(other, -1);
+            if (canAssign(second, shift)) {
+                reassign(shift, second);
+                if (canAssign(first, other)) {
+                    reassign(other, first);
+                }
+            }
+        }
+
+        // The assigned shifts of the member that keep the shift from fitting, or null if other work is in the way.
+        private List<Integer> blockingShifts(int member, int shift) {
+            long start = problem.shiftStart(shift);
+            long end = problem.shiftEnd(shift);
+            long rest = problem.minRestMinutes();
+            List<Integer> blocking = new ArrayList<>(2);
+            TreeMap<Long, Slot> timeline = timelines.get(member);
+            for (Map.Entry<Long, Slot> entry : timeline.subMap(start - RotaProblem.MINUTES_PER_WEEK, true, end + rest, false).entrySet()) {
+                if (entry.getValue().end() + rest > start) {
+                    if (entry.getValue().shift() < 0 || blocking.size() == journalShifts.length - 2) {
+                        return null;
+                    }
+                    blocking.add(entry.getValue().shift());
+                }
+            }
+            return blocking;
+        }
+
+        private boolean canAssign(int member, int shift) {
+            long start = problem.shiftStart(shift);
+            long end = problem.shiftEnd(shift);
+            long rest = problem.minRestMinutes();
+            int week = problem.week(start);
+            if (week >= 0 && weekMinutes[member][week] + (end - start) > problem.maxMinutesPerWeek()) {
+                return false;
+            }
+            // Assigned shifts keep the rest time to everything around them, so the neighbours decide.
+            TreeMap<Long, Slot> timeline = timelines.get(member);
+            Map.Entry<Long, Slot> previous = timeline.floorEntry(start);
+            if (previous != null && previous.getValue().end() + rest > start) {
+                return false;
+            }
+            Map.Entry<Long, Slot> next = timeline.ceilingEntry(start);
+            return next == null || end + rest <= next.getKey();
+        }
+
+        // Moves a shift to a member (or to nobody, with -1), recording its previous member for rollback.
+        private void reassign(int shift, int member) {
+            boolean logged = false;
+            for (int i = 0; i < journalSize; i++) {
+                logged |= journalShifts[i] == shift;
+            }
+            if (!logged) {
+                journalShifts[journalSize] = shift;
+                journalMembers[journalSize] = assignments[shift];
+                journalSize++;
+            }
+            if (assignments[shift] >= 0) {
+                remove(shift);
+            }
+            if (member >= 0) {
+                add(member, shift);
+            }
+        }
+
+        private void rollback() {
+            for (int i = 0; i < journalSize; i++) {
+                if (assignments[journalShifts[i]] >= 0) {
+                    remove(journalShifts[i]);
+                }
+            }
+            for (int i = 0; i < journalSize; i++) {
+                if (journalMembers[i] >= 0) {
+                    add(journalMembers[i], journalShifts[i]);
+                }
+            }
+            journalSize = 0;
+        }
+
+        private void add(int member, int shift) {
+            long start = problem.shiftStart(shift);
+            long minutes = problem.shiftEnd(shift) - start;
+            timelines.get(member).put(start, new Slot(problem.shiftEnd(shift), shift));
+            int week = problem.week(start);
+            if (week >= 0) {
+                weekMinutes[member][week] += minutes;
+            }
+            imbalance += minutes * (2 * totalMinutes[member] + minutes);
+            totalMinutes[member] += minutes;
+            assignments[shift] = member;
+            unassigned--;
+        }
+
+        private void remove(int shift) {
+            int member = assignments[shift];
+            long start = problem.shiftStart(shift);
+            long minutes = problem.shiftEnd(shift) - start;
+            timelines.get(member).remove(start);
+            int week = problem.week(start);
+            if (week >= 0) {
+                weekMinutes[member][week] -= minutes;
+            }
+            imbalance -= minutes * (2 * totalMinutes[member] - minutes);
+            totalMinutes[member] -= minutes;
+            assignments[shift] = -1;
+            unassigned++;
+        }
+    }
+}
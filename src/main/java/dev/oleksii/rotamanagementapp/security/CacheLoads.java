@@ -0,0 +1,22 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Waits for an asynchronous cache load, rethrowing what the loader threw as if it had been called directly.
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    static <V> V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package dev.oleksii.rotamanagementapp.security;
 
+import dev.oleksii.rotamanagementapp.configuration.JwtConfig;
 import dev.oleksii.rotamanagementapp.services.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,20 +19,55 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * JwtAuthenticationFilter is a custom filter that intercepts incoming HTTP requests
  * to validate JWT tokens and authenticate users based on the token's validity.
+ * <p>
+ * When stateless principals are enabled, tokens carrying the user id, role and token version
+ * authenticate a {@link JwtPrincipal} without loading the user; revocation is checked against
+ * the {@link TokenVersionCache}. Other tokens are validated against the user loaded by email.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String METRIC_NAME = "security.jwt.authentication";
+    private static final String OUTCOME_AUTHENTICATED = "authenticated";
+    private static final String OUTCOME_ANONYMOUS = "anonymous";
+    private static final String OUTCOME_REJECTED = "rejected";
+    private static final String OUTCOME_ERROR = "error";
+
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final JwtConfig jwtConfig;
+    private final TokenVersionCache tokenVersionCache;
+    private final MeterRegistry meterRegistry;
+    // Registered up front, so that a request does not look its timer up in the registry.
+    private final Map<String, Timer> timers;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService,
+                                   JwtConfig jwtConfig, TokenVersionCache tokenVersionCache,
+                                   MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.jwtConfig = jwtConfig;
+        this.tokenVersionCache = tokenVersionCache;
+        this.meterRegistry = meterRegistry;
+        this.timers = Stream.of(OUTCOME_AUTHENTICATED, OUTCOME_ANONYMOUS, OUTCOME_REJECTED, OUTCOME_ERROR)
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), outcome -> Timer.builder(METRIC_NAME)
+                        .description("Time spent authenticating a request from its bearer token")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)));
+    }
 
     /**
      * Filters each incoming request to check for a valid JWT token in the Authorization header.
+     * The authentication step, but not the rest of the chain, is timed as {@value #METRIC_NAME} tagged by its outcome.
      *
      * @param request     The incoming HTTP request
      * @param response    The HTTP response
@@ -43,6 +82,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            outcome = authenticate(request);
+        } finally {
+            sample.stop(timers.get(outcome));
+        }
+
+        // Continue the filter chain after processing
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authenticates the request from its bearer token, if it has one.
+     *
+     * @param request The incoming HTTP request
+     * @return The outcome: anonymous without a bearer token, rejected for a token that is no longer valid,
+     * otherwise authenticated
+     */
+    private String authenticate(HttpServletRequest request) {
         // Retrieve the Authorization header from the HTTP request
         final String authorizationHeader = request.getHeader("Authorization");
         final String jwt;
@@ -51,41 +110,78 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Check if the Authorization header is present and starts with "Bearer "
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
             // If not, continue the filter chain without setting authentication
-            filterChain.doFilter(request, response);
-            return;
+            return OUTCOME_ANONYMOUS;
         }
 
         // Extract the JWT token by removing the "Bearer " prefix
         jwt = authorizationHeader.substring(7);
 
+        // Verify the token once and keep its claims for the rest of the request
+        final Claims claims = jwtService.parseToken(jwt);
+
         // Extract the username (email) from the JWT token
-        email = jwtService.getUsername(jwt);
+        email = claims.getSubject();
 
         // Proceed only if the email is present and the user is not already authenticated
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load user details using the extracted email
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-
-            // Validate the JWT token against the user details
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                // Create an authentication token with user details and authorities
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-
-                // Set additional details from the request to the authentication token
-                authenticationToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-
-                // Set the authentication token in the SecurityContext to mark the user as authenticated
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            // Build the principal from the claims when possible, otherwise from the stored user
+            final JwtPrincipal principal = jwtConfig.isStatelessPrincipal() ? jwtService.getPrincipal(claims) : null;
+            final UsernamePasswordAuthenticationToken authenticationToken = principal != null
+                    ? authenticateStateless(principal)
+                    : authenticateWithUserDetails(email, claims);
+
+            if (authenticationToken == null) {
+                return OUTCOME_REJECTED;
             }
+            // Set additional details from the request to the authentication token
+            authenticationToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+
+            // Set the authentication token in the SecurityContext to mark the user as authenticated
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
         }
+        return OUTCOME_AUTHENTICATED;
+    }
 
-        // Continue the filter chain after processing
-        filterChain.doFilter(request, response);
+    /**
+     * Authenticates a principal built from the token claims, provided the token has not been revoked.
+     *
+     * @param principal The principal built from the verified claims
+     * @return The authentication token, or null if the token version is no longer current
+     */
+    private UsernamePasswordAuthenticationToken authenticateStateless(JwtPrincipal principal) {
+        // Reject tokens issued before a credential change or for a deleted user
+        if (!tokenVersionCache.isCurrent(principal.getId(), principal.getTokenVersion())) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                List.of(new SimpleGrantedAuthority(principal.getRole().name()))
+        );
+    }
+
+    /**
+     * Authenticates the user loaded by the email from the token.
+     *
+     * @param email  The email (subject) of the token
+     * @param claims The verified claims of the token
+     * @return The authentication token, or null if the token is not valid for the user
+     */
+    private UsernamePasswordAuthenticationToken authenticateWithUserDetails(String email, Claims claims) {
+        // Load user details using the extracted email
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+
+        // Validate the JWT token against the user details
+        if (!jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        // Create an authentication token with user details and authorities
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
     }
 }
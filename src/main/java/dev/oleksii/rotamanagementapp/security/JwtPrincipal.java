@@ -0,0 +1,34 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Lightweight principal built from the claims of a verified JWT.
+ * Used instead of the {@link dev.oleksii.rotamanagementapp.domain.entities.User} entity
+ * when stateless principals are enabled, so authenticating a request needs no database lookup.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+
+    private final UUID id;
+
+    private final String email;
+
+    private final Role role;
+
+    // Token version the JWT was issued with, compared against the user's current version.
+    private final long tokenVersion;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
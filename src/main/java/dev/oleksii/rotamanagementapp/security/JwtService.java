@@ -1,27 +1,58 @@
 package dev.oleksii.rotamanagementapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import dev.oleksii.rotamanagementapp.configuration.JwtConfig;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    // Claims identifying the user without a database lookup.
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final JwtConfig jwtConfig;
 
+    // The signing key and the parser are derived from the configured secret once and shared by all requests.
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // Claims of tokens whose signature has already been verified, keyed by the SHA-256 hash of the token
+    // so raw bearer tokens are never kept in memory. Entries expire together with the token itself.
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+        this.signingKey = createSigningKey(jwtConfig.getSecret());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getVerifiedTokenCacheSize())
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
     /**
      * Extracts the username (subject) from the provided JWT token.
      *
@@ -29,22 +60,50 @@ public class JwtService {
      * @return the username (subject) contained in the token
      */
     String getUsername(String token) {
-        return getClaim(token, Claims::getSubject);
+        return parseToken(token).getSubject();
     }
 
     /**
-     * Generic method to extract a claim from the JWT token.
+     * Returns the verified claims of the token, verifying its signature only the first time the token is seen.
+     * Callers should parse a token once per request and pass the claims around instead of the raw token.
      *
-     * @param token           the JWT token
-     * @param claimsResolver  a function to extract a specific claim from the Claims object
-     * @param <T>             the type of the claim
-     * @return the extracted claim
+     * @param token the JWT token
+     * @return the Claims object containing all token data
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
      */
-    private <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
-        // Get all claims from the token.
-        final Claims claims = getAllClaims(token);
-        // Apply the provided function to extract the desired claim.
-        return claimsResolver.apply(claims);
+    Claims parseToken(String token) {
+        String key = hash(token);
+        Claims claims = verifiedTokens.getIfPresent(key);
+        if (claims == null) {
+            claims = verify(token);
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Parses the JWT token and verifies its signature and expiration, bypassing the cache.
+     *
+     * @param token the JWT token
+     * @return the Claims object containing all token data
+     */
+    Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Generates a JWT token for the given user carrying the user's id, role and token version,
+     * which allows building a {@link JwtPrincipal} from the token alone.
+     *
+     * @param user the user for whom the token is generated
+     * @return a signed JWT token as a String
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return generateToken(claims, user);
     }
 
     /**
@@ -76,68 +135,101 @@ public class JwtService {
                 // Set the expiration time by adding the configured duration to the current time.
                 .setExpiration(new Date(System.currentTimeMillis() + jwtConfig.getExpirationMilliseconds()))
                 // Sign the token with the signing key using the HS256 algorithm.
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact(); // Build the JWT and serialize it as a compact, URL-safe string.
     }
 
     /**
-     * Validates whether the provided token is valid for the given user.
+     * Validates whether the already parsed token claims are valid for the given user.
      *
-     * @param token       the JWT token to validate
+     * @param claims      the verified claims of the JWT token
      * @param userDetails the user's details to compare against the token's subject
      * @return true if the token is valid, false otherwise
      */
-    boolean isTokenValid(String token, UserDetails userDetails) {
-        // Extract the username from the token.
-        final String username = getUsername(token);
+    boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        // A token issued before the user's last credential change has been revoked.
+        Long tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Long.class);
+        if (tokenVersion != null && userDetails instanceof User user && tokenVersion != user.getTokenVersion()) {
+            return false;
+        }
         // Token is valid if the username matches and the token hasn't expired.
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
+    /**
+     * Builds a principal from the verified claims of the token.
+     *
+     * @param claims the verified claims of the JWT token
+     * @return the principal, or null if the token was issued without the user id, role and version claims
+     */
+    JwtPrincipal getPrincipal(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Long tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Long.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+        return new JwtPrincipal(UUID.fromString(userId), claims.getSubject(), Role.valueOf(role), tokenVersion);
     }
 
     /**
      * Checks if the token has expired.
      *
-     * @param token the JWT token
+     * @param claims the verified claims of the JWT token
      * @return true if the token is expired, false otherwise
      */
-    private boolean isTokenExpired(String token) {
-        return getExpiration(token).before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     /**
-     * Retrieves the expiration date from the token.
+     * Creates the signing key from the Base64-encoded secret stored in the JwtConfig.
      *
-     * @param token the JWT token
-     * @return the expiration date of the token
+     * @param secret the Base64-encoded secret
+     * @return the signing Key
      */
-    private Date getExpiration(String token) {
-        // Extract the expiration claim from the token.
-        return getClaim(token, Claims::getExpiration);
+    private static Key createSigningKey(String secret) {
+        // Decode the Base64-encoded secret key.
+        byte[] keyBytes = Decoders.BASE64.decode(secret);
+        // Create and return an HMAC-SHA key using decoded bytes.
+        return Keys.hmacShaKeyFor(keyBytes);
     }
 
     /**
-     * Parses the JWT token to extract all its claims.
+     * Computes the cache key of a token.
      *
      * @param token the JWT token
-     * @return the Claims object containing all token data
+     * @return the Base64-encoded SHA-256 hash of the token
      */
-    private Claims getAllClaims(String token) {
-        return Jwts.parserBuilder() // Create a JWT parser builder.
-                .setSigningKey(getSigningKey()) // Set the key to validate the token's signature.
-                .build() // Build the parser.
-                .parseClaimsJws(token) // Parse the token.
-                .getBody(); // Retrieve the body of the token (claims).
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is mandatory on every Java platform.
+            throw new IllegalStateException(ex);
+        }
     }
 
     /**
-     * Retrieves the signing key from the Base64-encoded secret stored in the JwtConfig.
-     *
-     * @return the signing Key
+     * Expires each cached token at the moment the token itself expires.
      */
-    private Key getSigningKey() {
-        // Decode the Base64-encoded secret key.
-        byte[] keyBytes = Decoders.BASE64.decode(jwtConfig.getSecret());
-        // Create and return an HMAC-SHA key using decoded bytes.
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, remainingMillis) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,87 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.oleksii.rotamanagementapp.configuration.MembershipCacheConfig;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.MembershipRepository;
+import dev.oleksii.rotamanagementapp.utils.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory cache of the role a user holds in a team, used by the authorization checks in {@link SecurityUtil}.
+ * <p>
+ * Non-membership is cached as well, so polling clients do not hit the members table either way.
+ * Entries are evicted after commit whenever a membership is created, removed or changes role,
+ * and expire after the configured TTL to bound staleness across application instances.
+ * Hit, miss and eviction counts are published as the "membershipRoles" cache metrics.
+ * <p>
+ * Roles are loaded on virtual threads of their own: a synchronous Caffeine load runs inside a map compute, which
+ * would pin the calling virtual thread to its carrier for the whole query.
+ */
+@Component
+public class MembershipRoleCache {
+
+    static final String CACHE_NAME = "membershipRoles";
+
+    private final AsyncLoadingCache<MembershipKey, Optional<TeamRole>> roles;
+
+    public MembershipRoleCache(MembershipRepository membershipRepository,
+                               MembershipCacheConfig membershipCacheConfig,
+                               MeterRegistry meterRegistry) {
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(membershipCacheConfig.getMaximumSize())
+                .expireAfterWrite(membershipCacheConfig.getTtl())
+                .recordStats()
+                .executor(Thread::startVirtualThread)
+                .buildAsync(key -> membershipRepository.findRoleByUserIdAndTeamId(key.userId(), key.teamId()));
+        CaffeineCacheMetrics.monitor(meterRegistry, roles, CACHE_NAME);
+    }
+
+    /**
+     * Returns the role the user holds in the team.
+     *
+     * @param userId the identifier of the user
+     * @param teamId the identifier of the team
+     * @return the role, or empty if the user is not a member of the team
+     */
+    public Optional<TeamRole> getRole(UUID userId, UUID teamId) {
+        return CacheLoads.join(roles.get(new MembershipKey(userId, teamId)));
+    }
+
+    /**
+     * Evicts the cached role of the user in the team once the surrounding transaction commits.
+     *
+     * @param userId the identifier of the user
+     * @param teamId the identifier of the team
+     */
+    public void evictAfterCommit(UUID userId, UUID teamId) {
+        TransactionUtils.runAfterCommit(() -> roles.synchronous().invalidate(new MembershipKey(userId, teamId)));
+    }
+
+    /**
+     * Evicts the cached roles of all users in the team once the surrounding transaction commits.
+     *
+     * @param teamId the identifier of the team
+     */
+    public void evictTeamAfterCommit(UUID teamId) {
+        TransactionUtils.runAfterCommit(() -> roles.asMap().keySet().removeIf(key -> key.teamId().equals(teamId)));
+    }
+
+    /**
+     * Evicts the cached roles of the user in all teams once the surrounding transaction commits.
+     *
+     * @param userId the identifier of the user
+     */
+    public void evictUserAfterCommit(UUID userId) {
+        TransactionUtils.runAfterCommit(() -> roles.asMap().keySet().removeIf(key -> key.userId().equals(userId)));
+    }
+
+    private record MembershipKey(UUID userId, UUID teamId) {
+    }
+}
@@ -2,10 +2,10 @@ package dev.oleksii.rotamanagementapp.security;
 
 import dev.oleksii.rotamanagementapp.domain.entities.User;
 import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
-import dev.oleksii.rotamanagementapp.domain.repos.MembershipRepository;
 import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
 import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Principal;
@@ -16,19 +16,38 @@ import java.util.UUID;
 public class SecurityUtil {
 
     private final UserRepository userRepository;
-    private final MembershipRepository membershipRepository;
+    private final MembershipRoleCache membershipRoleCache;
 
     public User getCurrentUser(Principal principal) {
+        // A stateless principal carries the user id, so the user is loaded by primary key.
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+            return userRepository.findById(jwtPrincipal.getId())
+                    .orElseThrow(() -> new NotFoundException("User not found."));
+        }
         return userRepository.findByEmail(principal.getName())
                 .orElseThrow(() -> new NotFoundException("User not found."));
     }
 
+    // Resolves the id of the current user from the authenticated principal without querying the database.
+    public UUID getCurrentUserId(Principal principal) {
+        if (principal instanceof Authentication authentication) {
+            if (authentication.getPrincipal() instanceof JwtPrincipal jwtPrincipal) {
+                return jwtPrincipal.getId();
+            }
+            if (authentication.getPrincipal() instanceof User user) {
+                return user.getId();
+            }
+        }
+        return getCurrentUser(principal).getId();
+    }
+
     public boolean isMember(UUID userId, UUID teamId) {
-        return membershipRepository.existsByUserIdAndTeamId(userId, teamId);
+        return membershipRoleCache.getRole(userId, teamId).isPresent();
     }
 
     public boolean isManager(UUID userId, UUID teamId) {
-        return membershipRepository.existsByUserIdAndTeamIdAndRole(userId, teamId, TeamRole.MANAGER);
+        return membershipRoleCache.getRole(userId, teamId).filter(TeamRole.MANAGER::equals).isPresent();
     }
 
 }
@@ -0,0 +1,55 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.oleksii.rotamanagementapp.configuration.JwtConfig;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import dev.oleksii.rotamanagementapp.utils.TransactionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * In-memory cache of the current token version of each user.
+ * <p>
+ * Stateless principals are checked against it to reject tokens that were issued before
+ * a password or email change, or for a user that no longer exists.
+ * Versions are loaded on virtual threads of their own, as {@link MembershipRoleCache} explains.
+ */
+@Component
+public class TokenVersionCache {
+
+    private final AsyncLoadingCache<UUID, Long> versions;
+
+    public TokenVersionCache(UserRepository userRepository, JwtConfig jwtConfig) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getTokenVersionCacheSize())
+                // Bounds staleness when the version is changed by another application instance.
+                .expireAfterWrite(jwtConfig.getTokenVersionCacheTtl())
+                .executor(Thread::startVirtualThread)
+                // A missing user yields null, which Caffeine does not cache.
+                .buildAsync(userId -> userRepository.findTokenVersionById(userId).orElse(null));
+    }
+
+    /**
+     * Checks whether the given token version is still the user's current one.
+     *
+     * @param userId       the identifier of the user
+     * @param tokenVersion the version carried by the token
+     * @return true if the user exists and the versions match, false otherwise
+     */
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        Long current = CacheLoads.join(versions.get(userId));
+        return current != null && current == tokenVersion;
+    }
+
+    /**
+     * Evicts the cached version of the user once the surrounding transaction commits,
+     * so the next request reads the updated version. Evicts immediately outside a transaction.
+     *
+     * @param userId the identifier of the user
+     */
+    public void evictAfterCommit(UUID userId) {
+        TransactionUtils.runAfterCommit(() -> versions.synchronous().invalidate(userId));
+    }
+}
@@ -0,0 +1,30 @@
+package dev.oleksii.rotamanagementapp.services;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleResponse;
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.scheduling.RotaProblem;
+import dev.oleksii.rotamanagementapp.scheduling.RotaSolution;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+public interface AutoScheduleService {
+    Plan plan(UUID teamId, AutoScheduleRequest request);
+
+    RotaSolution solve(Plan plan);
+
+    Result saveAssignments(Plan plan, RotaSolution solution);
+
+    // The problem, the members and shifts its indexes refer to, and the team revision they were read at.
+    record Plan(RotaProblem problem, List<Member> members, List<Shift> shifts, long revision, Duration timeBudget,
+                long startedNanos) {
+    }
+
+    // The response, plus the rows that were inserted so the caller can record them.
+    record Result(AutoScheduleResponse response, List<Shift> materialisedShifts, List<MemberShift> assignments) {
+    }
+}
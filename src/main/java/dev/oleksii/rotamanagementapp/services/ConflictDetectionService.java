@@ -0,0 +1,14 @@
+package dev.oleksii.rotamanagementapp.services;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleConflictsDto;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ConflictDetectionService {
+    List<AssignmentInterval> findOverlappingAssignments(UUID memberId, LocalDate date, LocalTime startTime, LocalTime endTime);
+    ScheduleConflictsDto findConflictsByTeamId(UUID teamId);
+}
@@ -7,7 +7,8 @@ package dev.oleksii.rotamanagementapp.services;
 public interface EmailService {
 
     /**
-     * Sends a verification email to a given recipient using a specified template.
+     * Queues a verification email to a given recipient using a specified template.
+     * The email is delivered asynchronously once the surrounding transaction commits.
      *
      * @param to             The email address of the recipient.
      * @param subject        The subject line of the email.
@@ -0,0 +1,12 @@
+package dev.oleksii.rotamanagementapp.services;
+
+import dev.oleksii.rotamanagementapp.domain.entities.IdempotentRequest;
+
+import java.util.Optional;
+
+public interface IdempotencyService {
+    Optional<IdempotentRequest> claim(String owner, String idempotencyKey, String fingerprint);
+    void complete(String owner, String idempotencyKey, int status, String contentType, String location, String etag,
+                  String body);
+    void release(String owner, String idempotencyKey);
+}
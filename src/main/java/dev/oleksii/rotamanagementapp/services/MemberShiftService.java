@@ -1,10 +1,25 @@
 package dev.oleksii.rotamanagementapp.services;
 
 import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.CalendarEntry;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.DailyMinutes;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface MemberShiftService {
-    void deleteMemberShiftByShiftIdAndId(UUID shiftId, UUID memberShiftId);
+    long deleteMemberShiftByShiftIdAndId(UUID shiftId, UUID memberShiftId);
     void saveMemberShift (MemberShift memberShift);
+    void saveAllMemberShifts(List<MemberShift> memberShifts);
+    List<MemberShift> getMemberShiftsByIds(Collection<UUID> ids);
+    List<UUID> getMemberShiftIdsByShiftId(UUID shiftId);
+    List<UUID> getMemberShiftIdsByUserIdAndTeamId(UUID userId, UUID teamId);
+    List<AssignmentInterval> getAssignmentIntervalsByTeamId(UUID teamId, LocalDate from, LocalDate to);
+    List<DailyMinutes> getDailyMinutesByMemberIds(Collection<UUID> memberIds, LocalDate from, LocalDate to);
+    Stream<CalendarEntry> streamCalendarEntriesByTeamId(UUID teamId, LocalDate from, LocalDate to);
+    Stream<CalendarEntry> streamCalendarEntriesByMemberId(UUID memberId, LocalDate from, LocalDate to);
 }
\ No newline at end of file
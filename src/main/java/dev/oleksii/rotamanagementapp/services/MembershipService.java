@@ -2,6 +2,7 @@ package dev.oleksii.rotamanagementapp.services;
 
 import dev.oleksii.rotamanagementapp.domain.entities.Member;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -9,5 +10,6 @@ public interface MembershipService {
     Member getMembershipById(UUID membershipId);
     Member getMembershipByUserIdAndTeamId(UUID userId, UUID teamId);
     Set<Member> getAllMembershipsByTeamId(UUID teamId);
+    List<Member> getMembershipsPageByTeamId(UUID teamId, UUID afterId, int limit);
     void deleteMembershipByUserIdAndTeamId(UUID userId, UUID teamId);
 }
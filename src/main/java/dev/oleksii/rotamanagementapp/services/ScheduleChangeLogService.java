@@ -0,0 +1,17 @@
+package dev.oleksii.rotamanagementapp.services;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleVersion;
+import dev.oleksii.rotamanagementapp.domain.entities.ScheduleChange;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ScheduleChangeLogService {
+    void recordInserted(UUID teamId, long revision, ScheduleEntityType entityType, Collection<UUID> entityIds);
+    void recordUpdated(UUID teamId, long revision, ScheduleEntityType entityType, Collection<UUID> entityIds);
+    void recordDeleted(UUID teamId, long revision, ScheduleEntityType entityType, Collection<UUID> entityIds);
+    List<ScheduleChange> getChangesAfter(UUID teamId, ScheduleVersion after, long upToRevision, int limit);
+    void deleteChangesByTeamId(UUID teamId);
+}
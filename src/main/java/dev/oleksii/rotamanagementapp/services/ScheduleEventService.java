@@ -0,0 +1,11 @@
+package dev.oleksii.rotamanagementapp.services;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface ScheduleEventService {
+    void publishAfterCommit(ScheduleChangeEvent event);
+    SseEmitter subscribe(UUID teamId, Long lastEventId);
+}
@@ -1,13 +1,27 @@
 package dev.oleksii.rotamanagementapp.services;
 
 import dev.oleksii.rotamanagementapp.domain.dtos.AssignShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleResponse;
+import dev.oleksii.rotamanagementapp.domain.dtos.CalendarFeed;
+import dev.oleksii.rotamanagementapp.domain.dtos.BulkCreateShiftsResponse;
 import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftTemplateRequest;
 import dev.oleksii.rotamanagementapp.domain.dtos.MemberShiftDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleConflictsDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
-import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftTemplateDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
 
 /**
  * Service interface that defines the contract for schedule and shift-related operations.
@@ -17,10 +31,20 @@ import java.util.UUID;
  *   <li>Retrieving a specific shift within a team.</li>
  *   <li>Retrieving all shift assignments (member shifts) for a given team and user.</li>
  *   <li>Creating a new shift for a team based on provided details.</li>
+ *   <li>Creating many shifts for a team in a single transaction.</li>
  *   <li>Deleting an existing shift from a team.</li>
- *   <li>Assigning a member to a shift using assignment details.</li>
+ *   <li>Assigning a member to a shift using assignment details, unless it overlaps their other assignments.</li>
  *   <li>Unassigning a member from a shift.</li>
+ *   <li>Reporting overlapping assignments across the whole schedule.</li>
+ *   <li>Generating assignments for all unassigned shifts of a date window at once.</li>
+ *   <li>Managing recurring shift templates and assigning members to their occurrences.</li>
+ *   <li>Streaming a team's or a member's assignments as an iCalendar feed.</li>
+ *   <li>Reading the team's revision, to answer conditional requests before building any response.</li>
+ *   <li>Subscribing to a stream of the team's schedule changes.</li>
  * </ul>
+ * Every operation that changes shifts, templates or assignments also bumps the team's revision, records the
+ * shifts and assignments it touched in the team's change log under that revision, and publishes an event with the
+ * new revision once its transaction commits.
  */
 public interface ScheduleFacade {
 
@@ -45,18 +69,18 @@ public interface ScheduleFacade {
      *   <li>Mapping the collection of member shift entities to a set of {@link MemberShiftDto} objects.</li>
      * </ul>
      *
-     * @param user   The user for whom the member shifts are to be retrieved.
+     * @param userId The unique identifier of the user for whom the member shifts are to be retrieved.
      * @param teamId The unique identifier of the team.
      * @return A set of {@link MemberShiftDto} representing all member shifts for the team.
      */
-    Set<MemberShiftDto> getAllMemberShifts(User user, UUID teamId);
+    Set<MemberShiftDto> getAllMemberShifts(UUID userId, UUID teamId);
 
     /**
      * Creates a new shift for the specified team by:
      * <ul>
      *   <li>Validating that the team exists and the user is authorized.</li>
      *   <li>Building a new shift entity using details provided in the {@link CreateShiftRequest}.</li>
-     *   <li>Associating the new shift with the team's schedule.</li>
+     *   <li>Associating the new shift with the team's schedule without loading its existing shifts.</li>
      *   <li>Persisting the new shift and mapping it to a {@link ShiftDto} for return.</li>
      * </ul>
      *
@@ -66,6 +90,21 @@ public interface ScheduleFacade {
      */
     ShiftDto createShift(UUID teamId, CreateShiftRequest request);
 
+    /**
+     * Creates many shifts for the specified team at once by:
+     * <ul>
+     *   <li>Loading the team's schedule once for all shifts.</li>
+     *   <li>Validating each {@link CreateShiftRequest} independently and rejecting the invalid ones.</li>
+     *   <li>Persisting all valid shifts in one transaction, using JDBC batch inserts.</li>
+     *   <li>Reporting the created {@link ShiftDto} or the validation errors of every item, in request order.</li>
+     * </ul>
+     *
+     * @param teamId   The unique identifier of the team.
+     * @param requests The details of the shifts to create.
+     * @return A {@link BulkCreateShiftsResponse} with one result per requested shift.
+     */
+    BulkCreateShiftsResponse createShifts(UUID teamId, List<CreateShiftRequest> requests);
+
     /**
      * Deletes the specified shift from the team by:
      * <ul>
@@ -83,6 +122,7 @@ public interface ScheduleFacade {
      * <ul>
      *   <li>Validating that the shift belongs to the team identified by {@code teamId}.</li>
      *   <li>Building a new member shift assignment using details from the {@link AssignShiftRequest}.</li>
+     *   <li>Rejecting the assignment if it overlaps another assignment of the same member.</li>
      *   <li>Persisting the new member shift assignment.</li>
      *   <li>Mapping the member shift entity to a {@link MemberShiftDto} for return.</li>
      * </ul>
@@ -106,4 +146,154 @@ public interface ScheduleFacade {
      * @param memberShiftId The unique identifier of the member shift assignment to be removed.
      */
     void unassignShift(UUID teamId, UUID shiftId, UUID memberShiftId);
+
+    /**
+     * Validates the whole schedule of the specified team by:
+     * <ul>
+     *   <li>Loading every assignment of the team, ordered by member and start time, in one query.</li>
+     *   <li>Sweeping each member's assignments once and reporting every pair whose intervals overlap.</li>
+     * </ul>
+     *
+     * @param teamId The unique identifier of the team.
+     * @return A {@link ScheduleConflictsDto} listing all conflicts found.
+     */
+    ScheduleConflictsDto getScheduleConflicts(UUID teamId);
+
+    /**
+     * Retrieves the recurring shift templates of the specified team by:
+     * <ul>
+     *   <li>Fetching all templates attached to the team's schedule.</li>
+     *   <li>Mapping them to {@link ShiftTemplateDto} objects.</li>
+     * </ul>
+     *
+     * @param teamId The unique identifier of the team.
+     * @return A list of {@link ShiftTemplateDto} ordered by start time.
+     */
+    List<ShiftTemplateDto> getShiftTemplates(UUID teamId);
+
+    /**
+     * Creates a recurring shift template for the specified team by:
+     * <ul>
+     *   <li>Validating the recurrence rule and the date range of the template.</li>
+     *   <li>Attaching the template to the team's schedule without creating any shift rows.</li>
+     *   <li>Persisting the template and mapping it to a {@link ShiftTemplateDto} for return.</li>
+     * </ul>
+     *
+     * @param teamId  The unique identifier of the team.
+     * @param request The details of the template, including its recurrence rule.
+     * @return A {@link ShiftTemplateDto} representing the newly created template.
+     */
+    ShiftTemplateDto createShiftTemplate(UUID teamId, CreateShiftTemplateRequest request);
+
+    /**
+     * Deletes a recurring shift template by:
+     * <ul>
+     *   <li>Validating that the template belongs to the team identified by {@code teamId}.</li>
+     *   <li>Keeping its materialised occurrences, with their assignments, as one-off shifts.</li>
+     *   <li>Removing the template, so no further occurrences are expanded.</li>
+     * </ul>
+     *
+     * @param teamId     The unique identifier of the team.
+     * @param templateId The unique identifier of the template to delete.
+     */
+    void deleteShiftTemplate(UUID teamId, UUID templateId);
+
+    /**
+     * Assigns a member to one occurrence of a recurring shift template by:
+     * <ul>
+     *   <li>Validating that the template belongs to the team and occurs on the given date.</li>
+     *   <li>Materialising the occurrence as a shift, unless it has been materialised before.</li>
+     *   <li>Assigning the member to that shift as {@link #assignShift} does.</li>
+     * </ul>
+     *
+     * @param teamId     The unique identifier of the team.
+     * @param templateId The unique identifier of the template.
+     * @param date       The date of the occurrence.
+     * @param request    The details for assigning the shift to a member.
+     * @return A {@link MemberShiftDto} representing the assigned shift details.
+     */
+    MemberShiftDto assignShiftOccurrence(UUID teamId, UUID templateId, LocalDate date, AssignShiftRequest request);
+
+    /**
+     * Generates assignments for the unassigned shifts of a date window by:
+     * <ul>
+     *   <li>Collecting the unassigned shifts and template occurrences of the window, the team's members
+     *       and their existing assignments.</li>
+     *   <li>Running the parallel rota solver within the requested time budget, respecting the maximum hours
+     *       per week, the minimum rest between shifts and one shift per member at a time.</li>
+     *   <li>Persisting the resulting assignments, and any occurrences they materialise, in JDBC batches.</li>
+     * </ul>
+     *
+     * @param teamId  The unique identifier of the team.
+     * @param request The date window, constraints and time budget.
+     * @return An {@link AutoScheduleResponse} with the number of assignments and the shifts left unassigned.
+     */
+    AutoScheduleResponse autoSchedule(UUID teamId, AutoScheduleRequest request);
+
+    /**
+     * Reads a response for the specified team at the team's current revision, its ETag, by:
+     * <ul>
+     *   <li>Reading the revision, which every change to the team's shifts, templates, assignments or members
+     *   increments, from the team row alone.</li>
+     *   <li>Skipping the read when the caller already has that revision.</li>
+     *   <li>Otherwise reading the response in the same read-only transaction, so both come from the same database,
+     *   and the response is never older than the revision it is tagged with.</li>
+     * </ul>
+     *
+     * @param teamId      The unique identifier of the team.
+     * @param notModified Tells whether the caller already has the given revision.
+     * @param read        Reads the response.
+     * @return The response, or empty when the caller already has the current revision.
+     */
+    <T> Optional<T> readAtRevision(UUID teamId, LongPredicate notModified, Supplier<T> read);
+
+    /**
+     * Describes the iCalendar feed of all assignments in the team by:
+     * <ul>
+     *   <li>Reading when the team's schedule last changed, without touching the shift tables.</li>
+     *   <li>Fixing the feed's window around the current date and deriving the validators from it.</li>
+     * </ul>
+     *
+     * @param teamId The unique identifier of the team.
+     * @return A {@link CalendarFeed} to check conditional requests against and to pass to
+     *         {@link #writeCalendar(CalendarFeed, OutputStream)}.
+     */
+    CalendarFeed getTeamCalendarFeed(UUID teamId);
+
+    /**
+     * Describes the iCalendar feed of one member's assignments, like {@link #getTeamCalendarFeed(UUID)}.
+     *
+     * @param teamId   The unique identifier of the team.
+     * @param memberId The unique identifier of the member.
+     * @return A {@link CalendarFeed} for the member's assignments.
+     * @throws dev.oleksii.rotamanagementapp.exceptions.NotFoundException if the member does not belong to the team.
+     */
+    CalendarFeed getMemberCalendarFeed(UUID teamId, UUID memberId);
+
+    /**
+     * Writes the feed to the stream by:
+     * <ul>
+     *   <li>Opening a read-only transaction and a database cursor over the assignments in the feed's window.</li>
+     *   <li>Writing each assignment as an event as soon as it is read, so the feed is never held in memory.</li>
+     * </ul>
+     *
+     * @param feed The feed returned by {@link #getTeamCalendarFeed(UUID)} or {@link #getMemberCalendarFeed(UUID, UUID)}.
+     * @param out  The stream to write the calendar to.
+     * @throws IOException if writing to the stream fails.
+     */
+    void writeCalendar(CalendarFeed feed, OutputStream out) throws IOException;
+
+    /**
+     * Opens a stream of the team's schedule changes by:
+     * <ul>
+     *   <li>Replaying the changes after the client's last seen revision, if they are still known, or telling it
+     *       to reload the schedule if they are not.</li>
+     *   <li>Sending every later change as it commits, and a heartbeat while nothing changes.</li>
+     * </ul>
+     *
+     * @param teamId      The unique identifier of the team.
+     * @param lastEventId The last revision the client received, or null for a new stream.
+     * @return An {@link SseEmitter} writing the stream.
+     */
+    SseEmitter subscribeToChanges(UUID teamId, Long lastEventId);
 }
@@ -6,4 +6,5 @@ import java.util.UUID;
 
 public interface ScheduleService {
     Schedule getScheduleByTeamId(UUID teamId);
+    Schedule getScheduleWithShiftsByTeamId(UUID teamId);
 }
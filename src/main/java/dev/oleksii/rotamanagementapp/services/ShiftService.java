@@ -1,11 +1,23 @@
 package dev.oleksii.rotamanagementapp.services;
 
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
 import dev.oleksii.rotamanagementapp.domain.entities.Shift;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ShiftService {
     Shift getShiftByTeamIdAndShiftId(UUID teamId, UUID shiftId);
+    Shift getShiftForAssignment(UUID teamId, UUID shiftId);
+    List<Shift> getShiftsInWindow(UUID teamId, LocalDate from, LocalDate to, ShiftCursor after, int limit);
+    List<Shift> getUnassignedShiftsInWindow(UUID teamId, LocalDate from, LocalDate to);
+    Optional<Shift> findShiftByTemplateIdAndDate(UUID templateId, LocalDate date);
+    List<Shift> getShiftsByIds(Collection<UUID> ids);
+    List<UUID> getShiftIdsByTemplateId(UUID templateId);
     void saveShift(Shift shift);
+    void saveAllShifts(List<Shift> shifts);
     void deleteShiftById(UUID shiftId);
 }
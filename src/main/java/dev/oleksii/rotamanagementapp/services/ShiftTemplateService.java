@@ -0,0 +1,17 @@
+package dev.oleksii.rotamanagementapp.services;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ShiftTemplateService {
+    List<ShiftTemplate> getTemplatesByTeamId(UUID teamId);
+    ShiftTemplate getTemplateByTeamIdAndTemplateId(UUID teamId, UUID templateId);
+    List<Shift> getOccurrencesInWindow(UUID teamId, LocalDate from, LocalDate to, ShiftCursor after, int limit);
+    void saveTemplate(ShiftTemplate template);
+    void deleteTemplate(ShiftTemplate template);
+}
@@ -1,12 +1,21 @@
 package dev.oleksii.rotamanagementapp.services;
 
+import dev.oleksii.rotamanagementapp.domain.dtos.HoursReportPageDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.MemberDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDeltaDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftPageDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.TeamDto;
 import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.ReportPeriod;
 
+import java.time.LocalDate;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
 
 /**
  * Service interface that defines the contract for team-related operations.
@@ -16,7 +25,11 @@ import java.util.UUID;
  *   <li>Retrieving a single team by its identifier.</li>
  *   <li>Retrieving all teams associated with a user.</li>
  *   <li>Fetching the schedule of a given team.</li>
+ *   <li>Fetching one page of a team's shifts within a date window.</li>
  *   <li>Fetching all members of a team.</li>
+ *   <li>Reporting the hours worked by each member per week or month.</li>
+ *   <li>Fetching the changes to a team's shifts and assignments since a version the client already has.</li>
+ *   <li>Reading the team's revision, to answer conditional requests before building any response.</li>
  *   <li>Creating a new team along with its mandatory schedule and initial membership.</li>
  *   <li>Deleting an existing team.</li>
  *   <li>Joining a team as a member.</li>
@@ -53,7 +66,7 @@ public interface TeamFacade {
     /**
      * Retrieves the schedule associated with the specified team by:
      * <ul>
-     *   <li>Fetching the schedule entity for the team via the schedule service.</li>
+     *   <li>Fetching the schedule entity for the team, together with its shifts and assignments, via the schedule service.</li>
      *   <li>Mapping the schedule entity to a {@link ScheduleDto}.</li>
      * </ul>
      *
@@ -62,6 +75,43 @@ public interface TeamFacade {
      */
     ScheduleDto getTeamSchedule(UUID teamId);
 
+    /**
+     * Retrieves one page of the team's shifts within a date window by:
+     * <ul>
+     *   <li>Validating the window bounds and the requested page size.</li>
+     *   <li>Decoding the cursor returned with the previous page, if any.</li>
+     *   <li>Fetching the next shifts in (date, start time, id) order, together with their assignments.</li>
+     *   <li>Expanding the occurrences of the team's shift templates that fall within the window and have no shift yet,
+     *       and merging them into the same order.</li>
+     *   <li>Mapping the shifts to {@link ShiftDto} objects and encoding the cursor for the following page.</li>
+     * </ul>
+     *
+     * @param teamId The unique identifier of the team.
+     * @param from   The first date of the window (inclusive).
+     * @param to     The last date of the window (inclusive).
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of shifts to return.
+     * @return A {@link ShiftPageDto} with the shifts of the page and the cursor for the next one.
+     */
+    ShiftPageDto getTeamScheduleWindow(UUID teamId, LocalDate from, LocalDate to, String cursor, int size);
+
+    /**
+     * Reads a response for the specified team at the team's current revision, its ETag, by:
+     * <ul>
+     *   <li>Reading the revision, which every change to the team's shifts, templates, assignments or members
+     *   increments, from the team row alone.</li>
+     *   <li>Skipping the read when the caller already has that revision.</li>
+     *   <li>Otherwise reading the response in the same read-only transaction, so both come from the same database,
+     *   and the response is never older than the revision it is tagged with.</li>
+     * </ul>
+     *
+     * @param teamId      The unique identifier of the team.
+     * @param notModified Tells whether the caller already has the given revision.
+     * @param read        Reads the response.
+     * @return The response, or empty when the caller already has the current revision.
+     */
+    <T> Optional<T> readAtRevision(UUID teamId, LongPredicate notModified, Supplier<T> read);
+
     /**
      * Retrieves all members of the specified team by:
      * <ul>
@@ -74,6 +124,46 @@ public interface TeamFacade {
      */
     Set<MemberDto> getAllTeamMembers(UUID teamId);
 
+    /**
+     * Retrieves the changes to the team's shifts and assignments since the given version by:
+     * <ul>
+     *   <li>Validating the requested page size and decoding the version.</li>
+     *   <li>Asking the client to reload the schedule if it has no version yet, or if its version is older than the
+     *       team's change log floor, below which compaction may have purged tombstones.</li>
+     *   <li>Reading the next changes from the change log in (revision, id) order, up to the current revision.</li>
+     *   <li>Loading the current state of the shifts and assignments that still exist, and reporting the others as
+     *       tombstones, skipping entities that were both created and deleted after the version.</li>
+     * </ul>
+     * Template occurrences that have not been materialised are not part of the delta.
+     *
+     * @param teamId The unique identifier of the team.
+     * @param since  The version returned by the previous call, or {@code null} to start.
+     * @param size   The maximum number of changes to return.
+     * @return A {@link ScheduleDeltaDto} with the changes and the version to continue from.
+     */
+    ScheduleDeltaDto getScheduleChanges(UUID teamId, String since, int size);
+
+    /**
+     * Retrieves one page of the hours worked by the team's members within a date range by:
+     * <ul>
+     *   <li>Validating the range and the requested page size.</li>
+     *   <li>Fetching the next members in id order, starting after the member in the cursor.</li>
+     *   <li>Summing the minutes of those members' assignments per shift date in the database,
+     *       counting overnight shifts in full on the date they start.</li>
+     *   <li>Rolling the daily totals up into weeks (starting on Monday) or calendar months, clipped to the range.</li>
+     * </ul>
+     *
+     * @param teamId The unique identifier of the team.
+     * @param from   The first date of the range (inclusive).
+     * @param to     The last date of the range (inclusive).
+     * @param period Whether to total the hours per week or per month.
+     * @param cursor The cursor returned with the previous page, or {@code null} for the first page.
+     * @param size   The maximum number of members to return.
+     * @return A {@link HoursReportPageDto} with the members of the page and the cursor for the next one.
+     */
+    HoursReportPageDto getHoursReport(UUID teamId, LocalDate from, LocalDate to, ReportPeriod period,
+                                      String cursor, int size);
+
     /**
      * Creates a new team with the given name for the specified user by:
      * <ul>
@@ -93,6 +183,7 @@ public interface TeamFacade {
      * Deletes the team identified by the given team ID by:
      * <ul>
      *   <li>Delegating the deletion operation to the underlying team service.</li>
+     *   <li>Evicting the cached membership roles of the team once the deletion commits.</li>
      * </ul>
      *
      * @param teamId The unique identifier of the team to be deleted.
@@ -105,6 +196,8 @@ public interface TeamFacade {
      *   <li>Retrieving the team entity via the team service.</li>
      *   <li>Building a new membership for the user with an employee role.</li>
      *   <li>Adding the membership to the team and persisting the updated team entity.</li>
+     *   <li>Bumping the team's revision.</li>
+     *   <li>Evicting the user's cached membership role for the team once the change commits.</li>
      *   <li>Returning the updated team DTO.</li>
      * </ul>
      *
@@ -118,10 +211,12 @@ public interface TeamFacade {
      * Removes the specified user from the team identified by the given team ID by:
      * <ul>
      *   <li>Delegating the membership deletion operation to the membership service.</li>
+     *   <li>Bumping the team's revision, since its members change and the member's assignments go with it.</li>
+     *   <li>Evicting the user's cached membership role for the team once the change commits.</li>
      * </ul>
      *
-     * @param user   The user who wishes to leave the team.
+     * @param userId The unique identifier of the user who wishes to leave the team.
      * @param teamId The unique identifier of the team.
      */
-    void leaveTeam(User user, UUID teamId);
+    void leaveTeam(UUID userId, UUID teamId);
 }
\ No newline at end of file
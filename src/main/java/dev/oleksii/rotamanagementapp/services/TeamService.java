@@ -2,10 +2,16 @@ package dev.oleksii.rotamanagementapp.services;
 
 import dev.oleksii.rotamanagementapp.domain.entities.Team;
 
+import java.time.Instant;
 import java.util.UUID;
 
 public interface TeamService {
     Team getTeamById(UUID teamId);
     void saveTeam(Team team);
     void deleteTeamById(UUID teamId);
+    long markModified(UUID teamId);
+    Instant getScheduleModifiedAt(UUID teamId);
+    long getRevision(UUID teamId);
+    long getChangeLogFloor(UUID teamId);
+    void raiseChangeLogFloor(UUID teamId, long revision);
 }
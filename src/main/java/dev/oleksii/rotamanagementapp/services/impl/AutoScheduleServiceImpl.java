@@ -0,0 +1,155 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.AutoScheduleConfig;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleResponse;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.mappers.ShiftMapper;
+import dev.oleksii.rotamanagementapp.scheduling.RotaProblem;
+import dev.oleksii.rotamanagementapp.scheduling.RotaSolution;
+import dev.oleksii.rotamanagementapp.scheduling.RotaSolver;
+import dev.oleksii.rotamanagementapp.services.AutoScheduleService;
+import dev.oleksii.rotamanagementapp.services.MemberShiftService;
+import dev.oleksii.rotamanagementapp.services.MembershipService;
+import dev.oleksii.rotamanagementapp.services.ShiftService;
+import dev.oleksii.rotamanagementapp.services.ShiftTemplateService;
+import dev.oleksii.rotamanagementapp.services.TeamService;
+import dev.oleksii.rotamanagementapp.utils.ShiftIntervals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fills the unassigned shifts of a date window with the {@link RotaSolver}.
+ * <p>
+ * The problem covers whole weeks around the window, so that the weekly hour limit accounts for assignments made
+ * outside it, and existing assignments a day either side of those weeks take part in the rest rule.
+ * <p>
+ * Generation runs in three steps, so that the solver does not hold a connection for its whole time budget: the
+ * plan is loaded in a short read-only transaction, solved outside any transaction, and its assignments saved in
+ * the caller's transaction. The plan keeps the team revision it was read at, for the caller to check that nothing
+ * changed in between.
+ */
+@Service
+@RequiredArgsConstructor
+public class AutoScheduleServiceImpl implements AutoScheduleService {
+
+    private final ShiftService shiftService;
+    private final ShiftTemplateService shiftTemplateService;
+    private final MembershipService membershipService;
+    private final MemberShiftService memberShiftService;
+    private final TeamService teamService;
+    private final ShiftMapper shiftMapper;
+    private final RotaSolver rotaSolver;
+    private final AutoScheduleConfig config;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Plan plan(UUID teamId, AutoScheduleRequest request) {
+        LocalDate from = request.getFrom();
+        LocalDate to = request.getTo();
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The 'from' date must not be after the 'to' date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= config.getMaxWindowDays()) {
+            throw new IllegalArgumentException("At most " + config.getMaxWindowDays() + " days can be scheduled at once.");
+        }
+        long started = System.nanoTime();
+        long revision = teamService.getRevision(teamId);
+
+        LocalDate firstDay = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        int weeks = (int) ChronoUnit.WEEKS.between(firstDay, to.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))) + 1;
+        var problem = new RotaProblem(firstDay, weeks,
+                request.getMaxHoursPerWeek() != null ? request.getMaxHoursPerWeek() : config.getDefaultMaxHoursPerWeek(),
+                request.getMinRestHours() != null ? request.getMinRestHours() : config.getDefaultMinRestHours());
+
+        List<Member> members = new ArrayList<>(membershipService.getAllMembershipsByTeamId(teamId));
+        Map<UUID, Integer> memberIndexes = new HashMap<>();
+        for (Member member : members) {
+            memberIndexes.put(member.getId(), problem.addMember());
+        }
+        for (var interval : memberShiftService.getAssignmentIntervalsByTeamId(teamId, firstDay.minusDays(1), firstDay.plusWeeks(weeks))) {
+            Integer member = memberIndexes.get(interval.getMemberId());
+            if (member != null) {
+                problem.addBusy(member,
+                        ShiftIntervals.start(interval.getDate(), interval.getStartTime()),
+                        ShiftIntervals.end(interval.getDate(), interval.getStartTime(), interval.getEndTime()));
+            }
+        }
+
+        // Stored shifts without assignments, plus template occurrences that have not been materialised.
+        List<Shift> shifts = new ArrayList<>(shiftService.getUnassignedShiftsInWindow(teamId, from, to));
+        shifts.addAll(shiftTemplateService.getOccurrencesInWindow(teamId, from, to, null, Integer.MAX_VALUE));
+        for (Shift shift : shifts) {
+            problem.addShift(ShiftIntervals.start(shift.getDate(), shift.getStartTime()),
+                    ShiftIntervals.end(shift.getDate(), shift.getStartTime(), shift.getEndTime()));
+        }
+        return new Plan(problem, members, shifts, revision, timeBudget(request), started);
+    }
+
+    @Override
+    public RotaSolution solve(Plan plan) {
+        return rotaSolver.solve(plan.problem(), plan.timeBudget());
+    }
+
+    @Override
+    public Result saveAssignments(Plan plan, RotaSolution solution) {
+        List<Shift> occurrences = new ArrayList<>();
+        List<MemberShift> assignments = new ArrayList<>();
+        List<ShiftDto> unassigned = new ArrayList<>();
+        for (int index = 0; index < plan.shifts().size(); index++) {
+            Shift shift = plan.shifts().get(index);
+            int member = solution.memberOf(index);
+            if (member < 0) {
+                // The shift was loaded by the plan's transaction; it has no assignments to load.
+                ShiftDto dto = shiftMapper.toShiftWithoutAssignmentsDTO(shift);
+                dto.setMemberShifts(List.of());
+                unassigned.add(dto);
+                continue;
+            }
+            if (shift.getId() == null) {
+                occurrences.add(shift);
+            }
+            // Set only the owning side, so the shift's lazy assignments are not loaded.
+            assignments.add(MemberShift.builder()
+                    .member(plan.members().get(member))
+                    .shift(shift)
+                    .startTime(shift.getStartTime())
+                    .endTime(shift.getEndTime())
+                    .build());
+        }
+        // Both are inserted in JDBC batches when the transaction flushes.
+        shiftService.saveAllShifts(occurrences);
+        memberShiftService.saveAllMemberShifts(assignments);
+
+        var response = AutoScheduleResponse.builder()
+                .assigned(assignments.size())
+                .unassignedShifts(unassigned)
+                .iterations(solution.getIterations())
+                .elapsedMillis(Duration.ofNanos(System.nanoTime() - plan.startedNanos()).toMillis())
+                .build();
+        return new Result(response, occurrences, assignments);
+    }
+
+    private Duration timeBudget(AutoScheduleRequest request) {
+        if (request.getTimeBudgetMillis() == null) {
+            return config.getDefaultTimeBudget();
+        }
+        Duration requested = Duration.ofMillis(request.getTimeBudgetMillis());
+        return requested.compareTo(config.getMaxTimeBudget()) > 0 ? config.getMaxTimeBudget() : requested;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleConflictsDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftConflictDto;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+import dev.oleksii.rotamanagementapp.services.ConflictDetectionService;
+import dev.oleksii.rotamanagementapp.utils.IntervalIndex;
+import dev.oleksii.rotamanagementapp.utils.ShiftIntervals;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Detects assignments of the same member whose working intervals overlap.
+ * Intervals follow {@link ShiftIntervals}, so overnight assignments run into the next day.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConflictDetectionServiceImpl implements ConflictDetectionService {
+
+    private final MemberShiftRepository memberShiftRepository;
+
+    @Override
+    public List<AssignmentInterval> findOverlappingAssignments(UUID memberId, LocalDate date,
+                                                               LocalTime startTime, LocalTime endTime) {
+        // Only the member's assignments on adjacent dates can overlap, including overnight ones from the day before.
+        var index = IntervalIndex.of(
+                memberShiftRepository.findIntervalsByMemberId(memberId, date.minusDays(1), date.plusDays(1)),
+                ConflictDetectionServiceImpl::start, ConflictDetectionServiceImpl::end);
+        return index.overlapping(ShiftIntervals.start(date, startTime), ShiftIntervals.end(date, startTime, endTime));
+    }
+
+    @Override
+    public ScheduleConflictsDto findConflictsByTeamId(UUID teamId) {
+        List<AssignmentInterval> intervals = memberShiftRepository.findIntervalsByTeamId(teamId);
+
+        // Sweep each member's assignments in start order, keeping those still running as the active set.
+        List<ShiftConflictDto> conflicts = new ArrayList<>();
+        List<AssignmentInterval> active = new ArrayList<>();
+        UUID member = null;
+        for (AssignmentInterval current : intervals) {
+            if (!Objects.equals(member, current.getMemberId())) {
+                member = current.getMemberId();
+                active.clear();
+            }
+            LocalDateTime start = start(current);
+            active.removeIf(previous -> !end(previous).isAfter(start));
+            for (AssignmentInterval previous : active) {
+                conflicts.add(toConflict(previous, current));
+            }
+            active.add(current);
+        }
+        return ScheduleConflictsDto.builder()
+                .assignments(intervals.size())
+                .conflicts(conflicts)
+                .build();
+    }
+
+    private static ShiftConflictDto toConflict(AssignmentInterval first, AssignmentInterval second) {
+        LocalDateTime firstEnd = end(first);
+        LocalDateTime secondEnd = end(second);
+        return ShiftConflictDto.builder()
+                .memberId(first.getMemberId())
+                .memberShiftId(first.getId())
+                .shiftId(first.getShiftId())
+                .conflictingMemberShiftId(second.getId())
+                .conflictingShiftId(second.getShiftId())
+                .overlapStart(start(second))
+                .overlapEnd(firstEnd.isBefore(secondEnd) ? firstEnd : secondEnd)
+                .build();
+    }
+
+    private static LocalDateTime start(AssignmentInterval interval) {
+        return ShiftIntervals.start(interval.getDate(), interval.getStartTime());
+    }
+
+    private static LocalDateTime end(AssignmentInterval interval) {
+        return ShiftIntervals.end(interval.getDate(), interval.getStartTime(), interval.getEndTime());
+    }
+}
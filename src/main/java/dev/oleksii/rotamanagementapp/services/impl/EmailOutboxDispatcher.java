@@ -0,0 +1,171 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.EmailOutboxConfig;
+import dev.oleksii.rotamanagementapp.domain.entities.EmailOutboxMessage;
+import dev.oleksii.rotamanagementapp.domain.enums.EmailStatus;
+import dev.oleksii.rotamanagementapp.domain.repos.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivers the emails queued in the outbox in the background.
+ * <p>
+ * Each run repeatedly:
+ * <ul>
+ *   <li>Claims a batch of due messages in a short transaction, skipping rows claimed by other instances,
+ *       and hides them for the lease duration.</li>
+ *   <li>Sends the whole batch over a single SMTP connection, outside any transaction.</li>
+ *   <li>Marks delivered messages as sent, and schedules failed ones for a retry with exponential backoff
+ *       until the maximum number of attempts is reached.</li>
+ * </ul>
+ * Delivery is at-least-once: a message sent just before a crash may be sent again once its lease expires.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final EmailOutboxConfig emailOutboxConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Drains all due messages, one batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${email-outbox.poll-interval:PT2S}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == emailOutboxConfig.getBatchSize());
+    }
+
+    /**
+     * Claims, sends and completes a single batch of due messages.
+     *
+     * @return the number of messages in the batch
+     */
+    int dispatchBatch() {
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, String> failures = send(batch);
+        transactionTemplate.executeWithoutResult(status -> complete(batch, failures));
+        return batch.size();
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> batch = emailOutboxRepository.findDueForUpdate(
+                EmailStatus.PENDING, now, Limit.of(emailOutboxConfig.getBatchSize()));
+        // Hide the claimed messages from other dispatchers until the lease expires.
+        batch.forEach(message -> message.setNextAttemptAt(now.plus(emailOutboxConfig.getLease())));
+        return batch;
+    }
+
+    /**
+     * Sends the batch over one connection.
+     *
+     * @param batch the claimed messages
+     * @return the error of each message that could not be delivered, keyed by message ID
+     */
+    private Map<UUID, String> send(List<EmailOutboxMessage> batch) {
+        Map<UUID, String> failures = new HashMap<>();
+        // MimeMessage has no value equality, so failed messages are matched by identity.
+        Map<MimeMessage, EmailOutboxMessage> mimeMessages = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            try {
+                mimeMessages.put(toMimeMessage(message), message);
+            } catch (MessagingException ex) {
+                failures.put(message.getId(), ex.getMessage());
+            }
+        }
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // JavaMailSenderImpl delivers all messages of one call over a single connection.
+            mailSender.send(mimeMessages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                mimeMessages.values().forEach(message -> failures.put(message.getId(), ex.getMessage()));
+            }
+            ex.getFailedMessages().forEach((failed, cause) -> {
+                EmailOutboxMessage message = mimeMessages.get(failed);
+                if (message != null) {
+                    failures.put(message.getId(), cause.getMessage());
+                }
+            });
+        } catch (MailException ex) {
+            mimeMessages.values().forEach(message -> failures.put(message.getId(), ex.getMessage()));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), true);  // true indicates HTML content
+        return mimeMessage;
+    }
+
+    private void complete(List<EmailOutboxMessage> batch, Map<UUID, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> ids = batch.stream().map(EmailOutboxMessage::getId).toList();
+        for (EmailOutboxMessage message : emailOutboxRepository.findAllById(ids)) {
+            String error = failures.get(message.getId());
+            message.setAttempts(message.getAttempts() + 1);
+            if (error == null) {
+                message.setStatus(EmailStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                log.info("HTML email sent successfully to {}", message.getRecipient());
+                continue;
+            }
+            message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (message.getAttempts() >= emailOutboxConfig.getMaxAttempts()) {
+                message.setStatus(EmailStatus.FAILED);
+                log.error("Giving up on HTML email to {} after {} attempts: {}",
+                        message.getRecipient(), message.getAttempts(), error);
+            } else {
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                log.warn("Failed to send HTML email to {} (attempt {}): {}",
+                        message.getRecipient(), message.getAttempts(), error);
+            }
+        }
+    }
+
+    /**
+     * Computes the delay before the next attempt, doubling with every failed attempt.
+     *
+     * @param attempts the number of attempts made so far
+     * @return the delay, capped at the configured maximum
+     */
+    Duration backoff(int attempts) {
+        Duration delay = emailOutboxConfig.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(emailOutboxConfig.getMaxBackoff()) > 0 ? emailOutboxConfig.getMaxBackoff() : delay;
+    }
+}
@@ -1,41 +1,43 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
+import dev.oleksii.rotamanagementapp.domain.entities.EmailOutboxMessage;
+import dev.oleksii.rotamanagementapp.domain.enums.EmailStatus;
+import dev.oleksii.rotamanagementapp.domain.repos.EmailOutboxRepository;
 import dev.oleksii.rotamanagementapp.services.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.time.LocalDateTime;
+
 /**
- * Implementation of the {@link EmailService} interface that sends
- * verification emails using Thymeleaf templates and the JavaMailSender.
+ * Implementation of the {@link EmailService} interface that queues
+ * verification emails rendered from Thymeleaf templates.
  * <p>
- * It constructs a MIME message with HTML content rendered by Thymeleaf
- * and sends it to the specified email recipient.
+ * Emails are written to the outbox in the caller's transaction, so they are only
+ * sent if that transaction commits, and are delivered by the {@link EmailOutboxDispatcher}
+ * without holding the request thread or its database connection.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    // Spring's JavaMailSender for constructing and sending email messages
-    private final JavaMailSender mailSender;
+    // Outbox of emails waiting to be delivered
+    private final EmailOutboxRepository emailOutboxRepository;
 
     // Thymeleaf engine to process and render HTML templates
     private final TemplateEngine templateEngine;
 
     /**
-     * Sends a verification email to the specified recipient. The method:
+     * Queues a verification email to the specified recipient. The method:
      * <ul>
      *   <li>Builds a Thymeleaf context and inserts the verification link.</li>
      *   <li>Processes the specified template to create HTML content.</li>
-     *   <li>Wraps the HTML content in a MimeMessage.</li>
-     *   <li>Logs success or failure of the email sending process.</li>
+     *   <li>Stores the rendered email in the outbox as pending delivery.</li>
      * </ul>
      *
      * @param to              The recipient's email address.
@@ -44,6 +46,7 @@ public class EmailServiceImpl implements EmailService {
      * @param verificationLink The link the user should click to verify their email.
      */
     @Override
+    @Transactional
     public void sendVerificationEmail(String to, String subject, String templateName, String verificationLink) {
         // Set up the Thymeleaf context, adding variables the template will use
         Context context = new Context();
@@ -52,23 +55,17 @@ public class EmailServiceImpl implements EmailService {
         // Render the template as an HTML string
         String htmlContent = templateEngine.process(templateName, context);
 
-        try {
-            // Create a MimeMessage using Spring's JavaMailSender
-            MimeMessage message = mailSender.createMimeMessage();
-
-            // Use MimeMessageHelper to set properties like recipient, subject, and HTML content
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);  // true indicates HTML content
-
-            // Send the email
-            mailSender.send(message);
-            log.info("HTML email sent successfully to {}", to);
-
-        } catch (MessagingException ex) {
-            // Log any failures in sending the email
-            log.error("Failed to send HTML email to {}: {}", to, ex.getMessage());
-        }
+        // Queue the email; it becomes visible to the dispatcher once the transaction commits
+        LocalDateTime now = LocalDateTime.now();
+        emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(htmlContent)
+                .status(EmailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        log.info("HTML email to {} queued for delivery", to);
     }
 }
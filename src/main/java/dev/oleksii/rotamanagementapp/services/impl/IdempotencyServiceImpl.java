@@ -0,0 +1,101 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.IdempotencyConfig;
+import dev.oleksii.rotamanagementapp.domain.entities.IdempotentRequest;
+import dev.oleksii.rotamanagementapp.domain.repos.IdempotentRequestRepository;
+import dev.oleksii.rotamanagementapp.services.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores the requests made with an Idempotency-Key and their responses.
+ * <p>
+ * A key is claimed by inserting its row in a transaction of its own, before the request is handled, so a
+ * concurrent duplicate fails on the unique (owner, key) constraint and finds the claim. Requests that expired,
+ * or were abandoned without a response, give their key up to the next request made with it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotentRequestRepository idempotentRequestRepository;
+    private final IdempotencyConfig idempotencyConfig;
+
+    /**
+     * Claims the key for a new request.
+     *
+     * @return empty if the key was claimed, otherwise the earlier request made with it
+     */
+    @Override
+    public Optional<IdempotentRequest> claim(String owner, String idempotencyKey, String fingerprint) {
+        try {
+            idempotentRequestRepository.saveAndFlush(newClaim(owner, idempotencyKey, fingerprint));
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            // Claimed before; the earlier request may have been released since.
+        }
+        var previous = idempotentRequestRepository.findByOwnerAndIdempotencyKey(owner, idempotencyKey);
+        if (previous.isEmpty() || !isStale(previous.get())) {
+            return previous;
+        }
+        idempotentRequestRepository.delete(previous.get());
+        try {
+            idempotentRequestRepository.saveAndFlush(newClaim(owner, idempotencyKey, fingerprint));
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            // Taken over by a concurrent request.
+            return idempotentRequestRepository.findByOwnerAndIdempotencyKey(owner, idempotencyKey);
+        }
+    }
+
+    @Override
+    public void complete(String owner, String idempotencyKey, int status, String contentType, String location,
+                         String etag, String body) {
+        idempotentRequestRepository.findByOwnerAndIdempotencyKey(owner, idempotencyKey).ifPresent(request -> {
+            request.setResponseStatus(status);
+            request.setResponseContentType(contentType);
+            request.setResponseLocation(location);
+            request.setResponseEtag(etag);
+            request.setResponseBody(body);
+            idempotentRequestRepository.save(request);
+        });
+    }
+
+    @Override
+    public void release(String owner, String idempotencyKey) {
+        idempotentRequestRepository.findByOwnerAndIdempotencyKey(owner, idempotencyKey)
+                .ifPresent(idempotentRequestRepository::delete);
+    }
+
+    /**
+     * Purges the requests whose responses are no longer replayed.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = idempotentRequestRepository.deleteCreatedBefore(LocalDateTime.now().minus(idempotencyConfig.getTtl()));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotent requests", purged);
+        }
+    }
+
+    private static IdempotentRequest newClaim(String owner, String idempotencyKey, String fingerprint) {
+        return IdempotentRequest.builder()
+                .owner(owner)
+                .idempotencyKey(idempotencyKey)
+                .fingerprint(fingerprint)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private boolean isStale(IdempotentRequest request) {
+        var timeout = request.isCompleted() ? idempotencyConfig.getTtl() : idempotencyConfig.getProcessingTimeout();
+        return request.getCreatedAt().isBefore(LocalDateTime.now().minus(timeout));
+    }
+}
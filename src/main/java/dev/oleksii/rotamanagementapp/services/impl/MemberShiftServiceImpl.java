@@ -2,10 +2,17 @@ package dev.oleksii.rotamanagementapp.services.impl;
 
 import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
 import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.CalendarEntry;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.DailyMinutes;
 import dev.oleksii.rotamanagementapp.services.MemberShiftService;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 public class MemberShiftServiceImpl implements MemberShiftService {
@@ -21,7 +28,47 @@ public class MemberShiftServiceImpl implements MemberShiftService {
         memberShiftRepository.save(memberShift);
     }
     @Override
-    public void deleteMemberShiftByShiftIdAndId(UUID shiftId, UUID memberShiftId) {
-        memberShiftRepository.deleteByShiftIdAndId(shiftId, memberShiftId);
+    public void saveAllMemberShifts(List<MemberShift> memberShifts) {
+        memberShiftRepository.saveAll(memberShifts);
+    }
+
+    @Override
+    public List<MemberShift> getMemberShiftsByIds(Collection<UUID> ids) {
+        return memberShiftRepository.findAllByIdIn(ids);
+    }
+
+    @Override
+    public List<UUID> getMemberShiftIdsByShiftId(UUID shiftId) {
+        return memberShiftRepository.findIdsByShiftId(shiftId);
+    }
+
+    @Override
+    public List<UUID> getMemberShiftIdsByUserIdAndTeamId(UUID userId, UUID teamId) {
+        return memberShiftRepository.findIdsByUserIdAndTeamId(userId, teamId);
+    }
+
+    @Override
+    public List<AssignmentInterval> getAssignmentIntervalsByTeamId(UUID teamId, LocalDate from, LocalDate to) {
+        return memberShiftRepository.findIntervalsByTeamIdBetween(teamId, from, to);
+    }
+
+    @Override
+    public List<DailyMinutes> getDailyMinutesByMemberIds(Collection<UUID> memberIds, LocalDate from, LocalDate to) {
+        return memberShiftRepository.sumDailyMinutesByMemberIds(memberIds, from, to);
+    }
+
+    @Override
+    public Stream<CalendarEntry> streamCalendarEntriesByTeamId(UUID teamId, LocalDate from, LocalDate to) {
+        return memberShiftRepository.streamCalendarEntriesByTeamId(teamId, from, to);
+    }
+
+    @Override
+    public Stream<CalendarEntry> streamCalendarEntriesByMemberId(UUID memberId, LocalDate from, LocalDate to) {
+        return memberShiftRepository.streamCalendarEntriesByMemberId(memberId, from, to);
+    }
+
+    @Override
+    public long deleteMemberShiftByShiftIdAndId(UUID shiftId, UUID memberShiftId) {
+        return memberShiftRepository.deleteByShiftIdAndId(shiftId, memberShiftId);
     }
 }
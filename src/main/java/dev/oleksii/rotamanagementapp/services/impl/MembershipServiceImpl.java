@@ -5,8 +5,10 @@ import dev.oleksii.rotamanagementapp.domain.repos.MembershipRepository;
 import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
 import dev.oleksii.rotamanagementapp.services.MembershipService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -24,7 +26,7 @@ public class MembershipServiceImpl implements MembershipService {
 
     @Override
     public Member getMembershipByUserIdAndTeamId(UUID userId, UUID teamId) {
-        return membershipRepository.findByUserIdAndTeamId(userId, teamId)
+        return membershipRepository.findByNaturalId(userId, teamId)
                 .orElseThrow(() -> new NotFoundException("User is not a member of team with ID " + teamId));
     }
 
@@ -32,6 +34,13 @@ public class MembershipServiceImpl implements MembershipService {
         return membershipRepository.findAllByTeamId(teamId);
     }
 
+    @Override
+    public List<Member> getMembershipsPageByTeamId(UUID teamId, UUID afterId, int limit) {
+        return afterId == null
+                ? membershipRepository.findByTeamIdOrderByIdAsc(teamId, Limit.of(limit))
+                : membershipRepository.findByTeamIdAndIdGreaterThanOrderByIdAsc(teamId, afterId, Limit.of(limit));
+    }
+
     @Override
     public void deleteMembershipByUserIdAndTeamId(UUID userId, UUID teamId) {
         membershipRepository.deleteByUserIdAndTeamId(userId, teamId);
@@ -0,0 +1,63 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.ScheduleChangeLogConfig;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleChangeRepository;
+import dev.oleksii.rotamanagementapp.services.TeamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+/**
+ * Purges expired tombstones from the schedule change log in the background.
+ * <p>
+ * The log already holds a single row per shift and assignment, so only tombstones would grow without bound.
+ * For every team with tombstones older than the retention period, a short transaction:
+ * <ul>
+ *   <li>Raises the team's change log floor to the newest expired tombstone's revision, so clients whose
+ *       version is older are told to reload the schedule instead of silently missing deletions.</li>
+ *   <li>Deletes the team's tombstones up to that revision.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduleChangeLogCompactor {
+
+    private final ScheduleChangeRepository scheduleChangeRepository;
+    private final TeamService teamService;
+    private final ScheduleChangeLogConfig scheduleChangeLogConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Purges the tombstones that are older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${schedule-change-log.compaction-interval:PT1H}")
+    public void compact() {
+        int purged = purgeExpiredTombstones();
+        if (purged > 0) {
+            log.info("Purged {} expired tombstones from the schedule change log", purged);
+        }
+    }
+
+    /**
+     * Purges the expired tombstones of every team, one team per transaction.
+     *
+     * @return the number of tombstones deleted
+     */
+    int purgeExpiredTombstones() {
+        Instant cutoff = Instant.now().minus(scheduleChangeLogConfig.getTombstoneRetention());
+        int purged = 0;
+        for (var expired : scheduleChangeRepository.findExpiredTombstones(cutoff)) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                teamService.raiseChangeLogFloor(expired.getTeamId(), expired.getRevision());
+                return scheduleChangeRepository.deleteTombstonesUpTo(expired.getTeamId(), expired.getRevision());
+            });
+            purged += deleted == null ? 0 : deleted;
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleVersion;
+import dev.oleksii.rotamanagementapp.domain.entities.ScheduleChange;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleChangeRepository;
+import dev.oleksii.rotamanagementapp.services.ScheduleChangeLogService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one change log row per shift and assignment, moved to the team's latest revision on every change.
+ * <p>
+ * Rows are written in the transaction of the change itself, so the log never disagrees with the schedule.
+ */
+@Service
+public class ScheduleChangeLogServiceImpl implements ScheduleChangeLogService {
+
+    // Keeps the IN lists of the lookups below the parameter limits of the databases we run on.
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final ScheduleChangeRepository scheduleChangeRepository;
+
+    public ScheduleChangeLogServiceImpl(ScheduleChangeRepository scheduleChangeRepository) {
+        this.scheduleChangeRepository = scheduleChangeRepository;
+    }
+
+    @Override
+    public void recordInserted(UUID teamId, long revision, ScheduleEntityType entityType, Collection<UUID> entityIds) {
+        // New entities have no row yet, so there is nothing to look up; inserted in JDBC batches on flush.
+        Instant now = Instant.now();
+        scheduleChangeRepository.saveAll(entityIds.stream()
+                .map(entityId -> newChange(teamId, entityType, entityId, revision, now))
+                .toList());
+    }
+
+    @Override
+    public void recordUpdated(UUID teamId, long revision, ScheduleEntityType entityType, Collection<UUID> entityIds) {
+        record(teamId, revision, entityType, entityIds, false);
+    }
+
+    @Override
+    public void recordDeleted(UUID teamId, long revision, ScheduleEntityType entityType, Collection<UUID> entityIds) {
+        record(teamId, revision, entityType, entityIds, true);
+    }
+
+    private void record(UUID teamId, long revision, ScheduleEntityType entityType, Collection<UUID> entityIds,
+                        boolean deleted) {
+        Instant now = Instant.now();
+        List<UUID> ids = new ArrayList<>(entityIds);
+        List<ScheduleChange> changes = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += LOOKUP_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(start, Math.min(ids.size(), start + LOOKUP_CHUNK_SIZE));
+            Map<UUID, ScheduleChange> existing = scheduleChangeRepository
+                    .findByTeamIdAndEntityTypeAndEntityIdIn(teamId, entityType, chunk).stream()
+                    .collect(Collectors.toMap(ScheduleChange::getEntityId, Function.identity()));
+            for (UUID entityId : chunk) {
+                var change = existing.get(entityId);
+                if (change == null) {
+                    // Entities created before the log existed have no row; their creation revision is unknown.
+                    change = newChange(teamId, entityType, entityId, 0L, now);
+                }
+                change.setRevision(revision);
+                change.setDeleted(deleted);
+                change.setChangedAt(now);
+                changes.add(change);
+            }
+        }
+        scheduleChangeRepository.saveAll(changes);
+    }
+
+    private static ScheduleChange newChange(UUID teamId, ScheduleEntityType entityType, UUID entityId,
+                                            long createdRevision, Instant now) {
+        return ScheduleChange.builder()
+                .teamId(teamId)
+                .entityType(entityType)
+                .entityId(entityId)
+                .createdRevision(createdRevision)
+                .revision(createdRevision)
+                .changedAt(now)
+                .build();
+    }
+
+    @Override
+    public List<ScheduleChange> getChangesAfter(UUID teamId, ScheduleVersion after, long upToRevision, int limit) {
+        return scheduleChangeRepository.findChangesAfter(
+                teamId, after.getRevision(), after.getChangeIdOrLast(), upToRevision, Limit.of(limit));
+    }
+
+    @Override
+    public void deleteChangesByTeamId(UUID teamId) {
+        scheduleChangeRepository.deleteByTeamId(teamId);
+    }
+}
@@ -0,0 +1,245 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.ScheduleEventsConfig;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeEvent;
+import dev.oleksii.rotamanagementapp.services.ScheduleEventService;
+import dev.oleksii.rotamanagementapp.services.TeamService;
+import dev.oleksii.rotamanagementapp.utils.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Streams committed schedule changes to the members of a team as Server-Sent Events.
+ * <p>
+ * The service keeps, per team:
+ * <ul>
+ *   <li>The open subscriptions. Each has a bounded queue drained by its own virtual thread, so an idle stream
+ *       holds no platform thread and a slow client never blocks the request that published the change.
+ *       A client that lets its queue fill up is disconnected and resumes from its last event.</li>
+ *   <li>The most recent events, bounded in number and age, from which a reconnecting client is replayed
+ *       everything after its Last-Event-ID. When the events it missed are no longer known, for example after a
+ *       restart, it is sent a {@code reset} event instead and should reload the schedule.</li>
+ * </ul>
+ * Events only reach subscribers connected to the same instance that made the change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduleEventServiceImpl implements ScheduleEventService {
+
+    static final String RESET_EVENT = "reset";
+
+    // Queued for a subscriber in place of an event to keep its connection from looking idle.
+    private static final Object HEARTBEAT = new Object();
+
+    private final TeamService teamService;
+    private final ScheduleEventsConfig scheduleEventsConfig;
+
+    private final Map<UUID, TeamChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publishAfterCommit(ScheduleChangeEvent event) {
+        // Subscribers must never see a change that was rolled back.
+        TransactionUtils.runAfterCommit(() -> publish(event));
+    }
+
+    void publish(ScheduleChangeEvent event) {
+        channels.compute(event.getTeamId(), (teamId, channel) -> {
+            channel = channel == null ? new TeamChannel() : channel;
+            channel.publish(event);
+            return channel;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SseEmitter subscribe(UUID teamId, Long lastEventId) {
+        var emitter = new SseEmitter(scheduleEventsConfig.getTimeout().toMillis());
+        register(teamId, lastEventId, emitter);
+        return emitter;
+    }
+
+    void register(UUID teamId, Long lastEventId, SseEmitter emitter) {
+        // Read first: anything committed after this is either in the buffer by the time we look, or arrives live.
+        long revision = teamService.getRevision(teamId);
+        var subscriber = new Subscriber(emitter, scheduleEventsConfig.getSubscriberQueueCapacity());
+        channels.compute(teamId, (id, channel) -> {
+            channel = channel == null ? new TeamChannel() : channel;
+            channel.subscribe(subscriber, lastEventId, revision);
+            return channel;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start(teamId);
+    }
+
+    /**
+     * Keeps idle streams alive through proxies, detects clients that went away, and drops old events.
+     */
+    @Scheduled(fixedRateString = "${schedule-events.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        Instant expiry = Instant.now().minus(scheduleEventsConfig.getReplayWindow());
+        for (UUID teamId : channels.keySet()) {
+            channels.computeIfPresent(teamId, (id, channel) -> {
+                channel.heartbeat(expiry);
+                return channel.isIdle() ? null : channel;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(TeamChannel::closeAll);
+    }
+
+    int subscriberCount(UUID teamId) {
+        var channel = channels.get(teamId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    /**
+     * The subscriptions and recent events of one team. The buffer is only touched inside a compute on the
+     * channel map for the team, which serializes publishing, subscribing and expiry, so that a subscriber
+     * neither misses an event nor receives it twice, and a channel is never dropped while it is in use.
+     * Only non-blocking queue offers happen there.
+     */
+    private final class TeamChannel {
+
+        private final TreeMap<Long, ScheduleChangeEvent> recent = new TreeMap<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+        void publish(ScheduleChangeEvent event) {
+            recent.put(event.getRevision(), event);
+            while (recent.size() > scheduleEventsConfig.getReplayBufferSize()) {
+                recent.pollFirstEntry();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+
+        void subscribe(Subscriber subscriber, Long lastEventId, long revision) {
+            if (lastEventId != null && lastEventId > revision) {
+                // The client saw revisions this database never had.
+                subscriber.offer(new Reset(revision));
+            } else if (lastEventId != null) {
+                // Evicted events are the oldest, so if the next one is still known, all later ones are too.
+                if (lastEventId < revision && (recent.isEmpty() || recent.firstKey() > lastEventId + 1)) {
+                    subscriber.offer(new Reset(revision));
+                } else {
+                    recent.tailMap(lastEventId, false).values().forEach(subscriber::offer);
+                }
+            }
+            subscriber.channel = this;
+            subscribers.add(subscriber);
+        }
+
+        void unsubscribe(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        void heartbeat(Instant expiry) {
+            recent.values().removeIf(event -> event.getOccurredAt().isBefore(expiry));
+            subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+        }
+
+        boolean isIdle() {
+            return recent.isEmpty() && subscribers.isEmpty();
+        }
+
+        void closeAll() {
+            subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+    }
+
+    private record Reset(long revision) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private volatile TeamChannel channel;
+        private volatile Thread thread;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void start(UUID teamId) {
+            thread = Thread.ofVirtual().name("schedule-events-" + teamId).start(this::drain);
+        }
+
+        void offer(Object item) {
+            if (!closed && !queue.offer(item)) {
+                // Too far behind; the client reconnects and is replayed what it missed, or reset.
+                log.debug("Disconnecting a schedule event subscriber whose queue is full");
+                closed = true;
+                emitter.complete();
+            }
+        }
+
+        void close() {
+            closed = true;
+            if (channel != null) {
+                channel.unsubscribe(this);
+            }
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    send(queue.take());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away; the emitter's callbacks remove the subscription.
+                log.debug("Schedule event stream closed: {}", ex.getMessage());
+                close();
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment(""));
+            } else if (item instanceof Reset reset) {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(reset.revision()))
+                        .name(RESET_EVENT)
+                        .data(reset.revision()));
+            } else {
+                var event = (ScheduleChangeEvent) item;
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getRevision()))
+                        .name(event.getType().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
@@ -1,45 +1,98 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
 import dev.oleksii.rotamanagementapp.domain.dtos.AssignShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleResponse;
+import dev.oleksii.rotamanagementapp.domain.dtos.BulkCreateShiftsResponse;
+import dev.oleksii.rotamanagementapp.domain.dtos.BulkShiftResultDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.CalendarFeed;
 import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftTemplateRequest;
 import dev.oleksii.rotamanagementapp.domain.dtos.MemberShiftDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeEvent;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleConflictsDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftTemplateDto;
 import dev.oleksii.rotamanagementapp.domain.entities.*;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleChangeType;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import dev.oleksii.rotamanagementapp.exceptions.ConflictException;
+import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
 import dev.oleksii.rotamanagementapp.mappers.MemberShiftMapper;
 import dev.oleksii.rotamanagementapp.mappers.ShiftMapper;
+import dev.oleksii.rotamanagementapp.mappers.ShiftTemplateMapper;
+import dev.oleksii.rotamanagementapp.utils.ICalendarWriter;
+import dev.oleksii.rotamanagementapp.utils.RecurrenceRule;
+import dev.oleksii.rotamanagementapp.utils.ShiftIntervals;
 import dev.oleksii.rotamanagementapp.services.*;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ScheduleFacadeImpl implements ScheduleFacade {
 
+    // The window of a calendar feed around the day it is requested.
+    static final int CALENDAR_PAST_DAYS = 31;
+    static final int CALENDAR_FUTURE_DAYS = 366;
+
     private final ShiftService shiftService;
     private final MembershipService membershipService;
     private final ScheduleService scheduleService;
     private final MemberShiftService memberShiftService;
     private final MemberShiftMapper memberShiftMapper;
     private final ShiftMapper shiftMapper;
+    private final Validator validator;
+    private final ShiftTemplateService shiftTemplateService;
+    private final ShiftTemplateMapper shiftTemplateMapper;
+    private final ConflictDetectionService conflictDetectionService;
+    private final AutoScheduleService autoScheduleService;
+    private final TeamService teamService;
+    private final ScheduleEventService scheduleEventService;
+    private final ScheduleChangeLogService scheduleChangeLogService;
+    private final TransactionTemplate transactionTemplate;
 
     public Shift findShift(UUID teamId, UUID shiftId) {
         return shiftService.getShiftByTeamIdAndShiftId(teamId, shiftId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ShiftDto getShift(UUID teamId, UUID shiftId) {
         var shift = findShift(teamId, shiftId);
         return shiftMapper.toShiftDTO(shift);
     }
 
     @Override
-    public Set<MemberShiftDto> getAllMemberShifts(User user, UUID teamId) {
-        var member = membershipService.getMembershipByUserIdAndTeamId(user.getId(), teamId);
+    @Transactional(readOnly = true)
+    public Set<MemberShiftDto> getAllMemberShifts(UUID userId, UUID teamId) {
+        var member = membershipService.getMembershipByUserIdAndTeamId(userId, teamId);
         var memberShifts = new HashSet<>(member.getMemberShifts());
         return memberShiftMapper.toMemberShiftsDTO(memberShifts);
     }
@@ -48,32 +101,114 @@ public class ScheduleFacadeImpl implements ScheduleFacade {
     @Transactional
     public ShiftDto createShift(UUID teamId, CreateShiftRequest request) {
         var schedule = scheduleService.getScheduleByTeamId(teamId);
-        Shift shift = Shift.builder()
+        var shift = buildShift(schedule, request);
+        shiftService.saveShift(shift);
+        long revision = changed(teamId, ScheduleChangeEvent.builder()
+                .type(ScheduleChangeType.SHIFT_CREATED)
+                .shiftId(shift.getId())
+                .date(shift.getDate()));
+        scheduleChangeLogService.recordInserted(teamId, revision, ScheduleEntityType.SHIFT, List.of(shift.getId()));
+        return shiftMapper.toShiftDTO(shift);
+    }
+
+    @Override
+    @Transactional
+    public BulkCreateShiftsResponse createShifts(UUID teamId, List<CreateShiftRequest> requests) {
+        var schedule = scheduleService.getScheduleByTeamId(teamId);
+
+        // Validate every item on its own; only the valid ones are created.
+        Map<Integer, Shift> shifts = new LinkedHashMap<>();
+        Map<Integer, List<String>> errors = new LinkedHashMap<>();
+        for (int index = 0; index < requests.size(); index++) {
+            var request = requests.get(index);
+            var itemErrors = validate(request);
+            if (itemErrors.isEmpty()) {
+                shifts.put(index, buildShift(schedule, request));
+            } else {
+                errors.put(index, itemErrors);
+            }
+        }
+
+        // Inserted in JDBC batches when the transaction flushes.
+        shiftService.saveAllShifts(new ArrayList<>(shifts.values()));
+        long revision = changed(teamId, ScheduleChangeEvent.builder().type(ScheduleChangeType.SCHEDULE_CHANGED));
+        scheduleChangeLogService.recordInserted(teamId, revision, ScheduleEntityType.SHIFT,
+                shifts.values().stream().map(Shift::getId).toList());
+
+        List<BulkShiftResultDto> results = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            var shift = shifts.get(index);
+            results.add(BulkShiftResultDto.builder()
+                    .index(index)
+                    .shift(shift == null ? null : shiftMapper.toShiftDTO(shift))
+                    .errors(errors.getOrDefault(index, List.of()))
+                    .build());
+        }
+        return BulkCreateShiftsResponse.builder()
+                .created(shifts.size())
+                .rejected(errors.size())
+                .results(results)
+                .build();
+    }
+
+    private Shift buildShift(Schedule schedule, CreateShiftRequest request) {
+        // Set only the owning side, so the schedule's existing shifts are not loaded.
+        return Shift.builder()
                 .name(request.getName())
                 .date(request.getDate())
                 .startTime(request.getStartTime())
                 .endTime(request.getEndTime())
+                .schedule(schedule)
                 .build();
+    }
 
-        schedule.addShift(shift);
-        shiftService.saveShift(shift);
-        return shiftMapper.toShiftDTO(shift);
+    private List<String> validate(CreateShiftRequest request) {
+        if (request == null) {
+            return List.of("Shift is required.");
+        }
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
     }
 
     @Override
     @Transactional
     public void deleteShift(UUID teamId, UUID shiftId) {
         var shift = findShift(teamId, shiftId);
+        // The shift's assignments are deleted with it.
+        var memberShiftIds = memberShiftService.getMemberShiftIdsByShiftId(shift.getId());
         shiftService.deleteShiftById(shift.getId());
+        long revision = changed(teamId, ScheduleChangeEvent.builder()
+                .type(ScheduleChangeType.SHIFT_DELETED)
+                .shiftId(shift.getId())
+                .date(shift.getDate()));
+        scheduleChangeLogService.recordDeleted(teamId, revision, ScheduleEntityType.SHIFT, List.of(shift.getId()));
+        scheduleChangeLogService.recordDeleted(teamId, revision, ScheduleEntityType.ASSIGNMENT, memberShiftIds);
     }
 
     @Override
     @Transactional
     public MemberShiftDto assignShift(UUID teamId, UUID shiftId, AssignShiftRequest request) {
-        var shift = findShift(teamId, shiftId);
+        // Concurrent assignments of the shift fail to commit instead of both passing the overlap check.
+        var shift = shiftService.getShiftForAssignment(teamId, shiftId);
+        var memberShift = assign(shift, request);
+        long revision = changed(teamId, assigned(shift, memberShift));
+        scheduleChangeLogService.recordInserted(teamId, revision, ScheduleEntityType.ASSIGNMENT, List.of(memberShift.getId()));
+        return memberShiftMapper.toMemberShiftDTO(memberShift);
+    }
 
+    private MemberShift assign(Shift shift, AssignShiftRequest request) {
         var member = membershipService.getMembershipById(request.getMemberId());
 
+        // Reject the assignment if the member already works an overlapping interval.
+        var overlapping = conflictDetectionService.findOverlappingAssignments(
+                request.getMemberId(), shift.getDate(), request.getStartTime(), request.getEndTime());
+        if (!overlapping.isEmpty()) {
+            throw new ConflictException("Member is already assigned to an overlapping shift: "
+                    + overlapping.stream().map(interval -> interval.getShiftId().toString()).collect(Collectors.joining(", ")));
+        }
+
         var memberShift = MemberShift.builder()
                 .member(member)
                 .startTime(request.getStartTime())
@@ -82,13 +217,209 @@ public class ScheduleFacadeImpl implements ScheduleFacade {
 
         shift.addMemberShift(memberShift);
         memberShiftService.saveMemberShift(memberShift);
-        return memberShiftMapper.toMemberShiftDTO(memberShift);
+        return memberShift;
+    }
+
+    @Override
+    public ScheduleConflictsDto getScheduleConflicts(UUID teamId) {
+        return conflictDetectionService.findConflictsByTeamId(teamId);
     }
 
     @Override
     @Transactional
     public void unassignShift(UUID teamId, UUID shiftId, UUID memberShiftId) {
-        findShift(teamId, shiftId);
-        memberShiftService.deleteMemberShiftByShiftIdAndId(shiftId, memberShiftId);
+        var shift = shiftService.getShiftForAssignment(teamId, shiftId);
+        if (memberShiftService.deleteMemberShiftByShiftIdAndId(shiftId, memberShiftId) == 0) {
+            throw new NotFoundException("Assignment with ID " + memberShiftId + " not found.");
+        }
+        long revision = changed(teamId, ScheduleChangeEvent.builder()
+                .type(ScheduleChangeType.MEMBER_UNASSIGNED)
+                .shiftId(shiftId)
+                .memberShiftId(memberShiftId)
+                .date(shift.getDate()));
+        scheduleChangeLogService.recordDeleted(teamId, revision, ScheduleEntityType.ASSIGNMENT, List.of(memberShiftId));
+    }
+
+    @Override
+    public List<ShiftTemplateDto> getShiftTemplates(UUID teamId) {
+        return shiftTemplateMapper.toShiftTemplatesDTO(shiftTemplateService.getTemplatesByTeamId(teamId));
+    }
+
+    @Override
+    @Transactional
+    public ShiftTemplateDto createShiftTemplate(UUID teamId, CreateShiftTemplateRequest request) {
+        // Reject malformed rules up front rather than on the first read.
+        RecurrenceRule.parse(request.getRecurrenceRule());
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before the start date.");
+        }
+
+        var schedule = scheduleService.getScheduleByTeamId(teamId);
+        var template = ShiftTemplate.builder()
+                .name(request.getName())
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .recurrenceRule(request.getRecurrenceRule().trim())
+                .schedule(schedule)
+                .build();
+        shiftTemplateService.saveTemplate(template);
+        long revision = changed(teamId, ScheduleChangeEvent.builder().type(ScheduleChangeType.SCHEDULE_CHANGED));
+        // Occurrences are expanded on read and never reach the change log, so older deltas must resync.
+        teamService.raiseChangeLogFloor(teamId, revision);
+        return shiftTemplateMapper.toShiftTemplateDTO(template);
+    }
+
+    @Override
+    @Transactional
+    public void deleteShiftTemplate(UUID teamId, UUID templateId) {
+        var template = shiftTemplateService.getTemplateByTeamIdAndTemplateId(teamId, templateId);
+        // Materialised occurrences are kept as one-off shifts, so they change rather than go away.
+        var detachedShiftIds = shiftService.getShiftIdsByTemplateId(templateId);
+        shiftTemplateService.deleteTemplate(template);
+        long revision = changed(teamId, ScheduleChangeEvent.builder().type(ScheduleChangeType.SCHEDULE_CHANGED));
+        scheduleChangeLogService.recordUpdated(teamId, revision, ScheduleEntityType.SHIFT, detachedShiftIds);
+        // Its unmaterialised occurrences disappear without a tombstone.
+        teamService.raiseChangeLogFloor(teamId, revision);
+    }
+
+    @Override
+    @Transactional
+    public MemberShiftDto assignShiftOccurrence(UUID teamId, UUID templateId, LocalDate date, AssignShiftRequest request) {
+        var template = shiftTemplateService.getTemplateByTeamIdAndTemplateId(teamId, templateId);
+        if (!template.occursOn(date)) {
+            throw new NotFoundException("Shift template with ID " + templateId + " has no occurrence on " + date);
+        }
+
+        // The occurrence only becomes a row now that someone is assigned to it.
+        var existing = shiftService.findShiftByTemplateIdAndDate(templateId, date);
+        var shift = existing.orElseGet(() -> {
+            var materialised = template.toShift(date);
+            shiftService.saveShift(materialised);
+            return materialised;
+        });
+        var memberShift = assign(shift, request);
+        long revision = changed(teamId, assigned(shift, memberShift));
+        if (existing.isEmpty()) {
+            scheduleChangeLogService.recordInserted(teamId, revision, ScheduleEntityType.SHIFT, List.of(shift.getId()));
+        }
+        scheduleChangeLogService.recordInserted(teamId, revision, ScheduleEntityType.ASSIGNMENT, List.of(memberShift.getId()));
+        return memberShiftMapper.toMemberShiftDTO(memberShift);
+    }
+
+    @Override
+    public AutoScheduleResponse autoSchedule(UUID teamId, AutoScheduleRequest request) {
+        // The solver runs between two short transactions, without holding a connection or a snapshot.
+        var plan = autoScheduleService.plan(teamId, request);
+        var solution = autoScheduleService.solve(plan);
+        return transactionTemplate.execute(status -> {
+            long revision = changed(teamId, ScheduleChangeEvent.builder().type(ScheduleChangeType.SCHEDULE_CHANGED));
+            // Every change to the team's shifts, assignments and members moves its revision, and the update above
+            // holds the team's row until commit: any other revision means the plan was solved on a stale schedule.
+            if (revision != plan.revision() + 1) {
+                throw new ConflictException("The schedule changed while assignments were being generated. Please try again.");
+            }
+            var result = autoScheduleService.saveAssignments(plan, solution);
+            scheduleChangeLogService.recordInserted(teamId, revision, ScheduleEntityType.SHIFT,
+                    result.materialisedShifts().stream().map(Shift::getId).toList());
+            scheduleChangeLogService.recordInserted(teamId, revision, ScheduleEntityType.ASSIGNMENT,
+                    result.assignments().stream().map(MemberShift::getId).toList());
+            return result.response();
+        });
+    }
+
+    private static ScheduleChangeEvent.ScheduleChangeEventBuilder assigned(Shift shift, MemberShift memberShift) {
+        return ScheduleChangeEvent.builder()
+                .type(ScheduleChangeType.MEMBER_ASSIGNED)
+                .shiftId(shift.getId())
+                .memberShiftId(memberShift.getId())
+                .memberId(memberShift.getMember().getId())
+                .date(shift.getDate());
+    }
+
+    // Bumps the team's revision and announces the change under it once the transaction commits.
+    private long changed(UUID teamId, ScheduleChangeEvent.ScheduleChangeEventBuilder event) {
+        long revision = teamService.markModified(teamId);
+        scheduleEventService.publishAfterCommit(event
+                .teamId(teamId)
+                .revision(revision)
+                .occurredAt(Instant.now())
+                .build());
+        return revision;
+    }
+
+    @Override
+    public SseEmitter subscribeToChanges(UUID teamId, Long lastEventId) {
+        return scheduleEventService.subscribe(teamId, lastEventId);
+    }
+
+    @Override
+    // One read-only transaction keeps the revision and the response on the same connection, and so the same database;
+    // reading the revision first means the response is never older than its ETag.
+    @Transactional(readOnly = true)
+    public <T> Optional<T> readAtRevision(UUID teamId, LongPredicate notModified, Supplier<T> read) {
+        if (notModified.test(teamService.getRevision(teamId))) {
+            return Optional.empty();
+        }
+        return Optional.of(read.get());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CalendarFeed getTeamCalendarFeed(UUID teamId) {
+        return calendarFeed(teamId, null, "Team schedule");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CalendarFeed getMemberCalendarFeed(UUID teamId, UUID memberId) {
+        var member = membershipService.getMembershipById(memberId);
+        if (!member.getTeam().getId().equals(teamId)) {
+            throw new NotFoundException("Membership with ID " + memberId + " not found.");
+        }
+        return calendarFeed(teamId, memberId, member.getFullName() + " shifts");
+    }
+
+    // Read-only, like writeCalendar, so the ETag comes from the same database as the events it tags.
+    private CalendarFeed calendarFeed(UUID teamId, UUID memberId, String name) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        // The window moves every day, so the feed also changes at midnight even if the schedule does not.
+        Instant windowStart = today.atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant modified = teamService.getScheduleModifiedAt(teamId);
+        Instant lastModified = modified.isAfter(windowStart) ? modified : windowStart;
+        return CalendarFeed.builder()
+                .teamId(teamId)
+                .memberId(memberId)
+                .name(name)
+                .from(today.minusDays(CALENDAR_PAST_DAYS))
+                .to(today.plusDays(CALENDAR_FUTURE_DAYS))
+                .lastModified(lastModified)
+                .etag("\"" + teamService.getRevision(teamId) + "-" + today + "\"")
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeCalendar(CalendarFeed feed, OutputStream out) throws IOException {
+        var writer = new ICalendarWriter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), feed.getName(), feed.getLastModified());
+        try (var entries = feed.getMemberId() == null
+                ? memberShiftService.streamCalendarEntriesByTeamId(feed.getTeamId(), feed.getFrom(), feed.getTo())
+                : memberShiftService.streamCalendarEntriesByMemberId(feed.getMemberId(), feed.getFrom(), feed.getTo())) {
+            entries.forEach(entry -> {
+                try {
+                    writer.event(entry.getId() + "@rota-management-app",
+                            ShiftIntervals.start(entry.getDate(), entry.getStartTime()),
+                            ShiftIntervals.end(entry.getDate(), entry.getStartTime(), entry.getEndTime()),
+                            feed.getMemberId() == null ? entry.getShiftName() + " - " + entry.getMemberName() : entry.getShiftName());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.close();
     }
 }
@@ -20,7 +20,13 @@ public class ScheduleServiceImpl implements ScheduleService {
 
     @Override
     public Schedule getScheduleByTeamId(UUID teamId) {
-        return scheduleRepository.findByTeamId(teamId)
+        return scheduleRepository.findByNaturalId(teamId)
+                .orElseThrow(() -> new NotFoundException("No schedule found for team with ID " + teamId));
+    }
+
+    @Override
+    public Schedule getScheduleWithShiftsByTeamId(UUID teamId) {
+        return scheduleRepository.findWithShiftsByTeamId(teamId)
                 .orElseThrow(() -> new NotFoundException("No schedule found for team with ID " + teamId));
     }
 }
@@ -1,16 +1,26 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
 import dev.oleksii.rotamanagementapp.domain.entities.Shift;
 import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
 import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
 import dev.oleksii.rotamanagementapp.services.ShiftService;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class ShiftServiceImpl implements ShiftService {
 
+    // Keyset order shared by the window queries and the page fetch.
+    private static final Sort WINDOW_ORDER = Sort.by("date", "startTime", "id");
+
     private final ShiftRepository shiftRepository;
 
     public ShiftServiceImpl(ShiftRepository shiftRepository) {
@@ -23,11 +33,56 @@ public class ShiftServiceImpl implements ShiftService {
                 .orElseThrow(() -> new NotFoundException("Shift with ID " + shiftId + " not found in team with ID " + teamId));
     }
 
+    @Override
+    public Shift getShiftForAssignment(UUID teamId, UUID shiftId) {
+        return shiftRepository.findByTeamIdAndShiftIdForAssignment(teamId, shiftId)
+                .orElseThrow(() -> new NotFoundException("Shift with ID " + shiftId + " not found in team with ID " + teamId));
+    }
+
+    @Override
+    public List<Shift> getShiftsInWindow(UUID teamId, LocalDate from, LocalDate to, ShiftCursor after, int limit) {
+        // Page over ids first, then fetch the page with its assignments, so the limit is applied in SQL
+        // rather than in memory as it would be with a collection fetch join.
+        List<UUID> ids = after == null
+                ? shiftRepository.findIdsInWindow(teamId, from, to, Limit.of(limit))
+                : shiftRepository.findIdsInWindowAfter(teamId, from, to,
+                        after.getDate(), after.getStartTime(), after.getShiftId(), Limit.of(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return shiftRepository.findAllByIdIn(ids, WINDOW_ORDER);
+    }
+
+    @Override
+    public List<Shift> getUnassignedShiftsInWindow(UUID teamId, LocalDate from, LocalDate to) {
+        return shiftRepository.findUnassignedInWindow(teamId, from, to);
+    }
+
+    @Override
+    public Optional<Shift> findShiftByTemplateIdAndDate(UUID templateId, LocalDate date) {
+        return shiftRepository.findByTemplateIdAndDate(templateId, date);
+    }
+
+    @Override
+    public List<Shift> getShiftsByIds(Collection<UUID> ids) {
+        return shiftRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<UUID> getShiftIdsByTemplateId(UUID templateId) {
+        return shiftRepository.findIdsByTemplateId(templateId);
+    }
+
     @Override
     public void saveShift(Shift shift) {
         shiftRepository.save(shift);
     }
 
+    @Override
+    public void saveAllShifts(List<Shift> shifts) {
+        shiftRepository.saveAll(shifts);
+    }
+
     @Override
     public void deleteShiftById(UUID shiftId) {
         shiftRepository.deleteById(shiftId);
@@ -0,0 +1,82 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftTemplateRepository;
+import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
+import dev.oleksii.rotamanagementapp.services.ShiftTemplateService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class ShiftTemplateServiceImpl implements ShiftTemplateService {
+
+    private final ShiftTemplateRepository shiftTemplateRepository;
+    private final ShiftRepository shiftRepository;
+
+    public ShiftTemplateServiceImpl(ShiftTemplateRepository shiftTemplateRepository, ShiftRepository shiftRepository) {
+        this.shiftTemplateRepository = shiftTemplateRepository;
+        this.shiftRepository = shiftRepository;
+    }
+
+    @Override
+    public List<ShiftTemplate> getTemplatesByTeamId(UUID teamId) {
+        return shiftTemplateRepository.findAllByTeamId(teamId);
+    }
+
+    @Override
+    public ShiftTemplate getTemplateByTeamIdAndTemplateId(UUID teamId, UUID templateId) {
+        return shiftTemplateRepository.findByTeamIdAndTemplateId(teamId, templateId)
+                .orElseThrow(() -> new NotFoundException("Shift template with ID " + templateId + " not found in team with ID " + teamId));
+    }
+
+    @Override
+    public List<Shift> getOccurrencesInWindow(UUID teamId, LocalDate from, LocalDate to, ShiftCursor after, int limit) {
+        List<ShiftTemplate> templates = shiftTemplateRepository.findAllByTeamId(teamId);
+        if (templates.isEmpty()) {
+            return List.of();
+        }
+
+        // Occurrences that already have a shift row are returned by the shift query instead.
+        Map<UUID, Set<LocalDate>> materialised = new HashMap<>();
+        shiftRepository.findMaterialisedOccurrences(teamId, from, to).forEach(occurrence ->
+                materialised.computeIfAbsent(occurrence.getTemplateId(), id -> new HashSet<>()).add(occurrence.getDate()));
+
+        // Each template yields its dates in order, so no template needs to contribute more than the limit.
+        LocalDate start = after == null || after.getDate().isBefore(from) ? from : after.getDate();
+        List<Shift> occurrences = new ArrayList<>();
+        for (ShiftTemplate template : templates) {
+            Set<LocalDate> skip = materialised.getOrDefault(template.getId(), Set.of());
+            template.occurrencesBetween(start, to)
+                    .filter(date -> !skip.contains(date))
+                    .map(template::toShift)
+                    .filter(shift -> after == null || ShiftCursor.of(shift).compareTo(after) > 0)
+                    .limit(limit)
+                    .forEach(occurrences::add);
+        }
+        occurrences.sort(Comparator.comparing(ShiftCursor::of));
+        return occurrences.size() > limit ? occurrences.subList(0, limit) : occurrences;
+    }
+
+    @Override
+    public void saveTemplate(ShiftTemplate template) {
+        shiftTemplateRepository.save(template);
+    }
+
+    @Override
+    public void deleteTemplate(ShiftTemplate template) {
+        shiftRepository.detachFromTemplate(template.getId());
+        shiftTemplateRepository.delete(template);
+    }
+}
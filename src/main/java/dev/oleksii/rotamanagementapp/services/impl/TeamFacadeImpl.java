@@ -1,27 +1,66 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
+import dev.oleksii.rotamanagementapp.domain.dtos.HoursReportPageDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.MemberDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.MemberHoursDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.PeriodHoursDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeEvent;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDeltaDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleVersion;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftPageDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.TeamDto;
 import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.entities.ScheduleChange;
 import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
 import dev.oleksii.rotamanagementapp.domain.entities.Team;
 import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.ChangeOperation;
+import dev.oleksii.rotamanagementapp.domain.enums.ReportPeriod;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleChangeType;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
 import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.DailyMinutes;
 import dev.oleksii.rotamanagementapp.mappers.MemberMapper;
+import dev.oleksii.rotamanagementapp.mappers.MemberShiftMapper;
 import dev.oleksii.rotamanagementapp.mappers.ScheduleMapper;
+import dev.oleksii.rotamanagementapp.mappers.ShiftMapper;
 import dev.oleksii.rotamanagementapp.mappers.TeamMapper;
+import dev.oleksii.rotamanagementapp.security.MembershipRoleCache;
+import dev.oleksii.rotamanagementapp.services.MemberShiftService;
 import dev.oleksii.rotamanagementapp.services.MembershipService;
+import dev.oleksii.rotamanagementapp.services.ScheduleChangeLogService;
+import dev.oleksii.rotamanagementapp.services.ScheduleEventService;
 import dev.oleksii.rotamanagementapp.services.ScheduleService;
+import dev.oleksii.rotamanagementapp.services.ShiftService;
+import dev.oleksii.rotamanagementapp.services.ShiftTemplateService;
 import dev.oleksii.rotamanagementapp.services.TeamFacade;
 import dev.oleksii.rotamanagementapp.services.TeamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -33,12 +72,28 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TeamFacadeImpl implements TeamFacade {
 
+    // Upper bound for a single page of the windowed schedule read.
+    static final int MAX_WINDOW_PAGE_SIZE = 500;
+    // Bounds for one page of the hours report; a page holds at most one row per member and day.
+    static final int MAX_REPORT_PAGE_SIZE = 500;
+    static final int MAX_REPORT_DAYS = 366;
+    // Upper bound for a single page of the delta sync.
+    static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
     private final TeamMapper teamMapper;
     private final TeamService teamService;
     private final ScheduleService scheduleService;
     private final ScheduleMapper scheduleMapper;
     private final MemberMapper memberMapper;
     private final MembershipService membershipService;
+    private final ShiftService shiftService;
+    private final ShiftMapper shiftMapper;
+    private final ShiftTemplateService shiftTemplateService;
+    private final MemberShiftService memberShiftService;
+    private final MembershipRoleCache membershipRoleCache;
+    private final ScheduleEventService scheduleEventService;
+    private final ScheduleChangeLogService scheduleChangeLogService;
+    private final MemberShiftMapper memberShiftMapper;
 
     /**
      * {@inheritDoc}
@@ -52,14 +107,233 @@ public class TeamFacadeImpl implements TeamFacade {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public ScheduleDto getTeamSchedule(UUID teamId) {
-        return scheduleMapper.toScheduleDTO(scheduleService.getScheduleByTeamId(teamId));
+        return scheduleMapper.toScheduleDTO(scheduleService.getScheduleWithShiftsByTeamId(teamId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ShiftPageDto getTeamScheduleWindow(UUID teamId, LocalDate from, LocalDate to, String cursor, int size) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The 'from' date must not be after the 'to' date.");
+        }
+        if (size < 1 || size > MAX_WINDOW_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_WINDOW_PAGE_SIZE + ".");
+        }
+        var after = cursor == null ? null : ShiftCursor.decode(cursor);
+
+        // Fetch one extra shift from each source to find out whether another page follows,
+        // then merge stored shifts with the template occurrences expanded for the window.
+        List<Shift> shifts = new ArrayList<>(shiftService.getShiftsInWindow(teamId, from, to, after, size + 1));
+        shifts.addAll(shiftTemplateService.getOccurrencesInWindow(teamId, from, to, after, size + 1));
+        shifts.sort(Comparator.comparing(ShiftCursor::of));
+        boolean hasNext = shifts.size() > size;
+        List<Shift> page = hasNext ? shifts.subList(0, size) : shifts;
+
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = ShiftCursor.of(page.get(page.size() - 1)).encode();
+        }
+        return ShiftPageDto.builder()
+                .shifts(page.stream().map(shiftMapper::toShiftDTO).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ScheduleDeltaDto getScheduleChanges(UUID teamId, String since, int size) {
+        if (size < 1 || size > MAX_CHANGES_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CHANGES_PAGE_SIZE + ".");
+        }
+        var after = since == null ? null : ScheduleVersion.decode(since);
+
+        // Read first: changes committed later are left for the next call, whatever the log shows by then.
+        long revision = teamService.getRevision(teamId);
+        if (after == null || after.getRevision() > revision || after.getRevision() < teamService.getChangeLogFloor(teamId)) {
+            return ScheduleDeltaDto.builder()
+                    .version(ScheduleVersion.of(revision).encode())
+                    .resyncRequired(true)
+                    .changes(List.of())
+                    .build();
+        }
+
+        // Fetch one extra change to find out whether another page follows.
+        List<ScheduleChange> changes = scheduleChangeLogService.getChangesAfter(teamId, after, revision, size + 1);
+        boolean hasMore = changes.size() > size;
+        List<ScheduleChange> page = hasMore ? changes.subList(0, size) : changes;
+
+        Map<UUID, Shift> shifts = shiftService.getShiftsByIds(liveIds(page, ScheduleEntityType.SHIFT)).stream()
+                .collect(Collectors.toMap(Shift::getId, Function.identity()));
+        Map<UUID, MemberShift> assignments = memberShiftService.getMemberShiftsByIds(liveIds(page, ScheduleEntityType.ASSIGNMENT)).stream()
+                .collect(Collectors.toMap(MemberShift::getId, Function.identity()));
+
+        List<ScheduleChangeDto> result = new ArrayList<>(page.size());
+        for (ScheduleChange change : page) {
+            boolean createdSince = change.getCreatedRevision() > after.getRevision();
+            if (change.isDeleted()) {
+                // The client never saw the entity, so it needs no tombstone either.
+                if (!createdSince) {
+                    result.add(tombstone(change));
+                }
+                continue;
+            }
+            var builder = ScheduleChangeDto.builder()
+                    .entityType(change.getEntityType())
+                    .entityId(change.getEntityId())
+                    .operation(createdSince ? ChangeOperation.INSERT : ChangeOperation.UPDATE)
+                    .revision(change.getRevision());
+            // An entity deleted since the log was read has a newer tombstone, which the next call returns.
+            if (change.getEntityType() == ScheduleEntityType.SHIFT && shifts.containsKey(change.getEntityId())) {
+                result.add(builder.shift(shiftMapper.toShiftWithoutAssignmentsDTO(shifts.get(change.getEntityId()))).build());
+            } else if (change.getEntityType() == ScheduleEntityType.ASSIGNMENT && assignments.containsKey(change.getEntityId())) {
+                var assignment = assignments.get(change.getEntityId());
+                result.add(builder
+                        .assignment(memberShiftMapper.toMemberShiftDTO(assignment))
+                        .shiftId(assignment.getShift().getId())
+                        .build());
+            }
+        }
+
+        var last = page.isEmpty() ? null : page.get(page.size() - 1);
+        var version = hasMore ? new ScheduleVersion(last.getRevision(), last.getId()) : ScheduleVersion.of(revision);
+        return ScheduleDeltaDto.builder()
+                .version(version.encode())
+                .hasMore(hasMore)
+                .changes(result)
+                .build();
+    }
+
+    private static List<UUID> liveIds(List<ScheduleChange> changes, ScheduleEntityType entityType) {
+        return changes.stream()
+                .filter(change -> !change.isDeleted() && change.getEntityType() == entityType)
+                .map(ScheduleChange::getEntityId)
+                .toList();
+    }
+
+    private static ScheduleChangeDto tombstone(ScheduleChange change) {
+        return ScheduleChangeDto.builder()
+                .entityType(change.getEntityType())
+                .entityId(change.getEntityId())
+                .operation(ChangeOperation.DELETE)
+                .revision(change.getRevision())
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public HoursReportPageDto getHoursReport(UUID teamId, LocalDate from, LocalDate to, ReportPeriod period,
+                                             String cursor, int size) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The 'from' date must not be after the 'to' date.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new IllegalArgumentException("A report can cover at most " + MAX_REPORT_DAYS + " days.");
+        }
+        if (size < 1 || size > MAX_REPORT_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_REPORT_PAGE_SIZE + ".");
+        }
+        UUID afterId = cursor == null ? null : UUID.fromString(cursor);
+
+        // Fetch one extra member to find out whether another page follows.
+        List<Member> members = membershipService.getMembershipsPageByTeamId(teamId, afterId, size + 1);
+        boolean hasNext = members.size() > size;
+        List<Member> page = hasNext ? members.subList(0, size) : members;
+
+        Map<UUID, List<DailyMinutes>> dailyMinutes = new HashMap<>();
+        if (!page.isEmpty()) {
+            List<UUID> memberIds = page.stream().map(Member::getId).toList();
+            for (DailyMinutes day : memberShiftService.getDailyMinutesByMemberIds(memberIds, from, to)) {
+                dailyMinutes.computeIfAbsent(day.getMemberId(), id -> new ArrayList<>()).add(day);
+            }
+        }
+
+        return HoursReportPageDto.builder()
+                .members(page.stream()
+                        .map(member -> toMemberHours(member, dailyMinutes.getOrDefault(member.getId(), List.of()),
+                                from, to, period))
+                        .toList())
+                .nextCursor(hasNext ? page.get(page.size() - 1).getId().toString() : null)
+                .build();
+    }
+
+    // Rolls a member's daily totals, in date order, up into periods clipped to the report range.
+    private static MemberHoursDto toMemberHours(Member member, List<DailyMinutes> days, LocalDate from, LocalDate to,
+                                                ReportPeriod period) {
+        List<PeriodHoursDto> periods = new ArrayList<>();
+        PeriodHoursDto current = null;
+        long totalMinutes = 0;
+        for (DailyMinutes day : days) {
+            LocalDate periodStart = periodStart(day.getDate(), period);
+            if (current == null || !current.getPeriodStart().equals(max(periodStart, from))) {
+                current = PeriodHoursDto.builder()
+                        .periodStart(max(periodStart, from))
+                        .periodEnd(min(periodEnd(periodStart, period), to))
+                        .build();
+                periods.add(current);
+            }
+            current.setShifts(current.getShifts() + day.getShifts());
+            current.setMinutes(current.getMinutes() + day.getMinutes());
+            totalMinutes += day.getMinutes();
+        }
+        return MemberHoursDto.builder()
+                .memberId(member.getId())
+                .fullName(member.getFullName())
+                .periods(periods)
+                .totalMinutes(totalMinutes)
+                .build();
+    }
+
+    private static LocalDate periodStart(LocalDate date, ReportPeriod period) {
+        return switch (period) {
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate periodEnd(LocalDate periodStart, ReportPeriod period) {
+        return switch (period) {
+            case WEEK -> periodStart.plusDays(6);
+            case MONTH -> periodStart.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    // One read-only transaction keeps the revision and the response on the same connection, and so the same database;
+    // reading the revision first means the response is never older than its ETag.
+    @Transactional(readOnly = true)
+    public <T> Optional<T> readAtRevision(UUID teamId, LongPredicate notModified, Supplier<T> read) {
+        if (notModified.test(teamService.getRevision(teamId))) {
+            return Optional.empty();
+        }
+        return Optional.of(read.get());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<MemberDto> getAllTeamMembers(UUID teamId) {
         return memberMapper.toMembersDTO(membershipService.getAllMembershipsByTeamId(teamId));
     }
@@ -68,6 +342,7 @@ public class TeamFacadeImpl implements TeamFacade {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public Set<TeamDto> getAllTeams(User user) {
         Set<Member> memberships = new HashSet<>(user.getMemberships());
         return teamMapper.toTeamsDTO(
@@ -112,6 +387,9 @@ public class TeamFacadeImpl implements TeamFacade {
     @Transactional
     public void deleteTeam(UUID teamId) {
         teamService.deleteTeamById(teamId);
+        scheduleChangeLogService.deleteChangesByTeamId(teamId);
+        // Drop the cached roles of the team's former members.
+        membershipRoleCache.evictTeamAfterCommit(teamId);
     }
 
     /**
@@ -134,6 +412,9 @@ public class TeamFacadeImpl implements TeamFacade {
         // Add the member to the team and persist the update.
         team.addMember(member);
         teamService.saveTeam(team);
+        membersChanged(teamId);
+        // The user may have been cached as a non-member while polling.
+        membershipRoleCache.evictAfterCommit(user.getId(), teamId);
         return teamMapper.toTeamDTO(team);
     }
 
@@ -142,8 +423,25 @@ public class TeamFacadeImpl implements TeamFacade {
      */
     @Override
     @Transactional
-    public void leaveTeam(User user, UUID teamId) {
+    public void leaveTeam(UUID userId, UUID teamId) {
+        // The member's assignments go with the membership.
+        var memberShiftIds = memberShiftService.getMemberShiftIdsByUserIdAndTeamId(userId, teamId);
         // Remove the membership linking the user to the team.
-        membershipService.deleteMembershipByUserIdAndTeamId(user.getId(), teamId);
+        membershipService.deleteMembershipByUserIdAndTeamId(userId, teamId);
+        long revision = membersChanged(teamId);
+        scheduleChangeLogService.recordDeleted(teamId, revision, ScheduleEntityType.ASSIGNMENT, memberShiftIds);
+        membershipRoleCache.evictAfterCommit(userId, teamId);
+    }
+
+    // Bumps the team's revision and tells the team's event stream once the transaction commits.
+    private long membersChanged(UUID teamId) {
+        long revision = teamService.markModified(teamId);
+        scheduleEventService.publishAfterCommit(ScheduleChangeEvent.builder()
+                .teamId(teamId)
+                .revision(revision)
+                .type(ScheduleChangeType.MEMBERS_CHANGED)
+                .occurredAt(Instant.now())
+                .build());
+        return revision;
     }
 }
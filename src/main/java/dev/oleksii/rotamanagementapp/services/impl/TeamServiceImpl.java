@@ -1,20 +1,25 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
 import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import dev.oleksii.rotamanagementapp.domain.entities.TeamRevision;
 import dev.oleksii.rotamanagementapp.domain.repos.TeamRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRevisionRepository;
 import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
 import dev.oleksii.rotamanagementapp.services.TeamService;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Service
 public class TeamServiceImpl implements TeamService {
 
     private final TeamRepository teamRepository;
+    private final TeamRevisionRepository teamRevisionRepository;
 
-    public TeamServiceImpl(TeamRepository teamRepository) {
+    public TeamServiceImpl(TeamRepository teamRepository, TeamRevisionRepository teamRevisionRepository) {
         this.teamRepository = teamRepository;
+        this.teamRevisionRepository = teamRevisionRepository;
     }
 
     @Override
@@ -25,11 +30,47 @@ public class TeamServiceImpl implements TeamService {
 
     @Override
     public void saveTeam(Team team) {
+        boolean created = team.getId() == null;
         teamRepository.save(team);
+        if (created) {
+            // A new team starts at revision 0.
+            teamRevisionRepository.save(TeamRevision.builder().teamId(team.getId()).build());
+        }
     }
 
     @Override
     public void deleteTeamById(UUID teamId) {
+        teamRevisionRepository.deleteById(teamId);
         teamRepository.deleteById(teamId);
     }
+
+    @Override
+    public long markModified(UUID teamId) {
+        teamRevisionRepository.markModified(teamId, Instant.now());
+        // The row is locked by the update until commit, so this is the revision written above.
+        return getRevision(teamId);
+    }
+
+    @Override
+    public Instant getScheduleModifiedAt(UUID teamId) {
+        // Teams created before the column existed have no value until their schedule next changes.
+        return teamRevisionRepository.findScheduleModifiedAtById(teamId).orElse(Instant.EPOCH);
+    }
+
+    @Override
+    public long getRevision(UUID teamId) {
+        return teamRevisionRepository.findRevisionById(teamId)
+                .orElseThrow(() -> new NotFoundException("Team with ID " + teamId + " not found."));
+    }
+
+    @Override
+    public long getChangeLogFloor(UUID teamId) {
+        return teamRevisionRepository.findChangeLogFloorById(teamId)
+                .orElseThrow(() -> new NotFoundException("Team with ID " + teamId + " not found."));
+    }
+
+    @Override
+    public void raiseChangeLogFloor(UUID teamId, long revision) {
+        teamRevisionRepository.raiseChangeLogFloor(teamId, revision);
+    }
 }
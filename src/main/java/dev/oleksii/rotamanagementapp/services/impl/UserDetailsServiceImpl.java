@@ -6,6 +6,8 @@ import dev.oleksii.rotamanagementapp.domain.entities.User;
 import dev.oleksii.rotamanagementapp.domain.enums.Role;
 import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
 import dev.oleksii.rotamanagementapp.exceptions.ConflictException;
+import dev.oleksii.rotamanagementapp.security.MembershipRoleCache;
+import dev.oleksii.rotamanagementapp.security.TokenVersionCache;
 import dev.oleksii.rotamanagementapp.services.UserService;
 import dev.oleksii.rotamanagementapp.services.VerificationService;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,8 @@ public class UserDetailsServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final VerificationService verificationService;
+    private final TokenVersionCache tokenVersionCache;
+    private final MembershipRoleCache membershipRoleCache;
 
     /**
      * Deletes the provided user from the system
@@ -37,6 +41,10 @@ public class UserDetailsServiceImpl implements UserService {
     @Transactional
     public void deleteUser(User user) {
         userRepository.delete(user);
+        // Revoke the deleted user's tokens once the deletion is committed.
+        tokenVersionCache.evictAfterCommit(user.getId());
+        // Memberships are removed together with the user.
+        membershipRoleCache.evictUserAfterCommit(user.getId());
     }
 
     /**
@@ -50,6 +58,7 @@ public class UserDetailsServiceImpl implements UserService {
      *     </ul>
      *   </li>
      *   <li>Updating the user's password if a new password is provided.</li>
+     *   <li>Incrementing the token version if the email or password changed, which revokes previously issued tokens.</li>
      *   <li>Persisting the updated user entity to the database.</li>
      * </ul>
      *
@@ -82,10 +91,21 @@ public class UserDetailsServiceImpl implements UserService {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
         }
 
+        // Revoke tokens issued with the previous credentials.
+        if (isCredentialChange(request)) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            tokenVersionCache.evictAfterCommit(user.getId());
+        }
+
         // Save the updated user entity.
         userRepository.save(user);
     }
 
+    private static boolean isCredentialChange(UpdateUserRequest request) {
+        return (request.getEmail() != null && !request.getEmail().isEmpty())
+                || (request.getPassword() != null && !request.getPassword().isEmpty());
+    }
+
     /**
      * Creates a new user in the system based on the provided CreateUserRequest by:
      * <ul>
@@ -0,0 +1,101 @@
+package dev.oleksii.rotamanagementapp.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) document one event at a time, so a feed never has to be held in memory.
+ * <p>
+ * Shift dates and times carry no time zone, so events are written with floating local times, which calendar
+ * clients show at the same wall-clock time wherever they are. Lines are folded at 75 octets and text values
+ * are escaped as the RFC requires.
+ */
+public final class ICalendarWriter {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = LOCAL_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private final Writer writer;
+    private final String dtStamp;
+
+    /**
+     * Starts the calendar.
+     *
+     * @param writer   the destination; it is flushed by {@link #close()}, not closed
+     * @param name     the calendar name shown by clients
+     * @param modified when the calendar content last changed, used as the time stamp of every event
+     */
+    public ICalendarWriter(Writer writer, String name, Instant modified) throws IOException {
+        this.writer = writer;
+        this.dtStamp = UTC_DATE_TIME.format(modified) + "Z";
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//rota-management-app//schedule//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(name));
+    }
+
+    /**
+     * Writes one event.
+     *
+     * @param uid     an identifier that stays the same for the event across downloads
+     * @param start   the local start
+     * @param end     the local end
+     * @param summary the title of the event
+     */
+    public void event(String uid, LocalDateTime start, LocalDateTime end, String summary) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + escape(uid));
+        line("DTSTAMP:" + dtStamp);
+        line("DTSTART:" + LOCAL_DATE_TIME.format(start));
+        line("DTEND:" + LOCAL_DATE_TIME.format(end));
+        line("SUMMARY:" + escape(summary));
+        line("END:VEVENT");
+    }
+
+    /**
+     * Ends the calendar and flushes the destination.
+     */
+    public void close() throws IOException {
+        line("END:VCALENDAR");
+        writer.flush();
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n")
+                .replace("\r", "\\n");
+    }
+
+    // Folds content lines longer than 75 octets, never splitting a UTF-8 sequence.
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int offset = 0;
+        while (offset < content.length()) {
+            int codePoint = content.codePointAt(offset);
+            int length = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + length > MAX_LINE_OCTETS) {
+                // Continuation lines start with a space, which counts towards their length.
+                writer.write(CRLF + " ");
+                octets = 1;
+            }
+            writer.write(content, offset, Character.charCount(codePoint));
+            octets += length;
+            offset += Character.charCount(codePoint);
+        }
+        writer.write(CRLF);
+    }
+}
@@ -0,0 +1,104 @@
+package dev.oleksii.rotamanagementapp.utils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An immutable index of half-open intervals {@code [start, end)}, kept as an array sorted by start together with
+ * the running maximum of the ends.
+ * <p>
+ * Finding the intervals that overlap a query is a binary search for the last interval starting before the
+ * query ends, followed by a walk back that stops as soon as no earlier interval can reach the query start.
+ * For a set of intervals that do not overlap each other, such as one member's assignments, that is
+ * O(log n + k) for k results, and {@link #overlaps} is O(log n).
+ *
+ * @param <T> the type of the indexed items
+ */
+public final class IntervalIndex<T> {
+
+    private final Object[] items;
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    // maxEnds[i] is the latest end among items[0..i].
+    private final LocalDateTime[] maxEnds;
+
+    private IntervalIndex(Object[] items, LocalDateTime[] starts, LocalDateTime[] ends) {
+        this.items = items;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new LocalDateTime[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnds[i] = i == 0 || ends[i].isAfter(maxEnds[i - 1]) ? ends[i] : maxEnds[i - 1];
+        }
+    }
+
+    /**
+     * Builds an index over the given items.
+     *
+     * @param items the items to index
+     * @param start extracts the inclusive start of an item
+     * @param end   extracts the exclusive end of an item
+     * @return the index
+     */
+    public static <T> IntervalIndex<T> of(List<T> items,
+                                          Function<? super T, LocalDateTime> start,
+                                          Function<? super T, LocalDateTime> end) {
+        Object[] sorted = items.stream()
+                .sorted(Comparator.comparing(start))
+                .toArray();
+        LocalDateTime[] starts = new LocalDateTime[sorted.length];
+        LocalDateTime[] ends = new LocalDateTime[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            @SuppressWarnings("unchecked")
+            T item = (T) sorted[i];
+            starts[i] = start.apply(item);
+            ends[i] = end.apply(item);
+        }
+        return new IntervalIndex<>(sorted, starts, ends);
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Checks whether any indexed interval overlaps {@code [start, end)}.
+     * Every interval up to the last one starting before {@code end} qualifies on its start,
+     * so it is enough to check that the latest end among them reaches past {@code start}.
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        int last = lastStartingBefore(end);
+        return last >= 0 && maxEnds[last].isAfter(start);
+    }
+
+    /**
+     * Returns the indexed items overlapping {@code [start, end)}, in ascending order of start.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<T> result = new ArrayList<>();
+        for (int i = lastStartingBefore(end); i >= 0 && maxEnds[i].isAfter(start); i--) {
+            if (ends[i].isAfter(start)) {
+                result.add((T) items[i]);
+            }
+        }
+        return result.reversed();
+    }
+
+    // Index of the last interval whose start is before the given instant, or -1 if there is none.
+    private int lastStartingBefore(LocalDateTime instant) {
+        int index = Arrays.binarySearch(starts, instant);
+        if (index < 0) {
+            return -index - 2;
+        }
+        // Intervals starting exactly at the instant do not overlap; step over equal starts.
+        while (index >= 0 && !starts[index].isBefore(instant)) {
+            index--;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,212 @@
+package dev.oleksii.rotamanagementapp.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A subset of the iCalendar (RFC 5545) RRULE grammar, enough to describe standing rotas such as
+ * {@code FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR}.
+ * <p>
+ * Supported parts:
+ * <ul>
+ *   <li>{@code FREQ} - {@code DAILY}, {@code WEEKLY} or {@code MONTHLY} (required).</li>
+ *   <li>{@code INTERVAL} - every n-th day, week or month (defaults to 1).</li>
+ *   <li>{@code BYDAY} - days of the week; expands a weekly rule and filters a daily one.</li>
+ *   <li>{@code COUNT} - the total number of occurrences, counted from the start date.</li>
+ *   <li>{@code UNTIL} - the last possible date, as {@code yyyyMMdd} (inclusive).</li>
+ * </ul>
+ * Weeks start on Monday. A monthly rule repeats on the day of month of the start date and skips months
+ * that do not have that day.
+ */
+public final class RecurrenceRule {
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY,
+            "TH", DayOfWeek.THURSDAY, "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer count;
+    private final LocalDate until;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer count, LocalDate until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * Parses a rule such as {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE}.
+     *
+     * @param rule the rule text; an optional {@code RRULE:} prefix is ignored
+     * @return the parsed rule
+     * @throws IllegalArgumentException if the rule is malformed or uses an unsupported part
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is required.");
+        }
+        String text = rule.trim().toUpperCase(Locale.ROOT);
+        if (text.startsWith("RRULE:")) {
+            text = text.substring("RRULE:".length());
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDate until = null;
+        try {
+            for (String part : text.split(";")) {
+                String[] pair = part.split("=", 2);
+                if (pair.length != 2 || pair[1].isEmpty()) {
+                    throw new IllegalArgumentException("Invalid recurrence rule part '" + part + "'.");
+                }
+                switch (pair[0]) {
+                    case "FREQ" -> frequency = Frequency.valueOf(pair[1]);
+                    case "INTERVAL" -> interval = Integer.parseInt(pair[1]);
+                    case "COUNT" -> count = Integer.parseInt(pair[1]);
+                    case "UNTIL" -> until = LocalDate.parse(pair[1].substring(0, Math.min(8, pair[1].length())),
+                            DateTimeFormatter.BASIC_ISO_DATE);
+                    case "BYDAY" -> {
+                        for (String day : pair[1].split(",")) {
+                            DayOfWeek dayOfWeek = DAYS.get(day);
+                            if (dayOfWeek == null) {
+                                throw new IllegalArgumentException("Unsupported day '" + day + "' in recurrence rule.");
+                            }
+                            byDay.add(dayOfWeek);
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported recurrence rule part '" + pair[0] + "'.");
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid recurrence rule '" + rule + "'.");
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule must specify FREQ.");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence rule INTERVAL must be positive.");
+        }
+        if (count != null && count < 1) {
+            throw new IllegalArgumentException("Recurrence rule COUNT must be positive.");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("Recurrence rule must not specify both COUNT and UNTIL.");
+        }
+        if (frequency == Frequency.MONTHLY && !byDay.isEmpty()) {
+            throw new IllegalArgumentException("BYDAY is not supported for monthly recurrence rules.");
+        }
+        // Every n-th day for a multiple of a week always falls on the weekday of the start date, so BYDAY could
+        // only repeat that day or exclude every occurrence.
+        if (frequency == Frequency.DAILY && !byDay.isEmpty() && interval % 7 == 0) {
+            throw new IllegalArgumentException(
+                    "BYDAY is not supported for daily recurrence rules with an INTERVAL of whole weeks.");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /**
+     * Lazily expands the occurrences of this rule that fall within a date window.
+     * <p>
+     * Without {@code COUNT}, expansion starts at the first period that can overlap the window,
+     * so the cost depends on the size of the window rather than on how long ago the rule started.
+     * It stops at the first period that starts after the window, even if no date was produced.
+     *
+     * @param start the date of the first occurrence (DTSTART)
+     * @param from  the first date of the window (inclusive)
+     * @param to    the last date of the window (inclusive)
+     * @return the occurrence dates within the window, in ascending order
+     */
+    public Stream<LocalDate> occurrencesBetween(LocalDate start, LocalDate from, LocalDate to) {
+        LocalDate last = until != null && until.isBefore(to) ? until : to;
+        if (from.isAfter(last) || start.isAfter(last)) {
+            return Stream.empty();
+        }
+        Stream<LocalDate> dates;
+        if (count != null) {
+            dates = occurrences(start, 0, last).limit(count);
+        } else {
+            dates = occurrences(start, firstPeriod(start, from), last);
+        }
+        return dates
+                .takeWhile(date -> !date.isAfter(last))
+                .filter(date -> !date.isBefore(from));
+    }
+
+    /**
+     * Checks whether this rule has an occurrence on the given date.
+     *
+     * @param start the date of the first occurrence (DTSTART)
+     * @param date  the date to check
+     * @return {@code true} if the rule occurs on that date
+     */
+    public boolean occursOn(LocalDate start, LocalDate date) {
+        return occurrencesBetween(start, date, date).findAny().isPresent();
+    }
+
+    // All occurrences on or after the start date, from the given period up to the last one starting by the given date.
+    // Bounded by periods rather than by dates, as periods that filter out every date produce none to stop at.
+    private Stream<LocalDate> occurrences(LocalDate start, long firstPeriod, LocalDate last) {
+        return LongStream.iterate(firstPeriod, period -> !periodStart(start, period * interval).isAfter(last),
+                        period -> period + 1)
+                .boxed()
+                .flatMap(period -> datesInPeriod(start, period * interval))
+                .filter(date -> !date.isBefore(start));
+    }
+
+    // The first day of the period the given number of days, weeks or months after the start date.
+    private LocalDate periodStart(LocalDate start, long offset) {
+        return switch (frequency) {
+            case DAILY -> start.plusDays(offset);
+            case WEEKLY -> start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(offset);
+            case MONTHLY -> start.withDayOfMonth(1).plusMonths(offset);
+        };
+    }
+
+    private Stream<LocalDate> datesInPeriod(LocalDate start, long offset) {
+        LocalDate first = periodStart(start, offset);
+        return switch (frequency) {
+            case DAILY -> byDay.isEmpty() || byDay.contains(first.getDayOfWeek()) ? Stream.of(first) : Stream.empty();
+            case WEEKLY -> {
+                Set<DayOfWeek> days = byDay.isEmpty() ? EnumSet.of(start.getDayOfWeek()) : byDay;
+                yield days.stream().sorted().map(day -> first.plusDays(day.ordinal()));
+            }
+            case MONTHLY -> start.getDayOfMonth() <= first.lengthOfMonth()
+                    ? Stream.of(first.withDayOfMonth(start.getDayOfMonth()))
+                    : Stream.empty();
+        };
+    }
+
+    // The index of the first period that can contain an occurrence on or after the given date.
+    private long firstPeriod(LocalDate start, LocalDate from) {
+        if (!from.isAfter(start)) {
+            return 0;
+        }
+        long elapsed = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(start, from);
+            case WEEKLY -> ChronoUnit.WEEKS.between(
+                    start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+            case MONTHLY -> ChronoUnit.MONTHS.between(start.withDayOfMonth(1), from.withDayOfMonth(1));
+        };
+        return elapsed / interval;
+    }
+}
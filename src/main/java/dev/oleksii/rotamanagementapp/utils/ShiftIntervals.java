@@ -0,0 +1,23 @@
+package dev.oleksii.rotamanagementapp.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Converts the date and times of a shift or assignment into the interval {@code [start, end)} it covers.
+ * An end time that is not after the start time means the interval runs past midnight into the next day.
+ */
+public final class ShiftIntervals {
+
+    private ShiftIntervals() {
+    }
+
+    public static LocalDateTime start(LocalDate date, LocalTime startTime) {
+        return date.atTime(startTime);
+    }
+
+    public static LocalDateTime end(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return endTime.isAfter(startTime) ? date.atTime(endTime) : date.plusDays(1).atTime(endTime);
+    }
+}
@@ -0,0 +1,3 @@
+-- Incremented to revoke every token issued to a user; existing users start with their current tokens valid.
+alter table users
+    add column token_version bigint default 0 not null;
@@ -0,0 +1,15 @@
+-- The counters bumped by every change to a team's schedule or members, kept apart from the cached teams.
+create table team_revisions (
+    team_id              uuid   not null,
+    schedule_modified_at timestamp(6) with time zone,
+    revision             bigint default 0 not null,
+    change_log_floor     bigint default 0 not null,
+    primary key (team_id)
+);
+
+alter table team_revisions
+    add constraint fk_team_revisions_team foreign key (team_id) references teams;
+
+-- Existing teams start at revision 0, with no known modification time until their schedule next changes.
+insert into team_revisions (team_id)
+select id from teams;
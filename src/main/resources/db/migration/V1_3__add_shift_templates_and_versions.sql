@@ -0,0 +1,28 @@
+-- Recurring shift templates, and the materialised shifts they generate.
+create table shift_templates (
+    id              uuid         not null,
+    schedule_id     uuid         not null,
+    name            varchar(255) not null,
+    start_time      time(6)      not null,
+    end_time        time(6)      not null,
+    start_date      date         not null,
+    end_date        date,
+    recurrence_rule varchar(255) not null,
+    primary key (id)
+);
+
+alter table shift_templates
+    add constraint fk_shift_templates_schedule foreign key (schedule_id) references schedules;
+
+alter table shifts
+    add column template_id uuid;
+alter table shifts
+    add constraint fk_shifts_template foreign key (template_id) references shift_templates;
+alter table shifts
+    add constraint uk_shifts_template_id_date unique (template_id, date);
+
+-- Optimistic locking version of a shift; existing shifts start at 0.
+alter table shifts
+    add column version bigint default 0 not null;
+
+create index idx_shifts_schedule_date_start_time on shifts (schedule_id, date, start_time);
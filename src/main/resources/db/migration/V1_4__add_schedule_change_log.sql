@@ -0,0 +1,17 @@
+-- The latest change to each shift and assignment of a team, for delta syncs. Empty for existing teams, whose
+-- clients start with a full read.
+create table schedule_change (
+    id               uuid         not null,
+    team_id          uuid         not null,
+    entity_type      varchar(255) not null check (entity_type in ('SHIFT', 'ASSIGNMENT')),
+    entity_id        uuid         not null,
+    revision         bigint       not null,
+    created_revision bigint       not null,
+    deleted          boolean      not null,
+    changed_at       timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_schedule_change_entity unique (team_id, entity_type, entity_id)
+);
+
+create index idx_schedule_change_team_revision on schedule_change (team_id, revision, id);
+create index idx_schedule_change_deleted_changed_at on schedule_change (deleted, changed_at);
@@ -0,0 +1,16 @@
+-- Emails queued in the transaction that triggers them and sent by the outbox dispatcher.
+create table email_outbox (
+    id              uuid          not null,
+    recipient       varchar(255)  not null,
+    subject         varchar(255)  not null,
+    body            text          not null,
+    status          varchar(255)  not null check (status in ('PENDING', 'SENT', 'FAILED')),
+    attempts        integer       not null,
+    next_attempt_at timestamp(6)  not null,
+    last_error      varchar(1000),
+    created_at      timestamp(6)  not null,
+    sent_at         timestamp(6),
+    primary key (id)
+);
+
+create index idx_email_outbox_status_next_attempt_at on email_outbox (status, next_attempt_at);
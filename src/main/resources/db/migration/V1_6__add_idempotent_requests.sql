@@ -0,0 +1,15 @@
+-- Requests made with an Idempotency-Key, and the responses replayed to their repeats.
+create table idempotent_requests (
+    id                    uuid         not null,
+    owner                 varchar(255) not null,
+    idempotency_key       varchar(255) not null,
+    fingerprint           varchar(64)  not null,
+    response_status       integer,
+    response_content_type varchar(255),
+    response_body         text,
+    created_at            timestamp(6) not null,
+    primary key (id),
+    constraint uk_idempotent_requests_owner_key unique (owner, idempotency_key)
+);
+
+create index idx_idempotent_requests_created_at on idempotent_requests (created_at);
@@ -0,0 +1,80 @@
+-- The schema as Hibernate created it with ddl-auto before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate), so it must not change;
+-- everything added since goes into later migrations. Constraints keep the names Hibernate generated, so that
+-- baselined and migrated databases end up identical.
+
+create table users (
+    id              uuid         not null,
+    full_name       varchar(255) not null,
+    email           varchar(255) not null,
+    password        varchar(255) not null,
+    role            varchar(255) not null,
+    created_at      timestamp(6) not null,
+    verified        boolean      not null,
+    token           varchar(255),
+    expiration_date timestamp(6),
+    constraint users_pkey primary key (id),
+    constraint users_role_check check (role in ('USER', 'ADMIN')),
+    constraint uk6dotkott2kjsp8vw4d0m25fb7 unique (email)
+);
+
+create table teams (
+    id          uuid         not null,
+    name        varchar(255) not null,
+    schedule_id uuid,
+    constraint teams_pkey primary key (id),
+    constraint uk48u7aygfete76ent9h74vqmei unique (schedule_id)
+);
+
+create table schedules (
+    id      uuid not null,
+    team_id uuid,
+    constraint schedules_pkey primary key (id),
+    constraint ukeu69ia0uied9fc86wd9eml1lg unique (team_id)
+);
+
+create table members (
+    id        uuid         not null,
+    user_id   uuid         not null,
+    team_id   uuid         not null,
+    full_name varchar(255) not null,
+    role      varchar(255) not null,
+    constraint members_pkey primary key (id),
+    constraint members_role_check check (role in ('EMPLOYEE', 'MANAGER')),
+    constraint ukbm6b0b3pp1dfasf3d9wyahi9i unique (user_id, team_id)
+);
+
+create table shifts (
+    id          uuid         not null,
+    schedule_id uuid         not null,
+    name        varchar(255) not null,
+    date        date         not null,
+    start_time  time(6)      not null,
+    end_time    time(6)      not null,
+    constraint shifts_pkey primary key (id)
+);
+
+create table members_shifts (
+    id         uuid    not null,
+    member_id  uuid    not null,
+    shift_id   uuid    not null,
+    start_time time(6) not null,
+    end_time   time(6) not null,
+    constraint members_shifts_pkey primary key (id),
+    constraint ukg4eahw5xmsfp22v5a6746q8ou unique (member_id, shift_id)
+);
+
+alter table teams
+    add constraint fktrlcm686oi9j6e8b4v8gvkd27 foreign key (schedule_id) references schedules;
+alter table schedules
+    add constraint fkh7wcqqqxx9fuxrfrxvhiln7i5 foreign key (team_id) references teams;
+alter table members
+    add constraint fkpj3n6wh5muoeakc485whgs3x5 foreign key (user_id) references users;
+alter table members
+    add constraint fkf4xefr0g300jkn6um58gf0l6i foreign key (team_id) references teams;
+alter table shifts
+    add constraint fklccy7f06rgght18teb5ma2slg foreign key (schedule_id) references schedules;
+alter table members_shifts
+    add constraint fkruynlitvw30ao86pij2j2t8cy foreign key (member_id) references members;
+alter table members_shifts
+    add constraint fkfflxvgpfsgnneyxjdu82ca1yo foreign key (shift_id) references shifts;
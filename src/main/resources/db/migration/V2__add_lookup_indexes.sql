@@ -0,0 +1,15 @@
+-- Indexes for the lookups that only had the primary keys and unique constraints to go by.
+-- Built concurrently so that existing tables stay writable; Flyway runs this script outside a transaction.
+
+-- MembershipRepository.findAllByTeamId and the keyset pages of a team's members, which order by id.
+create index concurrently if not exists idx_members_team_id_id on members (team_id, id);
+
+-- Assignments of a shift: MemberShiftRepository.findIdsByShiftId, the team-wide interval and calendar
+-- queries, the schedule graph and cascading shift deletes. Lookups by member use the unique constraint.
+create index concurrently if not exists idx_members_shifts_shift_id on members_shifts (shift_id);
+
+-- ShiftTemplateRepository lookups by team, which go through the schedule.
+create index concurrently if not exists idx_shift_templates_schedule_id on shift_templates (schedule_id);
+
+-- UserRepository.findByVerificationToken.
+create index concurrently if not exists idx_users_token on users (token);
@@ -0,0 +1,5 @@
+-- Replays the Location and ETag headers of a stored response along with its body.
+alter table idempotent_requests
+    add column response_location varchar(2048);
+alter table idempotent_requests
+    add column response_etag varchar(255);
@@ -0,0 +1,225 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.oleksii.rotamanagementapp.domain.entities.IdempotentRequest;
+import dev.oleksii.rotamanagementapp.services.IdempotencyService;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String OWNER = "manager@email.com";
+    private static final String KEY = "0b7c4f9e-assign-1";
+    private static final String URI = "/api/v1/teams/1/shifts/2/assign";
+    private static final String BODY = "{\"memberId\":\"3\"}";
+    private static final String RESPONSE = "{\"id\":\"4\"}";
+    private static final String LOCATION = "/api/v1/teams/1/shifts/2";
+    private static final String ETAG = "\"5\"";
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyService, new IdempotencyConfig(), new ObjectMapper());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(OWNER, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void storesTheResponseOfTheFirstRequest() throws Exception {
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), any())).thenReturn(Optional.empty());
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(new RespondingServlet());
+
+        filter.doFilter(request(BODY), response, chain);
+
+        assertEquals(201, response.getStatus());
+        assertEquals(RESPONSE, response.getContentAsString());
+        // The handler still reads the body consumed for the fingerprint.
+        assertEquals(BODY, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        verify(idempotencyService).complete(OWNER, KEY, 201, "application/json", LOCATION, ETAG, RESPONSE);
+    }
+
+    @Test
+    void replaysTheStoredResponseOfARepeatedKey() throws Exception {
+        var fingerprint = ArgumentCaptor.forClass(String.class);
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), fingerprint.capture())).thenReturn(Optional.empty());
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), new MockFilterChain(new RespondingServlet()));
+
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), any())).thenReturn(Optional.of(IdempotentRequest.builder()
+                .fingerprint(fingerprint.getValue())
+                .responseStatus(201)
+                .responseContentType("application/json")
+                .responseLocation(LOCATION)
+                .responseEtag(ETAG)
+                .responseBody(RESPONSE)
+                .build()));
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(new RespondingServlet());
+        filter.doFilter(request(BODY), response, chain);
+
+        assertEquals(201, response.getStatus());
+        assertEquals(RESPONSE, response.getContentAsString());
+        assertEquals(LOCATION, response.getHeader("Location"));
+        assertEquals(ETAG, response.getHeader("ETag"));
+        assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(chain.getRequest(), "the handler must not run again");
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() throws Exception {
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), any())).thenReturn(Optional.of(IdempotentRequest.builder()
+                .fingerprint("another request")
+                .responseStatus(201)
+                .build()));
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request(BODY), response, new MockFilterChain(new RespondingServlet()));
+
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void rejectsARepeatWhileTheFirstRequestIsInProgress() throws Exception {
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), any()))
+                .thenAnswer(invocation -> Optional.of(IdempotentRequest.builder()
+                        .fingerprint(invocation.getArgument(2))
+                        .build()));
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request(BODY), response, new MockFilterChain(new RespondingServlet()));
+
+        assertEquals(409, response.getStatus());
+    }
+
+    @Test
+    void releasesTheKeyAfterAServerError() throws Exception {
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), any())).thenReturn(Optional.empty());
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request(BODY), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(500);
+            }
+        }));
+
+        verify(idempotencyService).release(OWNER, KEY);
+        verify(idempotencyService, never()).complete(any(), any(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void releasesTheKeyAfterAConflictOrRateLimiting() throws Exception {
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), any())).thenReturn(Optional.empty());
+
+        for (int status : new int[]{409, 429}) {
+            filter.doFilter(request(BODY), new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                    resp.setStatus(status);
+                }
+            }));
+        }
+
+        verify(idempotencyService, times(2)).release(OWNER, KEY);
+        verify(idempotencyService, never()).complete(any(), any(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void notifiesAReadListenerOfTheWholeBody() throws Exception {
+        when(idempotencyService.claim(eq(OWNER), eq(KEY), any())).thenReturn(Optional.empty());
+        var chain = new MockFilterChain(new RespondingServlet());
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), chain);
+        var in = chain.getRequest().getInputStream();
+        var read = new StringBuilder();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (in.isReady() && !in.isFinished()) {
+                    read.append((char) in.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                read.append('|');
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertEquals(BODY + "|", read.toString());
+    }
+
+    @Test
+    void ignoresRequestsWithoutAKeyAndReads() throws Exception {
+        var withoutKey = request(BODY);
+        withoutKey.removeHeader(IdempotencyFilter.HEADER);
+        var read = request("");
+        read.setMethod("GET");
+
+        filter.doFilter(withoutKey, new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(read, new MockHttpServletResponse(), new MockFilterChain());
+
+        verifyNoInteractions(idempotencyService);
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        var request = new MockHttpServletRequest("POST", URI);
+        request.addHeader(IdempotencyFilter.HEADER, KEY);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Stands in for the controller: reads the request body and answers with a created resource.
+    private static class RespondingServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp)
+                throws IOException {
+            req.getInputStream().readAllBytes();
+            resp.setStatus(201);
+            resp.setContentType("application/json");
+            resp.setHeader("Location", LOCATION);
+            resp.setHeader("ETag", ETAG);
+            resp.getOutputStream().write(RESPONSE.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
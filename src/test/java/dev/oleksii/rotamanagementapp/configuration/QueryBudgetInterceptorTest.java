@@ -0,0 +1,90 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import dev.oleksii.rotamanagementapp.exceptions.QueryBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetInterceptorTest {
+
+    private static final String PATTERN = "/api/v1/teams/{teamId}/schedule";
+    private static final String ENDPOINT = "GET " + PATTERN;
+
+    private final StatementCounter statementCounter = new StatementCounter();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private QueryBudgetConfig config;
+    private QueryBudgetInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        config = new QueryBudgetConfig();
+        config.setMaxStatements(2);
+        interceptor = new QueryBudgetInterceptor(config, meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/v1/teams/1/schedule");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, PATTERN);
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(this, QueryBudgetInterceptorTest.class.getDeclaredMethod("setUp"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementCounter.stop();
+    }
+
+    @Test
+    void recordsStatementsPerEndpoint() {
+        handle(3);
+        handle(1);
+
+        DistributionSummary summary = meterRegistry.get(QueryBudgetInterceptor.METRIC_NAME)
+                .tag("endpoint", ENDPOINT)
+                .summary();
+        assertEquals(2, summary.count());
+        assertEquals(4, summary.totalAmount());
+        assertEquals(3, summary.max());
+    }
+
+    @Test
+    void failsTheStatementOverTheEndpointBudget() {
+        config.setFailOnExceed(true);
+        config.setEndpoints(Map.of(ENDPOINT, 3));
+
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < 3; i++) {
+            statementCounter.inspect("select 1");
+        }
+        assertThrows(QueryBudgetExceededException.class, () -> statementCounter.inspect("select 1"));
+        // Statements run while the failure is handled go through.
+        assertEquals("rollback", statementCounter.inspect("rollback"));
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(5, meterRegistry.get(QueryBudgetInterceptor.METRIC_NAME).summary().max());
+    }
+
+    @Test
+    void ignoresStatementsOutsideRequests() {
+        assertEquals("select 1", statementCounter.inspect("select 1"));
+        assertEquals(-1, StatementCounter.stop());
+    }
+
+    private void handle(int statements) {
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < statements; i++) {
+            statementCounter.inspect("select 1");
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+}
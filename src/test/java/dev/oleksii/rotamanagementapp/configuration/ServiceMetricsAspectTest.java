@@ -0,0 +1,64 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import dev.oleksii.rotamanagementapp.services.EmailService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void timesCallsByEndpointAndOutcome() {
+        var request = new MockHttpServletRequest("POST", "/api/v1/auth/register");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/auth/register");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        proxy((to, subject, templateName, link) -> { }).sendVerificationEmail("to", "subject", "template", "link");
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("method", "sendVerificationEmail")
+                .tag("endpoint", "POST /api/v1/auth/register")
+                .tag("outcome", "success")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void timesFailedCallsOutsideRequests() {
+        EmailService emailService = proxy((to, subject, templateName, link) -> {
+            throw new IllegalStateException("Template missing.");
+        });
+
+        assertThrows(IllegalStateException.class,
+                () -> emailService.sendVerificationEmail("to", "subject", "template", "link"));
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tag("endpoint", MetricsConfig.NO_ENDPOINT)
+                .tag("outcome", "error")
+                .tag("exception", "IllegalStateException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    private EmailService proxy(EmailService target) {
+        var factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,62 @@
+package dev.oleksii.rotamanagementapp.configuration;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private static final String SITE = VirtualThreadPinningMonitorTest.class.getName() + ".sleepHoldingMonitor";
+
+    @Test
+    void recordsPinnedSectionsBySite() throws InterruptedException {
+        var config = new VirtualThreadsConfig();
+        config.setPinnedThreshold(Duration.ofMillis(10));
+        var meterRegistry = new SimpleMeterRegistry();
+        var monitor = new VirtualThreadPinningMonitor(config, meterRegistry);
+        try {
+            Thread.ofVirtual().start(VirtualThreadPinningMonitorTest::sleepHoldingMonitor).join();
+
+            // The JDK delivers recorded events to the stream about once a second.
+            Timer timer = null;
+            for (int attempt = 0; attempt < 100 && timer == null; attempt++) {
+                Thread.sleep(100);
+                timer = meterRegistry.find(VirtualThreadPinningMonitor.METRIC_NAME).tag("site", SITE).timer();
+            }
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+            assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 10);
+        } finally {
+            monitor.close();
+        }
+    }
+
+    @Test
+    void siteIsTheInnermostFrameOutsideTheJdk() {
+        var frames = List.of(
+                "java.lang.VirtualThread.parkOnCarrierThread:677",
+                "jdk.internal.misc.Unsafe.park:-1",
+                "org.postgresql.core.v3.QueryExecutorImpl.execute:368",
+                "dev.oleksii.rotamanagementapp.security.TokenVersionCache.isCurrent:42");
+
+        assertEquals("org.postgresql.core.v3.QueryExecutorImpl.execute", VirtualThreadPinningMonitor.site(frames));
+        assertEquals("java.lang.VirtualThread.parkOnCarrierThread", VirtualThreadPinningMonitor.site(frames.subList(0, 1)));
+        assertEquals("unknown", VirtualThreadPinningMonitor.site(List.of()));
+    }
+
+    private static void sleepHoldingMonitor() {
+        synchronized (VirtualThreadPinningMonitorTest.class) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
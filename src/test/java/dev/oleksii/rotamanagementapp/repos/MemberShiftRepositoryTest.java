@@ -0,0 +1,162 @@
+package dev.oleksii.rotamanagementapp.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.*;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.CalendarEntry;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.DailyMinutes;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class MemberShiftRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    MemberShiftRepository memberShiftRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void testFindIntervalsByMemberIdAndTeamId() {
+        Team team = Team.builder().name("Team 1").build();
+        Schedule schedule = Schedule.builder().team(team).build();
+        team.setSchedule(schedule);
+        entityManager.persist(team);
+        Member alice = persistMember(team, "alice@example.com");
+        Member bob = persistMember(team, "bob@example.com");
+
+        Shift today = persistShift(schedule, DATE);
+        Shift tomorrow = persistShift(schedule, DATE.plusDays(1));
+        Shift nextWeek = persistShift(schedule, DATE.plusDays(7));
+        MemberShift aliceToday = persistAssignment(alice, today, 9, 17);
+        persistAssignment(alice, tomorrow, 22, 6);
+        persistAssignment(alice, nextWeek, 9, 17);
+        persistAssignment(bob, today, 8, 12);
+
+        var aliceNearDate = memberShiftRepository.findIntervalsByMemberId(alice.getId(), DATE.minusDays(1), DATE.plusDays(1));
+        var teamIntervals = memberShiftRepository.findIntervalsByTeamId(team.getId());
+
+        assertThat(aliceNearDate).hasSize(2).allMatch(interval -> interval.getMemberId().equals(alice.getId()));
+        assertThat(aliceNearDate).extracting(AssignmentInterval::getId).contains(aliceToday.getId());
+        assertThat(teamIntervals).hasSize(4);
+        // Grouped by member, then in date order.
+        var aliceIntervals = teamIntervals.stream().filter(interval -> interval.getMemberId().equals(alice.getId())).toList();
+        assertThat(aliceIntervals).extracting(AssignmentInterval::getDate)
+                .containsExactly(DATE, DATE.plusDays(1), DATE.plusDays(7));
+        assertThat(aliceIntervals.get(1).getEndTime()).isEqualTo(LocalTime.of(6, 0));
+    }
+
+    @Test
+    void testSumDailyMinutesByMemberIds() {
+        Team team = Team.builder().name("Team 1").build();
+        Schedule schedule = Schedule.builder().team(team).build();
+        team.setSchedule(schedule);
+        entityManager.persist(team);
+        Member alice = persistMember(team, "alice@example.com");
+        Member bob = persistMember(team, "bob@example.com");
+        Member carol = persistMember(team, "carol@example.com");
+
+        Shift today = persistShift(schedule, DATE);
+        Shift todayLate = persistShift(schedule, DATE);
+        Shift tomorrow = persistShift(schedule, DATE.plusDays(1));
+        Shift outside = persistShift(schedule, DATE.plusDays(2));
+        persistAssignment(alice, today, 6, 10);
+        persistAssignment(alice, todayLate, 18, 22);
+        // Runs past midnight and counts in full on its start date.
+        persistAssignment(alice, tomorrow, 22, 6);
+        persistAssignment(alice, outside, 9, 17);
+        persistAssignment(bob, today, 9, 17);
+        persistAssignment(carol, today, 9, 17);
+
+        var days = memberShiftRepository.sumDailyMinutesByMemberIds(
+                List.of(alice.getId(), bob.getId()), DATE, DATE.plusDays(1));
+
+        var aliceDays = days.stream().filter(day -> day.getMemberId().equals(alice.getId())).toList();
+        assertThat(aliceDays).extracting(DailyMinutes::getDate).containsExactly(DATE, DATE.plusDays(1));
+        assertThat(aliceDays).extracting(DailyMinutes::getShifts).containsExactly(2L, 1L);
+        assertThat(aliceDays).extracting(DailyMinutes::getMinutes).containsExactly(480L, 480L);
+        assertThat(days).extracting(DailyMinutes::getMemberId).doesNotContain(carol.getId()).contains(bob.getId());
+    }
+
+    @Test
+    void testStreamCalendarEntries() {
+        Team team = Team.builder().name("Team 1").build();
+        Schedule schedule = Schedule.builder().team(team).build();
+        team.setSchedule(schedule);
+        entityManager.persist(team);
+        Member alice = persistMember(team, "alice@example.com");
+        Member bob = persistMember(team, "bob@example.com");
+
+        Shift today = persistShift(schedule, DATE);
+        Shift tomorrow = persistShift(schedule, DATE.plusDays(1));
+        Shift nextMonth = persistShift(schedule, DATE.plusDays(40));
+        persistAssignment(alice, tomorrow, 22, 6);
+        persistAssignment(alice, today, 9, 17);
+        persistAssignment(alice, nextMonth, 9, 17);
+        persistAssignment(bob, today, 6, 9);
+
+        List<CalendarEntry> teamEntries;
+        try (var entries = memberShiftRepository.streamCalendarEntriesByTeamId(team.getId(), DATE, DATE.plusDays(7))) {
+            teamEntries = entries.toList();
+        }
+        List<CalendarEntry> aliceEntries;
+        try (var entries = memberShiftRepository.streamCalendarEntriesByMemberId(alice.getId(), DATE, DATE.plusDays(7))) {
+            aliceEntries = entries.toList();
+        }
+
+        assertThat(teamEntries).extracting(CalendarEntry::getMemberName)
+                .containsExactly("bob@example.com", "alice@example.com", "alice@example.com");
+        assertThat(teamEntries).extracting(CalendarEntry::getShiftName).containsOnly("Shift");
+        assertThat(aliceEntries).extracting(CalendarEntry::getDate).containsExactly(DATE, DATE.plusDays(1));
+    }
+
+    private Member persistMember(Team team, String email) {
+        User user = User.builder()
+                .fullName(email)
+                .email(email)
+                .password("password")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        Member member = Member.builder().fullName(email).role(TeamRole.EMPLOYEE).user(user).team(team).build();
+        entityManager.persist(member);
+        return member;
+    }
+
+    private Shift persistShift(Schedule schedule, LocalDate date) {
+        Shift shift = Shift.builder()
+                .name("Shift")
+                .date(date)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(18, 0))
+                .schedule(schedule)
+                .build();
+        entityManager.persist(shift);
+        return shift;
+    }
+
+    private MemberShift persistAssignment(Member member, Shift shift, int startHour, int endHour) {
+        MemberShift memberShift = MemberShift.builder()
+                .member(member)
+                .shift(shift)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .build();
+        entityManager.persist(memberShift);
+        return memberShift;
+    }
+}
@@ -0,0 +1,74 @@
+package dev.oleksii.rotamanagementapp.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.ScheduleChange;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleChangeRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleChangeRepository.ExpiredTombstones;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static dev.oleksii.rotamanagementapp.domain.dtos.ScheduleVersion.AFTER_LAST_CHANGE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class ScheduleChangeRepositoryTest {
+
+    private static final UUID TEAM_ID = UUID.randomUUID();
+
+    @Autowired
+    ScheduleChangeRepository scheduleChangeRepository;
+
+    @Test
+    void testFindChangesAfterPagesByRevisionAndId() {
+        var first = save(TEAM_ID, 2, false, Instant.now());
+        var second = save(TEAM_ID, 2, false, Instant.now());
+        var third = save(TEAM_ID, 3, true, Instant.now());
+        save(TEAM_ID, 4, false, Instant.now());
+        save(UUID.randomUUID(), 3, false, Instant.now());
+
+        assertThat(scheduleChangeRepository.findChangesAfter(TEAM_ID, 1, AFTER_LAST_CHANGE, 3, Limit.of(10)))
+                .containsExactly(first, second, third);
+        assertThat(scheduleChangeRepository.findChangesAfter(TEAM_ID, 2, first.getId(), 3, Limit.of(1)))
+                .containsExactly(second);
+        assertThat(scheduleChangeRepository.findChangesAfter(TEAM_ID, 2, AFTER_LAST_CHANGE, 3, Limit.of(10)))
+                .containsExactly(third);
+        assertThat(scheduleChangeRepository.findChangesAfter(TEAM_ID, 3, AFTER_LAST_CHANGE, 3, Limit.of(10)))
+                .isEmpty();
+    }
+
+    @Test
+    void testExpiredTombstonesAreFoundAndDeletedPerTeam() {
+        Instant old = Instant.now().minus(40, ChronoUnit.DAYS);
+        save(TEAM_ID, 2, true, old);
+        save(TEAM_ID, 5, true, old);
+        var recent = save(TEAM_ID, 7, true, Instant.now());
+        var live = save(TEAM_ID, 1, false, old);
+
+        List<ExpiredTombstones> expired = scheduleChangeRepository.findExpiredTombstones(Instant.now().minus(30, ChronoUnit.DAYS));
+
+        assertThat(expired).hasSize(1);
+        assertThat(expired.get(0).getTeamId()).isEqualTo(TEAM_ID);
+        assertThat(expired.get(0).getRevision()).isEqualTo(5L);
+        assertThat(scheduleChangeRepository.deleteTombstonesUpTo(TEAM_ID, 5)).isEqualTo(2);
+        assertThat(scheduleChangeRepository.findAll()).containsExactlyInAnyOrder(recent, live);
+    }
+
+    private ScheduleChange save(UUID teamId, long revision, boolean deleted, Instant changedAt) {
+        return scheduleChangeRepository.saveAndFlush(ScheduleChange.builder()
+                .teamId(teamId)
+                .entityType(ScheduleEntityType.SHIFT)
+                .entityId(UUID.randomUUID())
+                .createdRevision(1)
+                .revision(revision)
+                .deleted(deleted)
+                .changedAt(changedAt)
+                .build());
+    }
+}
@@ -0,0 +1,116 @@
+package dev.oleksii.rotamanagementapp.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.*;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleRepository;
+import dev.oleksii.rotamanagementapp.support.StatementCounts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ScheduleRepositoryTest {
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    void findWithShiftsByTeamIdLoadsWholeGraphInOneStatement() {
+        UUID smallTeamId = persistTeamWithShifts(5, 3);
+        UUID largeTeamId = persistTeamWithShifts(50, 3);
+
+        long smallTeamStatements = countStatementsToLoadSchedule(smallTeamId, 5, 15);
+        long largeTeamStatements = countStatementsToLoadSchedule(largeTeamId, 50, 150);
+
+        assertThat(smallTeamStatements).isEqualTo(1);
+        assertThat(largeTeamStatements).isEqualTo(smallTeamStatements);
+    }
+
+    private long countStatementsToLoadSchedule(UUID teamId, int expectedShifts, int expectedAssignments) {
+        entityManager.clear();
+
+        return StatementCounts.count(() -> {
+            var schedule = scheduleRepository.findWithShiftsByTeamId(teamId).orElseThrow();
+
+            // Walk the graph the same way the mappers do.
+            int assignments = 0;
+            for (Shift shift : schedule.getShifts()) {
+                for (MemberShift memberShift : shift.getMemberShifts()) {
+                    assertThat(memberShift.getMember().getFullName()).isNotBlank();
+                    assignments++;
+                }
+            }
+
+            assertThat(schedule.getShifts()).hasSize(expectedShifts);
+            assertThat(assignments).isEqualTo(expectedAssignments);
+        });
+    }
+
+    private UUID persistTeamWithShifts(int shiftCount, int membersPerShift) {
+        Team team = Team.builder().name("Team").build();
+        entityManager.persist(team);
+
+        Schedule schedule = Schedule.builder().team(team).build();
+        entityManager.persist(schedule);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < membersPerShift; i++) {
+            User user = User.builder()
+                    .fullName("User " + i)
+                    .password("password")
+                    .email(UUID.randomUUID() + "@email.com")
+                    .role(Role.USER)
+                    .createdAt(LocalDateTime.now())
+                    .verified(true)
+                    .build();
+            entityManager.persist(user);
+
+            Member member = Member.builder()
+                    .fullName("Member " + i)
+                    .role(TeamRole.EMPLOYEE)
+                    .team(team)
+                    .user(user)
+                    .build();
+            entityManager.persist(member);
+            members.add(member);
+        }
+
+        for (int i = 0; i < shiftCount; i++) {
+            Shift shift = Shift.builder()
+                    .name("Shift " + i)
+                    .date(LocalDate.now().plusDays(i))
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(17, 0))
+                    .schedule(schedule)
+                    .build();
+            entityManager.persist(shift);
+
+            for (Member member : members) {
+                MemberShift memberShift = MemberShift.builder()
+                        .member(member)
+                        .shift(shift)
+                        .startTime(shift.getStartTime())
+                        .endTime(shift.getEndTime())
+                        .build();
+                entityManager.persist(memberShift);
+            }
+        }
+
+        entityManager.flush();
+        return team.getId();
+    }
+}
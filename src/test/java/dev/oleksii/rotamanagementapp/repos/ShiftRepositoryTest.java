@@ -9,10 +9,17 @@ import dev.oleksii.rotamanagementapp.domain.repos.TeamRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 public class ShiftRepositoryTest {
@@ -51,5 +58,54 @@ public class ShiftRepositoryTest {
         assert optionalShift.isPresent();
         assert optionalShift.get().getName().equals("Shift");
         assert optionalShift.get().getSchedule().equals(schedule);
+        // Ids are time-ordered version 7 UUIDs.
+        assert shift.getId().version() == 7;
+    }
+
+    @Test
+    void testFindIdsInWindowPagesByKeyset() {
+        Team team = teamRepository.save(Team.builder().name("Team 1").build());
+        Schedule schedule = scheduleRepository.save(Schedule.builder().team(team).build());
+
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        List<Shift> inWindow = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            // Two shifts per day, saved late-first to make sure ordering comes from the query.
+            inWindow.add(saveShift(schedule, monday.plusDays(day), LocalTime.of(14, 0)));
+            inWindow.add(saveShift(schedule, monday.plusDays(day), LocalTime.of(8, 0)));
+        }
+        saveShift(schedule, monday.minusDays(1), LocalTime.of(8, 0));
+        saveShift(schedule, monday.plusDays(7), LocalTime.of(8, 0));
+
+        LocalDate from = monday;
+        LocalDate to = monday.plusDays(4);
+
+        List<UUID> firstPage = shiftRepository.findIdsInWindow(team.getId(), from, to, Limit.of(4));
+        Shift last = shiftRepository.findById(firstPage.get(3)).orElseThrow();
+        List<UUID> secondPage = shiftRepository.findIdsInWindowAfter(team.getId(), from, to,
+                last.getDate(), last.getStartTime(), last.getId(), Limit.of(100));
+
+        List<UUID> all = new ArrayList<>(firstPage);
+        all.addAll(secondPage);
+        List<Shift> loaded = shiftRepository.findAllByIdIn(all, Sort.by("date", "startTime", "id"));
+
+        assertThat(firstPage).hasSize(4);
+        assertThat(secondPage).hasSize(6);
+        assertThat(all).doesNotHaveDuplicates();
+        assertThat(loaded).extracting(Shift::getId).containsExactlyElementsOf(all);
+        assertThat(loaded).isSortedAccordingTo((a, b) -> a.getDate().equals(b.getDate())
+                ? a.getStartTime().compareTo(b.getStartTime())
+                : a.getDate().compareTo(b.getDate()));
+        assertThat(loaded).allMatch(shift -> !shift.getDate().isBefore(from) && !shift.getDate().isAfter(to));
+    }
+
+    private Shift saveShift(Schedule schedule, LocalDate date, LocalTime startTime) {
+        return shiftRepository.save(Shift.builder()
+                .name("Shift")
+                .date(date)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(6))
+                .schedule(schedule)
+                .build());
     }
 }
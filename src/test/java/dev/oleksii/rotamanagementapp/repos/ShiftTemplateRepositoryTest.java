@@ -0,0 +1,100 @@
+package dev.oleksii.rotamanagementapp.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
+import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftTemplateRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class ShiftTemplateRepositoryTest {
+
+    // A Monday.
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    ShiftTemplateRepository shiftTemplateRepository;
+    @Autowired
+    ShiftRepository shiftRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void testFindMaterialisedOccurrencesInWindow() {
+        Team team = saveTeam("Team 1");
+        ShiftTemplate template = saveTemplate(team.getSchedule());
+        shiftRepository.save(template.toShift(MONDAY));
+        shiftRepository.save(template.toShift(MONDAY.plusWeeks(2)));
+
+        var occurrences = shiftRepository.findMaterialisedOccurrences(team.getId(), MONDAY, MONDAY.plusDays(6));
+
+        assertThat(occurrences).hasSize(1);
+        assertThat(occurrences.get(0).getTemplateId()).isEqualTo(template.getId());
+        assertThat(occurrences.get(0).getDate()).isEqualTo(MONDAY);
+        assertThat(shiftRepository.findByTemplateIdAndDate(template.getId(), MONDAY)).isPresent();
+        assertThat(shiftTemplateRepository.findAllByTeamId(team.getId())).containsExactly(template);
+        assertThat(shiftTemplateRepository.findByTeamIdAndTemplateId(saveTeam("Team 2").getId(), template.getId())).isEmpty();
+    }
+
+    @Test
+    void testDetachFromTemplateKeepsMaterialisedShifts() {
+        Team team = saveTeam("Team 1");
+        ShiftTemplate template = saveTemplate(team.getSchedule());
+        Shift shift = shiftRepository.save(template.toShift(MONDAY));
+
+        shiftRepository.detachFromTemplate(template.getId());
+        shiftTemplateRepository.delete(template);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(shiftTemplateRepository.findById(template.getId())).isEmpty();
+        assertThat(shiftRepository.findById(shift.getId())).get()
+                .extracting(Shift::getTemplate).isNull();
+    }
+
+    @Test
+    void testDeletingTeamRemovesTemplatesAndMaterialisedShifts() {
+        Team team = saveTeam("Team 1");
+        ShiftTemplate template = saveTemplate(team.getSchedule());
+        Shift shift = shiftRepository.save(template.toShift(MONDAY));
+        entityManager.flush();
+        entityManager.clear();
+
+        teamRepository.deleteById(team.getId());
+        entityManager.flush();
+
+        assertThat(shiftTemplateRepository.findById(template.getId())).isEmpty();
+        assertThat(shiftRepository.findById(shift.getId())).isEmpty();
+    }
+
+    private Team saveTeam(String name) {
+        Team team = Team.builder().name(name).build();
+        Schedule schedule = Schedule.builder().team(team).build();
+        team.setSchedule(schedule);
+        return teamRepository.save(team);
+    }
+
+    private ShiftTemplate saveTemplate(Schedule schedule) {
+        return shiftTemplateRepository.save(ShiftTemplate.builder()
+                .name("Day")
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .startDate(MONDAY)
+                .recurrenceRule("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR")
+                .schedule(schedule)
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package dev.oleksii.rotamanagementapp.repos;
+
+import dev.oleksii.rotamanagementapp.domain.entities.TeamRevision;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRevisionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class TeamRevisionRepositoryTest {
+
+    @Autowired
+    TeamRevisionRepository teamRevisionRepository;
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void testMarkModifiedIncrementsRevision() {
+        UUID teamId = UUID.randomUUID();
+        entityManager.persist(TeamRevision.builder().teamId(teamId).build());
+        entityManager.flush();
+        Instant modifiedAt = Instant.parse("2030-01-07T09:00:00Z");
+
+        assertThat(teamRevisionRepository.findRevisionById(teamId)).contains(0L);
+        teamRevisionRepository.markModified(teamId, modifiedAt);
+        teamRevisionRepository.markModified(teamId, modifiedAt);
+
+        assertThat(teamRevisionRepository.findRevisionById(teamId)).contains(2L);
+        assertThat(teamRevisionRepository.findScheduleModifiedAtById(teamId)).contains(modifiedAt);
+        assertThat(teamRevisionRepository.findRevisionById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void testChangeLogFloorOnlyRises() {
+        UUID teamId = UUID.randomUUID();
+        entityManager.persist(TeamRevision.builder().teamId(teamId).build());
+        entityManager.flush();
+
+        teamRevisionRepository.raiseChangeLogFloor(teamId, 5);
+        teamRevisionRepository.raiseChangeLogFloor(teamId, 3);
+
+        assertThat(teamRevisionRepository.findChangeLogFloorById(teamId)).contains(5L);
+    }
+}
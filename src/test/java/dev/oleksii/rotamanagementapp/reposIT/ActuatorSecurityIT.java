@@ -0,0 +1,45 @@
+package dev.oleksii.rotamanagementapp.reposIT;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Serves actuator on its own port, as in the application configuration, and checks which requests need a token.
+// Metrics export is off in tests unless observability is auto-configured.
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "management.endpoints.web.exposure.include=health,metrics,prometheus"
+})
+class ActuatorSecurityIT {
+
+    @LocalServerPort
+    int serverPort;
+
+    @LocalManagementPort
+    int managementPort;
+
+    @Test
+    void testPrometheusScrapeIsOpenOnlyOnTheManagementPort() throws Exception {
+        assertThat(get(managementPort, "/actuator/prometheus")).isEqualTo(200);
+        assertThat(get(managementPort, "/actuator/metrics")).isEqualTo(403);
+        assertThat(get(serverPort, "/actuator/prometheus")).isEqualTo(403);
+    }
+
+    private static int get(int port, String path) throws IOException, InterruptedException {
+        try (var client = HttpClient.newHttpClient()) {
+            return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+}
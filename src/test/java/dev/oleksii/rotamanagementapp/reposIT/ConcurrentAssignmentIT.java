@@ -0,0 +1,184 @@
+package dev.oleksii.rotamanagementapp.reposIT;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.AssignShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftTemplateRequest;
+import dev.oleksii.rotamanagementapp.domain.entities.IdempotentRequest;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import dev.oleksii.rotamanagementapp.services.IdempotencyService;
+import dev.oleksii.rotamanagementapp.services.MemberShiftService;
+import dev.oleksii.rotamanagementapp.services.MembershipService;
+import dev.oleksii.rotamanagementapp.services.ScheduleFacade;
+import dev.oleksii.rotamanagementapp.services.TeamFacade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs against the full context and commits every step, as the conflicts only show up between committed
+// transactions.
+@SpringBootTest
+class ConcurrentAssignmentIT {
+
+    private static final LocalTime START = LocalTime.of(7, 0);
+    private static final LocalTime END = LocalTime.of(15, 0);
+
+    @Autowired
+    TeamFacade teamFacade;
+
+    @Autowired
+    ScheduleFacade scheduleFacade;
+
+    @Autowired
+    MembershipService membershipService;
+
+    @Autowired
+    MemberShiftService memberShiftService;
+
+    @Autowired
+    IdempotencyService idempotencyService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ShiftRepository shiftRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    UUID teamId;
+    UUID shiftId;
+    UUID firstMemberId;
+    UUID secondMemberId;
+
+    @BeforeEach
+    void setUp() {
+        User manager = userRepository.save(user("manager"));
+        User first = userRepository.save(user("first"));
+        User second = userRepository.save(user("second"));
+        teamId = teamFacade.createTeam(manager, "Contended team").getTeamId();
+        teamFacade.joinTeam(first, teamId);
+        teamFacade.joinTeam(second, teamId);
+        firstMemberId = memberId(first);
+        secondMemberId = memberId(second);
+        shiftId = scheduleFacade.createShift(teamId, CreateShiftRequest.builder()
+                .name("Early")
+                .date(LocalDate.now().plusDays(1))
+                .startTime(START)
+                .endTime(END)
+                .build()).getShiftId();
+    }
+
+    @Test
+    void testConcurrentAssignmentOfTheSameShiftFailsToCommit() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            // The first manager has read the shift...
+            shiftRepository.findById(shiftId);
+            // ...when the second manager's assignment commits.
+            Thread other = Thread.ofPlatform().start(() -> scheduleFacade.assignShift(teamId, shiftId, assign(secondMemberId)));
+            join(other);
+            scheduleFacade.assignShift(teamId, shiftId, assign(firstMemberId));
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(memberShiftService.getMemberShiftIdsByShiftId(shiftId)).hasSize(1);
+        assertThat(shiftRepository.findById(shiftId).orElseThrow().getVersion()).isEqualTo(1);
+
+        // A retry reads the current version and goes through.
+        scheduleFacade.assignShift(teamId, shiftId, assign(firstMemberId));
+        assertThat(memberShiftService.getMemberShiftIdsByShiftId(shiftId)).hasSize(2);
+    }
+
+    @Test
+    void testAutoScheduleSavesWhatWasSolvedOutsideTheTransaction() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        UUID templateId = scheduleFacade.createShiftTemplate(teamId, CreateShiftTemplateRequest.builder()
+                .name("Late")
+                .startTime(LocalTime.of(16, 0))
+                .endTime(LocalTime.of(23, 0))
+                .startDate(tomorrow)
+                .endDate(tomorrow)
+                .recurrenceRule("FREQ=DAILY")
+                .build()).getTemplateId();
+
+        var response = scheduleFacade.autoSchedule(teamId, AutoScheduleRequest.builder()
+                .from(tomorrow)
+                .to(tomorrow)
+                .timeBudgetMillis(20L)
+                .build());
+
+        // The stored shift and the template occurrence, loaded in one transaction and saved in another.
+        assertThat(response.getAssigned()).isEqualTo(2);
+        assertThat(memberShiftService.getMemberShiftIdsByShiftId(shiftId)).hasSize(1);
+        assertThat(shiftRepository.findIdsByTemplateId(templateId)).hasSize(1);
+    }
+
+    @Test
+    void testIdempotencyKeyIsClaimedOnce() {
+        String owner = "manager-" + UUID.randomUUID();
+
+        assertThat(idempotencyService.claim(owner, "key", "fingerprint")).isEmpty();
+        assertThat(idempotencyService.claim(owner, "key", "fingerprint"))
+                .get()
+                .extracting(IdempotentRequest::isCompleted)
+                .isEqualTo(false);
+
+        idempotencyService.complete(owner, "key", 201, "application/json", null, null, "{}");
+        assertThat(idempotencyService.claim(owner, "key", "fingerprint"))
+                .get()
+                .extracting(IdempotentRequest::getResponseStatus)
+                .isEqualTo(201);
+
+        // Keys are scoped to their owner, and a released key can be claimed again.
+        assertThat(idempotencyService.claim("another-" + owner, "key", "fingerprint")).isEmpty();
+        idempotencyService.release(owner, "key");
+        assertThat(idempotencyService.claim(owner, "key", "fingerprint")).isEmpty();
+    }
+
+    private UUID memberId(User user) {
+        return transactionTemplate.execute(status ->
+                membershipService.getMembershipByUserIdAndTeamId(user.getId(), teamId).getId());
+    }
+
+    private static AssignShiftRequest assign(UUID memberId) {
+        return AssignShiftRequest.builder()
+                .memberId(memberId)
+                .startTime(START)
+                .endTime(END)
+                .build();
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .fullName(name)
+                .password("password")
+                .email(name + "-" + UUID.randomUUID() + "@email.com")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .verified(true)
+                .build();
+    }
+}
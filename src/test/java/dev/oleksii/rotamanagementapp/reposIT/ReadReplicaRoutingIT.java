@@ -0,0 +1,163 @@
+package dev.oleksii.rotamanagementapp.reposIT;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import dev.oleksii.rotamanagementapp.services.TeamFacade;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the primary and the replica as two separate in-memory databases. The replica only gets the schema,
+// without any replication, so a read served by it does not see the rows written by the test.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingIT.PRIMARY_URL,
+        "read-replica.enabled=true",
+        "read-replica.url=" + ReadReplicaRoutingIT.REPLICA_URL,
+        "read-replica.sticky-primary=PT1M"
+})
+class ReadReplicaRoutingIT {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    TeamFacade teamFacade;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User manager;
+    User reader;
+    UUID teamId;
+
+    @BeforeAll
+    static void createReplicaSchema(@Autowired DataSource dataSource) throws SQLException {
+        List<String> schema = new JdbcTemplate(dataSource).queryForList("SCRIPT NODATA", String.class);
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+             Statement statement = replica.createStatement()) {
+            for (String sql : schema) {
+                if (!sql.startsWith("CREATE USER")) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        manager = userRepository.save(user("manager"));
+        reader = userRepository.save(user("reader"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionsRunOnTheReplica() {
+        teamId = teamFacade.createTeam(manager, "Routed team").getTeamId();
+
+        authenticate(reader);
+        assertThat(teamFacade.getAllTeamMembers(teamId)).isEmpty();
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "select count(*) from members where team_id = ?", Long.class, teamId)).isEqualTo(1);
+    }
+
+    @Test
+    void testWriterReadsFromThePrimaryAfterCommit() {
+        authenticate(manager);
+        teamId = teamFacade.createTeam(manager, "Sticky team").getTeamId();
+
+        assertThat(teamFacade.getAllTeamMembers(teamId)).hasSize(1);
+
+        authenticate(reader);
+        assertThat(teamFacade.getAllTeamMembers(teamId)).isEmpty();
+    }
+
+    @Test
+    void testEtagRevisionIsReadFromTheSameDatabaseAsTheBody() throws SQLException {
+        teamId = teamFacade.createTeam(manager, "Tagged team").getTeamId();
+        teamFacade.joinTeam(userRepository.save(user("employee")), teamId);
+        // The replica lags behind the primary: it has the team at its first revision, but none of its members.
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "password")) {
+            var jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(replica, true));
+            jdbcTemplate.update("insert into teams (id, name) values (?, ?)", teamId, "Tagged team");
+            jdbcTemplate.update("insert into team_revisions (team_id, revision, change_log_floor) values (?, 0, 0)", teamId);
+        }
+
+        authenticate(reader);
+        List<Long> etags = new ArrayList<>();
+        var members = teamFacade.readAtRevision(teamId, revision -> !etags.add(revision),
+                () -> teamFacade.getAllTeamMembers(teamId));
+
+        assertThat(members).contains(Set.of());
+        assertThat(etags).containsExactly(0L);
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "select revision from team_revisions where team_id = ?", Long.class, teamId)).isEqualTo(1);
+    }
+
+    @Test
+    void testReplicaReadsDoNotFillTheSecondLevelCache() throws SQLException {
+        teamId = teamFacade.createTeam(manager, "Cached team").getTeamId();
+        UUID scheduleId = new JdbcTemplate(dataSource).queryForObject(
+                "select id from schedules where team_id = ?", UUID.class, teamId);
+        // The replica still has the schedule, but the cache, shared with the primary, must not keep its rows.
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "password")) {
+            var jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(replica, true));
+            jdbcTemplate.update("insert into teams (id, name) values (?, ?)", teamId, "Stale team");
+            jdbcTemplate.update("insert into schedules (id, team_id) values (?, ?)", scheduleId, teamId);
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        authenticate(reader);
+        assertThat(teamFacade.getTeamSchedule(teamId).getShifts()).isEmpty();
+
+        assertThat(entityManagerFactory.getCache().contains(Schedule.class, scheduleId)).isFalse();
+    }
+
+    private static void authenticate(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .fullName(name)
+                .password("password")
+                .email(name + "-" + UUID.randomUUID() + "@email.com")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .verified(true)
+                .build();
+    }
+}
@@ -0,0 +1,604 @@
+package dev.oleksii.rotamanagementapp.reposIT;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.oleksii.rotamanagementapp.domain.enums.EmailStatus;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.EmailOutboxRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.IdempotentRequestRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.MembershipRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleChangeRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ScheduleRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftTemplateRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRevisionRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Runs every repository query method against PostgreSQL, with the schema created by the migrations and the
+// tables seeded well past the size where an index pays off, and EXPLAINs the statements it ran. The statements
+// are recorded with their bound parameters and explained as prepared statements executed with the same values,
+// so the planner sees what the application sends. Fails on a sequential scan over any of the seeded tables.
+//
+// Runs against a Testcontainers PostgreSQL, or against an existing database when -Dquery-plan.jdbc-url,
+// -Dquery-plan.jdbc-user and -Dquery-plan.jdbc-password are set; skipped when neither is available.
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.show-sql=false"
+})
+class RepositoryQueryPlanIT {
+
+    // Tables with fewer rows are read sequentially by design; the seeded tables all have at least this many.
+    private static final long LARGE_TABLE_ROWS = 10_000;
+    private static final LocalDate FROM = LocalDate.now();
+    private static final LocalDate TO = FROM.plusDays(6);
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TeamRevisionRepository teamRevisionRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    ShiftTemplateRepository shiftTemplateRepository;
+
+    @Autowired
+    ShiftRepository shiftRepository;
+
+    @Autowired
+    MemberShiftRepository memberShiftRepository;
+
+    @Autowired
+    MembershipRepository membershipRepository;
+
+    @Autowired
+    ScheduleChangeRepository scheduleChangeRepository;
+
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    IdempotentRequestRepository idempotentRequestRepository;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startPostgres() {
+        if (System.getProperty("query-plan.jdbc-url") == null) {
+            assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                    "Needs Docker or -Dquery-plan.jdbc-url pointing at a PostgreSQL database");
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+        }
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> postgres != null ? postgres.getJdbcUrl() : System.getProperty("query-plan.jdbc-url"));
+        registry.add("spring.datasource.username",
+                () -> postgres != null ? postgres.getUsername() : System.getProperty("query-plan.jdbc-user"));
+        registry.add("spring.datasource.password",
+                () -> postgres != null ? postgres.getPassword() : System.getProperty("query-plan.jdbc-password", ""));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> testRepositoryQueriesDoNotScanLargeTables() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (jdbcTemplate.queryForObject("select count(*) from users", Long.class) == 0) {
+            seed(jdbcTemplate);
+        }
+        Set<String> largeTables = new TreeSet<>(jdbcTemplate.queryForList("""
+                select relname from pg_class
+                where relkind = 'r' and relnamespace = current_schema()::regnamespace and reltuples >= ?""",
+                String.class, LARGE_TABLE_ROWS));
+        assertThat(largeTables).as("seeded tables").contains("members", "members_shifts", "shifts", "users");
+        Fixture fixture = fixture(jdbcTemplate);
+
+        return queries().entrySet().stream().map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+            List<RecordedStatement> statements = record(fixture, query.getValue());
+            assertThat(statements).as("statements run by " + query.getKey()).isNotEmpty();
+            for (RecordedStatement statement : statements) {
+                assertThat(sequentialScans(jdbcTemplate, statement))
+                        .as("tables scanned sequentially by%n%s", statement.sql())
+                        .doesNotContainAnyElementsOf(largeTables);
+            }
+        }));
+    }
+
+    @Test
+    void testEveryRepositoryQueryIsExplained() {
+        assertThat(queries().keySet()).containsExactlyInAnyOrderElementsOf(repositoryQueryMethods());
+    }
+
+    // One call per repository query method, keyed by "Repository.method", with arguments that find seeded rows.
+    private Map<String, Consumer<Fixture>> queries() {
+        Map<String, Consumer<Fixture>> queries = new LinkedHashMap<>();
+
+        queries.put("UserRepository.findByVerificationToken", f -> userRepository.findByVerificationToken(f.token()));
+        queries.put("UserRepository.findByEmail", f -> userRepository.findByEmail(f.email()));
+        queries.put("UserRepository.existsByEmail", f -> userRepository.existsByEmail(f.email()));
+        queries.put("UserRepository.findTokenVersionById", f -> userRepository.findTokenVersionById(f.userId()));
+
+        queries.put("TeamRevisionRepository.markModified", f -> teamRevisionRepository.markModified(f.teamId(), Instant.now()));
+        queries.put("TeamRevisionRepository.findRevisionById", f -> teamRevisionRepository.findRevisionById(f.teamId()));
+        queries.put("TeamRevisionRepository.raiseChangeLogFloor", f -> teamRevisionRepository.raiseChangeLogFloor(f.teamId(), 1));
+        queries.put("TeamRevisionRepository.findChangeLogFloorById", f -> teamRevisionRepository.findChangeLogFloorById(f.teamId()));
+        queries.put("TeamRevisionRepository.findScheduleModifiedAtById",
+                f -> teamRevisionRepository.findScheduleModifiedAtById(f.teamId()));
+
+        queries.put("ScheduleRepository.findByTeamId", f -> scheduleRepository.findByTeamId(f.teamId()));
+        queries.put("ScheduleRepository.findWithShiftsByTeamId",
+                f -> scheduleRepository.findWithShiftsByTeamId(f.teamId()));
+        queries.put("ScheduleNaturalIdRepository.findByNaturalId", f -> scheduleRepository.findByNaturalId(f.teamId()));
+
+        queries.put("ShiftTemplateRepository.findAllByTeamId", f -> shiftTemplateRepository.findAllByTeamId(f.teamId()));
+        queries.put("ShiftTemplateRepository.findByTeamIdAndTemplateId",
+                f -> shiftTemplateRepository.findByTeamIdAndTemplateId(f.teamId(), f.templateId()));
+
+        queries.put("ShiftRepository.findByTeamIdAndShiftId",
+                f -> shiftRepository.findByTeamIdAndShiftId(f.teamId(), f.shiftId()));
+        queries.put("ShiftRepository.findByTeamIdAndShiftIdForAssignment",
+                f -> shiftRepository.findByTeamIdAndShiftIdForAssignment(f.teamId(), f.shiftId()));
+        queries.put("ShiftRepository.findIdsInWindow",
+                f -> shiftRepository.findIdsInWindow(f.teamId(), FROM, TO, Limit.of(50)));
+        queries.put("ShiftRepository.findIdsInWindowAfter", f -> shiftRepository.findIdsInWindowAfter(
+                f.teamId(), FROM, TO, FROM, LocalTime.of(7, 0), f.shiftId(), Limit.of(50)));
+        queries.put("ShiftRepository.findAllByIdIn",
+                f -> shiftRepository.findAllByIdIn(List.of(f.shiftId()), Sort.by("date", "startTime", "id")));
+        queries.put("ShiftRepository.findUnassignedInWindow",
+                f -> shiftRepository.findUnassignedInWindow(f.teamId(), FROM, TO));
+        queries.put("ShiftRepository.findByTemplateIdAndDate",
+                f -> shiftRepository.findByTemplateIdAndDate(f.templateId(), FROM));
+        queries.put("ShiftRepository.findIdsByTemplateId", f -> shiftRepository.findIdsByTemplateId(f.templateId()));
+        queries.put("ShiftRepository.findMaterialisedOccurrences",
+                f -> shiftRepository.findMaterialisedOccurrences(f.teamId(), FROM, TO));
+        queries.put("ShiftRepository.detachFromTemplate", f -> shiftRepository.detachFromTemplate(f.templateId()));
+
+        queries.put("MemberShiftRepository.deleteByShiftIdAndId",
+                f -> memberShiftRepository.deleteByShiftIdAndId(f.shiftId(), f.memberShiftId()));
+        queries.put("MemberShiftRepository.findAllByIdIn",
+                f -> memberShiftRepository.findAllByIdIn(List.of(f.memberShiftId())));
+        queries.put("MemberShiftRepository.findIdsByShiftId", f -> memberShiftRepository.findIdsByShiftId(f.shiftId()));
+        queries.put("MemberShiftRepository.findIdsByUserIdAndTeamId",
+                f -> memberShiftRepository.findIdsByUserIdAndTeamId(f.userId(), f.teamId()));
+        queries.put("MemberShiftRepository.findIntervalsByMemberId",
+                f -> memberShiftRepository.findIntervalsByMemberId(f.memberId(), FROM, TO));
+        queries.put("MemberShiftRepository.findIntervalsByTeamId",
+                f -> memberShiftRepository.findIntervalsByTeamId(f.teamId()));
+        queries.put("MemberShiftRepository.findIntervalsByTeamIdBetween",
+                f -> memberShiftRepository.findIntervalsByTeamIdBetween(f.teamId(), FROM, TO));
+        queries.put("MemberShiftRepository.sumDailyMinutesByMemberIds",
+                f -> memberShiftRepository.sumDailyMinutesByMemberIds(List.of(f.memberId()), FROM, TO));
+        queries.put("MemberShiftRepository.streamCalendarEntriesByTeamId", f -> {
+            try (var entries = memberShiftRepository.streamCalendarEntriesByTeamId(f.teamId(), FROM, TO)) {
+                entries.forEach(entry -> { });
+            }
+        });
+        queries.put("MemberShiftRepository.streamCalendarEntriesByMemberId", f -> {
+            try (var entries = memberShiftRepository.streamCalendarEntriesByMemberId(f.memberId(), FROM, TO)) {
+                entries.forEach(entry -> { });
+            }
+        });
+
+        queries.put("MembershipRepository.existsByUserIdAndTeamId",
+                f -> membershipRepository.existsByUserIdAndTeamId(f.userId(), f.teamId()));
+        queries.put("MembershipRepository.existsByUserIdAndTeamIdAndRole",
+                f -> membershipRepository.existsByUserIdAndTeamIdAndRole(f.userId(), f.teamId(), TeamRole.MANAGER));
+        queries.put("MembershipRepository.findByUserIdAndTeamId",
+                f -> membershipRepository.findByUserIdAndTeamId(f.userId(), f.teamId()));
+        queries.put("MembershipRepository.findRoleByUserIdAndTeamId",
+                f -> membershipRepository.findRoleByUserIdAndTeamId(f.userId(), f.teamId()));
+        queries.put("MembershipRepository.deleteByUserIdAndTeamId",
+                f -> membershipRepository.deleteByUserIdAndTeamId(f.userId(), f.teamId()));
+        queries.put("MembershipRepository.findAllByTeamId", f -> membershipRepository.findAllByTeamId(f.teamId()));
+        queries.put("MembershipRepository.findByTeamIdOrderByIdAsc",
+                f -> membershipRepository.findByTeamIdOrderByIdAsc(f.teamId(), Limit.of(50)));
+        queries.put("MembershipRepository.findByTeamIdAndIdGreaterThanOrderByIdAsc",
+                f -> membershipRepository.findByTeamIdAndIdGreaterThanOrderByIdAsc(f.teamId(), f.memberId(), Limit.of(50)));
+        queries.put("MembershipNaturalIdRepository.findByNaturalId",
+                f -> membershipRepository.findByNaturalId(f.userId(), f.teamId()));
+
+        queries.put("ScheduleChangeRepository.findByTeamIdAndEntityTypeAndEntityIdIn",
+                f -> scheduleChangeRepository.findByTeamIdAndEntityTypeAndEntityIdIn(
+                        f.teamId(), ScheduleEntityType.SHIFT, List.of(f.shiftId())));
+        queries.put("ScheduleChangeRepository.findChangesAfter",
+                f -> scheduleChangeRepository.findChangesAfter(f.teamId(), 0, new UUID(0, 0), 20, Limit.of(100)));
+        queries.put("ScheduleChangeRepository.findExpiredTombstones",
+                f -> scheduleChangeRepository.findExpiredTombstones(Instant.now().minus(Duration.ofDays(30))));
+        queries.put("ScheduleChangeRepository.deleteTombstonesUpTo",
+                f -> scheduleChangeRepository.deleteTombstonesUpTo(f.teamId(), 20));
+        queries.put("ScheduleChangeRepository.deleteByTeamId", f -> scheduleChangeRepository.deleteByTeamId(f.teamId()));
+
+        queries.put("EmailOutboxRepository.findDueForUpdate",
+                f -> emailOutboxRepository.findDueForUpdate(EmailStatus.PENDING, LocalDateTime.now(), Limit.of(20)));
+
+        queries.put("IdempotentRequestRepository.findByOwnerAndIdempotencyKey",
+                f -> idempotentRequestRepository.findByOwnerAndIdempotencyKey(f.email(), "key-1"));
+        queries.put("IdempotentRequestRepository.deleteCreatedBefore",
+                f -> idempotentRequestRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(24)));
+        return queries;
+    }
+
+    // The methods declared by the repository interfaces and their custom fragments; inherited CRUD methods look
+    // rows up by primary key, or read whole tables on purpose.
+    private static Set<String> repositoryQueryMethods() {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+        String reposPackage = UserRepository.class.getPackageName();
+
+        Set<String> methods = new TreeSet<>();
+        for (var candidate : scanner.findCandidateComponents(reposPackage)) {
+            Class<?> repository = ClassUtils.resolveClassName(candidate.getBeanClassName(), null);
+            List<Class<?>> declaring = new ArrayList<>(List.of(repository));
+            Stream.of(repository.getInterfaces())
+                    .filter(fragment -> fragment.getPackageName().equals(reposPackage))
+                    .forEach(declaring::add);
+            for (Class<?> type : declaring) {
+                Stream.of(type.getDeclaredMethods())
+                        .filter(method -> Modifier.isAbstract(method.getModifiers()) && !method.isSynthetic())
+                        .forEach(method -> methods.add(type.getSimpleName() + "." + method.getName()));
+            }
+        }
+        return methods;
+    }
+
+    // Runs the query in a transaction that is rolled back, flushing first so that the statements of modifying
+    // queries and cascades are recorded too. Caches are cleared so that natural id lookups reach the database.
+    private List<RecordedStatement> record(Fixture fixture, Consumer<Fixture> query) throws SQLException {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        RecordingDataSource recorder = dataSource.unwrap(RecordingDataSource.class);
+        recorder.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                query.accept(fixture);
+                entityManager.flush();
+                status.setRollbackOnly();
+            });
+        } finally {
+            recorder.stop();
+        }
+        return recorder.statements().stream()
+                .filter(statement -> statement.sql().strip().matches("(?is)^(select|update|delete)\\b.*"))
+                .toList();
+    }
+
+    // Explains the statement as a prepared statement with custom plans, i.e. planned for the recorded values.
+    private Set<String> sequentialScans(JdbcTemplate jdbcTemplate, RecordedStatement statement) {
+        String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement explain = connection.createStatement()) {
+                explain.execute("set plan_cache_mode = force_custom_plan");
+                explain.execute("prepare plan_check as " + numberPlaceholders(statement.sql()));
+                try (ResultSet result = explain.executeQuery(
+                        "explain (format json) execute plan_check" + arguments(statement.parameters()))) {
+                    result.next();
+                    return result.getString(1);
+                } finally {
+                    explain.execute("deallocate plan_check");
+                    explain.execute("reset plan_cache_mode");
+                }
+            }
+        });
+        Set<String> tables = new TreeSet<>();
+        try {
+            collectSequentialScans(objectMapper.readTree(plan).get(0).get("Plan"), tables);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable plan: " + plan, e);
+        }
+        return tables;
+    }
+
+    private static void collectSequentialScans(JsonNode plan, Set<String> tables) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            tables.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectSequentialScans(child, tables);
+        }
+    }
+
+    private static String numberPlaceholders(String sql) {
+        Matcher placeholders = Pattern.compile("\\?").matcher(sql);
+        StringBuilder numbered = new StringBuilder();
+        int index = 0;
+        while (placeholders.find()) {
+            placeholders.appendReplacement(numbered, "\\$" + ++index);
+        }
+        return placeholders.appendTail(numbered).toString();
+    }
+
+    // Untyped literals take the parameter types PostgreSQL inferred when preparing the statement.
+    private static String arguments(Map<Integer, Object> parameters) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        return parameters.values().stream()
+                .map(value -> value == null ? "null" : "'" + String.valueOf(value).replace("'", "''") + "'")
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    // Ten teams' worth of rows per 100 users: every team has its schedule, two templates, ten members and twenty
+    // days of shifts with two assignments each, plus a change log entry per shift.
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("""
+                insert into users (id, full_name, email, password, role, created_at, verified, token_version,
+                                   token, expiration_date)
+                select gen_random_uuid(), 'User ' || i, 'user' || i || '@email.com', 'password', 'USER',
+                       localtimestamp, i % 10 <> 0, 0,
+                       case when i % 10 = 0 then 'token-' || i end, localtimestamp + interval '1 day'
+                from generate_series(1, 100000) i""");
+        jdbcTemplate.execute("""
+                insert into teams (id, name)
+                select gen_random_uuid(), 'Team ' || i
+                from generate_series(1, 10000) i""");
+        jdbcTemplate.execute("""
+                insert into team_revisions (team_id, revision, change_log_floor, schedule_modified_at)
+                select id, 20, 0, now() from teams""");
+        jdbcTemplate.execute("insert into schedules (id, team_id) select gen_random_uuid(), id from teams");
+        jdbcTemplate.execute("update teams t set schedule_id = s.id from schedules s where s.team_id = t.id");
+        jdbcTemplate.execute("""
+                insert into members (id, user_id, team_id, full_name, role)
+                select gen_random_uuid(), u.id, t.id, u.full_name,
+                       case when u.n % 10 = 0 then 'MANAGER' else 'EMPLOYEE' end
+                from (select id, full_name, row_number() over (order by id) - 1 as n from users) u
+                join (select id, row_number() over (order by id) - 1 as n from teams) t on t.n = u.n / 10""");
+        jdbcTemplate.execute("""
+                insert into shift_templates (id, schedule_id, name, start_time, end_time, start_date, end_date,
+                                             recurrence_rule)
+                select gen_random_uuid(), s.id, 'Template ' || i, time '07:00' + i * interval '8 hours',
+                       time '15:00' + i * interval '8 hours', current_date, null, 'FREQ=DAILY'
+                from schedules s cross join generate_series(0, 1) i""");
+        jdbcTemplate.execute("""
+                insert into shifts (id, schedule_id, template_id, name, date, start_time, end_time, version)
+                select gen_random_uuid(), s.id, case when d % 2 = 0 then t.id end, 'Shift', current_date + d,
+                       time '07:00', time '15:00', 0
+                from schedules s
+                cross join lateral (select id from shift_templates
+                                    where schedule_id = s.id order by start_time limit 1) t
+                cross join generate_series(0, 19) d""");
+        jdbcTemplate.execute("""
+                create temporary table numbered_shifts as
+                select sh.id, s.team_id, row_number() over (partition by sh.schedule_id order by sh.date) - 1 as n
+                from shifts sh join schedules s on s.id = sh.schedule_id""");
+        jdbcTemplate.execute("""
+                insert into members_shifts (id, member_id, shift_id, start_time, end_time)
+                select gen_random_uuid(), m.id, sh.id, time '07:00', time '15:00'
+                from numbered_shifts sh
+                join (select id, team_id, row_number() over (partition by team_id order by id) - 1 as n
+                      from members) m
+                  on m.team_id = sh.team_id and m.n in (sh.n % 10, (sh.n + 5) % 10)""");
+        jdbcTemplate.execute("""
+                insert into schedule_change (id, team_id, entity_type, entity_id, revision, created_revision,
+                                             deleted, changed_at)
+                select gen_random_uuid(), team_id, 'SHIFT', id, n + 1, n + 1, n = 0,
+                       now() - (20 - n) * interval '3 days'
+                from numbered_shifts""");
+        jdbcTemplate.execute("drop table numbered_shifts");
+        jdbcTemplate.execute("""
+                insert into email_outbox (id, recipient, subject, body, status, attempts, next_attempt_at,
+                                          created_at, sent_at)
+                select gen_random_uuid(), 'user' || i || '@email.com', 'Subject', 'Body',
+                       case when i % 100 = 0 then 'PENDING' else 'SENT' end, 1,
+                       localtimestamp - i * interval '1 minute', localtimestamp - i * interval '1 minute',
+                       case when i % 100 <> 0 then localtimestamp end
+                from generate_series(1, 20000) i""");
+        jdbcTemplate.execute("""
+                insert into idempotent_requests (id, owner, idempotency_key, fingerprint, response_status,
+                                                 response_content_type, response_body, created_at)
+                select gen_random_uuid(), 'user' || (i % 1000) || '@email.com', 'key-' || i, md5(i::text), 201,
+                       'application/json', '{}', localtimestamp - i * interval '4 seconds'
+                from generate_series(1, 20000) i""");
+        jdbcTemplate.execute("analyze");
+    }
+
+    private static Fixture fixture(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("""
+                select m.team_id, m.user_id, m.id as member_id, u.email, ms.shift_id, ms.id as member_shift_id,
+                       (select id from shift_templates t where t.schedule_id = s.id order by start_time limit 1)
+                           as template_id,
+                       (select token from users where token is not null limit 1) as token
+                from members m
+                join users u on u.id = m.user_id
+                join schedules s on s.team_id = m.team_id
+                join members_shifts ms on ms.member_id = m.id
+                limit 1""", (row, rowNum) -> new Fixture(
+                row.getObject("team_id", UUID.class),
+                row.getObject("user_id", UUID.class),
+                row.getObject("member_id", UUID.class),
+                row.getString("email"),
+                row.getString("token"),
+                row.getObject("template_id", UUID.class),
+                row.getObject("shift_id", UUID.class),
+                row.getObject("member_shift_id", UUID.class)));
+    }
+
+    private record Fixture(UUID teamId, UUID userId, UUID memberId, String email, String token, UUID templateId,
+                           UUID shiftId, UUID memberShiftId) {
+    }
+
+    private record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)
+                            ? new RecordingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    // Records the prepared statements executed between start and stop, with the parameters bound to them.
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        private final List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean recording;
+
+        RecordingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        void start() {
+            statements.clear();
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        List<RecordedStatement> statements() {
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                    return recording((PreparedStatement) result, sql);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (recording && name.startsWith("execute") && (args == null || args.length == 0)) {
+                    statements.add(new RecordedStatement(sql, new TreeMap<>(parameters)));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
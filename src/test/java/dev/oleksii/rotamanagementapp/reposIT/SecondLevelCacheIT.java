@@ -0,0 +1,150 @@
+package dev.oleksii.rotamanagementapp.reposIT;
+
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
+import dev.oleksii.rotamanagementapp.services.MembershipService;
+import dev.oleksii.rotamanagementapp.services.ScheduleService;
+import dev.oleksii.rotamanagementapp.services.TeamFacade;
+import dev.oleksii.rotamanagementapp.services.TeamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs against the full context and commits every step, as the second-level cache is only filled and
+// invalidated by committed transactions.
+@SpringBootTest
+class SecondLevelCacheIT {
+
+    private static final String TEAM_REGION = "team";
+    private static final String MEMBER_REGION = "member";
+    private static final String SCHEDULE_NATURAL_ID_REGION = "schedule-natural-id";
+
+    @Autowired
+    TeamFacade teamFacade;
+
+    @Autowired
+    MembershipService membershipService;
+
+    @Autowired
+    ScheduleService scheduleService;
+
+    @Autowired
+    TeamService teamService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    User manager;
+    User employee;
+    UUID teamId;
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        manager = userRepository.save(user("manager"));
+        employee = userRepository.save(user("employee"));
+        teamId = teamFacade.createTeam(manager, "Cached team").getTeamId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testMembershipStaysConsistentAfterJoinAndLeave() {
+        assertThatThrownBy(() -> findMembership(employee.getId()))
+                .isInstanceOf(NotFoundException.class);
+
+        teamFacade.joinTeam(employee, teamId);
+
+        UUID memberId = findMembership(employee.getId()).getId();
+        // The second lookup resolves the natural id and loads the entity without the database.
+        Member member = findMembership(employee.getId());
+        assertThat(member.getId()).isEqualTo(memberId);
+        assertThat(member.getRole()).isEqualTo(TeamRole.EMPLOYEE);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics(MEMBER_REGION).getHitCount()).isPositive();
+        assertThat(teamFacade.getAllTeamMembers(teamId)).hasSize(2);
+
+        teamFacade.leaveTeam(employee.getId(), teamId);
+
+        // Neither the entity nor its natural-id resolution is served from the cache any more.
+        assertThatThrownBy(() -> transactionTemplate.execute(status -> membershipService.getMembershipById(memberId)))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> findMembership(employee.getId()))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(teamFacade.getAllTeamMembers(teamId)).hasSize(1);
+
+        // Joining again creates a new membership rather than resurrecting the cached one.
+        teamFacade.joinTeam(employee, teamId);
+
+        assertThat(findMembership(employee.getId()).getId()).isNotEqualTo(memberId);
+    }
+
+    @Test
+    void testScheduleLookupsAreServedFromCacheAndReported() {
+        UUID scheduleId = transactionTemplate.execute(status -> scheduleService.getScheduleByTeamId(teamId).getId());
+        UUID cachedId = transactionTemplate.execute(status -> scheduleService.getScheduleByTeamId(teamId).getId());
+
+        assertThat(cachedId).isEqualTo(scheduleId);
+        assertThat(statistics.getCacheRegionStatistics(SCHEDULE_NATURAL_ID_REGION).getHitCount()).isPositive();
+        assertThat(meterRegistry.get("hibernate.cache.region.hit.ratio")
+                .tag("region", SCHEDULE_NATURAL_ID_REGION)
+                .gauge()
+                .value()).isPositive();
+    }
+
+    @Test
+    void testTeamStaysCachedAcrossScheduleChanges() {
+        transactionTemplate.execute(status -> teamService.getTeamById(teamId));
+        long revision = transactionTemplate.execute(status -> teamService.markModified(teamId));
+        statistics.clear();
+
+        // Bumping the revision touches only the uncached counters, so the team is still served from the cache.
+        String name = transactionTemplate.execute(status -> teamService.getTeamById(teamId).getName());
+
+        assertThat(name).isEqualTo("Cached team");
+        assertThat(revision).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(TEAM_REGION).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(TEAM_REGION).getMissCount()).isZero();
+    }
+
+    private Member findMembership(UUID userId) {
+        return transactionTemplate.execute(status -> membershipService.getMembershipByUserIdAndTeamId(userId, teamId));
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .fullName(name)
+                .password("password")
+                .email(name + "-" + UUID.randomUUID() + "@email.com")
+                .role(Role.USER)
+                .createdAt(LocalDateTime.now())
+                .verified(true)
+                .build();
+    }
+}
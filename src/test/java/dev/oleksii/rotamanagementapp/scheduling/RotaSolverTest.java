@@ -0,0 +1,138 @@
+package dev.oleksii.rotamanagementapp.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RotaSolverTest {
+
+    // A Monday.
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void solveRespectsWeeklyHoursAndRest() {
+        var problem = new RotaProblem(MONDAY, 1, 24, 11);
+        List<LocalDateTime[]> shifts = new ArrayList<>();
+        for (int member = 0; member < 4; member++) {
+            problem.addMember();
+        }
+        // Three 8h slots a day for a week: 168 hours against 4 members at 24 hours, so 9 shifts must stay open.
+        for (int day = 0; day < 7; day++) {
+            for (int slot = 0; slot < 3; slot++) {
+                LocalDateTime start = MONDAY.plusDays(day).atTime(6, 0).plusHours(slot * 8L);
+                shifts.add(new LocalDateTime[]{start, start.plusHours(8)});
+                problem.addShift(start, start.plusHours(8));
+            }
+        }
+
+        RotaSolution solution = new RotaSolver(2).solve(problem, Duration.ofMillis(200));
+
+        assertEquals(9, solution.getUnassigned());
+        assertValid(solution, shifts, 4, Duration.ofHours(24), Duration.ofHours(11));
+        assertTrue(solution.getIterations() > 0);
+    }
+
+    @Test
+    void solveSpreadsHoursEvenly() {
+        var problem = new RotaProblem(MONDAY, 1, 40, 0);
+        for (int member = 0; member < 3; member++) {
+            problem.addMember();
+        }
+        for (int day = 0; day < 6; day++) {
+            problem.addShift(MONDAY.plusDays(day).atTime(9, 0), MONDAY.plusDays(day).atTime(17, 0));
+        }
+
+        RotaSolution solution = new RotaSolver(1).solve(problem, Duration.ofMillis(50));
+
+        int[] counts = new int[3];
+        for (int shift = 0; shift < 6; shift++) {
+            counts[solution.memberOf(shift)]++;
+        }
+        assertArrayEquals(new int[]{2, 2, 2}, counts);
+    }
+
+    @Test
+    void solveAvoidsExistingAssignments() {
+        var problem = new RotaProblem(MONDAY, 1, 40, 11);
+        int busy = problem.addMember();
+        int free = problem.addMember();
+        problem.addBusy(busy, MONDAY.atTime(8, 0), MONDAY.atTime(16, 0));
+        // Overlaps the existing assignment for one member, and is too close to it for the rest rule.
+        int overlapping = problem.addShift(MONDAY.atTime(12, 0), MONDAY.atTime(20, 0));
+        int evening = problem.addShift(MONDAY.atTime(20, 0), MONDAY.atTime(23, 0));
+
+        RotaSolution solution = new RotaSolver(1).solve(problem, Duration.ZERO);
+
+        assertEquals(free, solution.memberOf(overlapping));
+        assertEquals(-1, solution.memberOf(evening));
+        assertEquals(1, solution.getUnassigned());
+    }
+
+    @Test
+    void solveCountsExistingAssignmentsTowardsWeeklyHours() {
+        var problem = new RotaProblem(MONDAY, 2, 16, 0);
+        int member = problem.addMember();
+        problem.addBusy(member, MONDAY.atTime(8, 0), MONDAY.atTime(16, 0));
+        int sameWeek = problem.addShift(MONDAY.plusDays(1).atTime(8, 0), MONDAY.plusDays(1).atTime(16, 0));
+        int sameWeekAgain = problem.addShift(MONDAY.plusDays(2).atTime(8, 0), MONDAY.plusDays(2).atTime(16, 0));
+        int nextWeek = problem.addShift(MONDAY.plusDays(7).atTime(8, 0), MONDAY.plusDays(7).atTime(16, 0));
+
+        RotaSolution solution = new RotaSolver(1).solve(problem, Duration.ofMillis(20));
+
+        assertEquals(1, (solution.memberOf(sameWeek) == member ? 1 : 0) + (solution.memberOf(sameWeekAgain) == member ? 1 : 0));
+        assertEquals(member, solution.memberOf(nextWeek));
+    }
+
+    @Test
+    void solveWithoutMembersLeavesEveryShiftUnassigned() {
+        var problem = new RotaProblem(MONDAY, 1, 40, 11);
+        problem.addShift(MONDAY.atTime(9, 0), MONDAY.atTime(17, 0));
+
+        RotaSolution solution = new RotaSolver(4).solve(problem, Duration.ofMillis(10));
+
+        assertEquals(1, solution.getUnassigned());
+        assertEquals(-1, solution.memberOf(0));
+    }
+
+    @Test
+    void solveWithoutShiftsReturnsAnEmptySolution() {
+        var problem = new RotaProblem(MONDAY, 1, 40, 11);
+        problem.addMember();
+        problem.addMember();
+
+        for (int threads : new int[]{1, 4}) {
+            RotaSolution solution = new RotaSolver(threads).solve(problem, Duration.ofMillis(10));
+
+            assertEquals(0, solution.getUnassigned());
+            assertEquals(0, solution.getIterations());
+        }
+    }
+
+    private static void assertValid(RotaSolution solution, List<LocalDateTime[]> shifts, int members,
+                                    Duration maxPerWeek, Duration minRest) {
+        for (int member = 0; member < members; member++) {
+            List<LocalDateTime[]> own = new ArrayList<>();
+            for (int shift = 0; shift < shifts.size(); shift++) {
+                if (solution.memberOf(shift) == member) {
+                    own.add(shifts.get(shift));
+                }
+            }
+            own.sort((a, b) -> a[0].compareTo(b[0]));
+            Duration worked = Duration.ZERO;
+            for (int i = 0; i < own.size(); i++) {
+                worked = worked.plus(Duration.between(own.get(i)[0], own.get(i)[1]));
+                if (i > 0) {
+                    assertFalse(own.get(i - 1)[1].plus(minRest).isAfter(own.get(i)[0]),
+                            "member " + member + " does not get enough rest before " + own.get(i)[0]);
+                }
+            }
+            assertTrue(worked.compareTo(maxPerWeek) <= 0, "member " + member + " works " + worked);
+        }
+    }
+}
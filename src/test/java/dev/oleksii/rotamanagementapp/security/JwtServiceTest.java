@@ -0,0 +1,99 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import dev.oleksii.rotamanagementapp.configuration.JwtConfig;
+import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQta2V5LWZvci1yb3RhLW1hbmFnZW1lbnQtYXBwLXRlc3Rz";
+
+    private final UserDetails userDetails = User.builder().email("user@example.com").build();
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(config(60_000));
+    }
+
+    @Test
+    void parseTokenReturnsValidClaims() {
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.parseToken(token);
+
+        assertEquals("user@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+        assertFalse(jwtService.isTokenValid(claims, User.builder().email("other@example.com").build()));
+    }
+
+    @Test
+    void parseTokenReusesVerifiedClaims() {
+        String token = jwtService.generateToken(userDetails);
+
+        assertSame(jwtService.parseToken(token), jwtService.parseToken(token));
+    }
+
+    @Test
+    void parseTokenRejectsTamperedToken() {
+        String token = jwtService.generateToken(userDetails);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+    }
+
+    @Test
+    void parseTokenRejectsExpiredToken() {
+        String token = new JwtService(config(-1_000)).generateToken(userDetails);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(token));
+    }
+
+    @Test
+    void userTokenCarriesPrincipalClaims() {
+        var user = User.builder()
+                .id(UUID.randomUUID())
+                .email("user@example.com")
+                .role(Role.USER)
+                .tokenVersion(3)
+                .build();
+
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+        JwtPrincipal principal = jwtService.getPrincipal(claims);
+
+        assertEquals(user.getId(), principal.getId());
+        assertEquals("user@example.com", principal.getName());
+        assertEquals(Role.USER, principal.getRole());
+        assertEquals(3, principal.getTokenVersion());
+        assertTrue(jwtService.isTokenValid(claims, user));
+
+        // Changing credentials bumps the version and revokes the token.
+        user.setTokenVersion(4);
+        assertFalse(jwtService.isTokenValid(claims, user));
+    }
+
+    @Test
+    void getPrincipalReturnsNullWithoutUserClaims() {
+        Claims claims = jwtService.parseToken(jwtService.generateToken(userDetails));
+
+        assertNull(jwtService.getPrincipal(claims));
+    }
+
+    private static JwtConfig config(long expirationMilliseconds) {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(SECRET);
+        jwtConfig.setExpirationMilliseconds(expirationMilliseconds);
+        return jwtConfig;
+    }
+}
@@ -0,0 +1,90 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import dev.oleksii.rotamanagementapp.configuration.MembershipCacheConfig;
+import dev.oleksii.rotamanagementapp.domain.enums.TeamRole;
+import dev.oleksii.rotamanagementapp.domain.repos.MembershipRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MembershipRoleCacheTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID TEAM_ID = UUID.randomUUID();
+
+    @Mock
+    private MembershipRepository membershipRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MembershipRoleCache membershipRoleCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        membershipRoleCache = new MembershipRoleCache(membershipRepository, new MembershipCacheConfig(), meterRegistry);
+    }
+
+    @Test
+    void getRoleQueriesOnceAndRecordsHits() {
+        Mockito.when(membershipRepository.findRoleByUserIdAndTeamId(USER_ID, TEAM_ID))
+                .thenReturn(Optional.of(TeamRole.MANAGER));
+
+        assertEquals(Optional.of(TeamRole.MANAGER), membershipRoleCache.getRole(USER_ID, TEAM_ID));
+        assertEquals(Optional.of(TeamRole.MANAGER), membershipRoleCache.getRole(USER_ID, TEAM_ID));
+
+        verify(membershipRepository, times(1)).findRoleByUserIdAndTeamId(USER_ID, TEAM_ID);
+        assertEquals(1, cacheGets("hit"));
+        assertEquals(1, cacheGets("miss"));
+    }
+
+    @Test
+    void evictAfterCommitReloadsMembership() {
+        Mockito.when(membershipRepository.findRoleByUserIdAndTeamId(USER_ID, TEAM_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(TeamRole.EMPLOYEE));
+
+        // Non-membership is cached until the user joins.
+        assertTrue(membershipRoleCache.getRole(USER_ID, TEAM_ID).isEmpty());
+        assertTrue(membershipRoleCache.getRole(USER_ID, TEAM_ID).isEmpty());
+
+        membershipRoleCache.evictAfterCommit(USER_ID, TEAM_ID);
+
+        assertEquals(Optional.of(TeamRole.EMPLOYEE), membershipRoleCache.getRole(USER_ID, TEAM_ID));
+    }
+
+    @Test
+    void evictTeamAfterCommitDropsOnlyThatTeam() {
+        UUID otherTeamId = UUID.randomUUID();
+        Mockito.when(membershipRepository.findRoleByUserIdAndTeamId(Mockito.eq(USER_ID), Mockito.any()))
+                .thenReturn(Optional.of(TeamRole.EMPLOYEE));
+        membershipRoleCache.getRole(USER_ID, TEAM_ID);
+        membershipRoleCache.getRole(USER_ID, otherTeamId);
+
+        membershipRoleCache.evictTeamAfterCommit(TEAM_ID);
+        membershipRoleCache.getRole(USER_ID, TEAM_ID);
+        membershipRoleCache.getRole(USER_ID, otherTeamId);
+
+        verify(membershipRepository, times(2)).findRoleByUserIdAndTeamId(USER_ID, TEAM_ID);
+        verify(membershipRepository, times(1)).findRoleByUserIdAndTeamId(USER_ID, otherTeamId);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", MembershipRoleCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,76 @@
+package dev.oleksii.rotamanagementapp.security;
+
+import dev.oleksii.rotamanagementapp.configuration.JwtConfig;
+import dev.oleksii.rotamanagementapp.domain.repos.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionCache tokenVersionCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionCache = new TokenVersionCache(userRepository, new JwtConfig());
+    }
+
+    @Test
+    void isCurrentLoadsVersionOnce() {
+        Mockito.when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.of(2L));
+
+        assertTrue(tokenVersionCache.isCurrent(USER_ID, 2));
+        assertFalse(tokenVersionCache.isCurrent(USER_ID, 1));
+
+        verify(userRepository, times(1)).findTokenVersionById(USER_ID);
+    }
+
+    @Test
+    void isCurrentRejectsMissingUser() {
+        Mockito.when(userRepository.findTokenVersionById(USER_ID)).thenReturn(Optional.empty());
+
+        assertFalse(tokenVersionCache.isCurrent(USER_ID, 0));
+    }
+
+    @Test
+    void isCurrentRethrowsLoadFailure() {
+        var failure = new DataAccessResourceFailureException("Database unavailable");
+        Mockito.when(userRepository.findTokenVersionById(USER_ID)).thenThrow(failure);
+
+        // The load runs on another thread, but the caller sees the repository's exception as is.
+        assertSame(failure, assertThrows(DataAccessResourceFailureException.class,
+                () -> tokenVersionCache.isCurrent(USER_ID, 0)));
+    }
+
+    @Test
+    void evictReloadsUpdatedVersion() {
+        Mockito.when(userRepository.findTokenVersionById(USER_ID))
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(1L));
+
+        assertTrue(tokenVersionCache.isCurrent(USER_ID, 0));
+
+        // Outside a transaction the entry is evicted immediately.
+        tokenVersionCache.evictAfterCommit(USER_ID);
+
+        assertFalse(tokenVersionCache.isCurrent(USER_ID, 0));
+        assertTrue(tokenVersionCache.isCurrent(USER_ID, 1));
+    }
+}
@@ -0,0 +1,138 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.AutoScheduleConfig;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+import dev.oleksii.rotamanagementapp.mappers.ShiftMapper;
+import dev.oleksii.rotamanagementapp.scheduling.RotaSolver;
+import dev.oleksii.rotamanagementapp.services.MemberShiftService;
+import dev.oleksii.rotamanagementapp.services.MembershipService;
+import dev.oleksii.rotamanagementapp.services.ShiftService;
+import dev.oleksii.rotamanagementapp.services.ShiftTemplateService;
+import dev.oleksii.rotamanagementapp.services.TeamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutoScheduleServiceImplTest {
+
+    private static final UUID TEAM_ID = UUID.randomUUID();
+    // A Wednesday, so the problem starts two days before the window.
+    private static final LocalDate FROM = LocalDate.of(2030, 1, 9);
+
+    @Mock
+    private ShiftService shiftService;
+    @Mock
+    private ShiftTemplateService shiftTemplateService;
+    @Mock
+    private MembershipService membershipService;
+    @Mock
+    private MemberShiftService memberShiftService;
+    @Mock
+    private TeamService teamService;
+    @Mock
+    private ShiftMapper shiftMapper;
+
+    private AutoScheduleConfig config;
+    private AutoScheduleServiceImpl autoScheduleService;
+
+    @BeforeEach
+    void setUp() {
+        config = new AutoScheduleConfig();
+        config.setThreads(1);
+        autoScheduleService = new AutoScheduleServiceImpl(shiftService, shiftTemplateService, membershipService,
+                memberShiftService, teamService, shiftMapper, new RotaSolver(1), config);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void saveAssignmentsSavesAssignmentsAndMaterialisedOccurrences() {
+        Member member = Member.builder().id(UUID.randomUUID()).build();
+        Shift stored = shift(UUID.randomUUID(), FROM, 18, 23);
+        Shift occurrence = shift(null, FROM.plusDays(1), 18, 23);
+        // Overlaps the existing night shift that ends at 06:00 on the first day of the window.
+        Shift early = shift(UUID.randomUUID(), FROM, 0, 4);
+        AssignmentInterval night = interval(member.getId(), FROM.minusDays(1), 22, 6);
+        ShiftDto earlyDto = ShiftDto.builder().shiftId(early.getId()).build();
+
+        when(membershipService.getAllMembershipsByTeamId(TEAM_ID)).thenReturn(Set.of(member));
+        when(memberShiftService.getAssignmentIntervalsByTeamId(TEAM_ID, FROM.minusDays(3), FROM.plusDays(5)))
+                .thenReturn(List.of(night));
+        when(shiftService.getUnassignedShiftsInWindow(TEAM_ID, FROM, FROM.plusDays(1))).thenReturn(List.of(stored, early));
+        when(shiftTemplateService.getOccurrencesInWindow(TEAM_ID, FROM, FROM.plusDays(1), null, Integer.MAX_VALUE))
+                .thenReturn(List.of(occurrence));
+        when(teamService.getRevision(TEAM_ID)).thenReturn(4L);
+        when(shiftMapper.toShiftWithoutAssignmentsDTO(early)).thenReturn(earlyDto);
+
+        var plan = autoScheduleService.plan(TEAM_ID, request(FROM, FROM.plusDays(1)));
+        var result = autoScheduleService.saveAssignments(plan, autoScheduleService.solve(plan));
+
+        assertEquals(4L, plan.revision());
+
+        assertEquals(2, result.response().getAssigned());
+        assertEquals(List.of(earlyDto), result.response().getUnassignedShifts());
+        assertEquals(List.of(), earlyDto.getMemberShifts());
+        assertEquals(List.of(occurrence), result.materialisedShifts());
+        verify(shiftService).saveAllShifts(List.of(occurrence));
+        ArgumentCaptor<List<MemberShift>> captor = ArgumentCaptor.forClass(List.class);
+        verify(memberShiftService).saveAllMemberShifts(captor.capture());
+        assertEquals(List.of(stored, occurrence), captor.getValue().stream().map(MemberShift::getShift).toList());
+        assertTrue(captor.getValue().stream().allMatch(memberShift -> memberShift.getMember() == member));
+    }
+
+    @Test
+    void planRejectsTooLongWindow() {
+        var request = request(FROM, FROM.plusDays(config.getMaxWindowDays()));
+
+        assertThrows(IllegalArgumentException.class, () -> autoScheduleService.plan(TEAM_ID, request));
+        verifyNoInteractions(shiftService, memberShiftService);
+    }
+
+    @Test
+    void planRejectsReversedWindow() {
+        var request = request(FROM, FROM.minusDays(1));
+
+        assertThrows(IllegalArgumentException.class, () -> autoScheduleService.plan(TEAM_ID, request));
+        verify(memberShiftService, never()).saveAllMemberShifts(any());
+    }
+
+    private static AutoScheduleRequest request(LocalDate from, LocalDate to) {
+        return AutoScheduleRequest.builder().from(from).to(to).timeBudgetMillis(20L).build();
+    }
+
+    private static Shift shift(UUID id, LocalDate date, int startHour, int endHour) {
+        return Shift.builder()
+                .id(id)
+                .date(date)
+                .startTime(LocalTime.of(startHour, 0))
+                .endTime(LocalTime.of(endHour, 0))
+                .build();
+    }
+
+    private static AssignmentInterval interval(UUID memberId, LocalDate date, int startHour, int endHour) {
+        AssignmentInterval interval = mock(AssignmentInterval.class);
+        lenient().when(interval.getMemberId()).thenReturn(memberId);
+        lenient().when(interval.getDate()).thenReturn(date);
+        lenient().when(interval.getStartTime()).thenReturn(LocalTime.of(startHour, 0));
+        lenient().when(interval.getEndTime()).thenReturn(LocalTime.of(endHour, 0));
+        return interval;
+    }
+}
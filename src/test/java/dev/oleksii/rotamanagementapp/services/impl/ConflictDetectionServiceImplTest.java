@@ -0,0 +1,82 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConflictDetectionServiceImplTest {
+
+    private static final UUID TEAM_ID = UUID.randomUUID();
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private MemberShiftRepository memberShiftRepository;
+
+    @InjectMocks
+    private ConflictDetectionServiceImpl conflictDetectionService;
+
+    @Test
+    void findOverlappingAssignmentsIncludesOvernightShiftFromPreviousDay() {
+        UUID memberId = UUID.randomUUID();
+        var night = interval(memberId, DATE.minusDays(1), 22, 6);
+        var evening = interval(memberId, DATE, 18, 22);
+        when(memberShiftRepository.findIntervalsByMemberId(memberId, DATE.minusDays(1), DATE.plusDays(1)))
+                .thenReturn(List.of(evening, night));
+
+        assertEquals(List.of(night),
+                conflictDetectionService.findOverlappingAssignments(memberId, DATE, LocalTime.of(5, 0), LocalTime.of(9, 0)));
+        assertTrue(conflictDetectionService.findOverlappingAssignments(memberId, DATE, LocalTime.of(6, 0), LocalTime.of(18, 0))
+                .isEmpty());
+    }
+
+    @Test
+    void findConflictsByTeamIdReportsEveryOverlappingPairPerMember() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        var long1 = interval(alice, DATE, 8, 20);
+        var short1 = interval(alice, DATE, 9, 10);
+        var short2 = interval(alice, DATE, 12, 13);
+        var after = interval(alice, DATE, 20, 22);
+        // Bob's shifts only touch each other; the same times as Alice's never conflict across members.
+        var bob1 = interval(bob, DATE, 8, 12);
+        var bob2 = interval(bob, DATE, 12, 16);
+        when(memberShiftRepository.findIntervalsByTeamId(TEAM_ID))
+                .thenReturn(List.of(long1, short1, short2, after, bob1, bob2));
+
+        var report = conflictDetectionService.findConflictsByTeamId(TEAM_ID);
+
+        assertEquals(6, report.getAssignments());
+        assertEquals(2, report.getConflicts().size());
+        var first = report.getConflicts().get(0);
+        assertEquals(alice, first.getMemberId());
+        assertEquals(long1.getId(), first.getMemberShiftId());
+        assertEquals(short1.getId(), first.getConflictingMemberShiftId());
+        assertEquals(DATE.atTime(9, 0), first.getOverlapStart());
+        assertEquals(DATE.atTime(10, 0), first.getOverlapEnd());
+        assertEquals(short2.getId(), report.getConflicts().get(1).getConflictingMemberShiftId());
+    }
+
+    private static AssignmentInterval interval(UUID memberId, LocalDate date, int startHour, int endHour) {
+        AssignmentInterval interval = mock(AssignmentInterval.class);
+        lenient().when(interval.getId()).thenReturn(UUID.randomUUID());
+        lenient().when(interval.getMemberId()).thenReturn(memberId);
+        lenient().when(interval.getShiftId()).thenReturn(UUID.randomUUID());
+        lenient().when(interval.getDate()).thenReturn(date);
+        lenient().when(interval.getStartTime()).thenReturn(LocalTime.of(startHour, 0));
+        lenient().when(interval.getEndTime()).thenReturn(LocalTime.of(endHour, 0));
+        return interval;
+    }
+}
@@ -0,0 +1,119 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.EmailOutboxConfig;
+import dev.oleksii.rotamanagementapp.domain.entities.EmailOutboxMessage;
+import dev.oleksii.rotamanagementapp.domain.enums.EmailStatus;
+import dev.oleksii.rotamanagementapp.domain.repos.EmailOutboxRepository;
+import dev.oleksii.rotamanagementapp.support.FakeJavaMailSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({EmailOutboxDispatcher.class, EmailOutboxDispatcherTest.Config.class})
+@ImportAutoConfiguration(TransactionAutoConfiguration.class)
+@EnableConfigurationProperties(EmailOutboxConfig.class)
+class EmailOutboxDispatcherTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        FakeJavaMailSender fakeJavaMailSender() {
+            return new FakeJavaMailSender();
+        }
+    }
+
+    @Autowired
+    EmailOutboxDispatcher dispatcher;
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+    @Autowired
+    FakeJavaMailSender mailSender;
+    @Autowired
+    EmailOutboxConfig emailOutboxConfig;
+
+    @BeforeEach
+    void setUp() {
+        mailSender.reset();
+    }
+
+    @Test
+    void dispatchPendingSendsBatchOverOneConnection() {
+        for (int i = 0; i < 3; i++) {
+            queue("user" + i + "@example.com", LocalDateTime.now().minusSeconds(1));
+        }
+        // Not due yet.
+        var later = queue("later@example.com", LocalDateTime.now().plusHours(1));
+
+        dispatcher.dispatchPending();
+
+        assertThat(mailSender.getSentMessages()).hasSize(3);
+        assertThat(mailSender.getConnections()).isEqualTo(1);
+        assertThat(emailOutboxRepository.findAll())
+                .filteredOn(message -> !message.getId().equals(later.getId()))
+                .allSatisfy(message -> {
+                    assertThat(message.getStatus()).isEqualTo(EmailStatus.SENT);
+                    assertThat(message.getAttempts()).isEqualTo(1);
+                    assertThat(message.getSentAt()).isNotNull();
+                });
+        assertThat(emailOutboxRepository.findById(later.getId()).orElseThrow().getStatus())
+                .isEqualTo(EmailStatus.PENDING);
+    }
+
+    @Test
+    void failedMessageIsRetriedWithBackoffThenGivenUp() {
+        mailSender.failFor("bad@example.com");
+        var bad = queue("bad@example.com", LocalDateTime.now().minusSeconds(1));
+        queue("good@example.com", LocalDateTime.now().minusSeconds(1));
+
+        dispatcher.dispatchBatch();
+
+        var retried = emailOutboxRepository.findById(bad.getId()).orElseThrow();
+        assertThat(mailSender.getSentMessages()).hasSize(1);
+        assertThat(retried.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).contains("Recipient rejected");
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(20));
+
+        // Make the message due again until the attempts are exhausted.
+        for (int attempt = 2; attempt <= emailOutboxConfig.getMaxAttempts(); attempt++) {
+            retried.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            dispatcher.dispatchBatch();
+        }
+
+        var failed = emailOutboxRepository.findById(bad.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(emailOutboxConfig.getMaxAttempts());
+    }
+
+    @Test
+    void backoffDoublesUpToMaximum() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(emailOutboxConfig.getInitialBackoff());
+        assertThat(dispatcher.backoff(3)).isEqualTo(emailOutboxConfig.getInitialBackoff().multipliedBy(4));
+        assertThat(dispatcher.backoff(40)).isEqualTo(emailOutboxConfig.getMaxBackoff());
+        assertThat(dispatcher.backoff(40)).isLessThanOrEqualTo(Duration.ofHours(1));
+    }
+
+    private EmailOutboxMessage queue(String recipient, LocalDateTime nextAttemptAt) {
+        return emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject("Verify your email")
+                .body("<p>Verify</p>")
+                .status(EmailStatus.PENDING)
+                .nextAttemptAt(nextAttemptAt)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
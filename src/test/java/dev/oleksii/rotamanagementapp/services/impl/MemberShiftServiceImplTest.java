@@ -10,7 +10,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class MemberShiftServiceImplTest {
@@ -32,7 +34,7 @@ class MemberShiftServiceImplTest {
     void deleteMemberShiftByShiftIdAndId() {
         UUID shiftId = UUID.randomUUID();
         UUID teamId = UUID.randomUUID();
-        service.deleteMemberShiftByShiftIdAndId(shiftId, teamId);
-        verify(repository).deleteByShiftIdAndId(shiftId, teamId);
+        when(repository.deleteByShiftIdAndId(shiftId, teamId)).thenReturn(1L);
+        assertEquals(1L, service.deleteMemberShiftByShiftIdAndId(shiftId, teamId));
     }
 }
\ No newline at end of file
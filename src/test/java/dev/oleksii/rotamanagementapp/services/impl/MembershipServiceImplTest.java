@@ -61,12 +61,12 @@ class MembershipServiceImplTest {
         UUID teamId = UUID.randomUUID();
         Member member = new Member();
 
-        when(membershipRepository.findByUserIdAndTeamId(userId, teamId))
+        when(membershipRepository.findByNaturalId(userId, teamId))
                 .thenReturn(Optional.of(member));
 
         var result = membershipService.getMembershipByUserIdAndTeamId(userId, teamId);
 
-        verify(membershipRepository).findByUserIdAndTeamId(userId, teamId);
+        verify(membershipRepository).findByNaturalId(userId, teamId);
         assertNotNull(result);
         assertEquals(member, result);
         assertEquals(result.getId(), member.getId());
@@ -77,11 +77,11 @@ class MembershipServiceImplTest {
         UUID userId = UUID.randomUUID();
         UUID teamId = UUID.randomUUID();
 
-        when(membershipRepository.findByUserIdAndTeamId(userId, teamId))
+        when(membershipRepository.findByNaturalId(userId, teamId))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> membershipService.getMembershipByUserIdAndTeamId(userId, teamId));
-        verify(membershipRepository).findByUserIdAndTeamId(userId, teamId);
+        verify(membershipRepository).findByNaturalId(userId, teamId);
     }
 
     @Test
@@ -0,0 +1,177 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.configuration.ScheduleEventsConfig;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeEvent;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleChangeType;
+import dev.oleksii.rotamanagementapp.services.TeamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleEventServiceImplTest {
+
+    private static final UUID TEAM_ID = UUID.randomUUID();
+
+    @Mock
+    private TeamService teamService;
+
+    private ScheduleEventsConfig config;
+    private ScheduleEventServiceImpl scheduleEventService;
+
+    @BeforeEach
+    void setUp() {
+        config = new ScheduleEventsConfig();
+        config.setReplayBufferSize(3);
+        scheduleEventService = new ScheduleEventServiceImpl(teamService, config);
+    }
+
+    @Test
+    void publishAfterCommitSendsEventsToSubscribers() throws InterruptedException {
+        when(teamService.getRevision(TEAM_ID)).thenReturn(4L);
+        var emitter = new RecordingEmitter();
+        scheduleEventService.register(TEAM_ID, null, emitter);
+
+        // Without a transaction the event is published straight away.
+        scheduleEventService.publishAfterCommit(event(5, ScheduleChangeType.SHIFT_CREATED));
+
+        String sent = emitter.next();
+        assertTrue(sent.startsWith("id:5\nevent:SHIFT_CREATED\ndata:"), sent);
+        assertEquals(1, scheduleEventService.subscriberCount(TEAM_ID));
+    }
+
+    @Test
+    void registerReplaysEventsAfterLastEventId() throws InterruptedException {
+        for (long revision = 1; revision <= 3; revision++) {
+            scheduleEventService.publish(event(revision, ScheduleChangeType.MEMBER_ASSIGNED));
+        }
+        when(teamService.getRevision(TEAM_ID)).thenReturn(3L);
+        var emitter = new RecordingEmitter();
+
+        scheduleEventService.register(TEAM_ID, 1L, emitter);
+        scheduleEventService.publish(event(4, ScheduleChangeType.MEMBER_UNASSIGNED));
+
+        assertTrue(emitter.next().startsWith("id:2\n"));
+        assertTrue(emitter.next().startsWith("id:3\n"));
+        assertTrue(emitter.next().startsWith("id:4\nevent:MEMBER_UNASSIGNED\n"));
+        assertNull(emitter.sent.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void registerSendsResetWhenMissedEventsAreEvicted() throws InterruptedException {
+        // The buffer keeps three events, so revision 2 is gone.
+        for (long revision = 1; revision <= 5; revision++) {
+            scheduleEventService.publish(event(revision, ScheduleChangeType.SHIFT_DELETED));
+        }
+        when(teamService.getRevision(TEAM_ID)).thenReturn(5L);
+        var emitter = new RecordingEmitter();
+
+        scheduleEventService.register(TEAM_ID, 1L, emitter);
+
+        assertEquals("id:5\nevent:" + ScheduleEventServiceImpl.RESET_EVENT + "\ndata:5\n\n", emitter.next());
+        assertNull(emitter.sent.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void registerSendsResetAfterRestart() throws InterruptedException {
+        when(teamService.getRevision(TEAM_ID)).thenReturn(9L);
+        var emitter = new RecordingEmitter();
+
+        scheduleEventService.register(TEAM_ID, 4L, emitter);
+
+        assertTrue(emitter.next().startsWith("id:9\nevent:reset\n"));
+    }
+
+    @Test
+    void slowSubscriberIsDisconnected() throws InterruptedException {
+        config.setSubscriberQueueCapacity(1);
+        when(teamService.getRevision(TEAM_ID)).thenReturn(0L);
+        var emitter = new RecordingEmitter();
+        emitter.blocked = new CountDownLatch(1);
+        scheduleEventService.register(TEAM_ID, null, emitter);
+
+        // The first event is taken off the queue and stuck in the write, the second fills the queue.
+        scheduleEventService.publish(event(1, ScheduleChangeType.SHIFT_CREATED));
+        assertTrue(emitter.writing.await(1, TimeUnit.SECONDS));
+        scheduleEventService.publish(event(2, ScheduleChangeType.SHIFT_CREATED));
+        scheduleEventService.publish(event(3, ScheduleChangeType.SHIFT_CREATED));
+
+        assertTrue(emitter.completed);
+        emitter.blocked.countDown();
+    }
+
+    @Test
+    void heartbeatDropsExpiredEvents() throws InterruptedException {
+        var old = event(1, ScheduleChangeType.SHIFT_CREATED);
+        old.setOccurredAt(Instant.now().minus(config.getReplayWindow()).minusSeconds(1));
+        scheduleEventService.publish(old);
+        when(teamService.getRevision(TEAM_ID)).thenReturn(1L);
+
+        scheduleEventService.heartbeat();
+        var emitter = new RecordingEmitter();
+        scheduleEventService.register(TEAM_ID, 0L, emitter);
+
+        // The expired event can no longer be replayed.
+        assertTrue(emitter.next().contains("event:reset"));
+    }
+
+    private static ScheduleChangeEvent event(long revision, ScheduleChangeType type) {
+        return ScheduleChangeEvent.builder()
+                .teamId(TEAM_ID)
+                .revision(revision)
+                .type(type)
+                .shiftId(UUID.randomUUID())
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    // Records what would be written to the response, instead of writing it.
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile CountDownLatch blocked;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String next() throws InterruptedException {
+            String next = sent.poll(1, TimeUnit.SECONDS);
+            assertNotNull(next, "nothing was sent");
+            return next;
+        }
+    }
+}
@@ -0,0 +1,496 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.AssignShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.AutoScheduleResponse;
+import dev.oleksii.rotamanagementapp.domain.dtos.CalendarFeed;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.CreateShiftTemplateRequest;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeEvent;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
+import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
+import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleChangeType;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.AssignmentInterval;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.CalendarEntry;
+import dev.oleksii.rotamanagementapp.exceptions.ConflictException;
+import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
+import dev.oleksii.rotamanagementapp.mappers.MemberShiftMapper;
+import dev.oleksii.rotamanagementapp.mappers.ShiftMapper;
+import dev.oleksii.rotamanagementapp.mappers.ShiftTemplateMapper;
+import dev.oleksii.rotamanagementapp.scheduling.RotaProblem;
+import dev.oleksii.rotamanagementapp.scheduling.RotaSolver;
+import dev.oleksii.rotamanagementapp.services.AutoScheduleService;
+import dev.oleksii.rotamanagementapp.services.ConflictDetectionService;
+import dev.oleksii.rotamanagementapp.services.MemberShiftService;
+import dev.oleksii.rotamanagementapp.services.MembershipService;
+import dev.oleksii.rotamanagementapp.services.ScheduleChangeLogService;
+import dev.oleksii.rotamanagementapp.services.ScheduleEventService;
+import dev.oleksii.rotamanagementapp.services.ScheduleService;
+import dev.oleksii.rotamanagementapp.services.ShiftService;
+import dev.oleksii.rotamanagementapp.services.ShiftTemplateService;
+import dev.oleksii.rotamanagementapp.services.TeamService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleFacadeImplTest {
+
+    private static final UUID TEAM_ID = UUID.randomUUID();
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private ShiftService shiftService;
+    @Mock
+    private MembershipService membershipService;
+    @Mock
+    private ScheduleService scheduleService;
+    @Mock
+    private MemberShiftService memberShiftService;
+    @Mock
+    private MemberShiftMapper memberShiftMapper;
+    @Mock
+    private ShiftMapper shiftMapper;
+    @Mock
+    private ShiftTemplateService shiftTemplateService;
+    @Mock
+    private ShiftTemplateMapper shiftTemplateMapper;
+    @Mock
+    private ConflictDetectionService conflictDetectionService;
+    @Mock
+    private AutoScheduleService autoScheduleService;
+    @Mock
+    private TeamService teamService;
+    @Mock
+    private ScheduleEventService scheduleEventService;
+    @Mock
+    private ScheduleChangeLogService scheduleChangeLogService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduleFacadeImpl scheduleFacade;
+
+    @BeforeEach
+    void setUp() {
+        scheduleFacade = new ScheduleFacadeImpl(shiftService, membershipService, scheduleService,
+                memberShiftService, memberShiftMapper, shiftMapper, VALIDATOR, shiftTemplateService, shiftTemplateMapper,
+                conflictDetectionService, autoScheduleService, teamService, scheduleEventService, scheduleChangeLogService,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void createShiftDoesNotTouchScheduleShifts() {
+        Schedule schedule = new Schedule();
+        when(scheduleService.getScheduleByTeamId(TEAM_ID)).thenReturn(schedule);
+        when(shiftMapper.toShiftDTO(any(Shift.class))).thenReturn(new ShiftDto());
+        when(teamService.markModified(TEAM_ID)).thenReturn(7L);
+        generateIdsOnSave();
+
+        scheduleFacade.createShift(TEAM_ID, validRequest("Morning"));
+
+        var captor = ArgumentCaptor.forClass(Shift.class);
+        verify(shiftService).saveShift(captor.capture());
+        assertSame(schedule, captor.getValue().getSchedule());
+        // Only the owning side is set, so the lazy shifts collection is never initialized.
+        assertTrue(schedule.getShifts().isEmpty());
+        var event = publishedEvent();
+        assertEquals(ScheduleChangeType.SHIFT_CREATED, event.getType());
+        assertEquals(7L, event.getRevision());
+        assertEquals(captor.getValue().getDate(), event.getDate());
+        verify(scheduleChangeLogService).recordInserted(TEAM_ID, 7L, ScheduleEntityType.SHIFT, List.of(captor.getValue().getId()));
+    }
+
+    @Test
+    void deleteShiftRecordsTombstonesForTheShiftAndItsAssignments() {
+        Shift shift = Shift.builder().id(UUID.randomUUID()).date(LocalDate.now()).build();
+        List<UUID> memberShiftIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(shiftService.getShiftByTeamIdAndShiftId(TEAM_ID, shift.getId())).thenReturn(shift);
+        when(memberShiftService.getMemberShiftIdsByShiftId(shift.getId())).thenReturn(memberShiftIds);
+        when(teamService.markModified(TEAM_ID)).thenReturn(4L);
+
+        scheduleFacade.deleteShift(TEAM_ID, shift.getId());
+
+        verify(shiftService).deleteShiftById(shift.getId());
+        verify(scheduleChangeLogService).recordDeleted(TEAM_ID, 4L, ScheduleEntityType.SHIFT, List.of(shift.getId()));
+        verify(scheduleChangeLogService).recordDeleted(TEAM_ID, 4L, ScheduleEntityType.ASSIGNMENT, memberShiftIds);
+    }
+
+    @Test
+    void assignShiftPublishesTheAssignment() {
+        Shift shift = Shift.builder().id(UUID.randomUUID()).date(LocalDate.now()).memberShifts(new HashSet<>()).build();
+        Member member = Member.builder().id(UUID.randomUUID()).build();
+        var request = AssignShiftRequest.builder()
+                .memberId(member.getId())
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .build();
+        when(shiftService.getShiftForAssignment(TEAM_ID, shift.getId())).thenReturn(shift);
+        when(membershipService.getMembershipById(member.getId())).thenReturn(member);
+        when(teamService.markModified(TEAM_ID)).thenReturn(3L);
+        generateIdsOnSave();
+
+        scheduleFacade.assignShift(TEAM_ID, shift.getId(), request);
+
+        var event = publishedEvent();
+        assertEquals(ScheduleChangeType.MEMBER_ASSIGNED, event.getType());
+        assertEquals(TEAM_ID, event.getTeamId());
+        assertEquals(3L, event.getRevision());
+        assertEquals(shift.getId(), event.getShiftId());
+        assertEquals(member.getId(), event.getMemberId());
+    }
+
+    @Test
+    void unassignShiftPublishesTheRemovedAssignment() {
+        Shift shift = Shift.builder().id(UUID.randomUUID()).date(LocalDate.now()).build();
+        UUID memberShiftId = UUID.randomUUID();
+        when(shiftService.getShiftForAssignment(TEAM_ID, shift.getId())).thenReturn(shift);
+        when(memberShiftService.deleteMemberShiftByShiftIdAndId(shift.getId(), memberShiftId)).thenReturn(1L);
+
+        scheduleFacade.unassignShift(TEAM_ID, shift.getId(), memberShiftId);
+
+        var event = publishedEvent();
+        assertEquals(ScheduleChangeType.MEMBER_UNASSIGNED, event.getType());
+        assertEquals(memberShiftId, event.getMemberShiftId());
+    }
+
+    @Test
+    void unassignShiftRejectsAnUnknownAssignment() {
+        Shift shift = Shift.builder().id(UUID.randomUUID()).date(LocalDate.now()).build();
+        UUID memberShiftId = UUID.randomUUID();
+        when(shiftService.getShiftForAssignment(TEAM_ID, shift.getId())).thenReturn(shift);
+
+        assertThrows(NotFoundException.class, () -> scheduleFacade.unassignShift(TEAM_ID, shift.getId(), memberShiftId));
+
+        verifyNoInteractions(teamService, scheduleEventService, scheduleChangeLogService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createShiftsCreatesValidItemsAndReportsRejectedOnes() {
+        Schedule schedule = new Schedule();
+        when(scheduleService.getScheduleByTeamId(TEAM_ID)).thenReturn(schedule);
+        when(shiftMapper.toShiftDTO(any(Shift.class))).thenReturn(new ShiftDto());
+
+        var invalid = CreateShiftRequest.builder()
+                .date(LocalDate.now().minusDays(1))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .build();
+        var response = scheduleFacade.createShifts(TEAM_ID,
+                Arrays.asList(validRequest("Morning"), invalid, null, validRequest("Evening")));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getRejected());
+        assertEquals(4, response.getResults().size());
+
+        var created = response.getResults().get(0);
+        assertEquals(0, created.getIndex());
+        assertNotNull(created.getShift());
+        assertTrue(created.getErrors().isEmpty());
+
+        var rejected = response.getResults().get(1);
+        assertNull(rejected.getShift());
+        assertEquals(List.of("Shift date must be today or in the future.", "Shift name is required."),
+                rejected.getErrors());
+        assertEquals(List.of("Shift is required."), response.getResults().get(2).getErrors());
+
+        // All valid shifts are saved together, once.
+        ArgumentCaptor<List<Shift>> captor = ArgumentCaptor.forClass(List.class);
+        verify(shiftService).saveAllShifts(captor.capture());
+        assertEquals(List.of("Morning", "Evening"), captor.getValue().stream().map(Shift::getName).toList());
+        verify(scheduleService, times(1)).getScheduleByTeamId(TEAM_ID);
+    }
+
+    @Test
+    void assignShiftRejectsOverlappingAssignment() {
+        Shift shift = Shift.builder().id(UUID.randomUUID()).date(LocalDate.now()).memberShifts(new HashSet<>()).build();
+        var request = AssignShiftRequest.builder()
+                .memberId(UUID.randomUUID())
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .build();
+        AssignmentInterval existing = mock(AssignmentInterval.class);
+        when(existing.getShiftId()).thenReturn(UUID.randomUUID());
+        when(shiftService.getShiftForAssignment(TEAM_ID, shift.getId())).thenReturn(shift);
+        when(membershipService.getMembershipById(request.getMemberId())).thenReturn(new Member());
+        when(conflictDetectionService.findOverlappingAssignments(
+                request.getMemberId(), shift.getDate(), request.getStartTime(), request.getEndTime()))
+                .thenReturn(List.of(existing));
+
+        var exception = assertThrows(ConflictException.class,
+                () -> scheduleFacade.assignShift(TEAM_ID, shift.getId(), request));
+
+        assertTrue(exception.getMessage().contains(existing.getShiftId().toString()));
+        verifyNoInteractions(memberShiftService);
+        assertTrue(shift.getMemberShifts().isEmpty());
+    }
+
+    @Test
+    void assignShiftOccurrenceMaterialisesTheOccurrenceOnce() {
+        // 2030-01-07 is a Monday.
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        ShiftTemplate template = workdayTemplate(monday);
+        var request = AssignShiftRequest.builder()
+                .memberId(UUID.randomUUID())
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .build();
+        when(shiftTemplateService.getTemplateByTeamIdAndTemplateId(TEAM_ID, template.getId())).thenReturn(template);
+        when(membershipService.getMembershipById(request.getMemberId())).thenReturn(new Member());
+        when(shiftService.findShiftByTemplateIdAndDate(template.getId(), monday)).thenReturn(Optional.empty());
+        generateIdsOnSave();
+
+        scheduleFacade.assignShiftOccurrence(TEAM_ID, template.getId(), monday, request);
+
+        var captor = ArgumentCaptor.forClass(Shift.class);
+        verify(shiftService).saveShift(captor.capture());
+        Shift shift = captor.getValue();
+        assertSame(template, shift.getTemplate());
+        assertEquals(monday, shift.getDate());
+        assertEquals("Day", shift.getName());
+        verify(memberShiftService).saveMemberShift(any(MemberShift.class));
+        assertEquals(1, shift.getMemberShifts().size());
+
+        // A second assignment reuses the stored occurrence.
+        when(shiftService.findShiftByTemplateIdAndDate(template.getId(), monday)).thenReturn(Optional.of(shift));
+        scheduleFacade.assignShiftOccurrence(TEAM_ID, template.getId(), monday, request);
+        verify(shiftService, times(1)).saveShift(any(Shift.class));
+        assertEquals(2, shift.getMemberShifts().size());
+        verify(scheduleChangeLogService, times(1)).recordInserted(eq(TEAM_ID), anyLong(), eq(ScheduleEntityType.SHIFT), any());
+        verify(scheduleChangeLogService, times(2)).recordInserted(eq(TEAM_ID), anyLong(), eq(ScheduleEntityType.ASSIGNMENT), any());
+    }
+
+    @Test
+    void assignShiftOccurrenceRejectsDatesWithoutAnOccurrence() {
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        ShiftTemplate template = workdayTemplate(monday);
+        when(shiftTemplateService.getTemplateByTeamIdAndTemplateId(TEAM_ID, template.getId())).thenReturn(template);
+
+        var saturday = monday.plusDays(5);
+        assertThrows(NotFoundException.class, () -> scheduleFacade.assignShiftOccurrence(
+                TEAM_ID, template.getId(), saturday, new AssignShiftRequest()));
+        verifyNoInteractions(shiftService, memberShiftService);
+    }
+
+    @Test
+    void createShiftTemplateRejectsInvalidRecurrence() {
+        var request = CreateShiftTemplateRequest.builder()
+                .name("Day")
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .startDate(LocalDate.now())
+                .recurrenceRule("FREQ=YEARLY")
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> scheduleFacade.createShiftTemplate(TEAM_ID, request));
+
+        request.setRecurrenceRule("FREQ=DAILY");
+        request.setEndDate(LocalDate.now().minusDays(1));
+        assertThrows(IllegalArgumentException.class, () -> scheduleFacade.createShiftTemplate(TEAM_ID, request));
+        verifyNoInteractions(shiftTemplateService);
+    }
+
+    @Test
+    void createShiftTemplateMakesOlderDeltasResync() {
+        var request = CreateShiftTemplateRequest.builder()
+                .name("Day")
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .startDate(LocalDate.now())
+                .recurrenceRule("FREQ=WEEKLY;BYDAY=MO")
+                .build();
+        when(teamService.markModified(TEAM_ID)).thenReturn(7L);
+
+        scheduleFacade.createShiftTemplate(TEAM_ID, request);
+
+        verify(shiftTemplateService).saveTemplate(any());
+        verify(teamService).raiseChangeLogFloor(TEAM_ID, 7L);
+    }
+
+    @Test
+    void deleteShiftTemplateMakesOlderDeltasResync() {
+        ShiftTemplate template = workdayTemplate(LocalDate.now());
+        var detachedShiftId = UUID.randomUUID();
+        when(shiftTemplateService.getTemplateByTeamIdAndTemplateId(TEAM_ID, template.getId())).thenReturn(template);
+        when(shiftService.getShiftIdsByTemplateId(template.getId())).thenReturn(List.of(detachedShiftId));
+        when(teamService.markModified(TEAM_ID)).thenReturn(8L);
+
+        scheduleFacade.deleteShiftTemplate(TEAM_ID, template.getId());
+
+        verify(shiftTemplateService).deleteTemplate(template);
+        verify(scheduleChangeLogService).recordUpdated(TEAM_ID, 8L, ScheduleEntityType.SHIFT, List.of(detachedShiftId));
+        verify(teamService).raiseChangeLogFloor(TEAM_ID, 8L);
+    }
+
+    @Test
+    void autoScheduleSavesThePlanWhenTheScheduleIsUnchanged() {
+        var plan = autoSchedulePlan(4L);
+        var assignment = MemberShift.builder().id(UUID.randomUUID()).build();
+        var response = AutoScheduleResponse.builder().assigned(1).build();
+        when(autoScheduleService.saveAssignments(eq(plan), any()))
+                .thenReturn(new AutoScheduleService.Result(response, List.of(), List.of(assignment)));
+        when(teamService.markModified(TEAM_ID)).thenReturn(5L);
+
+        assertSame(response, scheduleFacade.autoSchedule(TEAM_ID, new AutoScheduleRequest()));
+
+        verify(scheduleChangeLogService).recordInserted(TEAM_ID, 5L, ScheduleEntityType.ASSIGNMENT, List.of(assignment.getId()));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void autoScheduleRejectsAPlanSolvedOnAStaleSchedule() {
+        var plan = autoSchedulePlan(4L);
+        // Someone else changed the schedule while the solver was running.
+        when(teamService.markModified(TEAM_ID)).thenReturn(6L);
+
+        assertThrows(ConflictException.class, () -> scheduleFacade.autoSchedule(TEAM_ID, new AutoScheduleRequest()));
+
+        verify(autoScheduleService, never()).saveAssignments(any(), any());
+        verify(transactionManager).rollback(any());
+    }
+
+    private static ShiftTemplate workdayTemplate(LocalDate startDate) {
+        return ShiftTemplate.builder()
+                .id(UUID.randomUUID())
+                .name("Day")
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .startDate(startDate)
+                .recurrenceRule("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR")
+                .schedule(new Schedule())
+                .build();
+    }
+
+    private static CreateShiftRequest validRequest(String name) {
+        return CreateShiftRequest.builder()
+                .name(name)
+                .date(LocalDate.now().plusDays(1))
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .build();
+    }
+
+    @Test
+    void calendarFeedValidatorsFollowScheduleChangesAndTheDate() {
+        Instant modified = Instant.now().minusSeconds(5);
+        when(teamService.getScheduleModifiedAt(TEAM_ID)).thenReturn(modified, Instant.EPOCH);
+        when(teamService.getRevision(TEAM_ID)).thenReturn(7L, 7L);
+
+        var feed = scheduleFacade.getTeamCalendarFeed(TEAM_ID);
+        var untouched = scheduleFacade.getTeamCalendarFeed(TEAM_ID);
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        assertEquals(today.minusDays(ScheduleFacadeImpl.CALENDAR_PAST_DAYS), feed.getFrom());
+        assertEquals(today.plusDays(ScheduleFacadeImpl.CALENDAR_FUTURE_DAYS), feed.getTo());
+        Instant windowStart = today.atStartOfDay().toInstant(ZoneOffset.UTC);
+        assertEquals(modified.isAfter(windowStart) ? modified : windowStart, feed.getLastModified());
+        assertEquals("\"7-" + today + "\"", feed.getEtag());
+        // A schedule that has not changed since before today is still re-served once the window moves.
+        assertEquals(windowStart, untouched.getLastModified());
+    }
+
+    @Test
+    void memberCalendarFeedRejectsMemberOfAnotherTeam() {
+        UUID memberId = UUID.randomUUID();
+        Member member = Member.builder().id(memberId).team(Team.builder().id(UUID.randomUUID()).build()).build();
+        when(membershipService.getMembershipById(memberId)).thenReturn(member);
+
+        assertThrows(NotFoundException.class, () -> scheduleFacade.getMemberCalendarFeed(TEAM_ID, memberId));
+        verifyNoInteractions(teamService);
+    }
+
+    @Test
+    void writeCalendarStreamsMemberAssignmentsAsEvents() throws IOException {
+        UUID memberId = UUID.randomUUID();
+        var feed = CalendarFeed.builder()
+                .teamId(TEAM_ID)
+                .memberId(memberId)
+                .name("Alice shifts")
+                .from(LocalDate.of(2030, 1, 1))
+                .to(LocalDate.of(2030, 2, 1))
+                .lastModified(Instant.parse("2030-01-01T10:00:00Z"))
+                .build();
+        var night = calendarEntry("Night", LocalDate.of(2030, 1, 7), LocalTime.of(22, 0), LocalTime.of(6, 0));
+        when(memberShiftService.streamCalendarEntriesByMemberId(memberId, feed.getFrom(), feed.getTo()))
+                .thenReturn(Stream.of(night));
+
+        var out = new ByteArrayOutputStream();
+        scheduleFacade.writeCalendar(feed, out);
+
+        String calendar = out.toString(StandardCharsets.UTF_8);
+        assertTrue(calendar.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(calendar.contains("UID:" + night.getId() + "@rota-management-app\r\n"));
+        assertTrue(calendar.contains("DTSTART:20300107T220000\r\nDTEND:20300108T060000\r\nSUMMARY:Night\r\n"));
+        assertTrue(calendar.endsWith("END:VCALENDAR\r\n"));
+        verify(memberShiftService, never()).streamCalendarEntriesByTeamId(any(), any(), any());
+    }
+
+    private static CalendarEntry calendarEntry(String shiftName, LocalDate date, LocalTime start, LocalTime end) {
+        CalendarEntry entry = mock(CalendarEntry.class);
+        UUID id = UUID.randomUUID();
+        lenient().when(entry.getId()).thenReturn(id);
+        lenient().when(entry.getShiftName()).thenReturn(shiftName);
+        lenient().when(entry.getMemberName()).thenReturn("Alice");
+        lenient().when(entry.getDate()).thenReturn(date);
+        lenient().when(entry.getStartTime()).thenReturn(start);
+        lenient().when(entry.getEndTime()).thenReturn(end);
+        return entry;
+    }
+
+    // Ids are generated when the entities are persisted.
+    private AutoScheduleService.Plan autoSchedulePlan(long revision) {
+        var plan = new AutoScheduleService.Plan(new RotaProblem(LocalDate.now(), 1, 40, 11), List.of(), List.of(),
+                revision, Duration.ZERO, System.nanoTime());
+        when(autoScheduleService.plan(eq(TEAM_ID), any())).thenReturn(plan);
+        when(autoScheduleService.solve(plan)).thenReturn(new RotaSolver(1).solve(plan.problem(), Duration.ZERO));
+        return plan;
+    }
+
+    private void generateIdsOnSave() {
+        lenient().doAnswer(invocation -> {
+            invocation.getArgument(0, Shift.class).setId(UUID.randomUUID());
+            return null;
+        }).when(shiftService).saveShift(any(Shift.class));
+        lenient().doAnswer(invocation -> {
+            invocation.getArgument(0, MemberShift.class).setId(UUID.randomUUID());
+            return null;
+        }).when(memberShiftService).saveMemberShift(any(MemberShift.class));
+    }
+
+    private ScheduleChangeEvent publishedEvent() {
+        var captor = ArgumentCaptor.forClass(ScheduleChangeEvent.class);
+        verify(scheduleEventService).publishAfterCommit(captor.capture());
+        return captor.getValue();
+    }
+}
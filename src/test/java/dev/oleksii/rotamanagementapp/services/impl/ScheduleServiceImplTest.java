@@ -33,7 +33,7 @@ class ScheduleServiceImplTest {
         Schedule schedule = new Schedule();
         schedule.setTeam(team);
 
-        Mockito.when(scheduleRepository.findByTeamId(team.getId()))
+        Mockito.when(scheduleRepository.findByNaturalId(team.getId()))
                 .thenReturn(Optional.of(schedule));
 
         var result = scheduleService.getScheduleByTeamId(team.getId());
@@ -46,10 +46,35 @@ class ScheduleServiceImplTest {
     void getScheduleByTeamIdThrows() {
         var teamId = UUID.randomUUID();
 
-        Mockito.when(scheduleRepository.findByTeamId(teamId))
+        Mockito.when(scheduleRepository.findByNaturalId(teamId))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> scheduleService.getScheduleByTeamId(teamId));
-        verify(scheduleRepository).findByTeamId(teamId);
+        verify(scheduleRepository).findByNaturalId(teamId);
+    }
+
+    @Test
+    void getScheduleWithShiftsByTeamId() {
+        var teamId = UUID.randomUUID();
+        Schedule schedule = new Schedule();
+
+        Mockito.when(scheduleRepository.findWithShiftsByTeamId(teamId))
+                .thenReturn(Optional.of(schedule));
+
+        var result = scheduleService.getScheduleWithShiftsByTeamId(teamId);
+
+        assertEquals(schedule, result);
+        verify(scheduleRepository).findWithShiftsByTeamId(teamId);
+    }
+
+    @Test
+    void getScheduleWithShiftsByTeamIdThrows() {
+        var teamId = UUID.randomUUID();
+
+        Mockito.when(scheduleRepository.findWithShiftsByTeamId(teamId))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> scheduleService.getScheduleWithShiftsByTeamId(teamId));
+        verify(scheduleRepository).findWithShiftsByTeamId(teamId);
     }
 }
\ No newline at end of file
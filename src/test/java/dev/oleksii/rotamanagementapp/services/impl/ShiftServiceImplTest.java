@@ -1,5 +1,6 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
 import dev.oleksii.rotamanagementapp.domain.entities.Shift;
 import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
 import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
@@ -8,13 +9,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ShiftServiceImplTest {
@@ -67,4 +73,40 @@ class ShiftServiceImplTest {
         shiftService.deleteShiftById(shiftId);
         verify(shiftRepository).deleteById(shiftId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getShiftsInWindowFirstPage() {
+        UUID teamId = UUID.randomUUID();
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(6);
+        UUID shiftId = UUID.randomUUID();
+        Shift shift = new Shift();
+
+        when(shiftRepository.findIdsInWindow(teamId, from, to, Limit.of(10)))
+                .thenReturn(List.of(shiftId));
+        when(shiftRepository.findAllByIdIn(eq(List.of(shiftId)), any(Sort.class)))
+                .thenReturn(List.of(shift));
+
+        var result = shiftService.getShiftsInWindow(teamId, from, to, null, 10);
+
+        assertEquals(List.of(shift), result);
+        verify(shiftRepository, never()).findIdsInWindowAfter(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getShiftsInWindowAfterCursor() {
+        UUID teamId = UUID.randomUUID();
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(6);
+        var cursor = new ShiftCursor(from, LocalTime.NOON, UUID.randomUUID());
+
+        when(shiftRepository.findIdsInWindowAfter(teamId, from, to,
+                cursor.getDate(), cursor.getStartTime(), cursor.getShiftId(), Limit.of(10)))
+                .thenReturn(List.of());
+
+        var result = shiftService.getShiftsInWindow(teamId, from, to, cursor, 10);
+
+        assertTrue(result.isEmpty());
+        verify(shiftRepository, never()).findAllByIdIn(any(), any());
+    }
+}
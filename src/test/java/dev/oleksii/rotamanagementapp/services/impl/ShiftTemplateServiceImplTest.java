@@ -0,0 +1,120 @@
+package dev.oleksii.rotamanagementapp.services.impl;
+
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
+import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.ShiftTemplateRepository;
+import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShiftTemplateServiceImplTest {
+
+    private static final UUID TEAM_ID = UUID.randomUUID();
+    // A Monday.
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private ShiftTemplateRepository shiftTemplateRepository;
+    @Mock
+    private ShiftRepository shiftRepository;
+
+    @InjectMocks
+    private ShiftTemplateServiceImpl shiftTemplateService;
+
+    @Test
+    void getOccurrencesInWindowSkipsMaterialisedOccurrences() {
+        ShiftTemplate template = template("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+        when(shiftTemplateRepository.findAllByTeamId(TEAM_ID)).thenReturn(List.of(template));
+        when(shiftRepository.findMaterialisedOccurrences(TEAM_ID, MONDAY, MONDAY.plusDays(6)))
+                .thenReturn(List.of(materialised(template.getId(), MONDAY.plusDays(1))));
+
+        List<Shift> occurrences = shiftTemplateService.getOccurrencesInWindow(TEAM_ID, MONDAY, MONDAY.plusDays(6), null, 10);
+
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(3), MONDAY.plusDays(4)),
+                occurrences.stream().map(Shift::getDate).toList());
+        assertTrue(occurrences.stream().allMatch(shift -> shift.getId() == null && shift.getTemplate() == template));
+    }
+
+    @Test
+    void getOccurrencesInWindowStartsAfterCursorAndHonoursLimit() {
+        ShiftTemplate template = template("FREQ=DAILY");
+        when(shiftTemplateRepository.findAllByTeamId(TEAM_ID)).thenReturn(List.of(template));
+        when(shiftRepository.findMaterialisedOccurrences(any(), any(), any())).thenReturn(List.of());
+        var after = new ShiftCursor(MONDAY.plusDays(2), LocalTime.of(9, 0), template.getId());
+
+        List<Shift> occurrences = shiftTemplateService.getOccurrencesInWindow(TEAM_ID, MONDAY, MONDAY.plusDays(30), after, 2);
+
+        assertEquals(List.of(MONDAY.plusDays(3), MONDAY.plusDays(4)),
+                occurrences.stream().map(Shift::getDate).toList());
+    }
+
+    @Test
+    void getOccurrencesInWindowWithoutTemplates() {
+        when(shiftTemplateRepository.findAllByTeamId(TEAM_ID)).thenReturn(List.of());
+
+        assertTrue(shiftTemplateService.getOccurrencesInWindow(TEAM_ID, MONDAY, MONDAY, null, 10).isEmpty());
+        verifyNoInteractions(shiftRepository);
+    }
+
+    @Test
+    void getTemplateByTeamIdAndTemplateIdNotFound() {
+        UUID templateId = UUID.randomUUID();
+        when(shiftTemplateRepository.findByTeamIdAndTemplateId(TEAM_ID, templateId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> shiftTemplateService.getTemplateByTeamIdAndTemplateId(TEAM_ID, templateId));
+    }
+
+    @Test
+    void deleteTemplateDetachesMaterialisedShiftsFirst() {
+        ShiftTemplate template = template("FREQ=DAILY");
+
+        shiftTemplateService.deleteTemplate(template);
+
+        var inOrder = inOrder(shiftRepository, shiftTemplateRepository);
+        inOrder.verify(shiftRepository).detachFromTemplate(template.getId());
+        inOrder.verify(shiftTemplateRepository).delete(template);
+    }
+
+    private static ShiftTemplate template(String rule) {
+        return ShiftTemplate.builder()
+                .id(UUID.randomUUID())
+                .name("Day")
+                .startTime(LocalTime.of(9, 0))
+                .endTime(LocalTime.of(17, 0))
+                .startDate(MONDAY)
+                .recurrenceRule(rule)
+                .schedule(new Schedule())
+                .build();
+    }
+
+    private static ShiftRepository.MaterialisedOccurrence materialised(UUID templateId, LocalDate date) {
+        return new ShiftRepository.MaterialisedOccurrence() {
+            @Override
+            public UUID getTemplateId() {
+                return templateId;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+        };
+    }
+}
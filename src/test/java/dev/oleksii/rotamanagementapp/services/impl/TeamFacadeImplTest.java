@@ -1,17 +1,40 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
 import dev.oleksii.rotamanagementapp.domain.dtos.MemberDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.MemberShiftDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.PeriodHoursDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleChangeDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleDto;
+import dev.oleksii.rotamanagementapp.domain.dtos.ScheduleVersion;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftCursor;
+import dev.oleksii.rotamanagementapp.domain.dtos.ShiftDto;
 import dev.oleksii.rotamanagementapp.domain.dtos.TeamDto;
 import dev.oleksii.rotamanagementapp.domain.entities.Member;
+import dev.oleksii.rotamanagementapp.domain.entities.MemberShift;
 import dev.oleksii.rotamanagementapp.domain.entities.Schedule;
+import dev.oleksii.rotamanagementapp.domain.entities.ScheduleChange;
+import dev.oleksii.rotamanagementapp.domain.entities.Shift;
+import dev.oleksii.rotamanagementapp.domain.entities.ShiftTemplate;
 import dev.oleksii.rotamanagementapp.domain.entities.Team;
 import dev.oleksii.rotamanagementapp.domain.entities.User;
+import dev.oleksii.rotamanagementapp.domain.enums.ChangeOperation;
+import dev.oleksii.rotamanagementapp.domain.enums.ReportPeriod;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleChangeType;
+import dev.oleksii.rotamanagementapp.domain.enums.ScheduleEntityType;
+import dev.oleksii.rotamanagementapp.domain.repos.MemberShiftRepository.DailyMinutes;
 import dev.oleksii.rotamanagementapp.mappers.MemberMapper;
+import dev.oleksii.rotamanagementapp.mappers.MemberShiftMapper;
 import dev.oleksii.rotamanagementapp.mappers.ScheduleMapper;
+import dev.oleksii.rotamanagementapp.mappers.ShiftMapper;
 import dev.oleksii.rotamanagementapp.mappers.TeamMapper;
+import dev.oleksii.rotamanagementapp.security.MembershipRoleCache;
+import dev.oleksii.rotamanagementapp.services.MemberShiftService;
 import dev.oleksii.rotamanagementapp.services.MembershipService;
+import dev.oleksii.rotamanagementapp.services.ScheduleChangeLogService;
+import dev.oleksii.rotamanagementapp.services.ScheduleEventService;
 import dev.oleksii.rotamanagementapp.services.ScheduleService;
+import dev.oleksii.rotamanagementapp.services.ShiftService;
+import dev.oleksii.rotamanagementapp.services.ShiftTemplateService;
 import dev.oleksii.rotamanagementapp.services.TeamService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,7 +42,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -41,6 +67,22 @@ class TeamFacadeImplTest {
     private MemberMapper memberMapper;
     @Mock
     private MembershipService membershipService;
+    @Mock
+    private ShiftService shiftService;
+    @Mock
+    private ShiftMapper shiftMapper;
+    @Mock
+    private MembershipRoleCache membershipRoleCache;
+    @Mock
+    private ShiftTemplateService shiftTemplateService;
+    @Mock
+    private MemberShiftService memberShiftService;
+    @Mock
+    private ScheduleEventService scheduleEventService;
+    @Mock
+    private ScheduleChangeLogService scheduleChangeLogService;
+    @Mock
+    private MemberShiftMapper memberShiftMapper;
 
     @InjectMocks
     private TeamFacadeImpl teamFacade;
@@ -68,7 +110,7 @@ class TeamFacadeImplTest {
         Schedule schedule = new Schedule();
         ScheduleDto scheduleDto = new ScheduleDto();
 
-        when(scheduleService.getScheduleByTeamId(TEAM_ID))
+        when(scheduleService.getScheduleWithShiftsByTeamId(TEAM_ID))
                 .thenReturn(schedule);
         when(scheduleMapper.toScheduleDTO(schedule))
                 .thenReturn(scheduleDto);
@@ -76,10 +118,95 @@ class TeamFacadeImplTest {
         var result = teamFacade.getTeamSchedule(TEAM_ID);
 
         assertEquals(scheduleDto, result);
-        verify(scheduleService).getScheduleByTeamId(TEAM_ID);
+        verify(scheduleService).getScheduleWithShiftsByTeamId(TEAM_ID);
         verify(scheduleMapper).toScheduleDTO(schedule);
     }
 
+    @Test
+    void getTeamScheduleWindowReturnsCursorWhenMoreShiftsFollow() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(6);
+        Shift first = Shift.builder().id(UUID.randomUUID()).date(from).startTime(LocalTime.of(8, 0)).build();
+        Shift second = Shift.builder().id(UUID.randomUUID()).date(from).startTime(LocalTime.of(9, 0)).build();
+        Shift third = Shift.builder().id(UUID.randomUUID()).date(to).startTime(LocalTime.of(8, 0)).build();
+
+        when(shiftService.getShiftsInWindow(TEAM_ID, from, to, null, 3))
+                .thenReturn(List.of(first, second, third));
+        when(shiftMapper.toShiftDTO(any(Shift.class)))
+                .thenReturn(new ShiftDto());
+
+        var result = teamFacade.getTeamScheduleWindow(TEAM_ID, from, to, null, 2);
+
+        assertEquals(2, result.getShifts().size());
+        var cursor = ShiftCursor.decode(result.getNextCursor());
+        assertEquals(second.getId(), cursor.getShiftId());
+        assertEquals(second.getDate(), cursor.getDate());
+        assertEquals(second.getStartTime(), cursor.getStartTime());
+    }
+
+    @Test
+    void getTeamScheduleWindowLastPageHasNoCursor() {
+        LocalDate from = LocalDate.now();
+        var cursor = new ShiftCursor(from, LocalTime.NOON, UUID.randomUUID());
+
+        when(shiftService.getShiftsInWindow(TEAM_ID, from, from, cursor, 11))
+                .thenReturn(List.of(new Shift()));
+        when(shiftMapper.toShiftDTO(any(Shift.class)))
+                .thenReturn(new ShiftDto());
+
+        var result = teamFacade.getTeamScheduleWindow(TEAM_ID, from, from, cursor.encode(), 10);
+
+        assertEquals(1, result.getShifts().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getTeamScheduleWindowMergesTemplateOccurrences() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(1);
+        Shift stored = Shift.builder().id(UUID.randomUUID()).date(from).startTime(LocalTime.of(12, 0)).build();
+        ShiftTemplate template = ShiftTemplate.builder().id(UUID.randomUUID()).build();
+        Shift morning = Shift.builder().date(from).startTime(LocalTime.of(8, 0)).template(template).build();
+        Shift nextMorning = Shift.builder().date(to).startTime(LocalTime.of(8, 0)).template(template).build();
+
+        when(shiftService.getShiftsInWindow(TEAM_ID, from, to, null, 3))
+                .thenReturn(List.of(stored));
+        when(shiftTemplateService.getOccurrencesInWindow(TEAM_ID, from, to, null, 3))
+                .thenReturn(List.of(morning, nextMorning));
+        when(shiftMapper.toShiftDTO(any(Shift.class)))
+                .thenAnswer(invocation -> ShiftDto.builder()
+                        .startTime(invocation.<Shift>getArgument(0).getStartTime())
+                        .date(invocation.<Shift>getArgument(0).getDate())
+                        .build());
+
+        var result = teamFacade.getTeamScheduleWindow(TEAM_ID, from, to, null, 2);
+
+        assertEquals(List.of(LocalTime.of(8, 0), LocalTime.of(12, 0)),
+                result.getShifts().stream().map(ShiftDto::getStartTime).toList());
+        assertEquals(stored.getId(), ShiftCursor.decode(result.getNextCursor()).getShiftId());
+
+        // An unmaterialised occurrence has no shift id, so the cursor is keyed by its template.
+        when(shiftService.getShiftsInWindow(TEAM_ID, from, to, null, 2))
+                .thenReturn(List.of(stored));
+        when(shiftTemplateService.getOccurrencesInWindow(TEAM_ID, from, to, null, 2))
+                .thenReturn(List.of(morning, nextMorning));
+        var firstOnly = teamFacade.getTeamScheduleWindow(TEAM_ID, from, to, null, 1);
+        assertEquals(template.getId(), ShiftCursor.decode(firstOnly.getNextCursor()).getShiftId());
+    }
+
+    @Test
+    void getTeamScheduleWindowRejectsInvalidArguments() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> teamFacade.getTeamScheduleWindow(TEAM_ID, today.plusDays(1), today, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> teamFacade.getTeamScheduleWindow(TEAM_ID, today, today, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> teamFacade.getTeamScheduleWindow(TEAM_ID, today, today, "not-a-cursor", 10));
+        verifyNoInteractions(shiftService);
+    }
+
     @Test
     void getAllTeamMembers() {
         Member member = new Member();
@@ -132,6 +259,7 @@ class TeamFacadeImplTest {
         teamFacade.deleteTeam(TEAM_ID);
 
         verify(teamService).deleteTeamById(TEAM_ID);
+        verify(membershipRoleCache).evictTeamAfterCommit(TEAM_ID);
     }
 
     @Test
@@ -151,15 +279,176 @@ class TeamFacadeImplTest {
         assertEquals(teamDto, result);
         verify(teamService).getTeamById(TEAM_ID);
         verify(teamService).saveTeam(team);
+        verify(teamService).markModified(TEAM_ID);
         verify(teamMapper).toTeamDTO(team);
     }
 
     @Test
     void leaveTeam() {
-        User user = new User();
+        UUID userId = UUID.randomUUID();
+        List<UUID> memberShiftIds = List.of(UUID.randomUUID());
+        when(memberShiftService.getMemberShiftIdsByUserIdAndTeamId(userId, TEAM_ID)).thenReturn(memberShiftIds);
+        when(teamService.markModified(TEAM_ID)).thenReturn(3L);
+
+        teamFacade.leaveTeam(userId, TEAM_ID);
+
+        verify(membershipService).deleteMembershipByUserIdAndTeamId(userId, TEAM_ID);
+        verify(teamService).markModified(TEAM_ID);
+        verify(scheduleChangeLogService).recordDeleted(TEAM_ID, 3L, ScheduleEntityType.ASSIGNMENT, memberShiftIds);
+        verify(scheduleEventService).publishAfterCommit(argThat(event ->
+                event.getType() == ScheduleChangeType.MEMBERS_CHANGED && event.getTeamId().equals(TEAM_ID)));
+        verify(membershipRoleCache).evictAfterCommit(userId, TEAM_ID);
+    }
+
+    @Test
+    void getHoursReportRollsDailyTotalsUpPerMonth() {
+        Member alice = Member.builder().id(UUID.randomUUID()).fullName("Alice").build();
+        Member bob = Member.builder().id(UUID.randomUUID()).fullName("Bob").build();
+        Member carol = Member.builder().id(UUID.randomUUID()).fullName("Carol").build();
+        LocalDate from = LocalDate.of(2030, 1, 15);
+        LocalDate to = LocalDate.of(2030, 2, 10);
+        var days = List.of(
+                dailyMinutes(alice.getId(), from, 1, 480),
+                dailyMinutes(alice.getId(), LocalDate.of(2030, 1, 31), 2, 600),
+                dailyMinutes(alice.getId(), LocalDate.of(2030, 2, 1), 1, 480));
+
+        when(membershipService.getMembershipsPageByTeamId(TEAM_ID, null, 3)).thenReturn(List.of(alice, bob, carol));
+        when(memberShiftService.getDailyMinutesByMemberIds(List.of(alice.getId(), bob.getId()), from, to)).thenReturn(days);
+
+        var result = teamFacade.getHoursReport(TEAM_ID, from, to, ReportPeriod.MONTH, null, 2);
+
+        assertEquals(2, result.getMembers().size());
+        assertEquals(bob.getId().toString(), result.getNextCursor());
+        var aliceHours = result.getMembers().get(0);
+        assertEquals(1560, aliceHours.getTotalMinutes());
+        assertEquals(List.of(
+                new PeriodHoursDto(from, LocalDate.of(2030, 1, 31), 3, 1080),
+                new PeriodHoursDto(LocalDate.of(2030, 2, 1), to, 1, 480)), aliceHours.getPeriods());
+        var bobHours = result.getMembers().get(1);
+        assertEquals("Bob", bobHours.getFullName());
+        assertTrue(bobHours.getPeriods().isEmpty());
+    }
+
+    @Test
+    void getHoursReportGroupsByWeekFromCursor() {
+        Member alice = Member.builder().id(UUID.randomUUID()).fullName("Alice").build();
+        UUID after = UUID.randomUUID();
+        // Wednesday, Sunday and the following Monday.
+        LocalDate from = LocalDate.of(2030, 1, 9);
+        var days = List.of(
+                dailyMinutes(alice.getId(), from, 1, 480),
+                dailyMinutes(alice.getId(), from.plusDays(4), 1, 480),
+                dailyMinutes(alice.getId(), from.plusDays(5), 1, 300));
+
+        when(membershipService.getMembershipsPageByTeamId(TEAM_ID, after, 11)).thenReturn(List.of(alice));
+        when(memberShiftService.getDailyMinutesByMemberIds(List.of(alice.getId()), from, from.plusDays(13))).thenReturn(days);
+
+        var result = teamFacade.getHoursReport(TEAM_ID, from, from.plusDays(13), ReportPeriod.WEEK, after.toString(), 10);
+
+        assertNull(result.getNextCursor());
+        assertEquals(List.of(
+                new PeriodHoursDto(from, LocalDate.of(2030, 1, 13), 2, 960),
+                new PeriodHoursDto(LocalDate.of(2030, 1, 14), LocalDate.of(2030, 1, 20), 1, 300)),
+                result.getMembers().get(0).getPeriods());
+    }
+
+    @Test
+    void getScheduleChangesAsksForResyncWithoutUsableVersion() {
+        when(teamService.getRevision(TEAM_ID)).thenReturn(12L);
+        when(teamService.getChangeLogFloor(TEAM_ID)).thenReturn(5L);
+
+        var start = teamFacade.getScheduleChanges(TEAM_ID, null, 100);
+        var compacted = teamFacade.getScheduleChanges(TEAM_ID, ScheduleVersion.of(4).encode(), 100);
+        var ahead = teamFacade.getScheduleChanges(TEAM_ID, ScheduleVersion.of(13).encode(), 100);
+
+        for (var delta : List.of(start, compacted, ahead)) {
+            assertTrue(delta.isResyncRequired());
+            assertTrue(delta.getChanges().isEmpty());
+            assertEquals(12L, ScheduleVersion.decode(delta.getVersion()).getRevision());
+        }
+        verifyNoInteractions(scheduleChangeLogService);
+        assertThrows(IllegalArgumentException.class, () -> teamFacade.getScheduleChanges(TEAM_ID, "%%%", 100));
+    }
 
-        teamFacade.leaveTeam(user, TEAM_ID);
+    @Test
+    void getScheduleChangesReturnsInsertsUpdatesAndTombstones() {
+        Shift created = Shift.builder().id(UUID.randomUUID()).build();
+        Shift updated = Shift.builder().id(UUID.randomUUID()).build();
+        MemberShift assigned = MemberShift.builder().id(UUID.randomUUID()).shift(created).build();
+        var insertedShift = change(ScheduleEntityType.SHIFT, created.getId(), 7, 7, false);
+        var updatedShift = change(ScheduleEntityType.SHIFT, updated.getId(), 2, 6, false);
+        var removed = change(ScheduleEntityType.ASSIGNMENT, UUID.randomUUID(), 3, 8, true);
+        // Created and deleted after the client's version, so the client never needs to hear of it.
+        var transient_ = change(ScheduleEntityType.ASSIGNMENT, UUID.randomUUID(), 6, 8, true);
+        var insertedAssignment = change(ScheduleEntityType.ASSIGNMENT, assigned.getId(), 7, 9, false);
+        var since = ScheduleVersion.of(5);
+        var page = List.of(updatedShift, insertedShift, insertedAssignment, removed, transient_);
+
+        when(teamService.getRevision(TEAM_ID)).thenReturn(9L);
+        when(scheduleChangeLogService.getChangesAfter(TEAM_ID, since, 9L, 11)).thenReturn(page);
+        when(shiftService.getShiftsByIds(List.of(updated.getId(), created.getId()))).thenReturn(List.of(created, updated));
+        when(memberShiftService.getMemberShiftsByIds(List.of(assigned.getId()))).thenReturn(List.of(assigned));
+        when(shiftMapper.toShiftWithoutAssignmentsDTO(any())).thenReturn(new ShiftDto());
+        when(memberShiftMapper.toMemberShiftDTO(assigned)).thenReturn(new MemberShiftDto());
+
+        var delta = teamFacade.getScheduleChanges(TEAM_ID, since.encode(), 10);
+
+        assertFalse(delta.isResyncRequired());
+        assertFalse(delta.isHasMore());
+        assertEquals(ScheduleVersion.of(9), ScheduleVersion.decode(delta.getVersion()));
+        assertEquals(List.of(ChangeOperation.UPDATE, ChangeOperation.INSERT, ChangeOperation.INSERT, ChangeOperation.DELETE),
+                delta.getChanges().stream().map(ScheduleChangeDto::getOperation).toList());
+        assertEquals(created.getId(), delta.getChanges().get(2).getShiftId());
+        assertNull(delta.getChanges().get(3).getAssignment());
+        assertEquals(removed.getEntityId(), delta.getChanges().get(3).getEntityId());
+    }
+
+    @Test
+    void getScheduleChangesContinuesInsideARevision() {
+        var first = change(ScheduleEntityType.ASSIGNMENT, UUID.randomUUID(), 0, 6, true);
+        var second = change(ScheduleEntityType.ASSIGNMENT, UUID.randomUUID(), 0, 6, true);
+        when(teamService.getRevision(TEAM_ID)).thenReturn(6L);
+        when(scheduleChangeLogService.getChangesAfter(TEAM_ID, ScheduleVersion.of(5), 6L, 2)).thenReturn(List.of(first, second));
+
+        var delta = teamFacade.getScheduleChanges(TEAM_ID, ScheduleVersion.of(5).encode(), 1);
+
+        assertTrue(delta.isHasMore());
+        assertEquals(1, delta.getChanges().size());
+        assertEquals(new ScheduleVersion(6, first.getId()), ScheduleVersion.decode(delta.getVersion()));
+    }
+
+    @Test
+    void getHoursReportRejectsInvalidRange() {
+        LocalDate from = LocalDate.of(2030, 1, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> teamFacade.getHoursReport(TEAM_ID, from, from.minusDays(1), ReportPeriod.WEEK, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> teamFacade.getHoursReport(TEAM_ID, from, from.plusYears(2), ReportPeriod.MONTH, null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> teamFacade.getHoursReport(TEAM_ID, from, from, ReportPeriod.MONTH, "not-a-cursor", 10));
+        verifyNoInteractions(memberShiftService);
+    }
+
+    private static ScheduleChange change(ScheduleEntityType entityType, UUID entityId, long createdRevision,
+                                         long revision, boolean deleted) {
+        return ScheduleChange.builder()
+                .id(UUID.randomUUID())
+                .teamId(TEAM_ID)
+                .entityType(entityType)
+                .entityId(entityId)
+                .createdRevision(createdRevision)
+                .revision(revision)
+                .deleted(deleted)
+                .build();
+    }
 
-        verify(membershipService).deleteMembershipByUserIdAndTeamId(user.getId(), TEAM_ID);
+    private static DailyMinutes dailyMinutes(UUID memberId, LocalDate date, long shifts, long minutes) {
+        DailyMinutes day = mock(DailyMinutes.class);
+        lenient().when(day.getMemberId()).thenReturn(memberId);
+        lenient().when(day.getDate()).thenReturn(date);
+        lenient().when(day.getShifts()).thenReturn(shifts);
+        lenient().when(day.getMinutes()).thenReturn(minutes);
+        return day;
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package dev.oleksii.rotamanagementapp.services.impl;
 
 import dev.oleksii.rotamanagementapp.domain.entities.Team;
+import dev.oleksii.rotamanagementapp.domain.entities.TeamRevision;
 import dev.oleksii.rotamanagementapp.domain.repos.TeamRepository;
+import dev.oleksii.rotamanagementapp.domain.repos.TeamRevisionRepository;
 import dev.oleksii.rotamanagementapp.exceptions.NotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,7 +15,9 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +26,9 @@ class TeamServiceImplTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private TeamRevisionRepository teamRevisionRepository;
+
     @InjectMocks
     private TeamServiceImpl teamService;
 
@@ -58,12 +65,23 @@ class TeamServiceImplTest {
         Team team = new Team();
         teamService.saveTeam(team);
         verify(teamRepository).save(team);
+        verify(teamRevisionRepository).save(any(TeamRevision.class));
+    }
+
+    @Test
+    void saveExistingTeamKeepsItsRevision() {
+        Team team = new Team();
+        team.setId(UUID.randomUUID());
+        teamService.saveTeam(team);
+        verify(teamRepository).save(team);
+        verifyNoInteractions(teamRevisionRepository);
     }
 
     @Test
     void deleteTeamById() {
         UUID teamId = UUID.randomUUID();
         teamService.deleteTeamById(teamId);
+        verify(teamRevisionRepository).deleteById(teamId);
         verify(teamRepository).deleteById(teamId);
     }
 }
\ No newline at end of file
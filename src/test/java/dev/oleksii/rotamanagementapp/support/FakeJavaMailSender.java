@@ -0,0 +1,118 @@
+package dev.oleksii.rotamanagementapp.support;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link JavaMailSender} that records messages instead of talking SMTP.
+ * <p>
+ * Every {@code send} call counts as one connection. A per-connection and per-message latency can be
+ * configured to mimic a slow relay, and recipients can be marked as failing, which makes the fake
+ * report them the way {@code JavaMailSenderImpl} reports rejected messages.
+ */
+public class FakeJavaMailSender implements JavaMailSender {
+
+    private final Session session = Session.getInstance(new Properties());
+    private final List<MimeMessage> sentMessages = new CopyOnWriteArrayList<>();
+    private final Set<String> failingRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private volatile Duration connectionLatency = Duration.ZERO;
+    private volatile Duration messageLatency = Duration.ZERO;
+
+    public List<MimeMessage> getSentMessages() {
+        return List.copyOf(sentMessages);
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public void failFor(String recipient) {
+        failingRecipients.add(recipient);
+    }
+
+    public void setConnectionLatency(Duration connectionLatency) {
+        this.connectionLatency = connectionLatency;
+    }
+
+    public void setMessageLatency(Duration messageLatency) {
+        this.messageLatency = messageLatency;
+    }
+
+    public void reset() {
+        sentMessages.clear();
+        failingRecipients.clear();
+        connections.set(0);
+    }
+
+    @Override
+    public MimeMessage createMimeMessage() {
+        return new MimeMessage(session);
+    }
+
+    @Override
+    public MimeMessage createMimeMessage(InputStream contentStream) {
+        try {
+            return new MimeMessage(session, contentStream);
+        } catch (MessagingException ex) {
+            throw new MailParseException(ex);
+        }
+    }
+
+    @Override
+    public void send(MimeMessage... mimeMessages) {
+        connections.incrementAndGet();
+        pause(connectionLatency);
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (MimeMessage message : mimeMessages) {
+            pause(messageLatency);
+            try {
+                if (Arrays.stream(message.getAllRecipients()).anyMatch(address -> failingRecipients.contains(address.toString()))) {
+                    failedMessages.put(message, new MessagingException("550 Recipient rejected"));
+                    continue;
+                }
+            } catch (MessagingException ex) {
+                failedMessages.put(message, ex);
+                continue;
+            }
+            sentMessages.add(message);
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    @Override
+    public void send(SimpleMailMessage... simpleMessages) {
+        throw new UnsupportedOperationException("Only MIME messages are supported.");
+    }
+
+    private static void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
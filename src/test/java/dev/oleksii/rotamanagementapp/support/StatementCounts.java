@@ -0,0 +1,55 @@
+package dev.oleksii.rotamanagementapp.support;
+
+import dev.oleksii.rotamanagementapp.configuration.StatementCounter;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements run by test code, through the {@link StatementCounter} registered as Hibernate's
+ * statement inspector in the test application.yml. Works in repository slices and full contexts alike, as long
+ * as the statements run on the calling thread.
+ * <p>
+ * Entities already in the persistence context are not loaded again, so clear it first when the loads are what
+ * is being counted.
+ */
+public final class StatementCounts {
+
+    private StatementCounts() {
+    }
+
+    /**
+     * Runs the action and returns the statements it ran.
+     */
+    public static long count(Runnable action) {
+        StatementCounter.start();
+        long statements;
+        try {
+            action.run();
+        } finally {
+            statements = StatementCounter.stop();
+        }
+        return statements;
+    }
+
+    /**
+     * Runs the action and asserts that it ran exactly the expected number of statements.
+     */
+    public static void assertStatements(long expected, Runnable action) {
+        assertThat(count(action)).as("SQL statements").isEqualTo(expected);
+    }
+
+    /**
+     * Runs the action, asserts that it ran exactly the expected number of statements and returns its result.
+     */
+    public static <T> T assertStatements(long expected, Supplier<T> action) {
+        Object[] result = new Object[1];
+        assertStatements(expected, () -> {
+            result[0] = action.get();
+        });
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+}
@@ -0,0 +1,60 @@
+package dev.oleksii.rotamanagementapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ICalendarWriterTest {
+
+    @Test
+    void writesEventsBetweenHeaderAndFooter() throws IOException {
+        var out = new StringWriter();
+        var writer = new ICalendarWriter(out, "Team schedule", Instant.parse("2030-01-01T08:30:00Z"));
+        writer.event("1@test", LocalDateTime.of(2030, 1, 7, 9, 0), LocalDateTime.of(2030, 1, 7, 17, 0), "Morning");
+        writer.close();
+
+        assertEquals(String.join("\r\n",
+                "BEGIN:VCALENDAR",
+                "VERSION:2.0",
+                "PRODID:-//rota-management-app//schedule//EN",
+                "CALSCALE:GREGORIAN",
+                "METHOD:PUBLISH",
+                "X-WR-CALNAME:Team schedule",
+                "BEGIN:VEVENT",
+                "UID:1@test",
+                "DTSTAMP:20300101T083000Z",
+                "DTSTART:20300107T090000",
+                "DTEND:20300107T170000",
+                "SUMMARY:Morning",
+                "END:VEVENT",
+                "END:VCALENDAR",
+                ""), out.toString());
+    }
+
+    @Test
+    void escapesTextValues() {
+        assertEquals("Tills\\, floor 2\\; back \\\\ front\\nlate", ICalendarWriter.escape("Tills, floor 2; back \\ front\nlate"));
+    }
+
+    @Test
+    void foldsLongLinesWithoutSplittingCharacters() throws IOException {
+        var out = new StringWriter();
+        var writer = new ICalendarWriter(out, "Team", Instant.EPOCH);
+        String summary = "Überstunden ".repeat(20);
+        writer.event("1@test", LocalDateTime.of(2030, 1, 7, 9, 0), LocalDateTime.of(2030, 1, 7, 17, 0), summary);
+        writer.close();
+
+        String calendar = out.toString();
+        for (String line : calendar.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        // Unfolding restores the original value.
+        assertTrue(calendar.replace("\r\n ", "").contains("SUMMARY:" + summary + "\r\n"));
+    }
+}
@@ -0,0 +1,85 @@
+package dev.oleksii.rotamanagementapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    private static final LocalDateTime DAY = LocalDate.of(2030, 1, 7).atStartOfDay();
+
+    record Slot(String name, LocalDateTime start, LocalDateTime end) {
+    }
+
+    @Test
+    void findsOverlapsAndTreatsTouchingIntervalsAsFree() {
+        var index = IntervalIndex.of(List.of(
+                        slot("late", 14, 22),
+                        slot("early", 6, 10),
+                        slot("night", 22, 30)),
+                Slot::start, Slot::end);
+
+        assertEquals(List.of("early", "late"), names(index.overlapping(at(9), at(15))));
+        assertTrue(index.overlaps(at(9), at(15)));
+        // [10, 14) only touches the neighbouring slots.
+        assertTrue(index.overlapping(at(10), at(14)).isEmpty());
+        assertFalse(index.overlaps(at(10), at(14)));
+        assertEquals(List.of("night"), names(index.overlapping(at(29), at(31))));
+        assertFalse(index.overlaps(at(30), at(40)));
+    }
+
+    @Test
+    void longIntervalIsFoundBehindShorterOnes() {
+        var index = IntervalIndex.of(List.of(
+                        slot("all-day", 0, 24),
+                        slot("a", 1, 2),
+                        slot("b", 3, 4),
+                        slot("c", 5, 6)),
+                Slot::start, Slot::end);
+
+        assertEquals(List.of("all-day"), names(index.overlapping(at(20), at(21))));
+        assertTrue(index.overlaps(at(20), at(21)));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomIntervals() {
+        Random random = new Random(42);
+        List<Slot> slots = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int start = random.nextInt(500);
+            slots.add(slot("s" + i, start, start + 1 + random.nextInt(20)));
+        }
+        var index = IntervalIndex.of(slots, Slot::start, Slot::end);
+
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(520);
+            LocalDateTime from = at(start);
+            LocalDateTime to = at(start + 1 + random.nextInt(10));
+            var expected = slots.stream()
+                    .filter(slot -> slot.start().isBefore(to) && slot.end().isAfter(from))
+                    .map(Slot::name)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, names(index.overlapping(from, to)).stream().sorted().toList());
+            assertEquals(!expected.isEmpty(), index.overlaps(from, to));
+        }
+    }
+
+    private static Slot slot(String name, int startHour, int endHour) {
+        return new Slot(name, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+
+    private static List<String> names(List<Slot> slots) {
+        return slots.stream().map(Slot::name).toList();
+    }
+}
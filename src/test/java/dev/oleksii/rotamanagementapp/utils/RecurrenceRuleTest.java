@@ -0,0 +1,118 @@
+package dev.oleksii.rotamanagementapp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    // A Monday.
+    private static final LocalDate START = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void weeklyWorkdaysExpandWithinWindow() {
+        var rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+
+        var dates = rule.occurrencesBetween(START, START.plusDays(3), START.plusDays(9)).toList();
+
+        // Thursday to the following Wednesday, without the weekend.
+        assertEquals(List.of(START.plusDays(3), START.plusDays(4), START.plusDays(7), START.plusDays(8), START.plusDays(9)),
+                dates);
+    }
+
+    @Test
+    void expansionFarFromStartOnlyCoversTheWindow() {
+        var rule = RecurrenceRule.parse("RRULE:FREQ=DAILY;INTERVAL=2");
+        LocalDate from = START.plusYears(100);
+
+        var dates = rule.occurrencesBetween(START, from, from.plusDays(5)).toList();
+
+        assertEquals(3, dates.size());
+        assertTrue(dates.stream().allMatch(date -> ChronoUnit.DAYS.between(START, date) % 2 == 0));
+    }
+
+    @Test
+    void biweeklyRuleSkipsOddWeeks() {
+        var rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=WE");
+
+        var dates = rule.occurrencesBetween(START, START, START.plusWeeks(4)).toList();
+
+        assertEquals(List.of(START.plusDays(2), START.plusWeeks(2).plusDays(2)), dates);
+        assertTrue(dates.stream().allMatch(date -> date.getDayOfWeek() == DayOfWeek.WEDNESDAY));
+    }
+
+    @Test
+    void countIsCountedFromTheStartDate() {
+        var rule = RecurrenceRule.parse("FREQ=DAILY;COUNT=5;BYDAY=MO,TU,WE,TH,FR");
+
+        // The fifth occurrence is the Friday of the first week; nothing follows it.
+        assertTrue(rule.occursOn(START, START.plusDays(4)));
+        assertFalse(rule.occursOn(START, START.plusDays(7)));
+        assertEquals(2, rule.occurrencesBetween(START, START.plusDays(3), START.plusDays(30)).count());
+    }
+
+    @Test
+    void untilIsInclusive() {
+        var rule = RecurrenceRule.parse("FREQ=WEEKLY;UNTIL=20300114");
+
+        assertEquals(List.of(START, START.plusWeeks(1)),
+                rule.occurrencesBetween(START, START, START.plusYears(1)).toList());
+    }
+
+    @Test
+    void monthlySkipsMonthsWithoutTheDay() {
+        var rule = RecurrenceRule.parse("FREQ=MONTHLY");
+        LocalDate start = LocalDate.of(2030, 1, 31);
+
+        var dates = rule.occurrencesBetween(start, start, LocalDate.of(2030, 5, 31)).toList();
+
+        assertEquals(List.of(start, LocalDate.of(2030, 3, 31), LocalDate.of(2030, 5, 31)), dates);
+    }
+
+    @Test
+    void sparseRulesStopAtTheEndOfAWindowWithoutOccurrences() {
+        // Only leap years have the day: the window holds periods, but no dates.
+        LocalDate start = LocalDate.of(2028, 2, 29);
+        var yearly = RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=12");
+        var counted = RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=12;COUNT=3");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertEquals(List.of(), yearly.occurrencesBetween(start, LocalDate.of(2029, 1, 1), LocalDate.of(2031, 12, 31)).toList());
+            assertEquals(List.of(), counted.occurrencesBetween(start, LocalDate.of(2029, 1, 1), LocalDate.of(2031, 12, 31)).toList());
+        });
+    }
+
+    @Test
+    void rejectsDailyRulesWhoseIntervalSkipsTheirDays() {
+        // Every 7th day from a Tuesday is never a Monday.
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=7;BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=14;BYDAY=MO,TU"));
+        assertEquals(List.of(START.plusDays(7)), RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3;BYDAY=MO")
+                .occurrencesBetween(START.plusDays(1), START, START.plusDays(13)).toList());
+    }
+
+    @Test
+    void nothingOccursBeforeTheStartDate() {
+        var rule = RecurrenceRule.parse("FREQ=DAILY");
+
+        assertEquals(0, rule.occurrencesBetween(START, START.minusDays(10), START.minusDays(1)).count());
+        assertFalse(rule.occursOn(START, START.minusDays(1)));
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=HOURLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=XX"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=2;UNTIL=20300101"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;BYSETPOS=1"));
+    }
+}